@@ -0,0 +1,38 @@
+package collections.builders.benchmarks;
+
+import collections.builders.Builder;
+
+/**
+ * A {@link Builder} that builds each element of an array in turn and then returns {@code null}. This is about the
+ * cheapest builder possible so it isolates the cost of the builder collections construction loop.
+ *
+ * @author Karl Bennett
+ *
+ * @param <V> the type of value that is to be built.
+ */
+public class ArrayBuilder<V> implements Builder<V> {
+
+    private final V[] values;
+
+    private int index = 0;
+
+
+    /**
+     * Instantiate a new {@code ArrayBuilder} that will build the supplied values.
+     *
+     * @param values the values that will be built in order.
+     */
+    public ArrayBuilder(V[] values) {
+
+        this.values = values;
+    }
+
+
+    @Override
+    public V build() {
+
+        if (index < values.length) return values[index++];
+
+        return null;
+    }
+}
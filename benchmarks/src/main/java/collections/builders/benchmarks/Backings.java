@@ -0,0 +1,152 @@
+package collections.builders.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The backing collection types that the benchmarks are parameterised over. Each constant creates a new empty instance
+ * of it's type so that the benchmarks can be run with {@code -p backing=...}. The concurrent set and map backings show
+ * the difference between a parallel construction that merges it's parts on the calling thread and one that fills the
+ * backing from every part at once.
+ *
+ * @author Karl Bennett
+ */
+public final class Backings {
+
+    private Backings() {
+    }
+
+
+    public enum CollectionBacking {
+
+        ARRAY_LIST {
+            @Override
+            public <E> Collection<E> create() {
+
+                return new ArrayList<>();
+            }
+        },
+        LINKED_LIST {
+            @Override
+            public <E> Collection<E> create() {
+
+                return new LinkedList<>();
+            }
+        },
+        HASH_SET {
+            @Override
+            public <E> Collection<E> create() {
+
+                return new HashSet<>();
+            }
+        },
+        TREE_SET {
+            @Override
+            public <E> Collection<E> create() {
+
+                return new TreeSet<>();
+            }
+        };
+
+        public abstract <E> Collection<E> create();
+    }
+
+    public enum ListBacking {
+
+        ARRAY_LIST {
+            @Override
+            public <E> List<E> create() {
+
+                return new ArrayList<>();
+            }
+        },
+        LINKED_LIST {
+            @Override
+            public <E> List<E> create() {
+
+                return new LinkedList<>();
+            }
+        };
+
+        public abstract <E> List<E> create();
+    }
+
+    public enum SetBacking {
+
+        HASH_SET {
+            @Override
+            public <E> Set<E> create() {
+
+                return new HashSet<>();
+            }
+        },
+        LINKED_HASH_SET {
+            @Override
+            public <E> Set<E> create() {
+
+                return new LinkedHashSet<>();
+            }
+        },
+        TREE_SET {
+            @Override
+            public <E> Set<E> create() {
+
+                return new TreeSet<>();
+            }
+        },
+        CONCURRENT_HASH_SET {
+            @Override
+            public <E> Set<E> create() {
+
+                return ConcurrentHashMap.newKeySet();
+            }
+        };
+
+        public abstract <E> Set<E> create();
+    }
+
+    public enum MapBacking {
+
+        HASH_MAP {
+            @Override
+            public <K, V> Map<K, V> create() {
+
+                return new HashMap<>();
+            }
+        },
+        LINKED_HASH_MAP {
+            @Override
+            public <K, V> Map<K, V> create() {
+
+                return new LinkedHashMap<>();
+            }
+        },
+        TREE_MAP {
+            @Override
+            public <K, V> Map<K, V> create() {
+
+                return new TreeMap<>();
+            }
+        },
+        CONCURRENT_HASH_MAP {
+            @Override
+            public <K, V> Map<K, V> create() {
+
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        public abstract <K, V> Map<K, V> create();
+    }
+}
@@ -0,0 +1,44 @@
+package collections.builders.benchmarks;
+
+import collections.builders.Batch;
+import collections.builders.BatchBuilder;
+
+/**
+ * An {@link ArrayBuilder} that can also fill a whole {@link Batch} from it's array in one call.
+ *
+ * @author Karl Bennett
+ *
+ * @param <V> the type of value that is to be built.
+ */
+public class BatchArrayBuilder<V> extends ArrayBuilder<V> implements BatchBuilder<V> {
+
+    private final V[] values;
+
+    private int index = 0;
+
+
+    /**
+     * Instantiate a new {@code BatchArrayBuilder} that will build the supplied values.
+     *
+     * @param values the values that will be built in order.
+     */
+    public BatchArrayBuilder(V[] values) {
+        super(values);
+
+        this.values = values;
+    }
+
+
+    @Override
+    public boolean build(Batch<V> batch) {
+
+        final int end = Math.min(values.length, index + batch.capacity());
+
+        while (index < end) {
+
+            batch.add(values[index++]);
+        }
+
+        return index < values.length;
+    }
+}
@@ -0,0 +1,76 @@
+package collections.builders.benchmarks;
+
+import collections.builders.BuilderCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static collections.builders.benchmarks.Backings.CollectionBacking;
+
+/**
+ * Measure the {@link BuilderCollection} construction loop against a plain {@link Collection#addAll(Collection)} into
+ * the same backing type.
+ *
+ * @author Karl Bennett
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuilderCollectionBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param
+    private CollectionBacking backing;
+
+    private Integer[] elements;
+
+    private List<Integer> elementList;
+
+
+    @Setup
+    public void setUp() {
+
+        elements = Sources.integers(size);
+        elementList = Arrays.asList(elements);
+    }
+
+
+    @Benchmark
+    public Collection<Integer> construct() {
+
+        return new BuilderCollection<>(new ArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @Benchmark
+    public Collection<Integer> constructBatch() {
+
+        return new BuilderCollection<>(new BatchArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @Benchmark
+    public Collection<Integer> addAll() {
+
+        final Collection<Integer> collection = backing.create();
+        collection.addAll(elementList);
+
+        return collection;
+    }
+}
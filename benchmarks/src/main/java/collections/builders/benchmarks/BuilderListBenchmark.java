@@ -0,0 +1,168 @@
+package collections.builders.benchmarks;
+
+import collections.builders.BuilderList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static collections.builders.benchmarks.Backings.ListBacking;
+
+/**
+ * Measure the {@link BuilderList} construction loop against a plain {@link List#addAll(java.util.Collection)} and the
+ * cost of it's delegating {@code get}, {@code contains} and {@code iterator} methods against calling the backing list
+ * directly.
+ *
+ * @author Karl Bennett
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuilderListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param
+    private ListBacking backing;
+
+    private Integer[] elements;
+
+    private List<Integer> elementList;
+
+    private List<Integer> list;
+
+    private List<Integer> builderList;
+
+    private int index;
+
+    private ForkJoinPool pool;
+
+
+    @Setup
+    public void setUp() {
+
+        pool = new ForkJoinPool();
+
+        elements = Sources.integers(size);
+        elementList = Arrays.asList(elements);
+
+        list = backing.create();
+        list.addAll(elementList);
+
+        builderList = new BuilderList<>(new ArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        pool.shutdown();
+    }
+
+
+    @Benchmark
+    public List<Integer> construct() {
+
+        return new BuilderList<>(new ArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @Benchmark
+    public List<Integer> constructDefault() {
+
+        return new BuilderList<>(new ArrayBuilder<>(elements));
+    }
+
+    @Benchmark
+    public List<Integer> constructDefaultSized() {
+
+        return new BuilderList<>(new SizedArrayBuilder<>(elements));
+    }
+
+    @Benchmark
+    public List<Integer> constructBatch() {
+
+        return new BuilderList<>(new BatchArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @Benchmark
+    public List<Integer> constructParallel() {
+
+        return new BuilderList<>(new SplittableArrayBuilder<>(elements), backing.<Integer>create(), pool);
+    }
+
+    @Benchmark
+    public List<Integer> addAll() {
+
+        final List<Integer> list = backing.create();
+        list.addAll(elementList);
+
+        return list;
+    }
+
+    @Benchmark
+    public Integer get() {
+
+        return builderList.get(nextIndex());
+    }
+
+    @Benchmark
+    public Integer getBacking() {
+
+        return list.get(nextIndex());
+    }
+
+    @Benchmark
+    public boolean contains() {
+
+        return builderList.contains(elements[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean containsBacking() {
+
+        return list.contains(elements[nextIndex()]);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+
+        for (Integer element : builderList) {
+
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void iteratorBacking(Blackhole blackhole) {
+
+        for (Integer element : list) {
+
+            blackhole.consume(element);
+        }
+    }
+
+
+    private int nextIndex() {
+
+        index = (index + 1) % size;
+
+        return index;
+    }
+}
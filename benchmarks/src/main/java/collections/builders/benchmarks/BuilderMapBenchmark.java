@@ -0,0 +1,213 @@
+package collections.builders.benchmarks;
+
+import collections.builders.Builder;
+import collections.builders.BuilderMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static collections.builders.benchmarks.Backings.MapBacking;
+
+/**
+ * Measure the {@link BuilderMap} construction loop against a plain {@link Map#putAll(Map)} and the cost of it's
+ * delegating {@code get}, {@code containsKey} and {@code entrySet().iterator()} methods against calling the backing map
+ * directly.
+ *
+ * @author Karl Bennett
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuilderMapBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param
+    private MapBacking backing;
+
+    private Integer[] keys;
+
+    private Entry<Integer, String>[] entries;
+
+    private String[] values;
+
+    private Map<Integer, String> entryMap;
+
+    private Map<Integer, String> map;
+
+    private Map<Integer, String> builderMap;
+
+    private int index;
+
+    private ForkJoinPool pool;
+
+
+    @Setup
+    public void setUp() {
+
+        pool = new ForkJoinPool();
+
+        keys = Sources.integers(size);
+        entries = Sources.entries(keys);
+        values = new String[size];
+
+        for (int i = 0; i < size; i++) {
+
+            values[i] = entries[i].getValue();
+        }
+
+        entryMap = new HashMap<>();
+
+        for (Entry<Integer, String> entry : entries) {
+
+            entryMap.put(entry.getKey(), entry.getValue());
+        }
+
+        map = backing.create();
+        map.putAll(entryMap);
+
+        builderMap = new BuilderMap<>(new ArrayBuilder<>(entries), backing.<Integer, String>create());
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        pool.shutdown();
+    }
+
+
+    @Benchmark
+    public Map<Integer, String> construct() {
+
+        return new BuilderMap<>(new ArrayBuilder<>(entries), backing.<Integer, String>create());
+    }
+
+    @Benchmark
+    public Map<Integer, String> constructDefault() {
+
+        return new BuilderMap<>(new ArrayBuilder<>(entries));
+    }
+
+    @Benchmark
+    public Map<Integer, String> constructDefaultSized() {
+
+        return new BuilderMap<>(new SizedArrayBuilder<>(entries));
+    }
+
+    @Benchmark
+    public Map<Integer, String> constructBatch() {
+
+        return new BuilderMap<>(new BatchArrayBuilder<>(entries), backing.<Integer, String>create());
+    }
+
+    /**
+     * Only the {@code CONCURRENT_HASH_MAP} backing is filled by every part at once, the other backings are merged on
+     * the calling thread after every part has been built so they should be expected to gain little over
+     * {@link #construct()}.
+     */
+    @Benchmark
+    public Map<Integer, String> constructParallel() {
+
+        return new BuilderMap<>(new SplittableArrayBuilder<>(entries), backing.<Integer, String>create(), pool);
+    }
+
+    @Benchmark
+    public Map<Integer, String> constructNewEntries() {
+
+        final Builder<Entry<Integer, String>> builder = new EntryArrayBuilder<>(keys, values);
+
+        return new BuilderMap<>(new Builder<Entry<Integer, String>>() {
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                return builder.build();
+            }
+        }, backing.<Integer, String>create());
+    }
+
+    @Benchmark
+    public Map<Integer, String> constructEntrySink() {
+
+        return new BuilderMap<>(new EntryArrayBuilder<>(keys, values), backing.<Integer, String>create());
+    }
+
+    @Benchmark
+    public Map<Integer, String> putAll() {
+
+        final Map<Integer, String> map = backing.create();
+        map.putAll(entryMap);
+
+        return map;
+    }
+
+    @Benchmark
+    public String get() {
+
+        return builderMap.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public String getBacking() {
+
+        return map.get(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+
+        return builderMap.containsKey(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean containsKeyBacking() {
+
+        return map.containsKey(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+
+        for (Entry<Integer, String> entry : builderMap.entrySet()) {
+
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    public void iteratorBacking(Blackhole blackhole) {
+
+        for (Entry<Integer, String> entry : map.entrySet()) {
+
+            blackhole.consume(entry);
+        }
+    }
+
+
+    private int nextIndex() {
+
+        index = (index + 1) % size;
+
+        return index;
+    }
+}
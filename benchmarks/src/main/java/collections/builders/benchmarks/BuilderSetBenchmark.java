@@ -0,0 +1,161 @@
+package collections.builders.benchmarks;
+
+import collections.builders.BuilderSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static collections.builders.benchmarks.Backings.SetBacking;
+
+/**
+ * Measure the {@link BuilderSet} construction loop against a plain {@link Set#addAll(java.util.Collection)} and the
+ * cost of it's delegating {@code contains} and {@code iterator} methods against calling the backing set directly.
+ *
+ * @author Karl Bennett
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuilderSetBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param
+    private SetBacking backing;
+
+    private Integer[] elements;
+
+    private List<Integer> elementList;
+
+    private Set<Integer> set;
+
+    private Set<Integer> builderSet;
+
+    private int index;
+
+    private ForkJoinPool pool;
+
+
+    @Setup
+    public void setUp() {
+
+        pool = new ForkJoinPool();
+
+        elements = Sources.integers(size);
+        elementList = Arrays.asList(elements);
+
+        set = backing.create();
+        set.addAll(elementList);
+
+        builderSet = new BuilderSet<>(new ArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        pool.shutdown();
+    }
+
+
+    @Benchmark
+    public Set<Integer> construct() {
+
+        return new BuilderSet<>(new ArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    @Benchmark
+    public Set<Integer> constructDefault() {
+
+        return new BuilderSet<>(new ArrayBuilder<>(elements));
+    }
+
+    @Benchmark
+    public Set<Integer> constructDefaultSized() {
+
+        return new BuilderSet<>(new SizedArrayBuilder<>(elements));
+    }
+
+    @Benchmark
+    public Set<Integer> constructBatch() {
+
+        return new BuilderSet<>(new BatchArrayBuilder<>(elements), backing.<Integer>create());
+    }
+
+    /**
+     * Only the {@code CONCURRENT_HASH_SET} backing is filled by every part at once, the other backings are merged on
+     * the calling thread after every part has been built so they should be expected to gain little over
+     * {@link #construct()}.
+     */
+    @Benchmark
+    public Set<Integer> constructParallel() {
+
+        return new BuilderSet<>(new SplittableArrayBuilder<>(elements), backing.<Integer>create(), pool);
+    }
+
+    @Benchmark
+    public Set<Integer> addAll() {
+
+        final Set<Integer> set = backing.create();
+        set.addAll(elementList);
+
+        return set;
+    }
+
+    @Benchmark
+    public boolean contains() {
+
+        return builderSet.contains(elements[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean containsBacking() {
+
+        return set.contains(elements[nextIndex()]);
+    }
+
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+
+        for (Integer element : builderSet) {
+
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void iteratorBacking(Blackhole blackhole) {
+
+        for (Integer element : set) {
+
+            blackhole.consume(element);
+        }
+    }
+
+
+    private int nextIndex() {
+
+        index = (index + 1) % size;
+
+        return index;
+    }
+}
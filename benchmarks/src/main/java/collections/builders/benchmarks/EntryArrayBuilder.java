@@ -0,0 +1,59 @@
+package collections.builders.benchmarks;
+
+import collections.builders.EntryBuilder;
+import collections.builders.EntrySink;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+
+/**
+ * An {@link EntryBuilder} that builds the entries of a pair of key and value arrays. It's {@link #build()} method
+ * creates a new entry for every key like a typical entry builder would, while {@link #build(EntrySink)} puts the keys
+ * and values straight into the sink.
+ *
+ * @author Karl Bennett
+ *
+ * @param <K> the type of the keys that are to be built.
+ * @param <V> the type of the values that are to be built.
+ */
+public class EntryArrayBuilder<K, V> implements EntryBuilder<K, V> {
+
+    private final K[] keys;
+
+    private final V[] values;
+
+    private int index = 0;
+
+
+    /**
+     * Instantiate a new {@code EntryArrayBuilder} that will build the supplied keys and values.
+     *
+     * @param keys   the keys that will be built in order.
+     * @param values the values of the keys, at the same index as their key.
+     */
+    public EntryArrayBuilder(K[] keys, V[] values) {
+
+        this.keys = keys;
+        this.values = values;
+    }
+
+
+    @Override
+    public Entry<K, V> build() {
+
+        if (index < keys.length) return new SimpleEntry<>(keys[index], values[index++]);
+
+        return null;
+    }
+
+    @Override
+    public boolean build(EntrySink<K, V> sink) {
+
+        while (index < keys.length) {
+
+            sink.put(keys[index], values[index++]);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package collections.builders.benchmarks;
+
+import collections.builders.SizedBuilder;
+
+/**
+ * An {@link ArrayBuilder} that reports the length of it's array as it's size so that the builder collections can
+ * presize their backing collections.
+ *
+ * @author Karl Bennett
+ *
+ * @param <V> the type of value that is to be built.
+ */
+public class SizedArrayBuilder<V> extends ArrayBuilder<V> implements SizedBuilder<V> {
+
+    private final int size;
+
+
+    /**
+     * Instantiate a new {@code SizedArrayBuilder} that will build the supplied values.
+     *
+     * @param values the values that will be built in order.
+     */
+    public SizedArrayBuilder(V[] values) {
+        super(values);
+
+        this.size = values.length;
+    }
+
+
+    @Override
+    public int size() {
+
+        return size;
+    }
+}
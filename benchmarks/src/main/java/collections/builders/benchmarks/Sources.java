@@ -0,0 +1,68 @@
+package collections.builders.benchmarks;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.Random;
+
+/**
+ * Factory methods for the source data that the benchmarks build their collections from. All the data is generated from
+ * a fixed seed so that every run and every backing type sees the same elements in the same order.
+ *
+ * @author Karl Bennett
+ */
+public final class Sources {
+
+    private static final long SEED = 42L;
+
+
+    private Sources() {
+    }
+
+
+    /**
+     * Create an array containing the integers from {@code 0} to {@code size - 1} in a shuffled order.
+     *
+     * @param size the number of integers to create.
+     * @return the shuffled integers.
+     */
+    public static Integer[] integers(int size) {
+
+        final Integer[] integers = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+
+            integers[i] = i;
+        }
+
+        final Random random = new Random(SEED);
+
+        for (int i = size - 1; i > 0; i--) {
+
+            final int j = random.nextInt(i + 1);
+            final Integer swap = integers[i];
+            integers[i] = integers[j];
+            integers[j] = swap;
+        }
+
+        return integers;
+    }
+
+    /**
+     * Create an array of entries that map each of the supplied keys to their string value.
+     *
+     * @param keys the keys for the entries.
+     * @return the new entries.
+     */
+    @SuppressWarnings("unchecked")
+    public static Entry<Integer, String>[] entries(Integer[] keys) {
+
+        final Entry<Integer, String>[] entries = new Entry[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+
+            entries[i] = new SimpleEntry<>(keys[i], keys[i].toString());
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,63 @@
+package collections.builders.benchmarks;
+
+import collections.builders.SplittableBuilder;
+
+/**
+ * A {@link SplittableBuilder} over a range of an array that splits in half until the parts are small enough to build
+ * on a single thread.
+ *
+ * @author Karl Bennett
+ *
+ * @param <V> the type of value that is to be built.
+ */
+public class SplittableArrayBuilder<V> implements SplittableBuilder<V> {
+
+    private static final int MINIMUM_SPLIT = 1 << 14;
+
+    private final V[] values;
+
+    private int index;
+
+    private final int end;
+
+
+    /**
+     * Instantiate a new {@code SplittableArrayBuilder} that will build all the supplied values.
+     *
+     * @param values the values that will be built in order.
+     */
+    public SplittableArrayBuilder(V[] values) {
+
+        this(values, 0, values.length);
+    }
+
+    private SplittableArrayBuilder(V[] values, int index, int end) {
+
+        this.values = values;
+        this.index = index;
+        this.end = end;
+    }
+
+
+    @Override
+    public SplittableBuilder<V> split() {
+
+        if (MINIMUM_SPLIT > end - index) return null;
+
+        final int middle = index + (end - index) / 2;
+
+        final SplittableArrayBuilder<V> prefix = new SplittableArrayBuilder<>(values, index, middle);
+
+        index = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public V build() {
+
+        if (index < end) return values[index++];
+
+        return null;
+    }
+}
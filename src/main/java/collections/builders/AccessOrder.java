@@ -0,0 +1,96 @@
+package collections.builders;
+
+/**
+ * A doubly linked queue of {@link CacheNode}s that are linked through their own fields, so moving a node to the back
+ * of the queue does not allocate. A node can only be in one queue at a time. The queue also keeps the total weight of
+ * it's nodes.
+ *
+ * @param <K> the type of the nodes keys.
+ * @param <V> the type of the nodes values.
+ *
+ * @author Karl Bennett
+ */
+final class AccessOrder<K, V> {
+
+    private CacheNode<K, V> first;
+
+    private CacheNode<K, V> last;
+
+    private long weight = 0;
+
+
+    /**
+     * The node at the front of the queue, which is the one that was added or moved longest ago.
+     *
+     * @return the first node, or {@code null} if the queue is empty.
+     */
+    CacheNode<K, V> first() {
+
+        return first;
+    }
+
+    /**
+     * The total weight of the nodes in the queue.
+     *
+     * @return the weight of the queue.
+     */
+    long weight() {
+
+        return weight;
+    }
+
+    /**
+     * Add a node to the back of the queue.
+     *
+     * @param node the node to add, it must not already be in a queue.
+     */
+    void addLast(CacheNode<K, V> node) {
+
+        node.order = this;
+        node.previous = last;
+        node.next = null;
+
+        if (null == last) first = node;
+
+        else last.next = node;
+
+        last = node;
+
+        weight += node.weight;
+    }
+
+    /**
+     * Remove a node from the queue.
+     *
+     * @param node the node to remove, it must be in this queue.
+     */
+    void remove(CacheNode<K, V> node) {
+
+        if (null == node.previous) first = node.next;
+
+        else node.previous.next = node.next;
+
+        if (null == node.next) last = node.previous;
+
+        else node.next.previous = node.previous;
+
+        node.order = null;
+        node.previous = null;
+        node.next = null;
+
+        weight -= node.weight;
+    }
+
+    /**
+     * Move a node to the back of the queue.
+     *
+     * @param node the node to move, it must be in this queue.
+     */
+    void moveToLast(CacheNode<K, V> node) {
+
+        if (last == node) return;
+
+        remove(node);
+        addLast(node);
+    }
+}
@@ -0,0 +1,151 @@
+package collections.builders;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The shared state of a build that is running in the background. The asynchronous builder collections use this object
+ * as the lock that guards their backing collection, the building thread signals it every time something is added and
+ * the reading threads wait on it until what they need has been built.
+ * <p/>
+ * Apart from {@link #completion()} every method must be called while holding the lock of this object.
+ *
+ * @author Karl Bennett
+ */
+final class AsyncBuild {
+
+    private static final BooleanSupplier NEVER = new BooleanSupplier() {
+
+        @Override
+        public boolean getAsBoolean() {
+
+            return false;
+        }
+    };
+
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private boolean built = false;
+
+    private Throwable failure = null;
+
+    private int waiting = 0;
+
+
+    /**
+     * Check if the build has finished, either successfully or not.
+     *
+     * @return {@code true} if the builder will not build anything more, otherwise {@code false}.
+     */
+    boolean isBuilt() {
+
+        return built;
+    }
+
+    /**
+     * Wake any readers that are waiting for more to be built. This costs nothing if no one is waiting.
+     */
+    void signal() {
+
+        if (0 < waiting) notifyAll();
+    }
+
+    /**
+     * Record that the build has finished and wake every waiting reader. Must not be called while holding the lock so
+     * that the dependents of the {@link #completion()} future are not run while holding it.
+     *
+     * @param failure the exception that stopped the build, or {@code null} if it finished successfully.
+     */
+    void finish(Throwable failure) {
+
+        synchronized (this) {
+
+            this.built = true;
+            this.failure = failure;
+
+            notifyAll();
+        }
+
+        if (null == failure) completion.complete(null);
+
+        else completion.completeExceptionally(failure);
+    }
+
+    /**
+     * Wait until the supplied condition is true or the build has finished. Interrupts are deferred until the wait is
+     * over so that the collection methods can block without throwing {@link InterruptedException}.
+     *
+     * @param ready the condition that is being waited for.
+     * @return {@code true} if the condition was met, {@code false} if the build finished before it was.
+     * @throws IllegalStateException if the build failed before the condition was met.
+     */
+    boolean awaitUntil(BooleanSupplier ready) {
+
+        boolean interrupted = false;
+
+        try {
+
+            while (!ready.getAsBoolean()) {
+
+                if (built) {
+
+                    checkFailure();
+
+                    return false;
+                }
+
+                waiting++;
+
+                try {
+
+                    wait();
+
+                } catch (InterruptedException e) {
+
+                    interrupted = true;
+
+                } finally {
+
+                    waiting--;
+                }
+            }
+
+            return true;
+
+        } finally {
+
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wait until the build has finished.
+     *
+     * @throws IllegalStateException if the build failed.
+     */
+    void awaitBuilt() {
+
+        if (built) checkFailure();
+
+        else awaitUntil(NEVER);
+    }
+
+    /**
+     * A future that will complete once the build has finished, or complete exceptionally if the build failed.
+     *
+     * @return the completion future of the build.
+     */
+    CompletableFuture<Void> completion() {
+
+        return completion;
+    }
+
+    private void checkFailure() {
+
+        if (null != failure) {
+
+            throw new IllegalStateException("The background build failed.", failure);
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * This {@code AsyncBuilderCollection} is an asynchronous version of the {@link BuilderCollection}, instead of building
+ * all it's elements within it's constructor it runs the {@link Builder} on the supplied {@link Executor} and returns
+ * straight away.
+ * <p/>
+ * It is constructed with a {@link Builder}, a backing {@link Collection} and an {@link Executor}.
+ * <p/>
+ * The {@link Builder#build()} method will be repeatedly called on a thread of the executor until it returns
+ * {@code null}. Any executor can be used, including one that starts a virtual thread per task such as
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} or {@code Thread::startVirtualThread} on Java 21. If the builder
+ * is a {@link BatchBuilder} then it's elements will be added a batch at a time.
+ * <p/>
+ * The collection can be used while it is being built. Reads block until what they need has been built, so
+ * {@link #contains(Object)} returns as soon as the element is built and {@link #isEmpty()} as soon as any element is
+ * built, everything else waits for the whole build to finish. Mutations also wait for the whole build to finish so that
+ * they are applied after the built elements. Alternatively the {@link #future()} can be used to be told without
+ * blocking when the build has finished. If the builder throws an exception then any read that was still waiting for
+ * more elements will throw an {@link IllegalStateException} caused by that exception.
+ * <p/>
+ * Every method is synchronized on the builds lock, though like {@link java.util.Collections#synchronizedCollection}
+ * any iterating must be manually synchronized once the build has finished if the collection is also being mutated.
+ * <p/>
+ * Example:
+ * <code>
+ *      Collection<String> references = new AsyncBuilderCollection<>(referenceBuilder, new HashSet<String>(),
+ *              Executors.newVirtualThreadPerTaskExecutor());
+ * <p/>
+ *      references.contains("one"); // Blocks until "one" is built or the build has finished.
+ * </code>
+ *
+ * @author Karl Bennett
+ *
+ * @param <E> the generic type of the collections elements.
+ */
+public class AsyncBuilderCollection<E> implements Collection<E> {
+
+    private final Collection<E> collection;
+
+    private final AsyncBuild build = new AsyncBuild();
+
+    private final PriorityQueue<Pending<E>> pending = new PriorityQueue<>();
+
+
+    /**
+     * Instantiate a new {@code AsyncBuilderCollection} that will use the supplied {@link Builder} to build it's
+     * elements on the supplied {@link Executor} and the supplied backing {@link Collection} to hold it's elements.
+     *
+     * @param builder    the builder used to build the elements for the new collection.
+     * @param collection the collection that will be used to hold the built elements.
+     * @param executor   the executor that the builder will be run on.
+     */
+    public AsyncBuilderCollection(final Builder<E> builder, Collection<E> collection, Executor executor) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,Collection,Executor) builder must not be null.");
+        }
+
+        if (null == collection) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,Collection,Executor) collection must not be null.");
+        }
+
+        if (null == executor) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,Collection,Executor) executor must not be null.");
+        }
+
+        this.collection = collection;
+
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                build(builder);
+            }
+        });
+    }
+
+
+    /**
+     * Check if the build has finished.
+     *
+     * @return {@code true} if the builder will not build any more elements, otherwise {@code false}.
+     */
+    public boolean isBuilt() {
+
+        synchronized (build) {
+
+            return build.isBuilt();
+        }
+    }
+
+    /**
+     * A future that completes with this collection once every element has been built, or completes exceptionally if
+     * the builder throws an exception.
+     * <p/>
+     * The future is completed after the build lock has been released and any waiting reads have been woken, so that
+     * it's dependents never run while holding the lock. A read on another thread can therefore see the finished
+     * collection, or the builders failure, a moment before this future completes.
+     *
+     * @return the future of the built collection.
+     */
+    public CompletableFuture<? extends Collection<E>> future() {
+
+        return build.completion().thenApply(built -> this);
+    }
+
+    /**
+     * The lock and state of the build, used by the sub classes to wait for their elements.
+     *
+     * @return the state of the build.
+     */
+    AsyncBuild build() {
+
+        return build;
+    }
+
+    /**
+     * Get a future for the element at the supplied position in the backing collection, the future will complete as
+     * soon as that element has been built.
+     *
+     * @param index the position of the element.
+     * @param get   the function used to get an element that has already been built.
+     * @return the future of the element.
+     */
+    CompletableFuture<E> future(int index, IntFunction<E> get) {
+
+        synchronized (build) {
+
+            if (0 <= index && index < collection.size()) return CompletableFuture.completedFuture(get.apply(index));
+
+            final CompletableFuture<E> future = new CompletableFuture<>();
+
+            if (0 > index || build.isBuilt()) {
+
+                future.completeExceptionally(new IndexOutOfBoundsException("Index: " + index));
+
+                return future;
+            }
+
+            pending.add(new Pending<>(index, future));
+
+            return future;
+        }
+    }
+
+    private void build(Builder<E> builder) {
+
+        try {
+
+            synchronized (build) {
+
+                Sizes.ensureCapacity(collection, Sizes.size(builder));
+            }
+
+            if (builder instanceof BatchBuilder) {
+
+                buildBatches((BatchBuilder<E>) builder);
+
+            } else {
+
+                for (E element = builder.build(); null != element; element = builder.build()) {
+
+                    final List<Pending<E>> ready;
+
+                    synchronized (build) {
+
+                        collection.add(element);
+
+                        ready = ready(element, collection.size() - 1);
+
+                        build.signal();
+                    }
+
+                    complete(ready);
+                }
+            }
+
+            finish(null);
+
+        } catch (Throwable e) {
+
+            finish(e);
+        }
+    }
+
+    private void buildBatches(BatchBuilder<E> builder) {
+
+        final Batch<E> batch = new Batch<>(Batches.SIZE);
+
+        boolean more;
+
+        do {
+
+            more = builder.build(batch);
+
+            final List<Pending<E>> ready = new ArrayList<>();
+
+            synchronized (build) {
+
+                for (E element : batch) {
+
+                    collection.add(element);
+
+                    final List<Pending<E>> elementReady = ready(element, collection.size() - 1);
+
+                    if (null != elementReady) ready.addAll(elementReady);
+                }
+
+                build.signal();
+            }
+
+            complete(ready);
+
+            batch.reset();
+
+        } while (more);
+    }
+
+    /**
+     * Find the pending futures that are waiting for the element that was just built. Must be called while holding the
+     * builds lock.
+     */
+    private List<Pending<E>> ready(E element, int index) {
+
+        if (pending.isEmpty() || pending.peek().index > index) return null;
+
+        final List<Pending<E>> ready = new ArrayList<>();
+
+        while (!pending.isEmpty() && pending.peek().index <= index) {
+
+            final Pending<E> next = pending.poll();
+            next.element = element;
+
+            ready.add(next);
+        }
+
+        return ready;
+    }
+
+    private void complete(List<Pending<E>> ready) {
+
+        if (null == ready) return;
+
+        for (Pending<E> next : ready) {
+
+            next.future.complete(next.element);
+        }
+    }
+
+    private void finish(Throwable failure) {
+
+        final List<Pending<E>> remaining;
+        final int size;
+
+        synchronized (build) {
+
+            remaining = new ArrayList<>(pending);
+            size = collection.size();
+
+            pending.clear();
+        }
+
+        build.finish(failure);
+
+        for (Pending<E> next : remaining) {
+
+            next.future.completeExceptionally(null == failure ?
+                    new IndexOutOfBoundsException("Index: " + next.index + ", Size: " + size) : failure);
+        }
+    }
+
+
+    /**
+     * Waits for the whole build to finish.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.size();
+        }
+    }
+
+    /**
+     * Only waits until the first element is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+
+        synchronized (build) {
+
+            return !build.awaitUntil(() -> !collection.isEmpty());
+        }
+    }
+
+    /**
+     * Only waits until the element is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object element) {
+
+        synchronized (build) {
+
+            return build.awaitUntil(() -> collection.contains(element));
+        }
+    }
+
+    /**
+     * Waits for the whole build to finish.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.iterator();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.toArray();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(T[] array) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.toArray(array);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(E element) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.add(element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object element) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.remove(element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(Collection<?> elements) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.containsAll(elements);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.addAll(elements);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.removeAll(elements);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.retainAll(elements);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            collection.clear();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AsyncBuilderCollection<?> that = (AsyncBuilderCollection<?>) o;
+
+        that.size();
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.equals(that.collection);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.hashCode();
+        }
+    }
+
+    @Override
+    public String toString() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return collection.toString();
+        }
+    }
+
+
+    /**
+     * A future that is waiting for the element at an index to be built.
+     */
+    private static class Pending<E> implements Comparable<Pending<E>> {
+
+        private final int index;
+        private final CompletableFuture<E> future;
+
+        private E element;
+
+        private Pending(int index, CompletableFuture<E> future) {
+
+            this.index = index;
+            this.future = future;
+        }
+
+        @Override
+        public int compareTo(Pending<E> pending) {
+
+            return Integer.compare(index, pending.index);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * This {@code AsyncBuilderList} is an asynchronous version of the {@link BuilderList}, it runs the {@link Builder} on
+ * the supplied {@link Executor} and can be read while it is being built.
+ * <p/>
+ * It is constructed with a {@link Builder}, an optional backing {@link List} and an {@link Executor}.
+ * <p/>
+ * On top of the reads of the {@link AsyncBuilderCollection}, {@link #get(int)} only blocks until the element at it's
+ * index is built and {@link #getAsync(int)} returns a future of that element without blocking. The
+ * {@link #iterator()} streams the elements as they are built, blocking in {@link Iterator#hasNext()} until the next
+ * element is built or the build has finished.
+ * <p/>
+ * The backing list is the actual list that will hold the built elements. If no backing list is supplied then a
+ * {@link ArrayList} will be used. The backing list is read by index while it is being built so it should be a
+ * {@link java.util.RandomAccess} list.
+ * <p/>
+ * Example:
+ * <code>
+ *      List<String> pages = new AsyncBuilderList<>(pageBuilder, Executors.newVirtualThreadPerTaskExecutor());
+ * <p/>
+ *      pages.get(0);                          // Blocks until the first page has been built.
+ *      pages.getAsync(9).thenAccept(render);  // Renders the tenth page once it has been built.
+ * </code>
+ *
+ * @author Karl Bennett
+ *
+ * @param <E> the generic type of the lists elements.
+ */
+public class AsyncBuilderList<E> extends AsyncBuilderCollection<E> implements List<E> {
+
+    private final List<E> list;
+
+
+    /**
+     * Instantiate a new {@code AsyncBuilderList} that will use the supplied {@link Builder} to build it's elements on
+     * the supplied {@link Executor} and the supplied backing {@link List} to hold it's elements.
+     *
+     * @param builder  the builder used to build the elements for the new list.
+     * @param list     the list that will be used to hold the built elements.
+     * @param executor the executor that the builder will be run on.
+     */
+    public AsyncBuilderList(Builder<E> builder, List<E> list, Executor executor) {
+        super(builder, list, executor);
+
+        this.list = list;
+    }
+
+    /**
+     * Instantiate a new {@code AsyncBuilderList} that will use the supplied {@link Builder} to build it's elements on
+     * the supplied {@link Executor}. The backing list will be an {@link ArrayList} that is presized if the builder is
+     * a {@link SizedBuilder}.
+     *
+     * @param builder  the builder used to build the elements for the new list.
+     * @param executor the executor that the builder will be run on.
+     */
+    public AsyncBuilderList(Builder<E> builder, Executor executor) {
+
+        this(builder, new ArrayList<E>(Sizes.listCapacity(builder)), executor);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<E>> future() {
+
+        return (CompletableFuture<List<E>>) super.future();
+    }
+
+    /**
+     * Get a future of the element at the supplied index that will complete as soon as that element has been built. The
+     * future completes exceptionally with an {@link IndexOutOfBoundsException} if the build finishes without reaching
+     * the index, or with the builders exception if it fails.
+     *
+     * @param index the index of the element.
+     * @return the future of the element.
+     */
+    public CompletableFuture<E> getAsync(int index) {
+
+        return future(index, list::get);
+    }
+
+    /**
+     * Only waits until the element is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object element) {
+
+        return 0 <= indexOf(element);
+    }
+
+    /**
+     * Streams the elements as they are built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+
+        return new AsyncIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> element) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.addAll(index, element);
+        }
+    }
+
+    /**
+     * Only waits until the element at the index is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+
+        synchronized (build()) {
+
+            build().awaitUntil(() -> index < list.size());
+
+            return list.get(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E set(int index, E element) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.set(index, element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, E element) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            list.add(index, element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E remove(int index) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.remove(index);
+        }
+    }
+
+    /**
+     * Only waits until the element is built, each element is only checked once no matter how many times the wait
+     * is woken.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object element) {
+
+        synchronized (build()) {
+
+            final int[] checked = {0};
+            final int[] index = {-1};
+
+            build().awaitUntil(() -> {
+
+                for (final int size = list.size(); checked[0] < size; checked[0]++) {
+
+                    final E next = list.get(checked[0]);
+
+                    if (null == element ? null == next : element.equals(next)) {
+
+                        index[0] = checked[0];
+
+                        return true;
+                    }
+                }
+
+                return false;
+            });
+
+            return index[0];
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object element) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.lastIndexOf(element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.listIterator();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator(int index) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.listIterator(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+
+        synchronized (build()) {
+
+            build().awaitBuilt();
+
+            return list.subList(fromIndex, toIndex);
+        }
+    }
+
+
+    /**
+     * An iterator that walks the backing list by index and blocks until the next element has been built.
+     */
+    private class AsyncIterator implements Iterator<E> {
+
+        private int index = 0;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+
+            synchronized (build()) {
+
+                return build().awaitUntil(() -> index < list.size());
+            }
+        }
+
+        @Override
+        public E next() {
+
+            synchronized (build()) {
+
+                if (!hasNext()) throw new NoSuchElementException();
+
+                last = index;
+
+                return list.get(index++);
+            }
+        }
+
+        /**
+         * Waits for the whole build to finish so that the removal does not shift any elements that are being built.
+         */
+        @Override
+        public void remove() {
+
+            synchronized (build()) {
+
+                if (0 > last) throw new IllegalStateException();
+
+                build().awaitBuilt();
+
+                list.remove(last);
+
+                index = last;
+                last = -1;
+            }
+        }
+    }
+}
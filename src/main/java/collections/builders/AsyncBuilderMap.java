@@ -0,0 +1,538 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * This {@code AsyncBuilderMap} is an asynchronous version of the {@link BuilderMap}, instead of building all it's
+ * entries within it's constructor it runs the {@link Builder} on the supplied {@link Executor} and returns straight
+ * away.
+ * <p/>
+ * It is constructed with a {@link Builder}, an optional backing {@link Map} and an {@link Executor}.
+ * <p/>
+ * The {@link Builder#build()} method will be repeatedly called on a thread of the executor until it returns
+ * {@code null}. Any executor can be used, including one that starts a virtual thread per task such as
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} or {@code Thread::startVirtualThread} on Java 21. If the builder
+ * is an {@link EntryBuilder} then it's keys and values will be put straight into the map as they are built, and if it
+ * is a {@link BatchBuilder} then it's entries will be put a batch at a time.
+ * <p/>
+ * The map can be used while it is being built. {@link #get(Object)} and {@link #containsKey(Object)} only block until
+ * the key has been built, and {@link #getAsync(Object)} returns a future of the value without blocking. Everything else
+ * waits for the whole build to finish, as do all mutations. The {@link #future()} can be used to be told without
+ * blocking when the build has finished. If the builder throws an exception then any read that was still waiting will
+ * throw an {@link IllegalStateException} caused by that exception.
+ * <p/>
+ * The backing map is the actual collection that will hold the built keys and values. If no backing map is supplied then
+ * a {@link HashMap} will be used.
+ * <p/>
+ * Example:
+ * <code>
+ *      Map<Integer, String> names = new AsyncBuilderMap<>(nameBuilder, Executors.newVirtualThreadPerTaskExecutor());
+ * <p/>
+ *      names.get(1);                          // Blocks until the key 1 is built or the build has finished.
+ *      names.getAsync(2).thenAccept(greet);   // Greets the name for 2 once it has been built.
+ * </code>
+ *
+ * @author Karl Bennett
+ *
+ * @param <K> the generic type of the maps keys.
+ * @param <V> the generic type of the maps values.
+ */
+public class AsyncBuilderMap<K, V> implements Map<K, V> {
+
+    private final Map<K, V> map;
+
+    private final AsyncBuild build = new AsyncBuild();
+
+    private final Map<Object, List<CompletableFuture<V>>> pending = new HashMap<>();
+
+
+    /**
+     * Instantiate a new {@code AsyncBuilderMap} that will use the supplied {@link Builder} to build it's entries on the
+     * supplied {@link Executor} and the supplied backing {@link Map} to hold it's keys and values.
+     *
+     * @param builder  the builder used to build the entries for the new map.
+     * @param map      the map that will be used to hold the built keys and value.
+     * @param executor the executor that the builder will be run on.
+     */
+    public AsyncBuilderMap(final Builder<Entry<K, V>> builder, Map<K, V> map, Executor executor) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Map, Executor) builder must not be null.");
+        }
+
+        if (null == map) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Builder, Map, Executor) map must not be null.");
+        }
+
+        if (null == executor) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Map, Executor) executor must not be null.");
+        }
+
+        this.map = map;
+
+        executor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                build(builder);
+            }
+        });
+    }
+
+    /**
+     * Instantiate a new {@code AsyncBuilderMap} that will use the supplied {@link Builder} to build it's entries on the
+     * supplied {@link Executor}. The backing map will be a {@link HashMap} that is presized if the builder is a
+     * {@link SizedBuilder}.
+     *
+     * @param builder  the builder used to build the entries for the new map.
+     * @param executor the executor that the builder will be run on.
+     */
+    public AsyncBuilderMap(Builder<Entry<K, V>> builder, Executor executor) {
+
+        this(builder, new HashMap<K, V>(Sizes.hashCapacity(builder)), executor);
+    }
+
+
+    /**
+     * Check if the build has finished.
+     *
+     * @return {@code true} if the builder will not build any more entries, otherwise {@code false}.
+     */
+    public boolean isBuilt() {
+
+        synchronized (build) {
+
+            return build.isBuilt();
+        }
+    }
+
+    /**
+     * A future that completes with this map once every entry has been built, or completes exceptionally if the builder
+     * throws an exception.
+     * <p/>
+     * The future is completed after the build lock has been released and any waiting reads have been woken, so that
+     * it's dependents never run while holding the lock. A read on another thread can therefore see the finished
+     * map, or the builders failure, a moment before this future completes.
+     *
+     * @return the future of the built map.
+     */
+    public CompletableFuture<Map<K, V>> future() {
+
+        return build.completion().thenApply(built -> this);
+    }
+
+    /**
+     * Get a future of the value for the supplied key that will complete as soon as that key has been built. The future
+     * completes with {@code null} if the build finishes without building the key, or exceptionally with the builders
+     * exception if it fails.
+     *
+     * @param key the key of the value.
+     * @return the future of the value.
+     */
+    public CompletableFuture<V> getAsync(Object key) {
+
+        synchronized (build) {
+
+            if (build.isBuilt() || map.containsKey(key)) return CompletableFuture.completedFuture(map.get(key));
+
+            final CompletableFuture<V> future = new CompletableFuture<>();
+
+            List<CompletableFuture<V>> futures = pending.get(key);
+
+            if (null == futures) {
+
+                futures = new ArrayList<>(1);
+
+                pending.put(key, futures);
+            }
+
+            futures.add(future);
+
+            return future;
+        }
+    }
+
+    private void build(Builder<Entry<K, V>> builder) {
+
+        try {
+
+            if (builder instanceof EntryBuilder) {
+
+                buildEntries((EntryBuilder<K, V>) builder);
+
+            } else if (builder instanceof BatchBuilder) {
+
+                buildBatches((BatchBuilder<Entry<K, V>>) builder);
+
+            } else {
+
+                for (Entry<K, V> entry = builder.build(); null != entry; entry = builder.build()) {
+
+                    final List<CompletableFuture<V>> ready;
+
+                    synchronized (build) {
+
+                        map.put(entry.getKey(), entry.getValue());
+
+                        ready = pending.isEmpty() ? null : pending.remove(entry.getKey());
+
+                        build.signal();
+                    }
+
+                    complete(ready, entry.getValue());
+                }
+            }
+
+            finish(null);
+
+        } catch (Throwable e) {
+
+            finish(e);
+        }
+    }
+
+    private void buildEntries(EntryBuilder<K, V> builder) {
+
+        final EntrySink<K, V> sink = new EntrySink<K, V>() {
+
+            @Override
+            public void put(K key, V value) {
+
+                final List<CompletableFuture<V>> ready;
+
+                synchronized (build) {
+
+                    map.put(key, value);
+
+                    ready = pending.isEmpty() ? null : pending.remove(key);
+
+                    build.signal();
+                }
+
+                complete(ready, value);
+            }
+        };
+
+        boolean more;
+
+        do {
+
+            more = builder.build(sink);
+
+        } while (more);
+    }
+
+    private void buildBatches(BatchBuilder<Entry<K, V>> builder) {
+
+        final Batch<Entry<K, V>> batch = new Batch<>(Batches.SIZE);
+
+        boolean more;
+
+        do {
+
+            more = builder.build(batch);
+
+            final List<Entry<K, V>> readyEntries = new ArrayList<>();
+            final List<List<CompletableFuture<V>>> ready = new ArrayList<>();
+
+            synchronized (build) {
+
+                for (Entry<K, V> entry : batch) {
+
+                    map.put(entry.getKey(), entry.getValue());
+
+                    final List<CompletableFuture<V>> futures = pending.isEmpty() ? null :
+                            pending.remove(entry.getKey());
+
+                    if (null != futures) {
+
+                        readyEntries.add(entry);
+                        ready.add(futures);
+                    }
+                }
+
+                build.signal();
+            }
+
+            for (int i = 0; i < ready.size(); i++) {
+
+                complete(ready.get(i), readyEntries.get(i).getValue());
+            }
+
+            batch.reset();
+
+        } while (more);
+    }
+
+    private void complete(List<CompletableFuture<V>> ready, V value) {
+
+        if (null == ready) return;
+
+        for (CompletableFuture<V> future : ready) {
+
+            future.complete(value);
+        }
+    }
+
+    private void finish(Throwable failure) {
+
+        final List<List<CompletableFuture<V>>> remaining;
+
+        synchronized (build) {
+
+            remaining = new ArrayList<>(pending.values());
+
+            pending.clear();
+        }
+
+        build.finish(failure);
+
+        for (List<CompletableFuture<V>> futures : remaining) {
+
+            for (CompletableFuture<V> future : futures) {
+
+                if (null == failure) future.complete(null);
+
+                else future.completeExceptionally(failure);
+            }
+        }
+    }
+
+
+    /**
+     * Waits for the whole build to finish.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.size();
+        }
+    }
+
+    /**
+     * Only waits until the first entry is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+
+        synchronized (build) {
+
+            return !build.awaitUntil(() -> !map.isEmpty());
+        }
+    }
+
+    /**
+     * Only waits until the key is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        synchronized (build) {
+
+            return build.awaitUntil(() -> map.containsKey(key));
+        }
+    }
+
+    /**
+     * Waits for the whole build to finish.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(Object value) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.containsValue(value);
+        }
+    }
+
+    /**
+     * Only waits until the key is built.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+
+        synchronized (build) {
+
+            build.awaitUntil(() -> map.containsKey(key));
+
+            return map.get(key);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(K key, V value) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.put(key, value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.remove(key);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            this.map.putAll(map);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            map.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<K> keySet() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.keySet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<V> values() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.values();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.entrySet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AsyncBuilderMap<?, ?> that = (AsyncBuilderMap<?, ?>) o;
+
+        that.size();
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.equals(that.map);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.hashCode();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+
+        synchronized (build) {
+
+            build.awaitBuilt();
+
+            return map.toString();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package collections.builders;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * This {@code AsyncBuilderSet} is an asynchronous version of the {@link BuilderSet}, it runs the {@link Builder} on the
+ * supplied {@link Executor} and can be read while it is being built. {@link #contains(Object)} only blocks until the
+ * element has been built or the build has finished.
+ * <p/>
+ * It is constructed with a {@link Builder}, an optional backing {@link Set} and an {@link Executor}.
+ * <p/>
+ * The backing set is the actual set that will hold the built elements. If no backing set is supplied then a
+ * {@link HashSet} will be used.
+ * <p/>
+ * Example:
+ * <code>
+ *      Set<String> references = new AsyncBuilderSet<>(referenceBuilder, Executors.newVirtualThreadPerTaskExecutor());
+ * <p/>
+ *      references.contains("one"); // Blocks until "one" is built or the build has finished.
+ * </code>
+ *
+ * @author Karl Bennett
+ *
+ * @param <E> the generic type of the sets elements.
+ */
+public class AsyncBuilderSet<E> extends AsyncBuilderCollection<E> implements Set<E> {
+
+    /**
+     * Instantiate a new {@code AsyncBuilderSet} that will use the supplied {@link Builder} to build it's elements on
+     * the supplied {@link Executor} and the supplied backing {@link Set} to hold it's elements.
+     *
+     * @param builder  the builder used to build the elements for the new set.
+     * @param set      the set that will be used to hold the built elements.
+     * @param executor the executor that the builder will be run on.
+     */
+    public AsyncBuilderSet(Builder<E> builder, Set<E> set, Executor executor) {
+        super(builder, set, executor);
+    }
+
+    /**
+     * Instantiate a new {@code AsyncBuilderSet} that will use the supplied {@link Builder} to build it's elements on
+     * the supplied {@link Executor}. The backing set will be a {@link HashSet} that is presized if the builder is a
+     * {@link SizedBuilder}.
+     *
+     * @param builder  the builder used to build the elements for the new set.
+     * @param executor the executor that the builder will be run on.
+     */
+    public AsyncBuilderSet(Builder<E> builder, Executor executor) {
+        this(builder, new HashSet<E>(Sizes.hashCapacity(builder)), executor);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Set<E>> future() {
+
+        return (CompletableFuture<Set<E>>) super.future();
+    }
+}
@@ -0,0 +1,134 @@
+package collections.builders;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A fixed capacity list that a {@link BatchBuilder} fills with built values. The builder collections reuse a single
+ * batch for the whole of their construction so filling it does not allocate.
+ *
+ * @param <V> the type of value that the batch holds.
+ *
+ * @author Karl Bennett
+ */
+public final class Batch<V> extends AbstractList<V> implements RandomAccess {
+
+    private final Object[] values;
+
+    private int size = 0;
+
+
+    /**
+     * Instantiate a new empty {@code Batch} that can hold the supplied number of values.
+     *
+     * @param capacity the maximum number of values the batch can hold.
+     */
+    Batch(int capacity) {
+
+        this.values = new Object[capacity];
+    }
+
+
+    /**
+     * Add a value to the end of this batch.
+     *
+     * @param value the value to add.
+     * @return {@code true}.
+     * @throws IllegalStateException if the batch is full.
+     */
+    @Override
+    public boolean add(V value) {
+
+        if (values.length == size) {
+
+            throw new IllegalStateException(getClass().getName() + ".add(Object) batch is full.");
+        }
+
+        values[size++] = value;
+
+        return true;
+    }
+
+    /**
+     * The maximum number of values that this batch can hold.
+     *
+     * @return the capacity of the batch.
+     */
+    public int capacity() {
+
+        return values.length;
+    }
+
+    /**
+     * The number of values that can still be added to this batch.
+     *
+     * @return the remaining capacity of the batch.
+     */
+    public int remaining() {
+
+        return values.length - size;
+    }
+
+    /**
+     * Check if this batch can hold any more values.
+     *
+     * @return {@code true} if no more values can be added, otherwise {@code false}.
+     */
+    public boolean isFull() {
+
+        return values.length == size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int index) {
+
+        if (index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        return (V) values[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Copy straight out of the batch so that an {@link java.util.ArrayList} can add the whole batch with a single
+     * array copy.
+     *
+     * @return a copy of the values in this batch.
+     */
+    @Override
+    public Object[] toArray() {
+
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Empty this batch so that it can be filled again.
+     */
+    @Override
+    public void clear() {
+
+        Arrays.fill(values, 0, size, null);
+
+        size = 0;
+    }
+
+    /**
+     * Empty this batch without releasing the values it held, they will be overwritten as the batch is filled again.
+     */
+    void reset() {
+
+        size = 0;
+    }
+}
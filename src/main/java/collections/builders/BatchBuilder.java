@@ -0,0 +1,27 @@
+package collections.builders;
+
+/**
+ * A {@link Builder} that can build many values in a single call. The builder collections will fill a reusable
+ * {@link Batch} through {@link #build(Batch)} and bulk insert each batch into their backing collection instead of
+ * calling {@link #build()} once for every element.
+ * <p/>
+ * The {@link #build()} method is still required so that a {@code BatchBuilder} can be used anywhere a {@link Builder}
+ * can, though the builder collections will never call it.
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface BatchBuilder<V> extends Builder<V> {
+
+    /**
+     * Build a batch of values by adding them to the supplied empty {@link Batch}, no more than
+     * {@link Batch#capacity()} values can be added and none of them may be {@code null}. Leaving the batch empty is
+     * allowed and just means that no values were ready this time, the end of the values must be signaled explicitly
+     * by returning {@code false}. Any values added in the same call that returns {@code false} will still be used.
+     *
+     * @param batch the batch to build the values into.
+     * @return {@code true} if there may be more values to build, otherwise {@code false}.
+     */
+    public boolean build(Batch<V> batch);
+}
@@ -0,0 +1,102 @@
+package collections.builders;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Helper methods for draining a {@link BatchBuilder} into a backing collection or map.
+ *
+ * @author Karl Bennett
+ */
+final class Batches {
+
+    /**
+     * The capacity of the {@link Batch} that is given to a {@link BatchBuilder}.
+     */
+    static final int SIZE = 1024;
+
+
+    private Batches() {
+    }
+
+
+    /**
+     * Build all the values from the supplied builder and bulk add them to the supplied collection one batch at a
+     * time.
+     *
+     * @param builder    the builder to drain.
+     * @param collection the collection to add the built values to.
+     */
+    static <E> void addAll(BatchBuilder<E> builder, Collection<E> collection) {
+
+        final Batch<E> batch = new Batch<>(SIZE);
+
+        boolean more;
+
+        do {
+
+            more = builder.build(batch);
+
+            if (!batch.isEmpty()) collection.addAll(batch);
+
+            batch.reset();
+
+        } while (more);
+    }
+
+    /**
+     * Build all the values from the supplied builder and pass each of them to the supplied consumer one batch at a
+     * time.
+     *
+     * @param builder  the builder to drain.
+     * @param consumer the consumer that is given each built value.
+     */
+    static <E> void forEach(BatchBuilder<E> builder, Consumer<? super E> consumer) {
+
+        final Batch<E> batch = new Batch<>(SIZE);
+
+        boolean more;
+
+        do {
+
+            more = builder.build(batch);
+
+            for (int i = 0, size = batch.size(); i < size; i++) {
+
+                consumer.accept(batch.get(i));
+            }
+
+            batch.reset();
+
+        } while (more);
+    }
+
+    /**
+     * Build all the entries from the supplied builder and put them into the supplied sink one batch at a time.
+     *
+     * @param builder the builder to drain.
+     * @param sink    the sink to put the built entries into.
+     */
+    static <K, V> void putAll(BatchBuilder<Map.Entry<K, V>> builder, EntrySink<K, V> sink) {
+
+        final Batch<Map.Entry<K, V>> batch = new Batch<>(SIZE);
+
+        boolean more;
+
+        do {
+
+            more = builder.build(batch);
+
+            for (int i = 0, size = batch.size(); i < size; i++) {
+
+                final Map.Entry<K, V> entry = batch.get(i);
+
+                sink.put(entry.getKey(), entry.getValue());
+            }
+
+            batch.reset();
+
+        } while (more);
+    }
+}
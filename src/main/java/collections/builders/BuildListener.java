@@ -0,0 +1,86 @@
+package collections.builders;
+
+/**
+ * A {@code BuildListener} is told how long the builder collections take to build their elements and, if it asks for
+ * them, how long a sample of the later accesses to their backing collections take. It is the hook that should be used
+ * to feed the construction of a collection into an existing metrics system, {@link BuildStatistics} is a simple
+ * implementation that just records the measurements.
+ * <p/>
+ * All the times are in nanoseconds as measured by {@link System#nanoTime()}. The default listener is {@link #NONE},
+ * when it is used the collections are built and accessed without being timed at all.
+ *
+ * @author Karl Bennett
+ */
+public interface BuildListener {
+
+    /**
+     * The delegated operations that can have their access times sampled.
+     */
+    public enum Access {
+        GET, CONTAINS, PUT
+    }
+
+
+    /**
+     * A listener that ignores everything and samples no accesses.
+     */
+    public static final BuildListener NONE = new BuildListener() {
+
+        @Override
+        public int sampleInterval() {
+
+            return 0;
+        }
+
+        @Override
+        public void built(int elements, long nanos) {
+        }
+
+        @Override
+        public void finished(long elements, long nanos) {
+        }
+
+        @Override
+        public void accessed(Access access, long nanos) {
+        }
+    };
+
+
+    /**
+     * The number of accesses to a collection for every one that should be timed, so {@code 1} will time all of them
+     * and {@code 100} will time one in every hundred. Zero or a negative number means that no accesses will be timed.
+     * This is only read once when the collection is constructed.
+     *
+     * @return the interval between the accesses that should be timed.
+     */
+    public int sampleInterval();
+
+    /**
+     * Called after each call to a builders build method with the number of elements that the call built and the time
+     * it took. The time does not include adding the elements to the backing collection, except for an
+     * {@link EntryBuilder} that puts it's entries straight into the collection as they are built. A plain
+     * {@link Builder} builds one element per call except for the last that builds none, a {@link BatchBuilder} or
+     * {@link EntryBuilder} can build any number.
+     *
+     * @param elements the number of elements that were built by the call.
+     * @param nanos    the time that the call took.
+     */
+    public void built(int elements, long nanos);
+
+    /**
+     * Called once when a collection has finished building with the total number of elements that were built and the
+     * time it took to build them and add them to the backing collection.
+     *
+     * @param elements the number of elements that were built.
+     * @param nanos    the time that the whole build took.
+     */
+    public void finished(long elements, long nanos);
+
+    /**
+     * Called with the time taken by a sampled access to a backing collection.
+     *
+     * @param access the operation that was timed.
+     * @param nanos  the time that the operation took.
+     */
+    public void accessed(Access access, long nanos);
+}
@@ -0,0 +1,268 @@
+package collections.builders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This {@code BuildStatistics} is a {@link BuildListener} that records what it is told so that it can be read later
+ * or copied into another metrics system. The times of the calls to the builders and of the sampled accesses are each
+ * kept in a histogram of power of two buckets, so bucket {@code i} counts the times from {@code 2^i} up to but not
+ * including {@code 2^(i + 1)} nanoseconds with bucket {@code 0} also counting the times of zero.
+ * <p/>
+ * A single {@code BuildStatistics} can be given to any number of collections, even while they are being built at the
+ * same time, and will add up the measurements of all of them.
+ * <p/>
+ * Example:
+ * <code>
+ *      BuildStatistics statistics = new BuildStatistics(100);
+ * <p/>
+ *      List<String> builderList = new BuilderList<>(statistics, builder, new ArrayList<String>());
+ * <p/>
+ *      statistics.elements(); // the number of elements that were built.
+ *      statistics.throughput(); // the number of elements built per second.
+ *      statistics.percentile(0.99); // the upper bound of the 99th percentile time of a call to the builder.
+ * </code>
+ *
+ * @author Karl Bennett
+ */
+public class BuildStatistics implements BuildListener {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private static final BuildListener.Access[] ACCESSES = BuildListener.Access.values();
+
+
+    private final int sampleInterval;
+
+    private final LongAdder builds = new LongAdder();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder elements = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLongArray accessLatencies = new AtomicLongArray(BUCKETS * ACCESSES.length);
+
+
+    /**
+     * Instantiate a new {@code BuildStatistics} that records the builds but does not sample any accesses.
+     */
+    public BuildStatistics() {
+
+        this(0);
+    }
+
+    /**
+     * Instantiate a new {@code BuildStatistics} that records the builds and times one in every {@code sampleInterval}
+     * accesses.
+     *
+     * @param sampleInterval the number of accesses for every one that should be timed, zero to time none.
+     */
+    public BuildStatistics(int sampleInterval) {
+
+        if (0 > sampleInterval) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(int) sampleInterval must not be negative.");
+        }
+
+        this.sampleInterval = sampleInterval;
+    }
+
+
+    /**
+     * Find the histogram bucket for the supplied time.
+     *
+     * @param nanos the time to find the bucket for.
+     * @return the bucket that the time should be counted in.
+     */
+    static int bucket(long nanos) {
+
+        return 0 >= nanos ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int sampleInterval() {
+
+        return sampleInterval;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void built(int elements, long nanos) {
+
+        calls.increment();
+
+        latencies.incrementAndGet(bucket(nanos));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void finished(long elements, long nanos) {
+
+        builds.increment();
+
+        this.elements.add(elements);
+        this.nanos.add(nanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void accessed(Access access, long nanos) {
+
+        accessLatencies.incrementAndGet(access.ordinal() * BUCKETS + bucket(nanos));
+    }
+
+
+    /**
+     * The number of builds that have finished.
+     *
+     * @return the number of finished builds.
+     */
+    public long builds() {
+
+        return builds.sum();
+    }
+
+    /**
+     * The number of calls that have been made to the builders.
+     *
+     * @return the number of builder calls.
+     */
+    public long calls() {
+
+        return calls.sum();
+    }
+
+    /**
+     * The number of elements built by all the finished builds.
+     *
+     * @return the number of built elements.
+     */
+    public long elements() {
+
+        return elements.sum();
+    }
+
+    /**
+     * The total time taken by all the finished builds.
+     *
+     * @return the build time in nanoseconds.
+     */
+    public long nanos() {
+
+        return nanos.sum();
+    }
+
+    /**
+     * The number of elements built per second by all the finished builds.
+     *
+     * @return the build throughput, or zero if nothing has been built.
+     */
+    public double throughput() {
+
+        final long nanos = nanos();
+
+        if (0 >= nanos) return 0;
+
+        return (double) elements() * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    /**
+     * A copy of the histogram of the times taken by the calls to the builders.
+     *
+     * @return the count of calls in each power of two bucket.
+     */
+    public long[] latencies() {
+
+        return copy(latencies, 0);
+    }
+
+    /**
+     * A copy of the histogram of the times taken by the sampled accesses of the supplied operation.
+     *
+     * @param access the operation to get the histogram of.
+     * @return the count of sampled accesses in each power of two bucket.
+     */
+    public long[] latencies(Access access) {
+
+        return copy(accessLatencies, access.ordinal() * BUCKETS);
+    }
+
+    /**
+     * The upper bound of the supplied percentile of the times taken by the calls to the builders. Because the times
+     * are held in power of two buckets the real percentile can be up to half of this bound.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 1}.
+     * @return the exclusive upper bound in nanoseconds of the bucket that holds the percentile, or zero if there have
+     * been no calls.
+     */
+    public long percentile(double percentile) {
+
+        return percentile(latencies(), percentile);
+    }
+
+    /**
+     * The upper bound of the supplied percentile of the times taken by the sampled accesses of the supplied operation.
+     *
+     * @param access     the operation to get the percentile of.
+     * @param percentile the percentile between {@code 0} and {@code 1}.
+     * @return the exclusive upper bound in nanoseconds of the bucket that holds the percentile, or zero if there have
+     * been no sampled accesses.
+     */
+    public long percentile(Access access, double percentile) {
+
+        return percentile(latencies(access), percentile);
+    }
+
+
+    private static long[] copy(AtomicLongArray histogram, int offset) {
+
+        final long[] counts = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) counts[i] = histogram.get(offset + i);
+
+        return counts;
+    }
+
+    private static long percentile(long[] counts, double percentile) {
+
+        if (0 > percentile || 1 < percentile) {
+
+            throw new IllegalArgumentException(BuildStatistics.class.getName() +
+                    ".percentile(double) percentile must be between 0 and 1.");
+        }
+
+        long total = 0;
+
+        for (long count : counts) total += count;
+
+        if (0 == total) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+
+            seen += counts[i];
+
+            if (seen >= rank) return BUCKETS - 1 == i ? Long.MAX_VALUE : 1L << (i + 1);
+        }
+
+        return Long.MAX_VALUE;
+    }
+}
@@ -2,6 +2,9 @@ package collections.builders;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * This {@code BuilderCollection} can be used to quickly construct a collection from another collection or as a base
@@ -11,9 +14,17 @@ import java.util.Iterator;
  * <p/>
  * The {@link Builder#build()} method must be implemented to provide the logic that will be used to build each element
  * to be contain within the collection. The {@link Builder#build()} method will be repeatedly called until it returns
- * {@code null}.
+ * {@code null}. If the builder is a {@link BatchBuilder} then it's elements will instead be built a batch at a time and
+ * bulk added to the backing collection. If the collection is also given a {@link ForkJoinPool} then a
+ * {@link SplittableBuilder} will be split and it's parts built in parallel. A {@link BuildListener} can be given to be
+ * told how long the build took and to sample the time taken to access the backing collection afterwards.
  * <p/>
- * The backing collection is the actual collection that will hold the built elements.
+ * If the builder is a {@link ResumableBuilder} then it is kept so that {@link #refresh()} can later pull in just the
+ * elements that are new since the collection was built, and remove any that a {@link DiffBuilder} says are gone.
+ * <p/>
+ * The backing collection is the actual collection that will hold the built elements. If the builder is a
+ * {@link SizedBuilder} then a backing {@link java.util.ArrayList} or {@link java.util.Vector} will have it's capacity
+ * ensured up front so that it does not have to grow while the elements are being built.
  * <p/>
  * Example:
  * <code>
@@ -45,6 +56,12 @@ public class BuilderCollection<E> implements Collection<E> {
 
     private final Collection<E> collection;
 
+    final Sampler sampler;
+
+    private final ResumableBuilder<E> resumable;
+
+    CachedHash cachedHash = null;
+
 
     /**
      * Instantiate a new {@code BuilderCollection} that will use the supplied {@link Builder} to build it's elements and
@@ -55,21 +72,187 @@ public class BuilderCollection<E> implements Collection<E> {
      */
     public BuilderCollection(Builder<E> builder, Collection<E> collection) {
 
+        this(BuildListener.NONE, builder, collection);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderCollection} that will use the supplied {@link Builder} to build it's elements and
+     * the supplied backing {@link Collection} to hold it's elements. The supplied {@link BuildListener} will be told
+     * how long the build took and about any of the later accesses that it asks to sample.
+     *
+     * @param listener   the listener that will be told about the build and sampled accesses.
+     * @param builder    the builder used to build the elements for the new collection.
+     * @param collection the collection that will be used to hold the built elements.
+     */
+    public BuilderCollection(BuildListener listener, Builder<E> builder, Collection<E> collection) {
+
+        if (null == listener) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(BuildListener,Builder,Collection) listener must not be null.");
+        }
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(BuildListener,Builder,Collection) builder must not be null.");
+        }
+
+        if (null == collection) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(BuildListener,Builder,Collection) collection must not be null.");
+        }
+
+        this.collection = collection;
+        this.sampler = Sampler.of(listener);
+        this.resumable = Refreshes.resumable(builder);
+
+        Instruments.addAll(builder, this.collection, listener);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderCollection} that will split the supplied {@link SplittableBuilder} and build it's
+     * parts in parallel on the supplied {@link ForkJoinPool}. The built elements are then added to the supplied backing
+     * {@link Collection} in order on the calling thread, unless it is a concurrent set such as
+     * {@link java.util.concurrent.ConcurrentHashMap#newKeySet()} in which case each part is added to it in parallel.
+     *
+     * @param builder    the builder that will be split to build the elements for the new collection in parallel.
+     * @param collection the collection that will be used to hold the built elements.
+     * @param pool       the pool that the parts of the builder will be built on.
+     */
+    public BuilderCollection(SplittableBuilder<E> builder, Collection<E> collection, ForkJoinPool pool) {
+
         if (null == builder) {
 
-            throw new IllegalArgumentException(getClass().getName() + "(Builder,Collection) builder must not be null.");
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(SplittableBuilder,Collection,ForkJoinPool) builder must not be null.");
         }
 
         if (null == collection) {
 
-            throw new IllegalArgumentException(getClass().getName() + "(Builder,Collection) collection must not be null.");
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(SplittableBuilder,Collection,ForkJoinPool) collection must not be null.");
+        }
+
+        if (null == pool) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(SplittableBuilder,Collection,ForkJoinPool) pool must not be null.");
         }
 
         this.collection = collection;
+        this.sampler = Sampler.NONE;
+        this.resumable = Refreshes.resumable(builder);
+
+        Partitions.addAll(builder, this.collection, pool);
+    }
+
+
+    /**
+     * Pull any new elements from the {@link ResumableBuilder} that this collection was built with into it's backing
+     * collection. If the builder is a {@link DiffBuilder} then the elements that it has removed are taken out first.
+     * For a set the cost of a refresh is in proportion to the number of changes rather than to the size of the
+     * collection, but taking removed elements out of any other collection, such as a list, costs a full pass over it.
+     *
+     * @throws IllegalStateException if this collection was not built with a {@link ResumableBuilder}.
+     */
+    public void refresh() {
+
+        if (null == resumable) {
+
+            throw new IllegalStateException(getClass().getName() +
+                    ".refresh() the collection was not built with a ResumableBuilder.");
+        }
+
+        refresh(resumable);
+    }
+
+    /**
+     * Build all the elements from the supplied builder into the backing collection in the same way as they are built
+     * when the collection is constructed. If the builder is a {@link DiffBuilder} then the elements that it has removed
+     * are taken out first, every element that equals a removed element is taken out of a collection that is not a set.
+     *
+     * @param builder the builder used to build the new elements.
+     */
+    public void refresh(Builder<E> builder) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".refresh(Builder) builder must not be null.");
+        }
+
+        invalidateHash();
+
+        Refreshes.removeAll(builder, collection);
+
+        build(builder, collection);
+    }
+
+    /**
+     * Start keeping the hash code of this collection up to date as it is changed, so that {@link #hashCode()} does not
+     * walk the backing collection and {@link #equals(Object)} can return {@code false} straight away for two
+     * collections whose hash codes differ. Any view that can change the backing collection is wrapped so that a change
+     * made through it is noticed.
+     *
+     * @param ordered {@code true} for the hash code of a list, {@code false} for that of a set.
+     */
+    void cacheHash(boolean ordered) {
+
+        if (null == cachedHash) cachedHash = new CachedHash(ordered, collection.hashCode());
+    }
+
+    /**
+     * Mark the cached hash code as out of date, if there is one, so that it is recalculated when it is next needed.
+     */
+    void invalidateHash() {
+
+        if (null != cachedHash) cachedHash.invalidate();
+    }
+
+
+    /**
+     * Build all the elements from the supplied builder into the supplied collection.
+     *
+     * @param builder    the builder to build the elements with.
+     * @param collection the collection to add the built elements to.
+     */
+    static <E> void build(Builder<E> builder, Collection<E> collection) {
+
+        Sizes.ensureCapacity(collection, Sizes.size(builder));
+
+        if (builder instanceof BatchBuilder) {
+
+            Batches.addAll((BatchBuilder<E>) builder, collection);
+
+            return;
+        }
 
         for (E element = builder.build(); null != element; element = builder.build()) {
 
-            this.collection.add(element);
+            collection.add(element);
+        }
+    }
+
+    /**
+     * Build all the elements from the supplied builder and pass each of them to the supplied consumer, for a build that
+     * writes the elements somewhere other than a collection.
+     *
+     * @param builder  the builder to build the elements with.
+     * @param consumer the consumer that is given each built element.
+     */
+    static <E> void build(Builder<E> builder, Consumer<? super E> consumer) {
+
+        if (builder instanceof BatchBuilder) {
+
+            Batches.forEach((BatchBuilder<E>) builder, consumer);
+
+            return;
+        }
+
+        for (E element = builder.build(); null != element; element = builder.build()) {
+
+            consumer.accept(element);
         }
     }
 
@@ -98,6 +281,20 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public boolean contains(Object element) {
 
+        if (sampler.sample()) {
+
+            final long start = System.nanoTime();
+
+            try {
+
+                return collection.contains(element);
+
+            } finally {
+
+                sampler.sampled(BuildListener.Access.CONTAINS, start);
+            }
+        }
+
         return collection.contains(element);
     }
 
@@ -107,7 +304,21 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public Iterator<E> iterator() {
 
-        return collection.iterator();
+        if (null == cachedHash) return collection.iterator();
+
+        return Invalidating.iterator(collection.iterator(), cachedHash);
+    }
+
+    /**
+     * The spliterator of the backing collection, so a backing {@link java.util.ArrayList} gives a spliterator that knows
+     * it's exact size and splits evenly by index rather than one that has to walk an iterator to split.
+     *
+     * @return the spliterator of the backing collection.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+
+        return collection.spliterator();
     }
 
     /**
@@ -134,7 +345,11 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public boolean add(E element) {
 
-        return collection.add(element);
+        final boolean added = collection.add(element);
+
+        if (added && null != cachedHash) cachedHash.added(CachedHash.of(element));
+
+        return added;
     }
 
     /**
@@ -143,7 +358,11 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public boolean remove(Object element) {
 
-        return collection.remove(element);
+        final boolean removed = collection.remove(element);
+
+        if (removed && null != cachedHash) cachedHash.removed(CachedHash.of(element));
+
+        return removed;
     }
 
     /**
@@ -161,6 +380,8 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public boolean addAll(Collection<? extends E> elements) {
 
+        invalidateHash();
+
         return collection.addAll(elements);
     }
 
@@ -170,6 +391,8 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public boolean removeAll(Collection<?> elements) {
 
+        invalidateHash();
+
         return collection.removeAll(elements);
     }
 
@@ -179,6 +402,8 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public boolean retainAll(Collection<?> elements) {
 
+        invalidateHash();
+
         return collection.retainAll(elements);
     }
 
@@ -189,6 +414,8 @@ public class BuilderCollection<E> implements Collection<E> {
     public void clear() {
 
         collection.clear();
+
+        if (null != cachedHash) cachedHash.cleared();
     }
 
     @Override
@@ -198,7 +425,9 @@ public class BuilderCollection<E> implements Collection<E> {
 
         if (o == null || getClass() != o.getClass()) return false;
 
-        BuilderCollection that = (BuilderCollection) o;
+        BuilderCollection<?> that = (BuilderCollection<?>) o;
+
+        if (CachedHash.differ(cachedHash, that.cachedHash)) return false;
 
         return collection.equals(that.collection);
 
@@ -207,6 +436,8 @@ public class BuilderCollection<E> implements Collection<E> {
     @Override
     public int hashCode() {
 
+        if (null != cachedHash) return cachedHash.get(collection);
+
         return collection.hashCode();
     }
 
@@ -0,0 +1,350 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * {@link Collector}s that collect a stream straight into a {@link BuilderList}, {@link BuilderSet} or
+ * {@link BuilderMap} instead of collecting it into another collection and then copying that into a builder collection.
+ * <p/>
+ * The collectors are built to be cheap to combine so that they scale with parallel streams. The list collector
+ * accumulates into chunks of arrays that are joined without copying when two threads results are combined, then the
+ * backing list is presized to the exact total and filled with a single copy of each element. The set and map
+ * collectors accumulate straight into backing sets and maps and combine them by adding the smaller into the larger,
+ * which has already grown to hold most of the elements, so the final backing collection is used as it is without being
+ * copied again. A {@link LinkedHashSet} or {@link LinkedHashMap} backing is the exception, the later part is always
+ * added to the earlier one so that the backing keeps the stream's encounter order.
+ * <p/>
+ * The backing structure of each builder collection can be chosen by supplying it, the list collector does not accept
+ * {@code null} elements.
+ * <p/>
+ * Example:
+ * <code>
+ *      BuilderList<String> names = users.parallelStream().map(toName).collect(BuilderCollectors.<String>toBuilderList());
+ * </code>
+ *
+ * @author Karl Bennett
+ */
+public final class BuilderCollectors {
+
+    private static final Builder<?> EMPTY = new Builder<Object>() {
+
+        @Override
+        public Object build() {
+
+            return null;
+        }
+    };
+
+
+    private BuilderCollectors() {
+    }
+
+
+    /**
+     * A collector that collects the elements of a stream, in order, into a {@link BuilderList} backed by an
+     * {@link java.util.ArrayList}.
+     *
+     * @param <E> the type of the elements.
+     * @return the list collector.
+     */
+    public static <E> Collector<E, ?, BuilderList<E>> toBuilderList() {
+
+        return toBuilderList(new Supplier<List<E>>() {
+
+            @Override
+            public List<E> get() {
+
+                return new ArrayList<>();
+            }
+        });
+    }
+
+    /**
+     * A collector that collects the elements of a stream, in order, into a {@link BuilderList} backed by a list from
+     * the supplied supplier. An {@link java.util.ArrayList} or {@link java.util.Vector} will be presized to the number
+     * of elements that were collected.
+     *
+     * @param backing the supplier of the backing list.
+     * @param <E>     the type of the elements.
+     * @return the list collector.
+     */
+    public static <E> Collector<E, ?, BuilderList<E>> toBuilderList(final Supplier<? extends List<E>> backing) {
+
+        if (null == backing) {
+
+            throw new IllegalArgumentException(BuilderCollectors.class.getName() +
+                    ".toBuilderList(Supplier) backing must not be null.");
+        }
+
+        return Collector.of(new Supplier<Chunks<E>>() {
+
+            @Override
+            public Chunks<E> get() {
+
+                return new Chunks<>();
+            }
+
+        }, new BiConsumer<Chunks<E>, E>() {
+
+            @Override
+            public void accept(Chunks<E> chunks, E element) {
+
+                chunks.add(element);
+            }
+
+        }, new BinaryOperator<Chunks<E>>() {
+
+            @Override
+            public Chunks<E> apply(Chunks<E> left, Chunks<E> right) {
+
+                return left.append(right);
+            }
+
+        }, new Function<Chunks<E>, BuilderList<E>>() {
+
+            @Override
+            public BuilderList<E> apply(Chunks<E> chunks) {
+
+                return new BuilderList<>(chunks, backing.get());
+            }
+        });
+    }
+
+    /**
+     * A collector that collects the elements of a stream into a {@link BuilderSet} backed by a
+     * {@link java.util.HashSet}.
+     *
+     * @param <E> the type of the elements.
+     * @return the set collector.
+     */
+    public static <E> Collector<E, ?, BuilderSet<E>> toBuilderSet() {
+
+        // A hash set has no order to keep so the stream is free to combine it's parts in any order.
+        return toBuilderSet(new Supplier<Set<E>>() {
+
+            @Override
+            public Set<E> get() {
+
+                return new HashSet<>();
+            }
+        }, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * A collector that collects the elements of a stream into a {@link BuilderSet} backed by a set from the supplied
+     * supplier. A parallel stream will get a set from the supplier for each of it's parts and only one of them will be
+     * kept as the backing set. The collector is not {@link Collector.Characteristics#UNORDERED} so an ordered stream
+     * collected into a {@link LinkedHashSet} keeps it's encounter order.
+     *
+     * @param backing the supplier of the backing sets.
+     * @param <E>     the type of the elements.
+     * @return the set collector.
+     */
+    public static <E> Collector<E, ?, BuilderSet<E>> toBuilderSet(Supplier<? extends Set<E>> backing) {
+
+        if (null == backing) {
+
+            throw new IllegalArgumentException(BuilderCollectors.class.getName() +
+                    ".toBuilderSet(Supplier) backing must not be null.");
+        }
+
+        return toBuilderSet(backing, new Collector.Characteristics[0]);
+    }
+
+    private static <E> Collector<E, ?, BuilderSet<E>> toBuilderSet(final Supplier<? extends Set<E>> backing,
+                                                                    Collector.Characteristics... characteristics) {
+
+        return Collector.of(new Supplier<Set<E>>() {
+
+            @Override
+            public Set<E> get() {
+
+                return backing.get();
+            }
+
+        }, new BiConsumer<Set<E>, E>() {
+
+            @Override
+            public void accept(Set<E> set, E element) {
+
+                set.add(element);
+            }
+
+        }, new BinaryOperator<Set<E>>() {
+
+            @Override
+            public Set<E> apply(Set<E> left, Set<E> right) {
+
+                if (left.size() < right.size() && !(left instanceof LinkedHashSet)) {
+
+                    right.addAll(left);
+
+                    return right;
+                }
+
+                left.addAll(right);
+
+                return left;
+            }
+
+        }, new Function<Set<E>, BuilderSet<E>>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public BuilderSet<E> apply(Set<E> set) {
+
+                return new BuilderSet<>((Builder<E>) EMPTY, set);
+            }
+
+        }, characteristics);
+    }
+
+    /**
+     * A collector that collects the elements of a stream into a {@link BuilderMap} backed by a {@link HashMap}. The
+     * keys and values are made from each element with the supplied mappers, if more than one element has the same key
+     * then the value of the last one in the stream is kept, just as it would be by a {@link BuilderMap}.
+     *
+     * @param keyMapper   the function used to make each key.
+     * @param valueMapper the function used to make each value.
+     * @param <T>         the type of the elements.
+     * @param <K>         the type of the keys.
+     * @param <V>         the type of the values.
+     * @return the map collector.
+     */
+    public static <T, K, V> Collector<T, ?, BuilderMap<K, V>> toBuilderMap(Function<? super T, ? extends K> keyMapper,
+                                                                        Function<? super T, ? extends V> valueMapper) {
+
+        return toBuilderMap(keyMapper, valueMapper, null, new Supplier<Map<K, V>>() {
+
+            @Override
+            public Map<K, V> get() {
+
+                return new HashMap<>();
+            }
+        });
+    }
+
+    /**
+     * A collector that collects the elements of a stream into a {@link BuilderMap} backed by a map from the supplied
+     * supplier. The keys and values are made from each element with the supplied mappers and the values of any
+     * duplicate keys are combined, in stream order, with the supplied merge function. Without a merge function the
+     * value of the last element in the stream is kept. A parallel stream will get a map from the supplier for each of
+     * it's parts and only one of them will be kept as the backing map, a {@link LinkedHashMap} keeps the stream's
+     * encounter order.
+     *
+     * @param keyMapper   the function used to make each key.
+     * @param valueMapper the function used to make each value.
+     * @param merge       the function used to combine the values of a duplicate key, or {@code null} to keep the last
+     *                    value.
+     * @param backing     the supplier of the backing maps.
+     * @param <T>         the type of the elements.
+     * @param <K>         the type of the keys.
+     * @param <V>         the type of the values.
+     * @return the map collector.
+     */
+    public static <T, K, V> Collector<T, ?, BuilderMap<K, V>> toBuilderMap(
+            final Function<? super T, ? extends K> keyMapper, final Function<? super T, ? extends V> valueMapper,
+            final BinaryOperator<V> merge, final Supplier<? extends Map<K, V>> backing) {
+
+        if (null == keyMapper) {
+
+            throw new IllegalArgumentException(BuilderCollectors.class.getName() +
+                    ".toBuilderMap(Function, Function, BinaryOperator, Supplier) keyMapper must not be null.");
+        }
+
+        if (null == valueMapper) {
+
+            throw new IllegalArgumentException(BuilderCollectors.class.getName() +
+                    ".toBuilderMap(Function, Function, BinaryOperator, Supplier) valueMapper must not be null.");
+        }
+
+        if (null == backing) {
+
+            throw new IllegalArgumentException(BuilderCollectors.class.getName() +
+                    ".toBuilderMap(Function, Function, BinaryOperator, Supplier) backing must not be null.");
+        }
+
+        return Collector.of(new Supplier<Map<K, V>>() {
+
+            @Override
+            public Map<K, V> get() {
+
+                return backing.get();
+            }
+
+        }, new BiConsumer<Map<K, V>, T>() {
+
+            @Override
+            public void accept(Map<K, V> map, T element) {
+
+                put(map, keyMapper.apply(element), valueMapper.apply(element), merge);
+            }
+
+        }, new BinaryOperator<Map<K, V>>() {
+
+            @Override
+            public Map<K, V> apply(Map<K, V> left, Map<K, V> right) {
+
+                if (left.size() >= right.size() || left instanceof LinkedHashMap) {
+
+                    for (Entry<K, V> entry : right.entrySet()) put(left, entry.getKey(), entry.getValue(), merge);
+
+                    return left;
+                }
+
+                // Keep the larger right map, the left values come first so they are merged in as the earlier values.
+                for (Entry<K, V> entry : left.entrySet()) {
+
+                    if (!right.containsKey(entry.getKey())) right.put(entry.getKey(), entry.getValue());
+
+                    else if (null != merge) right.merge(entry.getKey(), entry.getValue(), flip(merge));
+                }
+
+                return right;
+            }
+
+        }, new Function<Map<K, V>, BuilderMap<K, V>>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public BuilderMap<K, V> apply(Map<K, V> map) {
+
+                return new BuilderMap<>((Builder<Entry<K, V>>) EMPTY, map);
+            }
+        });
+    }
+
+
+    private static <K, V> void put(Map<K, V> map, K key, V value, BinaryOperator<V> merge) {
+
+        if (null == merge) map.put(key, value);
+
+        else map.merge(key, value, merge);
+    }
+
+    private static <V> BiFunction<V, V, V> flip(final BinaryOperator<V> merge) {
+
+        return new BiFunction<V, V, V>() {
+
+            @Override
+            public V apply(V later, V earlier) {
+
+                return merge.apply(earlier, later);
+            }
+        };
+    }
+}
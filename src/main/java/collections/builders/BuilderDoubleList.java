@@ -0,0 +1,417 @@
+package collections.builders;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * This {@code BuilderDoubleList} is a primitive version of the {@link BuilderList} that holds it's elements in a single
+ * {@code double[]} instead of as boxed {@link Double}s in an {@code Object[]}.
+ * <p/>
+ * It is constructed with a {@link DoubleBuilder} and an optional initial capacity.
+ * <p/>
+ * The {@link DoubleBuilder#build(double[], int, int)} method must be implemented to provide the logic that will be used
+ * to build the elements to be contained within the list. It is given the free space at the end of the lists array and
+ * will be repeatedly called, with the array being grown whenever it is full, until it returns a negative count.
+ * <p/>
+ * The primitive methods such as {@link #getDouble(int)}, {@link #add(double)} and {@link #contains(double)} never box.
+ * The list can still be used as a {@code List<Double>} though those methods box and unbox every element they touch.
+ * <p/>
+ * Example:
+ * <code>
+ *      final double[] numbers = {1, 2, 3};
+ * <p/>
+ *      BuilderDoubleList builderList = new BuilderDoubleList(new DoubleBuilder() {
+ * <p/>
+ *          private int i = 0;
+ * <p/>
+ *          public int build(double[] values, int offset, int length) {
+ * <p/>
+ *              if (numbers.length == i) return -1;
+ * <p/>
+ *              final int count = Math.min(length, numbers.length - i);
+ * <p/>
+ *              System.arraycopy(numbers, i, values, offset, count);
+ * <p/>
+ *              i += count;
+ * <p/>
+ *              return count;
+ *          }
+ *      }); // [1, 2, 3]
+ * </code>
+ *
+ * @author Karl Bennett
+ */
+public class BuilderDoubleList extends AbstractList<Double> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private double[] values;
+
+    private int size = 0;
+
+
+    /**
+     * Instantiate a new {@code BuilderDoubleList} that will use the supplied {@link DoubleBuilder} to build it's
+     * elements.
+     *
+     * @param builder the builder used to build the elements for the new list.
+     */
+    public BuilderDoubleList(DoubleBuilder builder) {
+
+        this(builder, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderDoubleList} that will use the supplied {@link DoubleBuilder} to build it's
+     * elements into an array that starts with the supplied capacity. If the number of elements is known up front then
+     * using it as the capacity means the array never has to grow.
+     *
+     * @param builder  the builder used to build the elements for the new list.
+     * @param capacity the initial capacity of the lists array.
+     */
+    public BuilderDoubleList(DoubleBuilder builder, int capacity) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(DoubleBuilder,int) builder must not be null.");
+        }
+
+        if (0 > capacity) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(DoubleBuilder,int) capacity must not be negative.");
+        }
+
+        this.values = new double[Math.max(1, capacity)];
+
+        for (int count = 0; 0 <= count; ) {
+
+            if (values.length == size) grow(size + 1);
+
+            final int length = values.length - size;
+
+            count = builder.build(values, size, length);
+
+            if (length < count) {
+
+                throw new IllegalStateException(getClass().getName() + "(DoubleBuilder,int) builder built " + count +
+                        " values when only " + length + " were allowed.");
+            }
+
+            if (0 < count) size += count;
+        }
+    }
+
+
+    /**
+     * Get the element at the supplied index without boxing it.
+     *
+     * @param index the index of the element.
+     * @return the element at the index.
+     */
+    public double getDouble(int index) {
+
+        checkIndex(index);
+
+        return values[index];
+    }
+
+    /**
+     * Replace the element at the supplied index without boxing it.
+     *
+     * @param index the index of the element.
+     * @param value the new element.
+     * @return the element that was replaced.
+     */
+    public double set(int index, double value) {
+
+        checkIndex(index);
+
+        final double old = values[index];
+
+        values[index] = value;
+
+        return old;
+    }
+
+    /**
+     * Add an element to the end of the list without boxing it.
+     *
+     * @param value the element to add.
+     * @return {@code true}.
+     */
+    public boolean add(double value) {
+
+        if (values.length == size) grow(size + 1);
+
+        values[size++] = value;
+
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Insert an element at the supplied index without boxing it.
+     *
+     * @param index the index to insert the element at.
+     * @param value the element to insert.
+     */
+    public void add(int index, double value) {
+
+        if (0 > index || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+        if (values.length == size) grow(size + 1);
+
+        System.arraycopy(values, index, values, index + 1, size - index);
+
+        values[index] = value;
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove the element at the supplied index without boxing it.
+     *
+     * @param index the index of the element to remove.
+     * @return the removed element.
+     */
+    public double removeDouble(int index) {
+
+        checkIndex(index);
+
+        final double old = values[index];
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+
+        size--;
+        modCount++;
+
+        return old;
+    }
+
+    /**
+     * Check if the list contains the supplied element without boxing it.
+     *
+     * @param value the element to look for.
+     * @return {@code true} if the element is in the list, otherwise {@code false}.
+     */
+    public boolean contains(double value) {
+
+        return 0 <= indexOf(value);
+    }
+
+    /**
+     * Find the first index of the supplied element without boxing it.
+     *
+     * @param value the element to look for.
+     * @return the index of the element, or {@code -1} if it is not in the list.
+     */
+    public int indexOf(double value) {
+
+        for (int i = 0; i < size; i++) {
+
+            if (Double.doubleToLongBits(values[i]) == Double.doubleToLongBits(value)) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Find the last index of the supplied element without boxing it.
+     *
+     * @param value the element to look for.
+     * @return the index of the element, or {@code -1} if it is not in the list.
+     */
+    public int lastIndexOf(double value) {
+
+        for (int i = size - 1; i >= 0; i--) {
+
+            if (Double.doubleToLongBits(values[i]) == Double.doubleToLongBits(value)) return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Copy the elements of this list into a new exactly sized array.
+     *
+     * @return the elements of this list.
+     */
+    public double[] toDoubleArray() {
+
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Shrink the lists array so that it holds no more than the elements in the list.
+     */
+    public void trimToSize() {
+
+        if (values.length > size) values = Arrays.copyOf(values, Math.max(1, size));
+    }
+
+    private void grow(int minimumCapacity) {
+
+        if (0 > minimumCapacity) throw new OutOfMemoryError();
+
+        int capacity = values.length + (values.length >> 1);
+
+        if (capacity < minimumCapacity) capacity = minimumCapacity;
+
+        if (0 > capacity || MAXIMUM_CAPACITY < capacity) capacity = Math.max(MAXIMUM_CAPACITY, minimumCapacity);
+
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    private void checkIndex(int index) {
+
+        if (0 > index || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double get(int index) {
+
+        return getDouble(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double set(int index, Double element) {
+
+        return set(index, element.doubleValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(Double element) {
+
+        return add(element.doubleValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, Double element) {
+
+        add(index, element.doubleValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double remove(int index) {
+
+        return removeDouble(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * A spliterator that knows exactly how many elements it has and splits the list evenly by index.
+     *
+     * @return a {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} spliterator over this list.
+     */
+    @Override
+    public Spliterator<Double> spliterator() {
+
+        return new IndexSpliterator<>(this, Spliterator.NONNULL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object element) {
+
+        return element instanceof Double && contains(((Double) element).doubleValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object element) {
+
+        return element instanceof Double ? indexOf(((Double) element).doubleValue()) : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object element) {
+
+        return element instanceof Double ? lastIndexOf(((Double) element).doubleValue()) : -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (!(o instanceof BuilderDoubleList)) return super.equals(o);
+
+        final BuilderDoubleList that = (BuilderDoubleList) o;
+
+        if (size != that.size) return false;
+
+        for (int i = 0; i < size; i++) {
+
+            if (Double.doubleToLongBits(values[i]) != Double.doubleToLongBits(that.values[i])) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        int hashCode = 1;
+
+        for (int i = 0; i < size; i++) {
+
+            hashCode = 31 * hashCode + Double.hashCode(values[i]);
+        }
+
+        return hashCode;
+    }
+}
@@ -0,0 +1,580 @@
+package collections.builders;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This {@code BuilderIntIntMap} is a primitive version of the {@link BuilderMap} that holds it's keys and values in an
+ * open addressing hash table backed by a pair of parallel {@code int[]}s, so there is no node, entry or boxed
+ * {@link Integer} per entry.
+ * <p/>
+ * It is constructed with an {@link IntIntBuilder} and an optional expected size.
+ * <p/>
+ * The {@link IntIntBuilder#build(int[], int[], int, int)} method must be implemented to provide the logic that will be
+ * used to build the entries to be held within the map. It will be repeatedly called with a pair of reusable buffers
+ * until it returns a negative count, the entries in the buffers are then put into the table.
+ * <p/>
+ * The table uses linear probing with a load factor of {@code 0.75}. The {@link #get(int)}, {@link #containsKey(int)},
+ * {@link #put(int, int)} and {@link #remove(int)} methods never allocate, they return {@code 0} for a missing value.
+ * The map can still be used as a {@code Map<Integer, Integer>} though those methods box and unbox every key and value
+ * they touch.
+ * <p/>
+ * Example:
+ * <code>
+ *      final int[] ids = {1, 2, 3};
+ * <p/>
+ *      BuilderIntIntMap builderMap = new BuilderIntIntMap(new IntIntBuilder() {
+ * <p/>
+ *          private int i = 0;
+ * <p/>
+ *          public int build(int[] keys, int[] values, int offset, int length) {
+ * <p/>
+ *              if (ids.length == i) return -1;
+ * <p/>
+ *              keys[offset] = ids[i];
+ *              values[offset] = ids[i] * 10;
+ * <p/>
+ *              i++;
+ * <p/>
+ *              return 1;
+ *          }
+ *      }); // {1=10, 2=20, 3=30}
+ * </code>
+ *
+ * @author Karl Bennett
+ */
+public class BuilderIntIntMap extends AbstractMap<Integer, Integer> {
+
+    private static final int FREE = 0;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int maximumFill;
+
+    private boolean containsFree = false;
+
+    private int freeValue = 0;
+
+    private int size = 0;
+
+    private int modCount = 0;
+
+
+    /**
+     * Instantiate a new {@code BuilderIntIntMap} that will use the supplied {@link IntIntBuilder} to build it's
+     * entries.
+     *
+     * @param builder the builder used to build the entries for the new map.
+     */
+    public BuilderIntIntMap(IntIntBuilder builder) {
+
+        this(builder, Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderIntIntMap} that will use the supplied {@link IntIntBuilder} to build it's entries
+     * into a table that is large enough to hold the supplied number of entries without growing.
+     *
+     * @param builder      the builder used to build the entries for the new map.
+     * @param expectedSize the number of entries the map is expected to hold.
+     */
+    public BuilderIntIntMap(IntIntBuilder builder, int expectedSize) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(IntIntBuilder,int) builder must not be null.");
+        }
+
+        if (0 > expectedSize) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(IntIntBuilder,int) expectedSize must not be negative.");
+        }
+
+        allocate(Hashing.capacity(expectedSize));
+
+        final int[] keyBuffer = new int[Batches.SIZE];
+        final int[] valueBuffer = new int[Batches.SIZE];
+
+        for (int count = builder.build(keyBuffer, valueBuffer, 0, Batches.SIZE); 0 <= count;
+             count = builder.build(keyBuffer, valueBuffer, 0, Batches.SIZE)) {
+
+            if (Batches.SIZE < count) {
+
+                throw new IllegalStateException(getClass().getName() + "(IntIntBuilder,int) builder built " + count +
+                        " entries when only " + Batches.SIZE + " were allowed.");
+            }
+
+            for (int i = 0; i < count; i++) {
+
+                put(keyBuffer[i], valueBuffer[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Get the value for the supplied key without boxing either of them.
+     *
+     * @param key the key of the value.
+     * @return the value of the key, or {@code 0} if the key is not in the map.
+     */
+    public int get(int key) {
+
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Get the value for the supplied key without boxing either of them.
+     *
+     * @param key          the key of the value.
+     * @param defaultValue the value to return if the key is not in the map.
+     * @return the value of the key, or the default value if the key is not in the map.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+
+        if (FREE == key) return containsFree ? freeValue : defaultValue;
+
+        for (int index = Hashing.mix(key) & mask; ; index = (index + 1) & mask) {
+
+            final int next = keys[index];
+
+            if (FREE == next) return defaultValue;
+
+            if (key == next) return values[index];
+        }
+    }
+
+    /**
+     * Check if the map contains the supplied key without boxing it.
+     *
+     * @param key the key to look for.
+     * @return {@code true} if the key is in the map, otherwise {@code false}.
+     */
+    public boolean containsKey(int key) {
+
+        if (FREE == key) return containsFree;
+
+        for (int index = Hashing.mix(key) & mask; ; index = (index + 1) & mask) {
+
+            final int next = keys[index];
+
+            if (FREE == next) return false;
+
+            if (key == next) return true;
+        }
+    }
+
+    /**
+     * Put an entry into the map without boxing it.
+     *
+     * @param key   the key of the entry.
+     * @param value the value of the entry.
+     * @return the old value of the key, or {@code 0} if the key was not in the map.
+     */
+    public int put(int key, int value) {
+
+        if (FREE == key) {
+
+            final int old = freeValue;
+
+            freeValue = value;
+
+            if (containsFree) return old;
+
+            containsFree = true;
+
+        } else {
+
+            int index = Hashing.mix(key) & mask;
+
+            for (int next = keys[index]; FREE != next; next = keys[index]) {
+
+                if (key == next) {
+
+                    final int old = values[index];
+
+                    values[index] = value;
+
+                    return old;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        modCount++;
+
+        if (++size > maximumFill) allocate(keys.length << 1);
+
+        return 0;
+    }
+
+    /**
+     * Remove an entry from the map without boxing it.
+     *
+     * @param key the key of the entry to remove.
+     * @return the value of the removed entry, or {@code 0} if the key was not in the map.
+     */
+    public int remove(int key) {
+
+        final int old;
+
+        if (FREE == key) {
+
+            if (!containsFree) return 0;
+
+            old = freeValue;
+
+            containsFree = false;
+            freeValue = 0;
+
+        } else {
+
+            int index = Hashing.mix(key) & mask;
+
+            for (int next = keys[index]; key != next; next = keys[index]) {
+
+                if (FREE == next) return 0;
+
+                index = (index + 1) & mask;
+            }
+
+            old = values[index];
+
+            shift(index, null);
+        }
+
+        size--;
+        modCount++;
+
+        return old;
+    }
+
+    /**
+     * Fill the freed slot by moving back any entries that were probed past it. The iterator walks the table backwards
+     * from the end, so the freed slot and every slot after it have been visited and every slot before it has not. An
+     * entry is only recorded in the supplied iterator if it moves from a slot that has not been visited into one that
+     * has, which can only happen when the probe wraps around from the end of the table to the start.
+     */
+    private void shift(int freed, EntryIterator iterator) {
+
+        final int start = freed;
+
+        for (int index = (freed + 1) & mask; ; index = (index + 1) & mask) {
+
+            final int key = keys[index];
+
+            if (FREE == key) {
+
+                keys[freed] = FREE;
+                values[freed] = 0;
+
+                return;
+            }
+
+            if (Hashing.canShift(freed, Hashing.mix(key) & mask, index)) {
+
+                if (null != iterator && index < start && freed >= start) iterator.wrapped(key, values[index]);
+
+                keys[freed] = key;
+                values[freed] = values[index];
+
+                freed = index;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        maximumFill = Hashing.maximumFill(capacity);
+
+        if (null == oldKeys) return;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+
+            final int key = oldKeys[i];
+
+            if (FREE == key) continue;
+
+            int index = Hashing.mix(key) & mask;
+
+            while (FREE != keys[index]) {
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        return key instanceof Integer && containsKey(((Integer) key).intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(Object value) {
+
+        if (!(value instanceof Integer)) return false;
+
+        final int target = (Integer) value;
+
+        if (containsFree && freeValue == target) return true;
+
+        for (int i = 0; i < keys.length; i++) {
+
+            if (FREE != keys[i] && target == values[i]) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer get(Object key) {
+
+        if (!(key instanceof Integer)) return null;
+
+        final int k = (Integer) key;
+
+        return containsKey(k) ? get(k) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer put(Integer key, Integer value) {
+
+        final boolean contained = containsKey(key.intValue());
+        final int old = put(key.intValue(), value.intValue());
+
+        return contained ? old : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer remove(Object key) {
+
+        if (!(key instanceof Integer)) return null;
+
+        final int k = (Integer) key;
+
+        return containsKey(k) ? remove(k) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        if (0 == size) return;
+
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, 0);
+
+        containsFree = false;
+        freeValue = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<Integer, Integer>> entrySet() {
+
+        return new AbstractSet<Entry<Integer, Integer>>() {
+
+            @Override
+            public Iterator<Entry<Integer, Integer>> iterator() {
+
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+
+                return size;
+            }
+
+            @Override
+            public void clear() {
+
+                BuilderIntIntMap.this.clear();
+            }
+        };
+    }
+
+
+    /**
+     * Walks the table backwards so that removing through the iterator only ever moves entries into slots that have
+     * already been visited. The only exception is an entry that wraps around from the start of the table, those are
+     * remembered and returned once the table has been walked.
+     */
+    private class EntryIterator implements Iterator<Entry<Integer, Integer>> {
+
+        private static final int NONE = -1;
+        private static final int FREE_KEY = -2;
+        private static final int WRAPPED_KEY = -3;
+
+        private int index = keys.length;
+        private int last = NONE;
+        private int remaining = size;
+        private boolean returnFree = containsFree;
+        private int expectedModCount = modCount;
+
+        private int[] wrappedKeys = null;
+        private int[] wrappedValues = null;
+        private int wrappedSize = 0;
+
+        @Override
+        public boolean hasNext() {
+
+            return 0 != remaining;
+        }
+
+        @Override
+        public Entry<Integer, Integer> next() {
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+            if (!hasNext()) throw new NoSuchElementException();
+
+            remaining--;
+
+            if (returnFree) {
+
+                returnFree = false;
+                last = FREE_KEY;
+
+                return new MapEntry(FREE, freeValue);
+            }
+
+            while (true) {
+
+                if (0 > --index) {
+
+                    last = WRAPPED_KEY;
+
+                    return new MapEntry(wrappedKeys[-index - 1], wrappedValues[-index - 1]);
+                }
+
+                if (FREE != keys[index]) {
+
+                    last = index;
+
+                    return new MapEntry(keys[index], values[index]);
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+
+            if (NONE == last) throw new IllegalStateException();
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+            if (FREE_KEY == last) {
+
+                BuilderIntIntMap.this.remove(FREE);
+
+            } else if (WRAPPED_KEY == last) {
+
+                BuilderIntIntMap.this.remove(wrappedKeys[-index - 1]);
+
+            } else {
+
+                shift(last, this);
+
+                size--;
+                modCount++;
+            }
+
+            last = NONE;
+            expectedModCount = modCount;
+        }
+
+        private void wrapped(int key, int value) {
+
+            if (null == wrappedKeys) {
+
+                wrappedKeys = new int[2];
+                wrappedValues = new int[2];
+            }
+
+            if (wrappedKeys.length == wrappedSize) {
+
+                wrappedKeys = Arrays.copyOf(wrappedKeys, wrappedSize << 1);
+                wrappedValues = Arrays.copyOf(wrappedValues, wrappedSize << 1);
+            }
+
+            wrappedKeys[wrappedSize] = key;
+            wrappedValues[wrappedSize++] = value;
+        }
+    }
+
+    /**
+     * A boxed copy of an entry that writes any new value through to the map.
+     */
+    private class MapEntry extends SimpleEntry<Integer, Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private MapEntry(int key, int value) {
+            super(key, value);
+        }
+
+        @Override
+        public Integer setValue(Integer value) {
+
+            put(getKey().intValue(), value.intValue());
+
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package collections.builders;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This {@code BuilderIntSet} is a primitive version of the {@link BuilderSet} that holds it's elements in an open
+ * addressing hash table backed by a single {@code int[]}, so there is no node or boxed {@link Integer} per element.
+ * <p/>
+ * It is constructed with an {@link IntBuilder} and an optional expected size.
+ * <p/>
+ * The {@link IntBuilder#build(int[], int, int)} method must be implemented to provide the logic that will be used to
+ * build the elements to be contained within the set. It will be repeatedly called with a reusable buffer until it
+ * returns a negative count, the elements in the buffer are then added to the table.
+ * <p/>
+ * The table uses linear probing with a load factor of {@code 0.75}. The {@link #contains(int)}, {@link #add(int)} and
+ * {@link #remove(int)} methods never allocate, the set can still be used as a {@code Set<Integer>} though those
+ * methods box and unbox every element they touch.
+ * <p/>
+ * Example:
+ * <code>
+ *      final int[] numbers = {1, 2, 3, 2};
+ * <p/>
+ *      BuilderIntSet builderSet = new BuilderIntSet(new IntBuilder() {
+ * <p/>
+ *          private boolean built = false;
+ * <p/>
+ *          public int build(int[] values, int offset, int length) {
+ * <p/>
+ *              if (built) return -1;
+ * <p/>
+ *              System.arraycopy(numbers, 0, values, offset, numbers.length);
+ * <p/>
+ *              built = true;
+ * <p/>
+ *              return numbers.length;
+ *          }
+ *      }, numbers.length); // [1, 2, 3]
+ * </code>
+ *
+ * @author Karl Bennett
+ */
+public class BuilderIntSet extends AbstractSet<Integer> {
+
+    private static final int FREE = 0;
+
+    private int[] keys;
+
+    private int mask;
+
+    private int maximumFill;
+
+    private boolean containsFree = false;
+
+    private int size = 0;
+
+    private int modCount = 0;
+
+
+    /**
+     * Instantiate a new {@code BuilderIntSet} that will use the supplied {@link IntBuilder} to build it's elements.
+     *
+     * @param builder the builder used to build the elements for the new set.
+     */
+    public BuilderIntSet(IntBuilder builder) {
+
+        this(builder, Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderIntSet} that will use the supplied {@link IntBuilder} to build it's elements into
+     * a table that is large enough to hold the supplied number of elements without growing.
+     *
+     * @param builder      the builder used to build the elements for the new set.
+     * @param expectedSize the number of elements the set is expected to hold.
+     */
+    public BuilderIntSet(IntBuilder builder, int expectedSize) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(IntBuilder,int) builder must not be null.");
+        }
+
+        if (0 > expectedSize) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(IntBuilder,int) expectedSize must not be negative.");
+        }
+
+        allocate(Hashing.capacity(expectedSize));
+
+        final int[] buffer = new int[Batches.SIZE];
+
+        for (int count = builder.build(buffer, 0, buffer.length); 0 <= count;
+             count = builder.build(buffer, 0, buffer.length)) {
+
+            if (buffer.length < count) {
+
+                throw new IllegalStateException(getClass().getName() + "(IntBuilder,int) builder built " + count +
+                        " values when only " + buffer.length + " were allowed.");
+            }
+
+            for (int i = 0; i < count; i++) {
+
+                add(buffer[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Check if the set contains the supplied element without boxing it.
+     *
+     * @param value the element to look for.
+     * @return {@code true} if the element is in the set, otherwise {@code false}.
+     */
+    public boolean contains(int value) {
+
+        if (FREE == value) return containsFree;
+
+        for (int index = Hashing.mix(value) & mask; ; index = (index + 1) & mask) {
+
+            final int key = keys[index];
+
+            if (FREE == key) return false;
+
+            if (value == key) return true;
+        }
+    }
+
+    /**
+     * Add an element to the set without boxing it.
+     *
+     * @param value the element to add.
+     * @return {@code true} if the element was not already in the set, otherwise {@code false}.
+     */
+    public boolean add(int value) {
+
+        if (FREE == value) {
+
+            if (containsFree) return false;
+
+            containsFree = true;
+
+        } else {
+
+            int index = Hashing.mix(value) & mask;
+
+            for (int key = keys[index]; FREE != key; key = keys[index]) {
+
+                if (value == key) return false;
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = value;
+        }
+
+        modCount++;
+
+        if (++size > maximumFill) allocate(keys.length << 1);
+
+        return true;
+    }
+
+    /**
+     * Remove an element from the set without boxing it.
+     *
+     * @param value the element to remove.
+     * @return {@code true} if the element was in the set, otherwise {@code false}.
+     */
+    public boolean remove(int value) {
+
+        if (FREE == value) {
+
+            if (!containsFree) return false;
+
+            containsFree = false;
+
+        } else {
+
+            int index = Hashing.mix(value) & mask;
+
+            for (int key = keys[index]; value != key; key = keys[index]) {
+
+                if (FREE == key) return false;
+
+                index = (index + 1) & mask;
+            }
+
+            shift(index, null);
+        }
+
+        size--;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Copy the elements of this set into a new exactly sized array.
+     *
+     * @return the elements of this set in no particular order.
+     */
+    public int[] toIntArray() {
+
+        final int[] values = new int[size];
+
+        int i = 0;
+
+        if (containsFree) values[i++] = FREE;
+
+        for (int key : keys) {
+
+            if (FREE != key) values[i++] = key;
+        }
+
+        return values;
+    }
+
+    /**
+     * Fill the freed slot by moving back any keys that were probed past it. The iterator walks the table backwards
+     * from the end, so the freed slot and every slot after it have been visited and every slot before it has not. A
+     * key is only recorded in the supplied iterator if it moves from a slot that has not been visited into one that
+     * has, which can only happen when the probe wraps around from the end of the table to the start.
+     */
+    private void shift(int freed, IntSetIterator iterator) {
+
+        final int start = freed;
+
+        for (int index = (freed + 1) & mask; ; index = (index + 1) & mask) {
+
+            final int key = keys[index];
+
+            if (FREE == key) {
+
+                keys[freed] = FREE;
+
+                return;
+            }
+
+            if (Hashing.canShift(freed, Hashing.mix(key) & mask, index)) {
+
+                if (null != iterator && index < start && freed >= start) iterator.wrapped(key);
+
+                keys[freed] = key;
+
+                freed = index;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+
+        final int[] old = keys;
+
+        keys = new int[capacity];
+        mask = capacity - 1;
+        maximumFill = Hashing.maximumFill(capacity);
+
+        if (null == old) return;
+
+        for (int key : old) {
+
+            if (FREE == key) continue;
+
+            int index = Hashing.mix(key) & mask;
+
+            while (FREE != keys[index]) {
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object element) {
+
+        return element instanceof Integer && contains(((Integer) element).intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(Integer element) {
+
+        return add(element.intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object element) {
+
+        return element instanceof Integer && remove(((Integer) element).intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        if (0 == size) return;
+
+        Arrays.fill(keys, FREE);
+
+        containsFree = false;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Integer> iterator() {
+
+        return new IntSetIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        int hashCode = 0;
+
+        for (int key : keys) {
+
+            hashCode += key;
+        }
+
+        return hashCode;
+    }
+
+
+    /**
+     * Walks the table backwards so that removing through the iterator only ever moves keys into slots that have
+     * already been visited. The only exception is a key that wraps around from the start of the table, those are
+     * remembered and returned once the table has been walked.
+     */
+    private class IntSetIterator implements Iterator<Integer> {
+
+        private static final int NONE = -1;
+        private static final int FREE_KEY = -2;
+        private static final int WRAPPED_KEY = -3;
+
+        private int index = keys.length;
+        private int last = NONE;
+        private int remaining = size;
+        private boolean returnFree = containsFree;
+        private int expectedModCount = modCount;
+
+        private int[] wrapped = null;
+        private int wrappedSize = 0;
+
+        @Override
+        public boolean hasNext() {
+
+            return 0 != remaining;
+        }
+
+        @Override
+        public Integer next() {
+
+            return nextInt();
+        }
+
+        private int nextInt() {
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+            if (!hasNext()) throw new NoSuchElementException();
+
+            remaining--;
+
+            if (returnFree) {
+
+                returnFree = false;
+                last = FREE_KEY;
+
+                return FREE;
+            }
+
+            while (true) {
+
+                if (0 > --index) {
+
+                    last = WRAPPED_KEY;
+
+                    return wrapped[-index - 1];
+                }
+
+                if (FREE != keys[index]) {
+
+                    last = index;
+
+                    return keys[index];
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+
+            if (NONE == last) throw new IllegalStateException();
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+            if (FREE_KEY == last) {
+
+                BuilderIntSet.this.remove(FREE);
+
+            } else if (WRAPPED_KEY == last) {
+
+                BuilderIntSet.this.remove(wrapped[-index - 1]);
+
+            } else {
+
+                shift(last, this);
+
+                size--;
+                modCount++;
+            }
+
+            last = NONE;
+            expectedModCount = modCount;
+        }
+
+        private void wrapped(int key) {
+
+            if (null == wrapped) wrapped = new int[2];
+
+            if (wrapped.length == wrappedSize) wrapped = Arrays.copyOf(wrapped, wrappedSize << 1);
+
+            wrapped[wrappedSize++] = key;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This {@code BuilderList} can be used to quickly construct a list from another collection or as a base
@@ -16,7 +17,7 @@ import java.util.ListIterator;
  * {@code null}.
  * <p/>
  * The backing list is the actual list that will hold the built elements. If no backing list is supplied then a
- * {@link ArrayList} will be used.
+ * {@link ArrayList} will be used, presized to the size of the builder if it is a {@link SizedBuilder}.
  * <p/>
  * Example:
  * <code>
@@ -62,15 +63,72 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
         this.list = list;
     }
 
+    /**
+     * Instantiate a new {@code BuilderList} that will use the supplied {@link Builder} to build it's elements and the
+     * supplied backing {@link List} to hold it's elements. The supplied {@link BuildListener} will be told how long the
+     * build took and about any of the later accesses that it asks to sample.
+     *
+     * @param listener the listener that will be told about the build and sampled accesses.
+     * @param builder  the builder used to build the elements for the new list.
+     * @param list     the list that will be used to hold the built elements.
+     */
+    public BuilderList(BuildListener listener, Builder<E> builder, List<E> list) {
+        super(listener, builder, list);
+
+        this.list = list;
+    }
+
     /**
      * Instantiate a new {@code BuilderList} that will use the supplied {@link Builder} to build it's elements. The
-     * backing list will be an {@link ArrayList}.
+     * backing list will be an {@link ArrayList} that is presized if the builder is a {@link SizedBuilder}.
      *
      * @param builder the builder used to build the elements for the new list.
      */
     public BuilderList(Builder<E> builder) {
 
-        this(builder, new ArrayList<E>());
+        this(builder, new ArrayList<E>(Sizes.listCapacity(builder)));
+    }
+
+    /**
+     * Instantiate a new {@code BuilderList} that will split the supplied {@link SplittableBuilder} and build it's parts
+     * in parallel on the supplied {@link ForkJoinPool}. The built elements are added to the supplied backing
+     * {@link List} in the same order as they would have been built sequentially.
+     *
+     * @param builder the builder that will be split to build the elements for the new list in parallel.
+     * @param list    the list that will be used to hold the built elements.
+     * @param pool    the pool that the parts of the builder will be built on.
+     */
+    public BuilderList(SplittableBuilder<E> builder, List<E> list, ForkJoinPool pool) {
+        super(builder, list, pool);
+
+        this.list = list;
+    }
+
+
+    /**
+     * Create an immutable copy of this list that holds it's elements in an array of exactly the right size. The copy is
+     * cheaper to read and smaller than most backing lists, this list is left unchanged.
+     *
+     * @return an immutable copy of this list.
+     */
+    public List<E> freeze() {
+
+        return new FrozenList<>(list);
+    }
+
+    /**
+     * Start keeping the hash code of this list up to date as it is changed, so that {@link #hashCode()} no longer walks
+     * every element and {@link #equals(Object)} returns {@code false} straight away for another list that is caching
+     * it's hash code if the two hash codes differ.
+     * <p/>
+     * Appending an element updates the hash code in constant time, any other change, including one made through an
+     * iterator or a {@link #subList(int, int)}, only marks it to be recalculated the next time it is needed. The
+     * backing list must not be changed other than through this list, and the hash codes of the elements must not
+     * change while they are in it.
+     */
+    public void cacheHashCode() {
+
+        cacheHash(true);
     }
 
 
@@ -80,6 +138,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public boolean addAll(int index, Collection<? extends E> element) {
 
+        invalidateHash();
+
         return list.addAll(index, element);
     }
 
@@ -89,6 +149,20 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public E get(int index) {
 
+        if (sampler.sample()) {
+
+            final long start = System.nanoTime();
+
+            try {
+
+                return list.get(index);
+
+            } finally {
+
+                sampler.sampled(BuildListener.Access.GET, start);
+            }
+        }
+
         return list.get(index);
     }
 
@@ -98,6 +172,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public E set(int index, E element) {
 
+        invalidateHash();
+
         return list.set(index, element);
     }
 
@@ -107,6 +183,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public void add(int index, E element) {
 
+        invalidateHash();
+
         list.add(index,element);
     }
 
@@ -116,6 +194,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public E remove(int index) {
 
+        invalidateHash();
+
         return list.remove(index);
     }
 
@@ -143,6 +223,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public ListIterator<E> listIterator() {
 
+        if (null != cachedHash) return Invalidating.listIterator(list.listIterator(), cachedHash);
+
         return list.listIterator();
     }
 
@@ -152,6 +234,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public ListIterator<E> listIterator(int index) {
 
+        if (null != cachedHash) return Invalidating.listIterator(list.listIterator(index), cachedHash);
+
         return list.listIterator(index);
     }
 
@@ -161,6 +245,8 @@ public class BuilderList<E> extends BuilderCollection<E> implements List<E> {
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
 
+        if (null != cachedHash) return Invalidating.list(list.subList(fromIndex, toIndex), cachedHash);
+
         return list.subList(fromIndex, toIndex);
     }
 }
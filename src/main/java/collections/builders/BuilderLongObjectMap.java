@@ -0,0 +1,545 @@
+package collections.builders;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This {@code BuilderLongObjectMap} is a primitive keyed version of the {@link BuilderMap} that holds it's entries in
+ * an open addressing hash table backed by a {@code long[]} of keys and a parallel array of values, so there is no node,
+ * entry or boxed {@link Long} per entry.
+ * <p/>
+ * It is constructed with a {@link LongObjectBuilder} and an optional expected size.
+ * <p/>
+ * The {@link LongObjectBuilder#build(LongObjectEntry)} method must be implemented to provide the logic that will be
+ * used to build the entries to be held within the map. It will be repeatedly called with the same reusable entry until
+ * it returns {@code false}, each entry is put into the table as soon as it has been built.
+ * <p/>
+ * The table uses linear probing with a load factor of {@code 0.75}. The {@link #get(long)},
+ * {@link #containsKey(long)}, {@link #put(long, Object)} and {@link #remove(long)} methods never allocate. The map can
+ * still be used as a {@code Map<Long, V>} though those methods box every key they touch.
+ * <p/>
+ * Example:
+ * <code>
+ *      final long[] ids = {1L, 2L, 3L};
+ * <p/>
+ *      BuilderLongObjectMap<String> builderMap = new BuilderLongObjectMap<String>(new LongObjectBuilder<String>() {
+ * <p/>
+ *          private int i = 0;
+ * <p/>
+ *          public boolean build(LongObjectEntry<String> entry) {
+ * <p/>
+ *              if (ids.length == i) return false;
+ * <p/>
+ *              entry.set(ids[i], "value " + ids[i++]);
+ * <p/>
+ *              return true;
+ *          }
+ *      }); // {1=value 1, 2=value 2, 3=value 3}
+ * </code>
+ *
+ * @param <V> the type of the values held in the map.
+ *
+ * @author Karl Bennett
+ */
+public class BuilderLongObjectMap<V> extends AbstractMap<Long, V> {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int maximumFill;
+
+    private boolean containsFree = false;
+
+    private V freeValue = null;
+
+    private int size = 0;
+
+    private int modCount = 0;
+
+
+    /**
+     * Instantiate a new {@code BuilderLongObjectMap} that will use the supplied {@link LongObjectBuilder} to build it's
+     * entries.
+     *
+     * @param builder the builder used to build the entries for the new map.
+     */
+    public BuilderLongObjectMap(LongObjectBuilder<V> builder) {
+
+        this(builder, Hashing.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderLongObjectMap} that will use the supplied {@link LongObjectBuilder} to build it's
+     * entries into a table that is large enough to hold the supplied number of entries without growing.
+     *
+     * @param builder      the builder used to build the entries for the new map.
+     * @param expectedSize the number of entries the map is expected to hold.
+     */
+    public BuilderLongObjectMap(LongObjectBuilder<V> builder, int expectedSize) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(LongObjectBuilder,int) builder must not be null.");
+        }
+
+        if (0 > expectedSize) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(LongObjectBuilder,int) expectedSize must not be negative.");
+        }
+
+        allocate(Hashing.capacity(expectedSize));
+
+        final LongObjectEntry<V> entry = new LongObjectEntry<V>();
+
+        while (builder.build(entry)) {
+
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+
+    /**
+     * Get the value for the supplied key without boxing the key.
+     *
+     * @param key the key of the value.
+     * @return the value of the key, or {@code null} if the key is not in the map.
+     */
+    public V get(long key) {
+
+        final int index = indexOf(key);
+
+        return -1 == index ? null : valueAt(index);
+    }
+
+    /**
+     * Check if the map contains the supplied key without boxing it.
+     *
+     * @param key the key to look for.
+     * @return {@code true} if the key is in the map, otherwise {@code false}.
+     */
+    public boolean containsKey(long key) {
+
+        return -1 != indexOf(key);
+    }
+
+    /**
+     * Put an entry into the map without boxing it's key.
+     *
+     * @param key   the key of the entry.
+     * @param value the value of the entry.
+     * @return the old value of the key, or {@code null} if the key was not in the map.
+     */
+    public V put(long key, V value) {
+
+        if (FREE == key) {
+
+            final V old = freeValue;
+
+            freeValue = value;
+
+            if (containsFree) return old;
+
+            containsFree = true;
+
+        } else {
+
+            int index = Hashing.mix(key) & mask;
+
+            for (long next = keys[index]; FREE != next; next = keys[index]) {
+
+                if (key == next) {
+
+                    final V old = valueAt(index);
+
+                    values[index] = value;
+
+                    return old;
+                }
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        modCount++;
+
+        if (++size > maximumFill) allocate(keys.length << 1);
+
+        return null;
+    }
+
+    /**
+     * Remove an entry from the map without boxing it's key.
+     *
+     * @param key the key of the entry to remove.
+     * @return the value of the removed entry, or {@code null} if the key was not in the map.
+     */
+    public V remove(long key) {
+
+        final int index = indexOf(key);
+
+        if (-1 == index) return null;
+
+        final V old;
+
+        if (FREE == key) {
+
+            old = freeValue;
+
+            containsFree = false;
+            freeValue = null;
+
+        } else {
+
+            old = valueAt(index);
+
+            shift(index, null);
+        }
+
+        size--;
+        modCount++;
+
+        return old;
+    }
+
+    /**
+     * Find the slot of the supplied key, the free key is given the slot {@code -2} because it is held outside of the
+     * table.
+     */
+    private int indexOf(long key) {
+
+        if (FREE == key) return containsFree ? -2 : -1;
+
+        for (int index = Hashing.mix(key) & mask; ; index = (index + 1) & mask) {
+
+            final long next = keys[index];
+
+            if (FREE == next) return -1;
+
+            if (key == next) return index;
+        }
+    }
+
+    private V valueAt(int index) {
+
+        @SuppressWarnings("unchecked")
+        final V value = -2 == index ? freeValue : (V) values[index];
+
+        return value;
+    }
+
+    /**
+     * Fill the freed slot by moving back any entries that were probed past it. The iterator walks the table backwards
+     * from the end, so the freed slot and every slot after it have been visited and every slot before it has not. An
+     * entry is only recorded in the supplied iterator if it moves from a slot that has not been visited into one that
+     * has, which can only happen when the probe wraps around from the end of the table to the start.
+     */
+    private void shift(int freed, EntryIterator iterator) {
+
+        final int start = freed;
+
+        for (int index = (freed + 1) & mask; ; index = (index + 1) & mask) {
+
+            final long key = keys[index];
+
+            if (FREE == key) {
+
+                keys[freed] = FREE;
+                values[freed] = null;
+
+                return;
+            }
+
+            if (Hashing.canShift(freed, Hashing.mix(key) & mask, index)) {
+
+                if (null != iterator && index < start && freed >= start) iterator.wrapped(key, valueAt(index));
+
+                keys[freed] = key;
+                values[freed] = values[index];
+
+                freed = index;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maximumFill = Hashing.maximumFill(capacity);
+
+        if (null == oldKeys) return;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+
+            final long key = oldKeys[i];
+
+            if (FREE == key) continue;
+
+            int index = Hashing.mix(key) & mask;
+
+            while (FREE != keys[index]) {
+
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        return key instanceof Long && containsKey(((Long) key).longValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(Object value) {
+
+        if (containsFree && (null == value ? null == freeValue : value.equals(freeValue))) return true;
+
+        for (int i = 0; i < keys.length; i++) {
+
+            if (FREE != keys[i] && (null == value ? null == values[i] : value.equals(values[i]))) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+
+        return key instanceof Long ? get(((Long) key).longValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(Long key, V value) {
+
+        return put(key.longValue(), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+
+        return key instanceof Long ? remove(((Long) key).longValue()) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        if (0 == size) return;
+
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+
+        containsFree = false;
+        freeValue = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<Long, V>> entrySet() {
+
+        return new AbstractSet<Entry<Long, V>>() {
+
+            @Override
+            public Iterator<Entry<Long, V>> iterator() {
+
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+
+                return size;
+            }
+
+            @Override
+            public void clear() {
+
+                BuilderLongObjectMap.this.clear();
+            }
+        };
+    }
+
+
+    /**
+     * Walks the table backwards so that removing through the iterator only ever moves entries into slots that have
+     * already been visited. The only exception is an entry that wraps around from the start of the table, those are
+     * remembered and returned once the table has been walked.
+     */
+    private class EntryIterator implements Iterator<Entry<Long, V>> {
+
+        private static final int NONE = -1;
+        private static final int FREE_KEY = -2;
+        private static final int WRAPPED_KEY = -3;
+
+        private int index = keys.length;
+        private int last = NONE;
+        private int remaining = size;
+        private boolean returnFree = containsFree;
+        private int expectedModCount = modCount;
+
+        private long[] wrappedKeys = null;
+        private Object[] wrappedValues = null;
+        private int wrappedSize = 0;
+
+        @Override
+        public boolean hasNext() {
+
+            return 0 != remaining;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<Long, V> next() {
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+            if (!hasNext()) throw new NoSuchElementException();
+
+            remaining--;
+
+            if (returnFree) {
+
+                returnFree = false;
+                last = FREE_KEY;
+
+                return new MapEntry(FREE, freeValue);
+            }
+
+            while (true) {
+
+                if (0 > --index) {
+
+                    last = WRAPPED_KEY;
+
+                    return new MapEntry(wrappedKeys[-index - 1], (V) wrappedValues[-index - 1]);
+                }
+
+                if (FREE != keys[index]) {
+
+                    last = index;
+
+                    return new MapEntry(keys[index], (V) values[index]);
+                }
+            }
+        }
+
+        @Override
+        public void remove() {
+
+            if (NONE == last) throw new IllegalStateException();
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+            if (FREE_KEY == last) {
+
+                BuilderLongObjectMap.this.remove(FREE);
+
+            } else if (WRAPPED_KEY == last) {
+
+                BuilderLongObjectMap.this.remove(wrappedKeys[-index - 1]);
+
+            } else {
+
+                shift(last, this);
+
+                size--;
+                modCount++;
+            }
+
+            last = NONE;
+            expectedModCount = modCount;
+        }
+
+        private void wrapped(long key, V value) {
+
+            if (null == wrappedKeys) {
+
+                wrappedKeys = new long[2];
+                wrappedValues = new Object[2];
+            }
+
+            if (wrappedKeys.length == wrappedSize) {
+
+                wrappedKeys = Arrays.copyOf(wrappedKeys, wrappedSize << 1);
+                wrappedValues = Arrays.copyOf(wrappedValues, wrappedSize << 1);
+            }
+
+            wrappedKeys[wrappedSize] = key;
+            wrappedValues[wrappedSize++] = value;
+        }
+    }
+
+    /**
+     * A boxed copy of an entry that writes any new value through to the map.
+     */
+    private class MapEntry extends SimpleEntry<Long, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private MapEntry(long key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+
+            put(getKey().longValue(), value);
+
+            return super.setValue(value);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This {@code BuilderMap} can be used to quickly construct a map from another collection or as a base class to simplify
@@ -13,10 +14,18 @@ import java.util.Set;
  * <p/>
  * The {@link Builder#build()} method must be implemented to provide the logic that will be used to build the keys and
  * values that will be held within the map. The {@link Builder#build()} method will be repeatedly called until it
- * returns {@code null}.
+ * returns {@code null}. If the builder is an {@link EntryBuilder} then it's keys and values will instead be put
+ * straight into the map without creating an entry for each of them, and if it is a {@link BatchBuilder} then it's
+ * entries will instead be built a batch at a time. If the map is also given a {@link ForkJoinPool} then a
+ * {@link SplittableBuilder} will be split and it's parts built in parallel. A {@link BuildListener} can be given to be
+ * told how long the build took and to sample the time taken to access the backing map afterwards.
+ * <p/>
+ * If the builder is a {@link ResumableBuilder} then it is kept so that {@link #refresh()} can later pull in just the
+ * entries that are new or changed since the map was built, and remove any keys that a {@link DiffBuilder} says are
+ * gone.
  * <p/>
  * The backing map is the actual collection that will hold the built keys and values. If no backing map is supplied then
- * a {@link HashMap} will be used.
+ * a {@link HashMap} will be used, presized to the size of the builder if it is a {@link SizedBuilder}.
  * <p/>
  * Example:
  * <code>
@@ -47,6 +56,12 @@ public class BuilderMap<K, V> implements Map<K, V> {
 
     private final Map<K, V> map;
 
+    private final Sampler sampler;
+
+    private final ResumableBuilder<Entry<K, V>> resumable;
+
+    private CachedHash cachedHash = null;
+
 
     /**
      * Instantiate a new {@code BuilderMap} that will use the supplied {@link Builder} to build it's entries and the
@@ -57,32 +72,218 @@ public class BuilderMap<K, V> implements Map<K, V> {
      */
     public BuilderMap(Builder<Entry<K, V>> builder, Map<K, V> map) {
 
+        this(BuildListener.NONE, builder, map);
+    }
+
+    /**
+     * Instantiate a new {@code BuilderMap} that will use the supplied {@link Builder} to build it's entries and the
+     * supplied backing {@link Map} to hold it's keys and values. The supplied {@link BuildListener} will be told how
+     * long the build took and about any of the later accesses that it asks to sample.
+     *
+     * @param listener the listener that will be told about the build and sampled accesses.
+     * @param builder  the builder used to build the entries for the new map.
+     * @param map      the map that will be used to hold the built keys and value.
+     */
+    public BuilderMap(BuildListener listener, Builder<Entry<K, V>> builder, Map<K, V> map) {
+
+        if (null == listener) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(BuildListener, Builder, Map) listener must not be null.");
+        }
+
         if (null == builder) {
 
-            throw new IllegalArgumentException(getClass().getName() + "(Builder, Map) builder must not be null.");
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(BuildListener, Builder, Map) builder must not be null.");
         }
 
         if (null == map) {
 
-            throw new IllegalArgumentException(getClass().getName() + "(Builder, Map) map must not be null.");
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(BuildListener, Builder, Map) map must not be null.");
         }
 
         this.map = map;
+        this.sampler = Sampler.of(listener);
+        this.resumable = Refreshes.resumable(builder);
 
-        for (Entry<K, V> entry = builder.build(); null != entry; entry = builder.build()) {
-
-            this.map.put(entry.getKey(), entry.getValue());
-        }
+        Instruments.putAll(builder, this.map, listener);
     }
 
     /**
-     * Instantiate a new {@code BuilderMap} that will use the supplied {@link Builder} to build it's entries.
+     * Instantiate a new {@code BuilderMap} that will use the supplied {@link Builder} to build it's entries. The
+     * backing map will be a {@link HashMap} that is presized if the builder is a {@link SizedBuilder}.
      *
      * @param builder the builder used to build the entries for the new map.
      */
     public BuilderMap(Builder<Entry<K, V>> builder) {
 
-        this(builder, new HashMap<K, V>());
+        this(builder, new HashMap<K, V>(Sizes.hashCapacity(builder)));
+    }
+
+    /**
+     * Instantiate a new {@code BuilderMap} that will split the supplied {@link SplittableBuilder} and build it's parts
+     * in parallel on the supplied {@link ForkJoinPool}. The built entries are then put into the supplied backing
+     * {@link Map} in order on the calling thread, so for a hash map most of the work is still done on one thread. If
+     * the backing map is a {@link java.util.concurrent.ConcurrentMap} then each part is put into it in parallel
+     * instead, and which value is kept for a key that is built more than once depends on how the parts were scheduled.
+     *
+     * @param builder the builder that will be split to build the entries for the new map in parallel.
+     * @param map     the map that will be used to hold the built keys and value.
+     * @param pool    the pool that the parts of the builder will be built on.
+     */
+    public BuilderMap(SplittableBuilder<Entry<K, V>> builder, Map<K, V> map, ForkJoinPool pool) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(SplittableBuilder, Map, ForkJoinPool) builder must not be null.");
+        }
+
+        if (null == map) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(SplittableBuilder, Map, ForkJoinPool) map must not be null.");
+        }
+
+        if (null == pool) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(SplittableBuilder, Map, ForkJoinPool) pool must not be null.");
+        }
+
+        this.map = map;
+        this.sampler = Sampler.NONE;
+        this.resumable = Refreshes.resumable(builder);
+
+        Partitions.putAll(builder, this.map, pool);
+    }
+
+
+    /**
+     * Create an immutable copy of this map that holds it's keys and values in a pair of dense parallel arrays in this
+     * maps iteration order, so there is no node or entry object per entry. If the backing map is a
+     * {@link java.util.SortedMap} the keys are searched with it's comparator, otherwise they are searched through a
+     * separate hash table of positions. This map is left unchanged.
+     *
+     * @return an immutable copy of this map.
+     */
+    public Map<K, V> freeze() {
+
+        return new FrozenMap<>(map);
+    }
+
+    /**
+     * Start keeping the hash code of this map up to date as it is changed, so that {@link #hashCode()} no longer walks
+     * every entry and {@link #equals(Object)} returns {@code false} straight away for another map that is caching it's
+     * hash code if the two hash codes differ.
+     * <p/>
+     * Putting or removing a single key updates the hash code in constant time, bulk changes and changes made through
+     * the {@link #keySet()}, {@link #values()} or {@link #entrySet()} views only mark it to be recalculated the next
+     * time it is needed. The backing map must not be changed other than through this map, and the hash codes of the
+     * keys and values must not change while they are in it.
+     */
+    public void cacheHashCode() {
+
+        if (null == cachedHash) cachedHash = new CachedHash(false, map.hashCode());
+    }
+
+
+    /**
+     * Pull any new or changed entries from the {@link ResumableBuilder} that this map was built with into it's backing
+     * map, replacing the values of any keys that are already there. If the builder is a {@link DiffBuilder} then the
+     * keys that it has removed are taken out first. The cost of a refresh is in proportion to the number of changes
+     * rather than to the size of the map.
+     *
+     * @throws IllegalStateException if this map was not built with a {@link ResumableBuilder}.
+     */
+    public void refresh() {
+
+        if (null == resumable) {
+
+            throw new IllegalStateException(getClass().getName() +
+                    ".refresh() the map was not built with a ResumableBuilder.");
+        }
+
+        refresh(resumable);
+    }
+
+    /**
+     * Build all the entries from the supplied builder into the backing map in the same way as they are built when the
+     * map is constructed, replacing the values of any keys that are already there. If the builder is a
+     * {@link DiffBuilder} then the keys that it has removed are taken out first.
+     *
+     * @param builder the builder used to build the new or changed entries.
+     */
+    public void refresh(Builder<Entry<K, V>> builder) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".refresh(Builder) builder must not be null.");
+        }
+
+        if (null != cachedHash) cachedHash.invalidate();
+
+        Refreshes.removeAll(builder, map);
+
+        build(builder, map);
+    }
+
+
+    /**
+     * Build all the entries from the supplied builder into the supplied map.
+     *
+     * @param builder the builder to build the entries with.
+     * @param map     the map to put the built entries into.
+     */
+    static <K, V> void build(Builder<Entry<K, V>> builder, final Map<K, V> map) {
+
+        build(builder, new EntrySink<K, V>() {
+
+            @Override
+            public void put(K key, V value) {
+
+                map.put(key, value);
+            }
+        });
+    }
+
+    /**
+     * Build all the entries from the supplied builder into the supplied sink, for a build that writes the entries
+     * somewhere other than a map.
+     *
+     * @param builder the builder to build the entries with.
+     * @param sink    the sink to put the built entries into.
+     */
+    static <K, V> void build(Builder<Entry<K, V>> builder, EntrySink<K, V> sink) {
+
+        if (builder instanceof EntryBuilder) {
+
+            final EntryBuilder<K, V> entryBuilder = (EntryBuilder<K, V>) builder;
+
+            boolean more;
+
+            do {
+
+                more = entryBuilder.build(sink);
+
+            } while (more);
+
+            return;
+        }
+
+        if (builder instanceof BatchBuilder) {
+
+            Batches.putAll((BatchBuilder<Entry<K, V>>) builder, sink);
+
+            return;
+        }
+
+        for (Entry<K, V> entry = builder.build(); null != entry; entry = builder.build()) {
+
+            sink.put(entry.getKey(), entry.getValue());
+        }
     }
 
 
@@ -110,6 +311,20 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public boolean containsKey(Object key) {
 
+        if (sampler.sample()) {
+
+            final long start = System.nanoTime();
+
+            try {
+
+                return map.containsKey(key);
+
+            } finally {
+
+                sampler.sampled(BuildListener.Access.CONTAINS, start);
+            }
+        }
+
         return map.containsKey(key);
     }
 
@@ -128,6 +343,20 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public V get(Object key) {
 
+        if (sampler.sample()) {
+
+            final long start = System.nanoTime();
+
+            try {
+
+                return map.get(key);
+
+            } finally {
+
+                sampler.sampled(BuildListener.Access.GET, start);
+            }
+        }
+
         return map.get(key);
     }
 
@@ -137,6 +366,36 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public V put(K key, V value) {
 
+        if (null == cachedHash) return sampledPut(key, value);
+
+        final int size = map.size();
+
+        final V previous = sampledPut(key, value);
+
+        // The size only stays the same if the key was already there, even if it held a null value.
+        if (map.size() == size) cachedHash.removed(hash(key, previous));
+
+        cachedHash.added(hash(key, value));
+
+        return previous;
+    }
+
+    private V sampledPut(K key, V value) {
+
+        if (sampler.sample()) {
+
+            final long start = System.nanoTime();
+
+            try {
+
+                return map.put(key, value);
+
+            } finally {
+
+                sampler.sampled(BuildListener.Access.PUT, start);
+            }
+        }
+
         return map.put(key, value);
     }
 
@@ -146,7 +405,15 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public V remove(Object key) {
 
-        return map.remove(key);
+        if (null == cachedHash) return map.remove(key);
+
+        final int size = map.size();
+
+        final V previous = map.remove(key);
+
+        if (map.size() != size) cachedHash.removed(hash(key, previous));
+
+        return previous;
     }
 
     /**
@@ -155,6 +422,8 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public void putAll(Map<? extends K, ? extends V> map) {
 
+        if (null != cachedHash) cachedHash.invalidate();
+
         this.map.putAll(map);
     }
 
@@ -165,6 +434,8 @@ public class BuilderMap<K, V> implements Map<K, V> {
     public void clear() {
 
         map.clear();
+
+        if (null != cachedHash) cachedHash.cleared();
     }
 
     /**
@@ -173,6 +444,8 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public Set<K> keySet() {
 
+        if (null != cachedHash) return Invalidating.set(map.keySet(), cachedHash);
+
         return map.keySet();
     }
 
@@ -182,6 +455,8 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public Collection<V> values() {
 
+        if (null != cachedHash) return Invalidating.collection(map.values(), cachedHash);
+
         return map.values();
     }
 
@@ -191,6 +466,8 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public Set<Entry<K, V>> entrySet() {
 
+        if (null != cachedHash) return Invalidating.entrySet(map.entrySet(), cachedHash);
+
         return map.entrySet();
     }
 
@@ -204,7 +481,9 @@ public class BuilderMap<K, V> implements Map<K, V> {
 
         if (o == null || getClass() != o.getClass()) return false;
 
-        BuilderMap that = (BuilderMap) o;
+        BuilderMap<?, ?> that = (BuilderMap<?, ?>) o;
+
+        if (CachedHash.differ(cachedHash, that.cachedHash)) return false;
 
         return map.equals(that.map);
     }
@@ -215,6 +494,8 @@ public class BuilderMap<K, V> implements Map<K, V> {
     @Override
     public int hashCode() {
 
+        if (null != cachedHash) return cachedHash.get(map);
+
         return map.hashCode();
     }
 
@@ -226,4 +507,10 @@ public class BuilderMap<K, V> implements Map<K, V> {
 
         return map.toString();
     }
+
+
+    private static int hash(Object key, Object value) {
+
+        return CachedHash.of(key) ^ CachedHash.of(value);
+    }
 }
@@ -2,6 +2,7 @@ package collections.builders;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This {@code BuilderSet} can be used to quickly construct a set from another collection or as a base
@@ -14,7 +15,7 @@ import java.util.Set;
  * {@code null}.
  * <p/>
  * The backing set is the actual set that will hold the built elements. If no backing set is supplied then a
- * {@link HashSet} will be used.
+ * {@link HashSet} will be used, presized to the size of the builder if it is a {@link SizedBuilder}.
  * <p/>
  * Example:
  * <code>
@@ -44,6 +45,9 @@ import java.util.Set;
  */
 public class BuilderSet<E> extends BuilderCollection<E> implements Set<E> {
 
+    private final Set<E> set;
+
+
     /**
      * Instantiate a new {@code BuilderSet} that will use the supplied {@link collections.builders.Builder} to build
      * it's elements and the supplied backing {@link java.util.Set} to hold it's elements.
@@ -53,15 +57,77 @@ public class BuilderSet<E> extends BuilderCollection<E> implements Set<E> {
      */
     public BuilderSet(Builder<E> builder, Set<E> set) {
         super(builder, set);
+
+        this.set = set;
+    }
+
+    /**
+     * Instantiate a new {@code BuilderSet} that will use the supplied {@link Builder} to build it's elements and the
+     * supplied backing {@link Set} to hold it's elements. The supplied {@link BuildListener} will be told how long the
+     * build took and about any of the later accesses that it asks to sample.
+     *
+     * @param listener the listener that will be told about the build and sampled accesses.
+     * @param builder  the builder used to build the elements for the new set.
+     * @param set      the set that will be used to hold the built elements.
+     */
+    public BuilderSet(BuildListener listener, Builder<E> builder, Set<E> set) {
+        super(listener, builder, set);
+
+        this.set = set;
     }
 
     /**
      * Instantiate a new {@code BuilderSet} that will use the supplied {@link Builder} to build it's elements. The
-     * backing set will be a {@link HashSet}.
+     * backing set will be a {@link HashSet} that is presized if the builder is a {@link SizedBuilder}.
      *
      * @param builder the builder used to build the elements for the new set.
      */
     public BuilderSet(Builder<E> builder) {
-        this(builder, new HashSet<E>());
+        this(builder, new HashSet<E>(Sizes.hashCapacity(builder)));
+    }
+
+    /**
+     * Instantiate a new {@code BuilderSet} that will split the supplied {@link SplittableBuilder} and build it's parts
+     * in parallel on the supplied {@link ForkJoinPool}. The built elements are then added to the supplied backing
+     * {@link Set} on the calling thread, so for a hash set most of the work is still done on one thread. If the backing
+     * set is a concurrent set such as {@link java.util.concurrent.ConcurrentHashMap#newKeySet()} then each part is
+     * added to it in parallel instead.
+     *
+     * @param builder the builder that will be split to build the elements for the new set in parallel.
+     * @param set     the set that will be used to hold the built elements.
+     * @param pool    the pool that the parts of the builder will be built on.
+     */
+    public BuilderSet(SplittableBuilder<E> builder, Set<E> set, ForkJoinPool pool) {
+        super(builder, set, pool);
+
+        this.set = set;
+    }
+
+
+    /**
+     * Create an immutable copy of this set that holds it's elements in a single dense array in this sets iteration
+     * order, so there is no node or entry object per element. If the backing set is a {@link java.util.SortedSet} the
+     * copy is searched with it's comparator, otherwise it is searched through a separate hash table of positions. This
+     * set is left unchanged.
+     *
+     * @return an immutable copy of this set.
+     */
+    public Set<E> freeze() {
+
+        return new FrozenSet<>(set);
+    }
+
+    /**
+     * Start keeping the hash code of this set up to date as it is changed, so that {@link #hashCode()} no longer walks
+     * every element and {@link #equals(Object)} returns {@code false} straight away for another set that is caching
+     * it's hash code if the two hash codes differ.
+     * <p/>
+     * Adding or removing a single element updates the hash code in constant time, bulk changes and changes made through
+     * an iterator only mark it to be recalculated the next time it is needed. The backing set must not be changed
+     * other than through this set, and the hash codes of the elements must not change while they are in it.
+     */
+    public void cacheHashCode() {
+
+        cacheHash(false);
     }
 }
@@ -0,0 +1,37 @@
+package collections.builders;
+
+/**
+ * A key and value held by a {@link LoadingBuilderMap} along with the links and counts that it's
+ * {@link EvictionPolicy} uses to decide which entry to evict next.
+ *
+ * @param <K> the type of the key.
+ * @param <V> the type of the value.
+ *
+ * @author Karl Bennett
+ */
+final class CacheNode<K, V> {
+
+    final K key;
+
+    V value;
+
+    int weight;
+
+    CacheNode<K, V> previous;
+
+    CacheNode<K, V> next;
+
+    AccessOrder<K, V> order;
+
+    long frequency;
+
+    long tick;
+
+
+    CacheNode(K key, V value, int weight) {
+
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+    }
+}
@@ -0,0 +1,103 @@
+package collections.builders;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The hits, misses and evictions of a {@link LoadingBuilderMap}. The counts are live and can be read at any time from
+ * any thread, they are never reset.
+ *
+ * @author Karl Bennett
+ */
+public final class CacheStatistics {
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder evictedWeight = new LongAdder();
+
+
+    CacheStatistics() {
+    }
+
+
+    void hit() {
+
+        hits.increment();
+    }
+
+    void miss() {
+
+        misses.increment();
+    }
+
+    void evicted(int weight) {
+
+        evictions.increment();
+        evictedWeight.add(weight);
+    }
+
+
+    /**
+     * The number of reads that found their key in the map.
+     *
+     * @return the number of hits.
+     */
+    public long hits() {
+
+        return hits.sum();
+    }
+
+    /**
+     * The number of reads that did not find their key in the map and so had to load it's value.
+     *
+     * @return the number of misses.
+     */
+    public long misses() {
+
+        return misses.sum();
+    }
+
+    /**
+     * The fraction of reads that found their key in the map.
+     *
+     * @return the hit ratio from {@code 0} to {@code 1}, or {@code 1} if there have been no reads.
+     */
+    public double hitRatio() {
+
+        final long hits = hits();
+
+        final long requests = hits + misses();
+
+        return 0 == requests ? 1 : (double) hits / requests;
+    }
+
+    /**
+     * The number of entries that have been evicted to keep the map under it's maximum weight.
+     *
+     * @return the number of evictions.
+     */
+    public long evictions() {
+
+        return evictions.sum();
+    }
+
+    /**
+     * The total weight of the entries that have been evicted.
+     *
+     * @return the evicted weight.
+     */
+    public long evictedWeight() {
+
+        return evictedWeight.sum();
+    }
+
+    @Override
+    public String toString() {
+
+        return "CacheStatistics{hits=" + hits() + ", misses=" + misses() + ", evictions=" + evictions() +
+                ", evictedWeight=" + evictedWeight() + '}';
+    }
+}
@@ -0,0 +1,121 @@
+package collections.builders;
+
+/**
+ * The hash code of a builder collection kept up to date as it is changed, so that asking for it does not walk the
+ * whole backing collection every time.
+ * <p/>
+ * An unordered hash, that of a {@link java.util.Set} or a {@link java.util.Map}, is the sum of the hashes of it's
+ * elements or entries, so it is kept up to date by adding and subtracting the hash of each element that is added or
+ * removed. An ordered hash, that of a {@link java.util.List}, can only be kept up to date as elements are appended,
+ * any other change invalidates it. An invalid hash is recalculated from the backing collection the next time it is
+ * asked for.
+ *
+ * @author Karl Bennett
+ */
+final class CachedHash {
+
+    private final boolean ordered;
+
+    private int hash;
+
+    private boolean valid = true;
+
+
+    /**
+     * Instantiate a new {@code CachedHash} that starts from the current hash code of a collection.
+     *
+     * @param ordered {@code true} for the hash of a list, {@code false} for the hash of a set or map.
+     * @param hash    the current hash code of the collection.
+     */
+    CachedHash(boolean ordered, int hash) {
+
+        this.ordered = ordered;
+        this.hash = hash;
+    }
+
+
+    /**
+     * Get the hash code, recalculating it from the supplied backing collection or map if it has been invalidated.
+     *
+     * @param backing the collection or map that the hash is of.
+     * @return the hash code.
+     */
+    int get(Object backing) {
+
+        if (!valid) {
+
+            hash = backing.hashCode();
+
+            valid = true;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Account for an element or entry with the supplied hash having been added, for an ordered hash it must have been
+     * appended to the end.
+     *
+     * @param elementHash the hash of the added element or entry.
+     */
+    void added(int elementHash) {
+
+        if (ordered) hash = 31 * hash + elementHash;
+
+        else hash += elementHash;
+    }
+
+    /**
+     * Account for an element or entry with the supplied hash having been removed.
+     *
+     * @param elementHash the hash of the removed element or entry.
+     */
+    void removed(int elementHash) {
+
+        if (ordered) valid = false;
+
+        else hash -= elementHash;
+    }
+
+    /**
+     * Account for every element having been removed.
+     */
+    void cleared() {
+
+        hash = ordered ? 1 : 0;
+
+        valid = true;
+    }
+
+    /**
+     * Mark the hash as out of date so that it is recalculated the next time it is asked for.
+     */
+    void invalidate() {
+
+        valid = false;
+    }
+
+
+    /**
+     * Check if two cached hashes are both up to date and different, in which case the collections can not be equal.
+     *
+     * @param one     the cached hash of one collection, or {@code null} if it does not have one.
+     * @param another the cached hash of the other collection, or {@code null} if it does not have one.
+     * @return {@code true} if the collections are known to be different, otherwise {@code false}.
+     */
+    static boolean differ(CachedHash one, CachedHash another) {
+
+        return null != one && null != another && one.valid && another.valid && one.hash != another.hash;
+    }
+
+    /**
+     * The hash of a single element, {@code 0} for {@code null}.
+     *
+     * @param element the element to hash.
+     * @return the hash of the element.
+     */
+    static int of(Object element) {
+
+        return null == element ? 0 : element.hashCode();
+    }
+}
@@ -0,0 +1,164 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The container that the list {@link java.util.stream.Collector}s of {@link BuilderCollectors} accumulate into. The
+ * elements are held in a list of array chunks that grow in size, so adding never copies an element and combining the
+ * containers of two threads only joins their lists of chunks. Once everything has been accumulated it is drained as a
+ * {@link BatchBuilder} that knows it's exact size, so the backing list is presized and filled with a single copy of
+ * each element.
+ *
+ * @param <E> the type of the elements.
+ *
+ * @author Karl Bennett
+ */
+final class Chunks<E> implements BatchBuilder<E>, SizedBuilder<E> {
+
+    private static final int FIRST_CHUNK_SIZE = 16;
+
+    private static final int MAXIMUM_CHUNK_SIZE = Batches.SIZE;
+
+
+    private final List<Object[]> chunks = new ArrayList<>();
+
+    private final List<Integer> sizes = new ArrayList<>();
+
+    private Object[] current = new Object[FIRST_CHUNK_SIZE];
+
+    private int count = 0;
+
+    private int size = 0;
+
+    private int chunk = 0;
+
+    private int position = 0;
+
+
+    /**
+     * Add an element to the end of these chunks.
+     *
+     * @param element the element to add, it must not be {@code null}.
+     */
+    void add(E element) {
+
+        if (null == element) {
+
+            throw new NullPointerException(getClass().getName() + ".add(Object) the elements must not be null.");
+        }
+
+        if (current.length == count) {
+
+            final int capacity = Math.max(FIRST_CHUNK_SIZE, Math.min(MAXIMUM_CHUNK_SIZE, current.length << 1));
+
+            seal();
+
+            current = new Object[capacity];
+        }
+
+        current[count++] = element;
+
+        size++;
+    }
+
+    /**
+     * Move all the elements of the supplied chunks onto the end of these chunks without copying them.
+     *
+     * @param other the chunks to append, they must not be used again.
+     * @return these chunks.
+     */
+    Chunks<E> append(Chunks<E> other) {
+
+        other.seal();
+
+        seal();
+
+        chunks.addAll(other.chunks);
+        sizes.addAll(other.sizes);
+
+        current = new Object[FIRST_CHUNK_SIZE];
+
+        size += other.size;
+
+        return this;
+    }
+
+    private void seal() {
+
+        if (0 == count) return;
+
+        chunks.add(current);
+        sizes.add(count);
+
+        current = new Object[0];
+        count = 0;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E build() {
+
+        seal();
+
+        if (chunks.size() == chunk) return null;
+
+        final E element = (E) chunks.get(chunk)[position];
+
+        next(1);
+
+        return element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean build(Batch<E> batch) {
+
+        seal();
+
+        while (chunks.size() > chunk && !batch.isFull()) {
+
+            final Object[] elements = chunks.get(chunk);
+
+            final int end = Math.min(sizes.get(chunk), position + batch.remaining());
+
+            for (int i = position; i < end; i++) batch.add((E) elements[i]);
+
+            next(end - position);
+        }
+
+        return chunks.size() > chunk;
+    }
+
+    /**
+     * The number of elements that are left to build.
+     *
+     * @return the exact number of elements left.
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+
+    private void next(int built) {
+
+        position += built;
+        size -= built;
+
+        if (sizes.get(chunk) == position) {
+
+            chunks.set(chunk++, null);
+
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package collections.builders;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This {@code ConcurrentBuilderList} is an append only version of the {@link BuilderList} that any number of threads
+ * can add to and read from at the same time without locking.
+ * <p/>
+ * It is constructed with a single {@link Builder} that is run on the constructing thread, or a collection of
+ * {@link Builder}s that are all run at the same time on the supplied {@link java.util.concurrent.Executor}. Each
+ * builder adds it's elements straight into the list, the constructor waits until every builder has finished and if any
+ * of them fail the first failure is thrown once they have all stopped.
+ * <p/>
+ * The elements are held in chunks that are never moved or copied, each chunk being twice the size of the one before
+ * so that a fixed directory of chunks can hold {@link Integer#MAX_VALUE} elements. An add reserves the next index with
+ * a single atomic increment, creates the chunk for that index if no other thread has yet and writes the element. The
+ * size is then published by moving it past every index whose element has been written, any adding thread can move
+ * it on for the others so no thread waits for another. {@link #get(int)} is wait free for every index below the
+ * published size.
+ * <p/>
+ * Elements can only be added to the end of the list, any method that would change or remove an element throws an
+ * {@link UnsupportedOperationException}. {@code null} elements are not allowed. The iterators are weakly consistent,
+ * they will return any element that is published before they reach it. If a thread stops between reserving an index
+ * and writing it's element then the size can not be published past that index again.
+ * <p/>
+ * Example:
+ * <code>
+ *      List<Event> events = new ConcurrentBuilderList<>(Arrays.asList(socketBuilder, fileBuilder), executor);
+ * <p/>
+ *      events.add(new Event("built")); // Safe from any thread.
+ * </code>
+ *
+ * @param <E> the type of the elements held in the list.
+ *
+ * @author Karl Bennett
+ */
+public class ConcurrentBuilderList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int FIRST_CHUNK_SHIFT = 4;
+
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+
+    private static final int MAXIMUM_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE;
+
+    private static final int CHUNKS = 32 - FIRST_CHUNK_SHIFT;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<E>> chunks = new AtomicReferenceArray<>(CHUNKS);
+
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private final AtomicInteger published = new AtomicInteger();
+
+
+    /**
+     * Instantiate a new {@code ConcurrentBuilderList} that will use the supplied {@link Builder} to build it's
+     * elements.
+     *
+     * @param builder the builder used to build the elements for the new list.
+     */
+    public ConcurrentBuilderList(Builder<E> builder) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Builder) builder must not be null.");
+        }
+
+        BuilderCollection.build(builder, this);
+    }
+
+    /**
+     * Instantiate a new {@code ConcurrentBuilderList} that will run all the supplied {@link Builder}s at the same time
+     * on the supplied {@link Executor}, each of them adding it's elements straight into the list.
+     *
+     * @param builders the builders used to build the elements for the new list.
+     * @param executor the executor that each of the builders will be run on.
+     */
+    public ConcurrentBuilderList(Collection<? extends Builder<E>> builders, Executor executor) {
+
+        if (null == builders) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection,Executor) builders must not be null.");
+        }
+
+        if (null == executor) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection,Executor) executor must not be null.");
+        }
+
+        final List<Runnable> builds = new ArrayList<>(builders.size());
+
+        for (final Builder<E> builder : builders) {
+
+            if (null == builder) {
+
+                throw new IllegalArgumentException(getClass().getName() +
+                        "(Collection,Executor) builders must not contain null.");
+            }
+
+            builds.add(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    BuilderCollection.build(builder, ConcurrentBuilderList.this);
+                }
+            });
+        }
+
+        Tasks.runAll(builds, executor);
+    }
+
+
+    /**
+     * Add the supplied element to the end of the list, this is safe to call from any thread.
+     *
+     * @param element the element to add.
+     * @return {@code true}.
+     * @throws NullPointerException if the element is {@code null}.
+     */
+    @Override
+    public boolean add(E element) {
+
+        if (null == element) throw new NullPointerException();
+
+        final int index = reserve(1);
+
+        write(index, element, chunk(index));
+
+        publish();
+
+        return true;
+    }
+
+    /**
+     * Add all of the supplied elements to the end of the list in order. The indexes for all of the elements are
+     * reserved at once so the elements will be next to each other even if other threads are adding at the same time.
+     *
+     * @param elements the elements to add.
+     * @return {@code true} if any elements were added, otherwise {@code false}.
+     * @throws NullPointerException if any of the elements are {@code null}.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+
+        final Object[] values = elements.toArray();
+
+        if (0 == values.length) return false;
+
+        for (Object value : values) {
+
+            if (null == value) throw new NullPointerException();
+        }
+
+        final int start = reserve(values.length);
+
+        for (int i = 0; i < values.length; i++) {
+
+            @SuppressWarnings("unchecked")
+            final E element = (E) values[i];
+
+            write(start + i, element, chunk(start + i));
+        }
+
+        publish();
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+
+        final int size = published.get();
+
+        if (0 > index || size <= index) {
+
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final int position = index + FIRST_CHUNK_SIZE;
+
+        return chunks.get(chunkOf(position)).get(position - Integer.highestOneBit(position));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return published.get();
+    }
+
+    /**
+     * A spliterator that knows exactly how many elements it has and splits the list evenly by index.
+     *
+     * @return a {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} spliterator over this list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+
+        return new IndexSpliterator<>(this, Spliterator.NONNULL);
+    }
+
+
+    private int reserve(int count) {
+
+        final int index = reserved.getAndAdd(count);
+
+        if (0 > index || MAXIMUM_SIZE - count < index) {
+
+            throw new IllegalStateException("A concurrent list can not hold more than " + MAXIMUM_SIZE +
+                    " elements.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Get the chunk that holds the supplied index, creating it if it does not exist yet.
+     */
+    private AtomicReferenceArray<E> chunk(int index) {
+
+        final int chunk = chunkOf(index + FIRST_CHUNK_SIZE);
+
+        final AtomicReferenceArray<E> existing = chunks.get(chunk);
+
+        if (null != existing) return existing;
+
+        final AtomicReferenceArray<E> created = new AtomicReferenceArray<>(FIRST_CHUNK_SIZE << chunk);
+
+        return chunks.compareAndSet(chunk, null, created) ? created : chunks.get(chunk);
+    }
+
+    private static int chunkOf(int position) {
+
+        return 31 - Integer.numberOfLeadingZeros(position) - FIRST_CHUNK_SHIFT;
+    }
+
+    private static <E> void write(int index, E element, AtomicReferenceArray<E> chunk) {
+
+        final int position = index + FIRST_CHUNK_SIZE;
+
+        chunk.set(position - Integer.highestOneBit(position), element);
+    }
+
+    /**
+     * Move the published size past every index whose element has been written.
+     */
+    private void publish() {
+
+        for (int size = published.get(); size < reserved.get(); size = published.get()) {
+
+            final int position = size + FIRST_CHUNK_SIZE;
+
+            final AtomicReferenceArray<E> chunk = chunks.get(chunkOf(position));
+
+            if (null == chunk || null == chunk.get(position - Integer.highestOneBit(position))) return;
+
+            published.compareAndSet(size, size + 1);
+        }
+    }
+}
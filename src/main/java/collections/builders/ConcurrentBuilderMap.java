@@ -0,0 +1,432 @@
+package collections.builders;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * This {@code ConcurrentBuilderMap} is a concurrent version of the {@link BuilderMap} that runs many {@link Builder}s at
+ * the same time, each on it's own thread of the supplied {@link Executor}, and puts all of their entries into a single
+ * {@link ConcurrentMap}.
+ * <p/>
+ * It is constructed with a collection of {@link Builder}s, an optional backing {@link ConcurrentMap}, an optional merge
+ * function and an {@link Executor}. A single thread safe builder can be run on many threads by supplying it more than
+ * once, for example with {@link java.util.Collections#nCopies(int, Object)}.
+ * <p/>
+ * Each builder is drained in the same way as it would be by a {@link BuilderMap}, so {@link EntryBuilder}s and
+ * {@link BatchBuilder}s are supported. The constructor waits until every builder has finished, if any of them fail the
+ * first failure is thrown once they have all stopped.
+ * <p/>
+ * If more than one entry is built for the same key then the values are combined with the merge function through
+ * {@link ConcurrentMap#merge(Object, Object, BiFunction)}, a {@code null} result removes the key. Without a merge
+ * function the last value to be put wins, which one that is depends on how the builders threads were scheduled.
+ * <p/>
+ * The backing map is the actual map that will hold the built keys and values. If no backing map is supplied then a
+ * {@link ConcurrentHashMap} will be used, presized to the total size of any {@link SizedBuilder}s, whose per bin
+ * locking lets the builders put their entries without contending with each other.
+ * <p/>
+ * Example:
+ * <code>
+ *      Map<String, Integer> wordCounts = new ConcurrentBuilderMap<>(wordBuilders, new BiFunction<Integer, Integer,
+ *              Integer>() {
+ * <p/>
+ *          public Integer apply(Integer count, Integer more) {
+ * <p/>
+ *              return count + more;
+ *          }
+ *      }, executor);
+ * </code>
+ *
+ * @param <K> the generic type of the maps keys.
+ * @param <V> the generic type of the maps values.
+ *
+ * @author Karl Bennett
+ */
+public class ConcurrentBuilderMap<K, V> implements ConcurrentMap<K, V> {
+
+    private final ConcurrentMap<K, V> map;
+
+
+    /**
+     * Instantiate a new {@code ConcurrentBuilderMap} that will run all the supplied {@link Builder}s at the same time
+     * on the supplied {@link Executor}, combining the values of any duplicate keys with the supplied merge function,
+     * and put their entries into the supplied backing {@link ConcurrentMap}.
+     *
+     * @param builders the builders used to build the entries for the new map.
+     * @param map      the map that will be used to hold the built keys and value.
+     * @param merge    the function used to combine the values of a duplicate key, or {@code null} to keep the last
+     *                 value to be put.
+     * @param executor the executor that each of the builders will be run on.
+     */
+    public ConcurrentBuilderMap(Collection<? extends Builder<Entry<K, V>>> builders, ConcurrentMap<K, V> map,
+                                BiFunction<? super V, ? super V, ? extends V> merge, Executor executor) {
+
+        if (null == builders) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, ConcurrentMap, BiFunction, Executor) builders must not be null.");
+        }
+
+        if (null == map) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, ConcurrentMap, BiFunction, Executor) map must not be null.");
+        }
+
+        if (null == executor) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, ConcurrentMap, BiFunction, Executor) executor must not be null.");
+        }
+
+        for (Builder<Entry<K, V>> builder : builders) {
+
+            if (null == builder) {
+
+                throw new IllegalArgumentException(getClass().getName() +
+                        "(Collection, ConcurrentMap, BiFunction, Executor) builders must not contain null.");
+            }
+        }
+
+        this.map = map;
+
+        build(builders, null == merge ? map : new MergingMap<>(map, merge), executor);
+    }
+
+    /**
+     * Instantiate a new {@code ConcurrentBuilderMap} that will run all the supplied {@link Builder}s at the same time
+     * on the supplied {@link Executor}, combining the values of any duplicate keys with the supplied merge function.
+     * The backing map will be a {@link ConcurrentHashMap} that is presized to the total size of any
+     * {@link SizedBuilder}s.
+     *
+     * @param builders the builders used to build the entries for the new map.
+     * @param merge    the function used to combine the values of a duplicate key, or {@code null} to keep the last
+     *                 value to be put.
+     * @param executor the executor that each of the builders will be run on.
+     */
+    public ConcurrentBuilderMap(Collection<? extends Builder<Entry<K, V>>> builders,
+                                BiFunction<? super V, ? super V, ? extends V> merge, Executor executor) {
+
+        this(builders, new ConcurrentHashMap<K, V>(size(builders)), merge, executor);
+    }
+
+    /**
+     * Instantiate a new {@code ConcurrentBuilderMap} that will run all the supplied {@link Builder}s at the same time
+     * on the supplied {@link Executor} and keep the last value to be put for any duplicate keys. The backing map will
+     * be a {@link ConcurrentHashMap} that is presized to the total size of any {@link SizedBuilder}s.
+     *
+     * @param builders the builders used to build the entries for the new map.
+     * @param executor the executor that each of the builders will be run on.
+     */
+    public ConcurrentBuilderMap(Collection<? extends Builder<Entry<K, V>>> builders, Executor executor) {
+
+        this(builders, null, executor);
+    }
+
+
+    private static int size(Collection<? extends Builder<?>> builders) {
+
+        if (null == builders) return 0;
+
+        long size = 0;
+
+        for (Builder<?> builder : builders) {
+
+            size += Math.max(0, Sizes.size(builder));
+        }
+
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static <K, V> void build(Collection<? extends Builder<Entry<K, V>>> builders, final Map<K, V> map,
+                                     Executor executor) {
+
+        final List<Runnable> builds = new ArrayList<>(builders.size());
+
+        for (final Builder<Entry<K, V>> builder : builders) {
+
+            builds.add(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    BuilderMap.build(builder, map);
+                }
+            });
+        }
+
+        Tasks.runAll(builds, executor);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+
+        return map.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        return map.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(Object value) {
+
+        return map.containsValue(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+
+        return map.get(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+
+        return map.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(K key, V value) {
+
+        return map.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+
+        return map.putIfAbsent(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+
+        return map.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object key, Object value) {
+
+        return map.remove(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+
+        return map.replace(key, oldValue, newValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V replace(K key, V value) {
+
+        return map.replace(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+
+        return map.computeIfAbsent(key, mappingFunction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        return map.computeIfPresent(key, remappingFunction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        return map.compute(key, remappingFunction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+
+        return map.merge(key, value, remappingFunction);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+
+        map.forEach(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+
+        this.map.putAll(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<K> keySet() {
+
+        return map.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<V> values() {
+
+        return map.values();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+
+        return map.entrySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ConcurrentBuilderMap<?, ?> that = (ConcurrentBuilderMap<?, ?>) o;
+
+        return map.equals(that.map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        return map.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+
+        return map.toString();
+    }
+
+
+    /**
+     * A view of the backing map that the builders put into, it merges each put value with any existing value.
+     */
+    private static class MergingMap<K, V> extends AbstractMap<K, V> {
+
+        private final ConcurrentMap<K, V> map;
+
+        private final BiFunction<? super V, ? super V, ? extends V> merge;
+
+        private MergingMap(ConcurrentMap<K, V> map, BiFunction<? super V, ? super V, ? extends V> merge) {
+
+            this.map = map;
+            this.merge = merge;
+        }
+
+        @Override
+        public V put(K key, V value) {
+
+            map.merge(key, value, merge);
+
+            return null;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+
+            return map.entrySet();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package collections.builders;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A {@link MappedRecordBuilder} for files whose records are separated by a delimiter byte, for example a {@code '\n'}
+ * for a file of lines. The delimiter is not part of the record and the last record does not need to be followed by a
+ * delimiter. Any {@code '\r'} before a {@code '\n'} is left for the parser to deal with.
+ * <p/>
+ * Example:
+ * <code>
+ *      List<String> lines = new BuilderList<>(new DelimitedRecordBuilder<>(Paths.get("lines.txt"), (byte) '\n',
+ *              new RecordParser<String>() {
+ * <p/>
+ *                  public String parse(ByteBuffer record) {
+ * <p/>
+ *                      return StandardCharsets.UTF_8.decode(record).toString();
+ *                  }
+ *              }));
+ * </code>
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public class DelimitedRecordBuilder<V> extends MappedRecordBuilder<V> {
+
+    private final byte delimiter;
+
+
+    /**
+     * Instantiate a new {@code DelimitedRecordBuilder} that will parse each delimited record of the supplied file.
+     *
+     * @param file      the file to read the records from.
+     * @param delimiter the byte that separates the records.
+     * @param parser    the parser used to build a value from each record.
+     */
+    public DelimitedRecordBuilder(Path file, byte delimiter, RecordParser<V> parser) {
+
+        this(file, delimiter, parser, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code DelimitedRecordBuilder} that will parse each delimited record of the supplied file while
+     * mapping the file a window of the supplied size at a time.
+     *
+     * @param file       the file to read the records from.
+     * @param delimiter  the byte that separates the records.
+     * @param parser     the parser used to build a value from each record.
+     * @param windowSize the number of bytes of the file to map at a time.
+     */
+    public DelimitedRecordBuilder(Path file, byte delimiter, RecordParser<V> parser, int windowSize) {
+        super(check(file, parser, windowSize), parser, 1, windowSize);
+
+        this.delimiter = delimiter;
+    }
+
+
+    private static Path check(Path file, RecordParser<?> parser, int windowSize) {
+
+        final String name = DelimitedRecordBuilder.class.getName();
+
+        if (null == file) {
+
+            throw new IllegalArgumentException(name + "(Path,byte,RecordParser,int) file must not be null.");
+        }
+
+        if (null == parser) {
+
+            throw new IllegalArgumentException(name + "(Path,byte,RecordParser,int) parser must not be null.");
+        }
+
+        if (0 >= windowSize) {
+
+            throw new IllegalArgumentException(name + "(Path,byte,RecordParser,int) windowSize must be positive.");
+        }
+
+        return file;
+    }
+
+
+    @Override
+    int end(ByteBuffer window, int start) {
+
+        for (int i = start, limit = window.limit(); i < limit; i++) {
+
+            if (delimiter == window.get(i)) return i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    int last(ByteBuffer window, int start) {
+
+        return window.limit();
+    }
+}
@@ -0,0 +1,21 @@
+package collections.builders;
+
+/**
+ * A {@link ResumableBuilder} that can also say which values have been removed since it was last drained. When a builder
+ * collection is refreshed from a {@code DiffBuilder} the removed values are taken out of it before the new values are
+ * added, so the collection is brought up to date in place.
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface DiffBuilder<V> extends ResumableBuilder<V> {
+
+    /**
+     * Build the next value that has been removed since the builder was last drained. For a map this is the key of the
+     * removed entry. This method will be repeatedly called until it returns {@code null}.
+     *
+     * @return the next removed value or key, or {@code null} if there are no more.
+     */
+    public Object removed();
+}
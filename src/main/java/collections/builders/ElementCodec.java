@@ -0,0 +1,33 @@
+package collections.builders;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface that provides the methods for writing an element into a {@link ByteBuffer} and reading it back out again.
+ * It is used by the builder collections that hold their elements as bytes outside of the heap.
+ *
+ * @param <E> the type of the elements that are encoded.
+ *
+ * @author Karl Bennett
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * Write the supplied element into the supplied buffer starting at it's current position, the position must be left
+     * at the end of the written bytes. A {@link java.nio.BufferOverflowException} should be allowed to escape if the
+     * element does not fit, it will then be encoded again into a larger buffer.
+     *
+     * @param element the element to encode.
+     * @param buffer  the buffer to write the element into.
+     */
+    public void encode(E element, ByteBuffer buffer);
+
+    /**
+     * Read an element back out of the supplied buffer, it's remaining bytes are exactly the bytes that were written by
+     * {@link #encode(Object, ByteBuffer)}.
+     *
+     * @param buffer a read only buffer holding the bytes of a single element.
+     * @return the decoded element.
+     */
+    public E decode(ByteBuffer buffer);
+}
@@ -0,0 +1,29 @@
+package collections.builders;
+
+import java.util.Map.Entry;
+
+/**
+ * A {@link Builder} of map entries that puts it's keys and values straight into an {@link EntrySink} instead of
+ * returning a new {@link Entry} for each of them. The builder maps will give it a sink that writes through to their
+ * backing map, so building a map creates no intermediate objects.
+ * <p/>
+ * The {@link #build()} method is still required so that an {@code EntryBuilder} can be used anywhere a {@link Builder}
+ * can, though the builder maps will never call it.
+ *
+ * @param <K> the type of the keys that are to be built.
+ * @param <V> the type of the values that are to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface EntryBuilder<K, V> extends Builder<Entry<K, V>> {
+
+    /**
+     * Build any number of entries by putting them into the supplied {@link EntrySink}. Putting nothing is allowed and
+     * just means that no entries were ready this time, the end of the entries must be signaled explicitly by returning
+     * {@code false}. Any entries put in the same call that returns {@code false} will still be used.
+     *
+     * @param sink the sink to put the built keys and values into.
+     * @return {@code true} if there may be more entries to build, otherwise {@code false}.
+     */
+    public boolean build(EntrySink<K, V> sink);
+}
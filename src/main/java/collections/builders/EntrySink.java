@@ -0,0 +1,21 @@
+package collections.builders;
+
+/**
+ * The target that an {@link EntryBuilder} puts it's keys and values straight into, so that no
+ * {@link java.util.Map.Entry} has to be created for each of them.
+ *
+ * @param <K> the type of the keys that are to be built.
+ * @param <V> the type of the values that are to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface EntrySink<K, V> {
+
+    /**
+     * Put a built key and value into the map that is being built.
+     *
+     * @param key   the built key.
+     * @param value the built value.
+     */
+    public void put(K key, V value);
+}
@@ -0,0 +1,55 @@
+package collections.builders;
+
+/**
+ * The policies that a {@link LoadingBuilderMap} can use to choose which entry to evict when it is over it's maximum
+ * weight.
+ *
+ * @author Karl Bennett
+ */
+public enum Eviction {
+
+    /**
+     * Evict the least recently used entry. Cheap and good for workloads whose recent keys are the most likely to be
+     * used again.
+     */
+    LRU {
+        @Override
+        <K, V> EvictionPolicy<K, V> policy(long maximumWeight) {
+
+            return new EvictionPolicy.Lru<>();
+        }
+    },
+
+    /**
+     * Evict the least frequently used entry. Good for workloads with a stable set of popular keys, but the frequencies
+     * are never aged so it adapts badly when the popular keys change.
+     */
+    LFU {
+        @Override
+        <K, V> EvictionPolicy<K, V> policy(long maximumWeight) {
+
+            return new EvictionPolicy.Lfu<>();
+        }
+    },
+
+    /**
+     * Window TinyLFU, a small recency window in front of a frequency filtered segmented LRU. Keeps a high hit ratio for
+     * most workloads, including ones that mix recent and frequent keys or that scan through many keys once.
+     */
+    W_TINY_LFU {
+        @Override
+        <K, V> EvictionPolicy<K, V> policy(long maximumWeight) {
+
+            return new EvictionPolicy.TinyLfu<>(maximumWeight);
+        }
+    };
+
+
+    /**
+     * Create a new instance of this policy for a map with the supplied maximum weight.
+     *
+     * @param maximumWeight the maximum weight of the map.
+     * @return the new policy.
+     */
+    abstract <K, V> EvictionPolicy<K, V> policy(long maximumWeight);
+}
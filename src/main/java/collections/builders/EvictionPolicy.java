@@ -0,0 +1,226 @@
+package collections.builders;
+
+import java.util.Comparator;
+import java.util.TreeSet;
+
+/**
+ * Decides which entry a {@link LoadingBuilderMap} should evict next. The map tells it's policy whenever an entry is
+ * added, read or removed and asks it for a victim while the map is over it's maximum weight. Policies are only ever
+ * used while the map holds it's lock so they do not need to be thread safe.
+ *
+ * @param <K> the type of the maps keys.
+ * @param <V> the type of the maps values.
+ *
+ * @author Karl Bennett
+ */
+abstract class EvictionPolicy<K, V> {
+
+    /**
+     * Called when a node has been added to the map, or when it's value has been replaced.
+     *
+     * @param node the added node.
+     */
+    abstract void added(CacheNode<K, V> node);
+
+    /**
+     * Called when the value of a node has been read.
+     *
+     * @param node the read node.
+     */
+    abstract void accessed(CacheNode<K, V> node);
+
+    /**
+     * Called when a node has been removed from the map, either explicitly or because it was evicted.
+     *
+     * @param node the removed node.
+     */
+    abstract void removed(CacheNode<K, V> node);
+
+    /**
+     * The node that should be evicted next.
+     *
+     * @return the next node to evict, or {@code null} if there are none.
+     */
+    abstract CacheNode<K, V> victim();
+
+
+    /**
+     * Evict the least recently used entry.
+     */
+    static final class Lru<K, V> extends EvictionPolicy<K, V> {
+
+        private final AccessOrder<K, V> order = new AccessOrder<>();
+
+
+        @Override
+        void added(CacheNode<K, V> node) {
+
+            order.addLast(node);
+        }
+
+        @Override
+        void accessed(CacheNode<K, V> node) {
+
+            order.moveToLast(node);
+        }
+
+        @Override
+        void removed(CacheNode<K, V> node) {
+
+            order.remove(node);
+        }
+
+        @Override
+        CacheNode<K, V> victim() {
+
+            return order.first();
+        }
+    }
+
+    /**
+     * Evict the least frequently used entry, ties are broken by evicting the least recently used of them. The
+     * frequencies are never aged, so an entry that was popular once will be kept until it is removed.
+     */
+    static final class Lfu<K, V> extends EvictionPolicy<K, V> {
+
+        private final TreeSet<CacheNode<K, V>> nodes = new TreeSet<>(new Comparator<CacheNode<K, V>>() {
+
+            @Override
+            public int compare(CacheNode<K, V> left, CacheNode<K, V> right) {
+
+                final int frequency = Long.compare(left.frequency, right.frequency);
+
+                return 0 != frequency ? frequency : Long.compare(left.tick, right.tick);
+            }
+        });
+
+        private long ticks = 0;
+
+
+        @Override
+        void added(CacheNode<K, V> node) {
+
+            node.frequency++;
+            node.tick = ++ticks;
+
+            nodes.add(node);
+        }
+
+        @Override
+        void accessed(CacheNode<K, V> node) {
+
+            nodes.remove(node);
+
+            added(node);
+        }
+
+        @Override
+        void removed(CacheNode<K, V> node) {
+
+            nodes.remove(node);
+        }
+
+        @Override
+        CacheNode<K, V> victim() {
+
+            return nodes.isEmpty() ? null : nodes.first();
+        }
+    }
+
+    /**
+     * Window TinyLFU. New entries go into a small LRU window that takes one percent of the maximum weight. Entries that
+     * fall out of the window become candidates for the main space, which is a segmented LRU with a probation queue and
+     * a protected queue that takes eighty percent of it. A candidate is only kept if a {@link FrequencySketch} says it
+     * has been seen more often than the entry at the front of the probation queue, otherwise the candidate is evicted.
+     * Entries that are read while on probation are promoted to the protected queue.
+     */
+    static final class TinyLfu<K, V> extends EvictionPolicy<K, V> {
+
+        private final AccessOrder<K, V> window = new AccessOrder<>();
+
+        private final AccessOrder<K, V> probation = new AccessOrder<>();
+
+        private final AccessOrder<K, V> protect = new AccessOrder<>();
+
+        private final long windowMaximum;
+
+        private final long protectedMaximum;
+
+        private final FrequencySketch sketch;
+
+        private CacheNode<K, V> candidate;
+
+
+        TinyLfu(long maximumWeight) {
+
+            this.windowMaximum = Math.max(1, maximumWeight / 100);
+            this.protectedMaximum = (maximumWeight - windowMaximum) * 4 / 5;
+            this.sketch = new FrequencySketch(maximumWeight);
+        }
+
+
+        @Override
+        void added(CacheNode<K, V> node) {
+
+            sketch.increment(node.key);
+
+            window.addLast(node);
+
+            while (windowMaximum < window.weight() && node != window.first()) {
+
+                final CacheNode<K, V> admitted = window.first();
+
+                window.remove(admitted);
+                probation.addLast(admitted);
+
+                candidate = admitted;
+            }
+        }
+
+        @Override
+        void accessed(CacheNode<K, V> node) {
+
+            sketch.increment(node.key);
+
+            if (probation != node.order) {
+
+                node.order.moveToLast(node);
+
+                return;
+            }
+
+            probation.remove(node);
+            protect.addLast(node);
+
+            while (protectedMaximum < protect.weight() && node != protect.first()) {
+
+                final CacheNode<K, V> demoted = protect.first();
+
+                protect.remove(demoted);
+                probation.addLast(demoted);
+            }
+        }
+
+        @Override
+        void removed(CacheNode<K, V> node) {
+
+            node.order.remove(node);
+
+            if (candidate == node) candidate = null;
+        }
+
+        @Override
+        CacheNode<K, V> victim() {
+
+            CacheNode<K, V> victim = probation.first();
+
+            if (null == victim) victim = protect.first();
+
+            if (null == victim) victim = window.first();
+
+            if (null == candidate || candidate == victim) return victim;
+
+            return sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+        }
+    }
+}
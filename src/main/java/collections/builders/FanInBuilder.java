@@ -0,0 +1,443 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This {@code FanInBuilder} builds the values of many independent {@link Builder}s at the same time and merges them
+ * into one builder, so that a builder collection can be built from many slow sources, such as a file per partition or
+ * a store per tenant, in about the time of the slowest source instead of the sum of them all.
+ * <p/>
+ * It is constructed with the source builders, an {@link Executor}, the maximum number of sources to build at the same
+ * time and the {@link Order} that the values should be built in. Each source is run as it's own task on the executor as
+ * soon as this builder is constructed, with no more than the maximum running at once, so an executor that starts a
+ * virtual thread per task such as {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21 gives every source
+ * it's own cheap thread. The sources pass their values back in chunks, so the thread building from this builder is only
+ * woken once per chunk. It is a {@link BatchBuilder} so a builder collection adds a chunk at a time, and a
+ * {@link SizedBuilder} that adds up the sizes of the sources if they are all {@link SizedBuilder}s.
+ * <p/>
+ * The chunks that have been built but not yet taken are bounded, so fast sources can not fill the heap while the
+ * thread building from this builder falls behind. With {@link Order#SOURCE} each source can be no more than
+ * {@value #CHUNKS_PER_SOURCE} chunks ahead, with {@link Order#ARRIVAL} the running sources share that many chunks each.
+ * A source that is that far ahead waits until a chunk is taken.
+ * <p/>
+ * Only one thread may build from a {@code FanInBuilder}. If a source throws an exception then no more sources are
+ * started and building from this builder throws an {@link IllegalStateException} caused by that exception. The sources
+ * can also be stopped early with {@link #cancel()}, which must be called if the values are no longer needed before
+ * this builder has finished, otherwise the sources are left waiting for their chunks to be taken.
+ * <p/>
+ * Example:
+ * <code>
+ *      Map<String, Account> accounts = new BuilderMap<>(new FanInBuilder<>(partitionBuilders,
+ *              Executors.newVirtualThreadPerTaskExecutor(), 64, FanInBuilder.Order.ARRIVAL));
+ * </code>
+ *
+ * @param <E> the type of the values that are built.
+ *
+ * @author Karl Bennett
+ */
+public class FanInBuilder<E> implements BatchBuilder<E>, SizedBuilder<E> {
+
+    /**
+     * The order that a {@link FanInBuilder} builds the values of it's sources in.
+     */
+    public enum Order {
+
+        /**
+         * Build all the values of each source in turn, in the order the sources were supplied. Sources that finish
+         * early are held until it is their turn, so this suits lists that must be in a repeatable order.
+         */
+        SOURCE,
+
+        /**
+         * Build the values as they arrive from any source. The first values are available as soon as any source has
+         * built them, so this suits sets and maps whose order does not matter.
+         */
+        ARRIVAL
+    }
+
+
+    static final int CHUNK_SIZE = 256;
+
+    static final int CHUNKS_PER_SOURCE = 4;
+
+    private static final Object END = new Object();
+
+    private static final Object CANCELLED = new Object();
+
+
+    private final List<Builder<? extends E>> sources;
+
+    private final Executor executor;
+
+    private final List<BlockingQueue<Object>> queues;
+
+    private final List<Semaphore> permits;
+
+    private final Order order;
+
+    private final AtomicInteger launched = new AtomicInteger();
+
+    private final int size;
+
+    private volatile boolean stopped = false;
+
+    private int current = 0;
+
+    private List<?> chunk = null;
+
+    private int position = 0;
+
+    private int built = 0;
+
+    private Throwable failure = null;
+
+
+    /**
+     * Instantiate a new {@code FanInBuilder} that will build every one of the supplied sources at the same time on the
+     * supplied executor and build their values as they arrive.
+     *
+     * @param sources  the builders to build the values of.
+     * @param executor the executor that the sources will be run on.
+     */
+    public FanInBuilder(Collection<? extends Builder<? extends E>> sources, Executor executor) {
+
+        this(sources, executor, Integer.MAX_VALUE, Order.ARRIVAL);
+    }
+
+    /**
+     * Instantiate a new {@code FanInBuilder} that will build no more than the supplied number of the supplied sources
+     * at the same time on the supplied executor and build their values in the supplied order.
+     *
+     * @param sources     the builders to build the values of.
+     * @param executor    the executor that the sources will be run on.
+     * @param concurrency the maximum number of sources that will be built at the same time.
+     * @param order       the order that the values of the sources will be built in.
+     */
+    public FanInBuilder(Collection<? extends Builder<? extends E>> sources, Executor executor, int concurrency,
+                        Order order) {
+
+        if (null == sources) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, Executor, int, Order) sources must not be null.");
+        }
+
+        if (null == executor) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, Executor, int, Order) executor must not be null.");
+        }
+
+        if (0 >= concurrency) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, Executor, int, Order) concurrency must be positive.");
+        }
+
+        if (null == order) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Collection, Executor, int, Order) order must not be null.");
+        }
+
+        this.sources = new ArrayList<>(sources);
+        this.executor = executor;
+        this.queues = new ArrayList<>(this.sources.size());
+        this.permits = new ArrayList<>(this.sources.size());
+        this.order = order;
+
+        long size = 0;
+
+        // Every source shares one queue and it's permits when they arrive in any order, otherwise each has it's own.
+        final BlockingQueue<Object> shared = Order.ARRIVAL == order ? new LinkedBlockingQueue<>() : null;
+        final Semaphore sharedPermits = Order.ARRIVAL == order ?
+                new Semaphore(CHUNKS_PER_SOURCE * Math.min(concurrency, this.sources.size())) : null;
+
+        for (Builder<? extends E> source : this.sources) {
+
+            if (null == source) {
+
+                throw new IllegalArgumentException(getClass().getName() +
+                        "(Collection, Executor, int, Order) sources must not contain null.");
+            }
+
+            queues.add(null == shared ? new LinkedBlockingQueue<>() : shared);
+            permits.add(null == sharedPermits ? new Semaphore(CHUNKS_PER_SOURCE) : sharedPermits);
+
+            size = 0 > size || !(source instanceof SizedBuilder) || 0 > ((SizedBuilder<?>) source).size() ? -1 :
+                    size + ((SizedBuilder<?>) source).size();
+        }
+
+        this.size = (int) Math.min(Integer.MAX_VALUE, size);
+
+        for (int i = Math.min(concurrency, this.sources.size()); 0 < i; i--) launch();
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E build() {
+
+        if (!next()) return null;
+
+        built++;
+
+        @SuppressWarnings("unchecked")
+        final E value = (E) chunk.get(position++);
+
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean build(Batch<E> batch) {
+
+        if (!next()) return false;
+
+        final int end = Math.min(chunk.size(), position + batch.remaining());
+
+        for (int i = position; i < end; i++) batch.add((E) chunk.get(i));
+
+        built += end - position;
+
+        position = end;
+
+        return true;
+    }
+
+    /**
+     * The number of values left to build if every source was a {@link SizedBuilder} when this builder was
+     * constructed.
+     *
+     * @return the expected number of values left, or {@code -1} if it is not known.
+     */
+    @Override
+    public int size() {
+
+        return 0 > size ? size : Math.max(0, size - built);
+    }
+
+    /**
+     * Stop building the sources. No more sources will be started, the running ones will stop once their current value
+     * has been built and this builder will finish once it has built the values that had already arrived.
+     */
+    public void cancel() {
+
+        stop(CANCELLED);
+    }
+
+
+    /**
+     * Make sure that there is a value in the current chunk, waiting for the next chunk if there is not.
+     *
+     * @return {@code true} if there is a value, {@code false} if every source has finished or the build was cancelled.
+     */
+    private boolean next() {
+
+        while (null == chunk || chunk.size() == position) {
+
+            chunk = null;
+            position = 0;
+
+            if (null != failure) throw new IllegalStateException("The fan in build failed.", failure);
+
+            if (sources.size() == current) return false;
+
+            final Object taken = take(queues.get(current));
+
+            if (END == taken) current++;
+
+            else if (CANCELLED == taken) current = sources.size();
+
+            else if (taken instanceof Failure) failure = ((Failure) taken).cause;
+
+            else {
+
+                chunk = (List<?>) taken;
+
+                permits.get(current).release();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Take the next item from the supplied queue. Interrupts are deferred until the wait is over, just like the other
+     * builder collection methods that block.
+     */
+    private static Object take(BlockingQueue<Object> queue) {
+
+        boolean interrupted = false;
+
+        try {
+
+            while (true) {
+
+                try {
+
+                    return queue.take();
+
+                } catch (InterruptedException e) {
+
+                    interrupted = true;
+                }
+            }
+
+        } finally {
+
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Start building the next source that has not been started yet, if there is one.
+     */
+    private void launch() {
+
+        if (stopped) return;
+
+        final int index = launched.getAndIncrement();
+
+        if (sources.size() <= index) return;
+
+        try {
+
+            executor.execute(new Source(index));
+
+        } catch (RuntimeException e) {
+
+            stop(new Failure(e));
+        }
+    }
+
+    /**
+     * Stop any more sources from being started or built and put the supplied marker at the end of every queue, so that
+     * it is seen whichever source is being waited for, even one that will now never be started. A permit is released
+     * for every source so that any that are waiting for room for a chunk wake up and see that they have been stopped.
+     */
+    private void stop(Object marker) {
+
+        stopped = true;
+
+        if (queues.isEmpty()) return;
+
+        if (Order.ARRIVAL == order) {
+
+            queues.get(0).add(marker);
+            permits.get(0).release(sources.size());
+
+            return;
+        }
+
+        for (int i = 0; i < queues.size(); i++) {
+
+            queues.get(i).add(marker);
+            permits.get(i).release();
+        }
+    }
+
+
+    /**
+     * Builds the values of a single source into it's queue, then starts the next source.
+     */
+    private final class Source implements Runnable {
+
+        private final int index;
+
+
+        private Source(int index) {
+
+            this.index = index;
+        }
+
+
+        @Override
+        public void run() {
+
+            final Builder<? extends E> builder = sources.get(index);
+
+            final BlockingQueue<Object> queue = queues.get(index);
+
+            try {
+
+                List<Object> chunk = new ArrayList<>(CHUNK_SIZE);
+
+                for (Object value; !stopped && null != (value = builder.build()); ) {
+
+                    chunk.add(value);
+
+                    if (CHUNK_SIZE == chunk.size()) {
+
+                        if (!offer(chunk)) return;
+
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+
+                if (!chunk.isEmpty() && !offer(chunk)) return;
+
+                queue.add(END);
+
+            } catch (RuntimeException | Error e) {
+
+                stop(new Failure(e));
+
+            } finally {
+
+                launch();
+            }
+        }
+
+        /**
+         * Wait for room for the supplied chunk and then add it to the queue.
+         *
+         * @return {@code true} if the chunk was added, {@code false} if the build was stopped while waiting.
+         */
+        private boolean offer(List<Object> chunk) {
+
+            try {
+
+                permits.get(index).acquire();
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+
+                throw new IllegalStateException("A fan in source was interrupted while waiting for room.", e);
+            }
+
+            if (stopped) return false;
+
+            queues.get(index).add(chunk);
+
+            return true;
+        }
+    }
+
+    /**
+     * The failure of a source, passed through it's queue in place of a chunk.
+     */
+    private static final class Failure {
+
+        private final Throwable cause;
+
+
+        private Failure(Throwable cause) {
+
+            this.cause = cause;
+        }
+    }
+}
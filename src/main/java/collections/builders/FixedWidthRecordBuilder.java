@@ -0,0 +1,115 @@
+package collections.builders;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * A {@link MappedRecordBuilder} for files whose records all have the same width in bytes. The size of the file must be
+ * a multiple of the width.
+ * <p/>
+ * It is also a {@link SizedBuilder} because the number of records is known from the size of the file, so the builder
+ * collections can presize their backing collections.
+ * <p/>
+ * Example:
+ * <code>
+ *      List<Long> ids = new BuilderList<>(new FixedWidthRecordBuilder<>(Paths.get("ids.bin"), 8,
+ *              new RecordParser<Long>() {
+ * <p/>
+ *                  public Long parse(ByteBuffer record) {
+ * <p/>
+ *                      return record.getLong();
+ *                  }
+ *              }));
+ * </code>
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public class FixedWidthRecordBuilder<V> extends MappedRecordBuilder<V> implements SizedBuilder<V> {
+
+    private final int width;
+
+
+    /**
+     * Instantiate a new {@code FixedWidthRecordBuilder} that will parse each record of the supplied width from the
+     * supplied file.
+     *
+     * @param file   the file to read the records from.
+     * @param width  the number of bytes in each record.
+     * @param parser the parser used to build a value from each record.
+     */
+    public FixedWidthRecordBuilder(Path file, int width, RecordParser<V> parser) {
+
+        this(file, width, parser, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code FixedWidthRecordBuilder} that will parse each record of the supplied width from the
+     * supplied file while mapping the file a window of the supplied size at a time.
+     *
+     * @param file       the file to read the records from.
+     * @param width      the number of bytes in each record.
+     * @param parser     the parser used to build a value from each record.
+     * @param windowSize the number of bytes of the file to map at a time.
+     */
+    public FixedWidthRecordBuilder(Path file, int width, RecordParser<V> parser, int windowSize) {
+        super(check(file, width, parser, windowSize), parser, 0, windowSize - windowSize % width);
+
+        this.width = width;
+    }
+
+
+    private static Path check(Path file, int width, RecordParser<?> parser, int windowSize) {
+
+        final String name = FixedWidthRecordBuilder.class.getName();
+
+        if (null == file) {
+
+            throw new IllegalArgumentException(name + "(Path,int,RecordParser,int) file must not be null.");
+        }
+
+        if (0 >= width) {
+
+            throw new IllegalArgumentException(name + "(Path,int,RecordParser,int) width must be positive.");
+        }
+
+        if (null == parser) {
+
+            throw new IllegalArgumentException(name + "(Path,int,RecordParser,int) parser must not be null.");
+        }
+
+        if (width > windowSize) {
+
+            throw new IllegalArgumentException(name +
+                    "(Path,int,RecordParser,int) windowSize must not be smaller than the width.");
+        }
+
+        return file;
+    }
+
+
+    /**
+     * @return the number of records in the file.
+     */
+    @Override
+    public int size() {
+
+        return (int) Math.min(fileSize() / width, Integer.MAX_VALUE);
+    }
+
+    @Override
+    int end(ByteBuffer window, int start) {
+
+        final int end = start + width;
+
+        return end <= window.limit() ? end : -1;
+    }
+
+    @Override
+    int last(ByteBuffer window, int start) {
+
+        throw new IllegalStateException("The file ends with a partial record of " + (window.limit() - start) +
+                " bytes when every record should be " + width + " bytes.");
+    }
+}
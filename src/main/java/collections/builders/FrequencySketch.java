@@ -0,0 +1,111 @@
+package collections.builders;
+
+/**
+ * A count-min sketch of how often keys have been seen, used by the W-TinyLFU {@link Eviction} to decide whether a new
+ * entry is worth keeping over an old one. Each key has four saturating four bit counters spread over a table of longs
+ * and it's frequency is the smallest of them. Once the table has been added to ten times for each of it's longs every
+ * counter is halved, so keys that were popular a long time ago are slowly forgotten.
+ *
+ * @author Karl Bennett
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int MAXIMUM_FREQUENCY = 15;
+
+    private static final int MAXIMUM_TABLE_SIZE = 1 << 20;
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int[] SEEDS = {0x97cb3127, 0xbe98f273, 0x2f90404f, 0x84222325};
+
+
+    private final long[] table;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions = 0;
+
+
+    /**
+     * Instantiate a new {@code FrequencySketch} that can tell apart the frequencies of about the supplied number of keys.
+     *
+     * @param expectedSize the number of keys that are expected to be held at once.
+     */
+    FrequencySketch(long expectedSize) {
+
+        this.table = new long[Hashing.capacity((int) Math.min(MAXIMUM_TABLE_SIZE, Math.max(1, expectedSize)))];
+        this.mask = table.length - 1;
+        this.sampleSize = 10 * table.length;
+    }
+
+
+    /**
+     * The estimated number of times the supplied key has been seen since the counters were last halved.
+     *
+     * @param key the key to find the frequency of.
+     * @return the frequency of the key from {@code 0} to {@code 15}.
+     */
+    int frequency(Object key) {
+
+        final int hash = key.hashCode();
+
+        int frequency = MAXIMUM_FREQUENCY;
+
+        for (int i = 0; i < DEPTH; i++) {
+
+            final int index = Hashing.mix(hash + SEEDS[i]);
+
+            frequency = Math.min(frequency, (int) (table[index & mask] >>> shift(index)) & MAXIMUM_FREQUENCY);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Record that the supplied key has been seen once more.
+     *
+     * @param key the key that has been seen.
+     */
+    void increment(Object key) {
+
+        final int hash = key.hashCode();
+
+        boolean added = false;
+
+        for (int i = 0; i < DEPTH; i++) {
+
+            final int index = Hashing.mix(hash + SEEDS[i]);
+
+            final int shift = shift(index);
+
+            if (MAXIMUM_FREQUENCY != ((table[index & mask] >>> shift) & MAXIMUM_FREQUENCY)) {
+
+                table[index & mask] += 1L << shift;
+
+                added = true;
+            }
+        }
+
+        if (added && sampleSize == ++additions) reset();
+    }
+
+
+    /**
+     * Use the top bits of the mixed hash to pick one of the sixteen counters in the long.
+     */
+    private static int shift(int index) {
+
+        return (index >>> 28) << 2;
+    }
+
+    private void reset() {
+
+        for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+
+        additions = sampleSize / 2;
+    }
+}
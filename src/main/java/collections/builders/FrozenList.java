@@ -0,0 +1,90 @@
+package collections.builders;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * An immutable list that holds it's elements in an array of exactly the right size. It is created by
+ * {@link BuilderList#freeze()}.
+ *
+ * @param <E> the type of the elements held in the list.
+ *
+ * @author Karl Bennett
+ */
+final class FrozenList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] elements;
+
+
+    /**
+     * Create a frozen copy of the supplied collection.
+     *
+     * @param collection the collection to copy.
+     */
+    FrozenList(Collection<? extends E> collection) {
+
+        final Object[] elements = collection.toArray();
+
+        this.elements = Object[].class == elements.getClass() ? elements :
+                Arrays.copyOf(elements, elements.length, Object[].class);
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+
+        return elements.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+
+        for (int i = 0; i < elements.length; i++) {
+
+            if (null == o ? null == elements[i] : o.equals(elements[i])) return i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+
+        for (int i = elements.length - 1; 0 <= i; i--) {
+
+            if (null == o ? null == elements[i] : o.equals(elements[i])) return i;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+
+        return -1 != indexOf(o);
+    }
+
+    @Override
+    public Object[] toArray() {
+
+        return elements.clone();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<E> spliterator() {
+
+        return (Spliterator<E>) Spliterators.spliterator(elements, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+}
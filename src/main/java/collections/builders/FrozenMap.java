@@ -0,0 +1,191 @@
+package collections.builders;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * An immutable map that holds it's keys and values in a pair of dense parallel arrays, in the order that the copied map
+ * iterated them, so there is no node or entry object per entry. It is created by {@link BuilderMap#freeze()}.
+ * <p/>
+ * A copy of a {@link SortedMap} keeps the keys sorted and finds them with a binary search using the maps
+ * {@link SortedMap#comparator()}, so it's keys are looked up the same way as the sorted map's even when the comparator
+ * does not agree with {@link Object#equals(Object)}. The keys of any other map are found through a separate open
+ * addressing hash table with linear probing that holds the position of each key in the arrays, so an insertion ordered
+ * map such as a {@link java.util.LinkedHashMap} keeps it's order.
+ *
+ * @param <K> the generic type of the maps keys.
+ * @param <V> the generic type of the maps values.
+ *
+ * @author Karl Bennett
+ */
+final class FrozenMap<K, V> extends AbstractMap<K, V> {
+
+    private final Object[] keys;
+
+    private final Object[] values;
+
+    private final Comparator<Object> comparator;
+
+    /**
+     * The position of each key in the arrays plus one, so that an empty slot is zero. This is {@code null} if the keys
+     * are sorted.
+     */
+    private final int[] table;
+
+    private final int mask;
+
+    private final int size;
+
+
+    /**
+     * Create a frozen copy of the supplied map.
+     *
+     * @param map the map to copy.
+     */
+    @SuppressWarnings("unchecked")
+    FrozenMap(Map<? extends K, ? extends V> map) {
+
+        final int capacity = map.size();
+
+        keys = new Object[capacity];
+        values = new Object[capacity];
+
+        if (map instanceof SortedMap) {
+
+            comparator = (Comparator<Object>) ((SortedMap<? extends K, ? extends V>) map).comparator();
+            table = null;
+            mask = 0;
+
+        } else {
+
+            comparator = null;
+            table = new int[Hashing.capacity(capacity)];
+            mask = table.length - 1;
+        }
+
+        int size = 0;
+
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+
+            final Object key = entry.getKey();
+
+            if (null != table) {
+
+                int index = Hashing.mix(Objects.hashCode(key)) & mask;
+
+                while (0 != table[index] && !Objects.equals(key, keys[table[index] - 1])) {
+
+                    index = (index + 1) & mask;
+                }
+
+                if (0 != table[index]) {
+
+                    values[table[index] - 1] = entry.getValue();
+
+                    continue;
+                }
+
+                table[index] = size + 1;
+            }
+
+            keys[size] = key;
+            values[size++] = entry.getValue();
+        }
+
+        this.size = size;
+    }
+
+
+    private int indexOf(Object key) {
+
+        if (null == table) return Math.max(-1, Arrays.binarySearch(keys, 0, size, key, comparator));
+
+        for (int index = Hashing.mix(Objects.hashCode(key)) & mask; ; index = (index + 1) & mask) {
+
+            final int position = table[index];
+
+            if (0 == position) return -1;
+
+            if (Objects.equals(key, keys[position - 1])) return position - 1;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+
+        return -1 != indexOf(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+
+        final int index = indexOf(key);
+
+        return -1 == index ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+
+        for (int i = 0; i < size; i++) {
+
+            if (Objects.equals(value, values[i])) return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+
+        return new AbstractSet<Entry<K, V>>() {
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+
+                return new Iterator<Entry<K, V>>() {
+
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+
+                        return size != index;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Entry<K, V> next() {
+
+                        if (!hasNext()) throw new NoSuchElementException();
+
+                        final int position = index++;
+
+                        return new SimpleImmutableEntry<>((K) keys[position], (V) values[position]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+
+                return size;
+            }
+        };
+    }
+}
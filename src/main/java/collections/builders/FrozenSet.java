@@ -0,0 +1,130 @@
+package collections.builders;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedSet;
+
+/**
+ * An immutable set that holds it's elements in a single dense array, in the order that the copied set iterated them,
+ * so there is no node or entry object per element. It is created by {@link BuilderSet#freeze()}.
+ * <p/>
+ * A copy of a {@link SortedSet} keeps the elements sorted and finds them with a binary search using the sets
+ * {@link SortedSet#comparator()}, so it has the same membership as the sorted set even when the comparator does not
+ * agree with {@link Object#equals(Object)}. Any other set is found through a separate open addressing hash table with
+ * linear probing that holds the position of each element in the array, so an insertion ordered set such as a
+ * {@link java.util.LinkedHashSet} keeps it's order.
+ *
+ * @param <E> the type of the elements held in the set.
+ *
+ * @author Karl Bennett
+ */
+final class FrozenSet<E> extends AbstractSet<E> {
+
+    private final Object[] elements;
+
+    private final Comparator<Object> comparator;
+
+    /**
+     * The position of each element in the array plus one, so that an empty slot is zero. This is {@code null} if the
+     * elements are sorted.
+     */
+    private final int[] table;
+
+    private final int mask;
+
+
+    /**
+     * Create a frozen copy of the supplied set.
+     *
+     * @param set the set to copy.
+     */
+    @SuppressWarnings("unchecked")
+    FrozenSet(Collection<? extends E> set) {
+
+        if (set instanceof SortedSet) {
+
+            elements = set.toArray();
+            comparator = (Comparator<Object>) ((SortedSet<? extends E>) set).comparator();
+            table = null;
+            mask = 0;
+
+            return;
+        }
+
+        final Object[] copied = set.toArray();
+
+        comparator = null;
+        table = new int[Hashing.capacity(copied.length)];
+        mask = table.length - 1;
+
+        int size = 0;
+
+        for (Object element : copied) {
+
+            int index = Hashing.mix(Objects.hashCode(element)) & mask;
+
+            while (0 != table[index] && !Objects.equals(element, copied[table[index] - 1])) {
+
+                index = (index + 1) & mask;
+            }
+
+            if (0 != table[index]) continue;
+
+            copied[size] = element;
+            table[index] = ++size;
+        }
+
+        elements = size == copied.length ? copied : Arrays.copyOf(copied, size);
+    }
+
+
+    @Override
+    public boolean contains(Object o) {
+
+        if (null == table) return 0 <= Arrays.binarySearch(elements, o, comparator);
+
+        for (int index = Hashing.mix(Objects.hashCode(o)) & mask; ; index = (index + 1) & mask) {
+
+            final int position = table[index];
+
+            if (0 == position) return false;
+
+            if (Objects.equals(o, elements[position - 1])) return true;
+        }
+    }
+
+    @Override
+    public int size() {
+
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+
+        return new Iterator<E>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+
+                return elements.length != index;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+
+                if (!hasNext()) throw new NoSuchElementException();
+
+                return (E) elements[index++];
+            }
+        };
+    }
+}
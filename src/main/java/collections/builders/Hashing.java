@@ -0,0 +1,98 @@
+package collections.builders;
+
+/**
+ * Helper methods for the open addressing hash tables of the primitive builder collections.
+ * <p/>
+ * The tables have a power of two capacity, use linear probing and are never filled past their load factor.
+ *
+ * @author Karl Bennett
+ */
+final class Hashing {
+
+    /**
+     * The fraction of a table that may be filled before it is grown.
+     */
+    static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The capacity a table starts with if no expected size is given.
+     */
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final int INT_PHI = 0x9E3779B9;
+
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+
+    private Hashing() {
+    }
+
+
+    /**
+     * Spread the bits of an int key so that keys that only differ in their high bits land in different slots.
+     *
+     * @param key the key to hash.
+     * @return the mixed hash of the key.
+     */
+    static int mix(int key) {
+
+        final int hash = key * INT_PHI;
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Spread the bits of a long key so that keys that only differ in their high bits land in different slots.
+     *
+     * @param key the key to hash.
+     * @return the mixed hash of the key.
+     */
+    static int mix(long key) {
+
+        long hash = key * LONG_PHI;
+        hash ^= hash >>> 32;
+
+        return (int) (hash ^ (hash >>> 16));
+    }
+
+    /**
+     * Get the power of two capacity a table needs to hold the supplied number of keys without growing.
+     *
+     * @param expectedSize the number of keys the table is expected to hold.
+     * @return the capacity of the table.
+     */
+    static int capacity(int expectedSize) {
+
+        final long minimum = Math.max(2L, (long) Math.ceil(expectedSize / (double) LOAD_FACTOR));
+
+        if (MAXIMUM_CAPACITY <= minimum) return MAXIMUM_CAPACITY;
+
+        return Integer.highestOneBit((int) minimum - 1) << 1;
+    }
+
+    /**
+     * Get the number of keys that a table of the supplied capacity can hold before it must grow.
+     *
+     * @param capacity the capacity of the table.
+     * @return the maximum number of keys in the table.
+     */
+    static int maximumFill(int capacity) {
+
+        return Math.min((int) Math.ceil(capacity * LOAD_FACTOR), capacity - 1);
+    }
+
+    /**
+     * Check if the key in a slot can be moved back to a freed slot without moving it before it's own hash slot.
+     *
+     * @param freed the slot that was freed.
+     * @param slot  the hash slot of the key.
+     * @param index the slot the key is currently in.
+     * @return {@code true} if the key can be moved to the freed slot, otherwise {@code false}.
+     */
+    static boolean canShift(int freed, int slot, int index) {
+
+        return freed <= index ? freed >= slot || slot > index : freed >= slot && slot > index;
+    }
+}
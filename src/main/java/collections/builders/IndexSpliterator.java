@@ -0,0 +1,113 @@
+package collections.builders;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over a random access list that reads it's elements by index. It knows exactly how many
+ * elements it has and splits in half, so both halves do too, which lets parallel streams divide the list evenly. The
+ * size of the list is bound when the spliterator is first used.
+ *
+ * @param <E> the type of the lists elements.
+ *
+ * @author Karl Bennett
+ */
+final class IndexSpliterator<E> implements Spliterator<E> {
+
+    private static final int DEFAULT_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED;
+
+
+    private final List<E> list;
+
+    private final int characteristics;
+
+    private int index;
+
+    private int fence;
+
+
+    /**
+     * Instantiate a new {@code IndexSpliterator} over the whole of the supplied list.
+     *
+     * @param list            the list to read the elements from.
+     * @param characteristics any characteristics beyond {@link #ORDERED}, {@link #SIZED} and {@link #SUBSIZED} that the
+     *                        list has, such as {@link #NONNULL} or {@link #IMMUTABLE}.
+     */
+    IndexSpliterator(List<E> list, int characteristics) {
+
+        this(list, characteristics, 0, -1);
+    }
+
+    private IndexSpliterator(List<E> list, int characteristics, int index, int fence) {
+
+        this.list = list;
+        this.characteristics = DEFAULT_CHARACTERISTICS | characteristics;
+        this.index = index;
+        this.fence = fence;
+    }
+
+
+    private int fence() {
+
+        if (0 > fence) fence = list.size();
+
+        return fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+
+        if (null == action) {
+
+            throw new NullPointerException(getClass().getName() + ".tryAdvance(Consumer) action must not be null.");
+        }
+
+        if (index >= fence()) return false;
+
+        action.accept(list.get(index++));
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+
+        if (null == action) {
+
+            throw new NullPointerException(getClass().getName() + ".forEachRemaining(Consumer) action must not be null.");
+        }
+
+        for (int i = index, end = fence(); i < end; i++) action.accept(list.get(i));
+
+        index = fence;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+
+        final int end = fence();
+
+        final int middle = (index + end) >>> 1;
+
+        if (index >= middle) return null;
+
+        final Spliterator<E> prefix = new IndexSpliterator<>(list, characteristics, index, middle);
+
+        index = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+
+        return fence() - index;
+    }
+
+    @Override
+    public int characteristics() {
+
+        return characteristics;
+    }
+}
@@ -0,0 +1,188 @@
+package collections.builders;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Helper methods for building the elements of a collection while telling a {@link BuildListener} how long it took.
+ *
+ * @author Karl Bennett
+ */
+final class Instruments {
+
+    private Instruments() {
+    }
+
+
+    /**
+     * Build all the elements from the supplied builder into the supplied collection, timing each call to the builder.
+     * If the listener is {@link BuildListener#NONE} then the elements are built without being timed.
+     *
+     * @param builder    the builder to build the elements with.
+     * @param collection the collection to add the built elements to.
+     * @param listener   the listener to tell about the build.
+     */
+    static <E> void addAll(Builder<E> builder, Collection<E> collection, BuildListener listener) {
+
+        if (BuildListener.NONE == listener) {
+
+            BuilderCollection.build(builder, collection);
+
+            return;
+        }
+
+        final long start = System.nanoTime();
+
+        final Timed<E> timed = timed(builder, listener);
+
+        BuilderCollection.build(timed, collection);
+
+        listener.finished(timed.elements, System.nanoTime() - start);
+    }
+
+    /**
+     * Build all the entries from the supplied builder into the supplied map, timing each call to the builder. If the
+     * listener is {@link BuildListener#NONE} then the entries are built without being timed.
+     *
+     * @param builder  the builder to build the entries with.
+     * @param map      the map to put the built entries into.
+     * @param listener the listener to tell about the build.
+     */
+    static <K, V> void putAll(Builder<Entry<K, V>> builder, Map<K, V> map, BuildListener listener) {
+
+        if (BuildListener.NONE == listener) {
+
+            BuilderMap.build(builder, map);
+
+            return;
+        }
+
+        final long start = System.nanoTime();
+
+        final Timed<Entry<K, V>> timed = timed(builder, listener);
+
+        BuilderMap.build(timed, map);
+
+        listener.finished(timed.elements, System.nanoTime() - start);
+    }
+
+
+    /**
+     * Wrap the supplied builder so that each of it's calls are timed, the wrapper keeps the builders capabilities so
+     * that it is still built in the same way.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> Timed<V> timed(Builder<V> builder, BuildListener listener) {
+
+        if (builder instanceof EntryBuilder) {
+
+            return (Timed<V>) new TimedEntryBuilder<>((EntryBuilder<Object, Object>) builder, listener);
+        }
+
+        if (builder instanceof BatchBuilder) return new TimedBatchBuilder<>((BatchBuilder<V>) builder, listener);
+
+        return new Timed<>(builder, listener);
+    }
+
+
+    /**
+     * A builder that times each call to the plain build method of the builder it wraps and counts the elements built.
+     */
+    private static class Timed<V> implements SizedBuilder<V> {
+
+        final Builder<V> builder;
+
+        final BuildListener listener;
+
+        long elements = 0;
+
+
+        Timed(Builder<V> builder, BuildListener listener) {
+
+            this.builder = builder;
+            this.listener = listener;
+        }
+
+
+        @Override
+        public V build() {
+
+            final long start = System.nanoTime();
+
+            final V value = builder.build();
+
+            final int built = null == value ? 0 : 1;
+
+            listener.built(built, System.nanoTime() - start);
+
+            elements += built;
+
+            return value;
+        }
+
+        @Override
+        public int size() {
+
+            return Sizes.size(builder);
+        }
+    }
+
+    private static class TimedBatchBuilder<V> extends Timed<V> implements BatchBuilder<V> {
+
+        TimedBatchBuilder(BatchBuilder<V> builder, BuildListener listener) {
+            super(builder, listener);
+        }
+
+
+        @Override
+        public boolean build(Batch<V> batch) {
+
+            final long start = System.nanoTime();
+
+            final boolean more = ((BatchBuilder<V>) builder).build(batch);
+
+            listener.built(batch.size(), System.nanoTime() - start);
+
+            elements += batch.size();
+
+            return more;
+        }
+    }
+
+    private static class TimedEntryBuilder<K, V> extends Timed<Entry<K, V>> implements EntryBuilder<K, V> {
+
+        private int puts = 0;
+
+
+        TimedEntryBuilder(EntryBuilder<K, V> builder, BuildListener listener) {
+            super(builder, listener);
+        }
+
+
+        @Override
+        public boolean build(final EntrySink<K, V> sink) {
+
+            puts = 0;
+
+            final long start = System.nanoTime();
+
+            final boolean more = ((EntryBuilder<K, V>) builder).build(new EntrySink<K, V>() {
+
+                @Override
+                public void put(K key, V value) {
+
+                    puts++;
+
+                    sink.put(key, value);
+                }
+            });
+
+            listener.built(puts, System.nanoTime() - start);
+
+            elements += puts;
+
+            return more;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package collections.builders;
+
+/**
+ * Interface that provides a method for building primitive {@code int} values without boxing them.
+ * <p/>
+ * Unlike a {@link Builder} there is no {@code null} to mark the end of the values, instead the values are built
+ * straight into the array of the collection that will hold them and the end is signaled explicitly by returning a
+ * negative count.
+ *
+ * @author Karl Bennett
+ */
+public interface IntBuilder {
+
+    /**
+     * Build values into the supplied array starting at the supplied offset. No more than {@code length} values may be
+     * built, and {@code length} will always be at least {@code 1}. Building no values is allowed and just means that
+     * none were ready this time.
+     *
+     * @param values the array to build the values into.
+     * @param offset the index in the array to build the first value at.
+     * @param length the maximum number of values to build.
+     * @return the number of values that were built, or a negative number if there are no more values to build.
+     */
+    public int build(int[] values, int offset, int length);
+}
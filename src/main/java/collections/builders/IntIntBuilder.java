@@ -0,0 +1,27 @@
+package collections.builders;
+
+/**
+ * Interface that provides a method for building primitive {@code int} to {@code int} entries without boxing them or
+ * creating an entry object for each one.
+ * <p/>
+ * The keys and values are built into a pair of reusable parallel arrays and the end of the entries is signaled
+ * explicitly by returning a negative count.
+ *
+ * @author Karl Bennett
+ */
+public interface IntIntBuilder {
+
+    /**
+     * Build entries into the supplied arrays starting at the supplied offset, the key of each entry goes in the keys
+     * array and it's value at the same index in the values array. No more than {@code length} entries may be built,
+     * and {@code length} will always be at least {@code 1}. Building no entries is allowed and just means that none
+     * were ready this time.
+     *
+     * @param keys   the array to build the keys into.
+     * @param values the array to build the values into.
+     * @param offset the index in the arrays to build the first entry at.
+     * @param length the maximum number of entries to build.
+     * @return the number of entries that were built, or a negative number if there are no more entries to build.
+     */
+    public int build(int[] keys, int[] values, int offset, int length);
+}
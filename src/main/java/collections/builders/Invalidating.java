@@ -0,0 +1,458 @@
+package collections.builders;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Wrappers for the views of a builder collection that is caching it's hash code. Every view that can change the
+ * backing collection, such as an {@link Iterator}, a {@link List#subList(int, int)} or the
+ * {@link java.util.Map#keySet()} of a map, is wrapped so that any change made through it invalidates the
+ * {@link CachedHash}. Everything else is passed straight through to the wrapped view.
+ *
+ * @author Karl Bennett
+ */
+final class Invalidating {
+
+    private Invalidating() {
+    }
+
+
+    static <E> Iterator<E> iterator(Iterator<E> iterator, CachedHash hash) {
+
+        return new InvalidatingIterator<>(iterator, hash);
+    }
+
+    static <E> ListIterator<E> listIterator(ListIterator<E> iterator, CachedHash hash) {
+
+        return new InvalidatingListIterator<>(iterator, hash);
+    }
+
+    static <E> Collection<E> collection(Collection<E> collection, CachedHash hash) {
+
+        return new InvalidatingCollection<>(collection, hash);
+    }
+
+    static <E> Set<E> set(Set<E> set, CachedHash hash) {
+
+        return new InvalidatingSet<>(set, hash);
+    }
+
+    static <E> List<E> list(List<E> list, CachedHash hash) {
+
+        return new InvalidatingList<>(list, hash);
+    }
+
+    static <K, V> Set<Entry<K, V>> entrySet(Set<Entry<K, V>> set, CachedHash hash) {
+
+        return new InvalidatingEntrySet<>(set, hash);
+    }
+
+
+    private static class InvalidatingIterator<E> implements Iterator<E> {
+
+        private final Iterator<E> iterator;
+
+        final CachedHash hash;
+
+
+        InvalidatingIterator(Iterator<E> iterator, CachedHash hash) {
+
+            this.iterator = iterator;
+            this.hash = hash;
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            return iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+
+            hash.invalidate();
+
+            iterator.remove();
+        }
+    }
+
+    private static final class InvalidatingListIterator<E> extends InvalidatingIterator<E>
+            implements ListIterator<E> {
+
+        private final ListIterator<E> iterator;
+
+
+        InvalidatingListIterator(ListIterator<E> iterator, CachedHash hash) {
+            super(iterator, hash);
+
+            this.iterator = iterator;
+        }
+
+
+        @Override
+        public boolean hasPrevious() {
+
+            return iterator.hasPrevious();
+        }
+
+        @Override
+        public E previous() {
+
+            return iterator.previous();
+        }
+
+        @Override
+        public int nextIndex() {
+
+            return iterator.nextIndex();
+        }
+
+        @Override
+        public int previousIndex() {
+
+            return iterator.previousIndex();
+        }
+
+        @Override
+        public void set(E element) {
+
+            hash.invalidate();
+
+            iterator.set(element);
+        }
+
+        @Override
+        public void add(E element) {
+
+            hash.invalidate();
+
+            iterator.add(element);
+        }
+    }
+
+    private static class InvalidatingCollection<E> implements Collection<E> {
+
+        private final Collection<E> collection;
+
+        final CachedHash hash;
+
+
+        InvalidatingCollection(Collection<E> collection, CachedHash hash) {
+
+            this.collection = collection;
+            this.hash = hash;
+        }
+
+
+        @Override
+        public int size() {
+
+            return collection.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+
+            return collection.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object element) {
+
+            return collection.contains(element);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+
+            return new InvalidatingIterator<>(collection.iterator(), hash);
+        }
+
+        @Override
+        public Object[] toArray() {
+
+            return collection.toArray();
+        }
+
+        @Override
+        public <T> T[] toArray(T[] array) {
+
+            return collection.toArray(array);
+        }
+
+        @Override
+        public boolean add(E element) {
+
+            hash.invalidate();
+
+            return collection.add(element);
+        }
+
+        @Override
+        public boolean remove(Object element) {
+
+            hash.invalidate();
+
+            return collection.remove(element);
+        }
+
+        @Override
+        public boolean containsAll(Collection<?> elements) {
+
+            return collection.containsAll(elements);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> elements) {
+
+            hash.invalidate();
+
+            return collection.addAll(elements);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> elements) {
+
+            hash.invalidate();
+
+            return collection.removeAll(elements);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> elements) {
+
+            hash.invalidate();
+
+            return collection.retainAll(elements);
+        }
+
+        @Override
+        public void clear() {
+
+            hash.invalidate();
+
+            collection.clear();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            return this == o || collection.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return collection.hashCode();
+        }
+
+        @Override
+        public String toString() {
+
+            return collection.toString();
+        }
+    }
+
+    private static class InvalidatingSet<E> extends InvalidatingCollection<E> implements Set<E> {
+
+        InvalidatingSet(Set<E> set, CachedHash hash) {
+            super(set, hash);
+        }
+    }
+
+    private static final class InvalidatingList<E> extends InvalidatingCollection<E> implements List<E> {
+
+        private final List<E> list;
+
+
+        InvalidatingList(List<E> list, CachedHash hash) {
+            super(list, hash);
+
+            this.list = list;
+        }
+
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> elements) {
+
+            hash.invalidate();
+
+            return list.addAll(index, elements);
+        }
+
+        @Override
+        public E get(int index) {
+
+            return list.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+
+            hash.invalidate();
+
+            return list.set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+
+            hash.invalidate();
+
+            list.add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+
+            hash.invalidate();
+
+            return list.remove(index);
+        }
+
+        @Override
+        public int indexOf(Object element) {
+
+            return list.indexOf(element);
+        }
+
+        @Override
+        public int lastIndexOf(Object element) {
+
+            return list.lastIndexOf(element);
+        }
+
+        @Override
+        public ListIterator<E> listIterator() {
+
+            return new InvalidatingListIterator<>(list.listIterator(), hash);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+
+            return new InvalidatingListIterator<>(list.listIterator(index), hash);
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+
+            return new InvalidatingList<>(list.subList(fromIndex, toIndex), hash);
+        }
+    }
+
+    /**
+     * An entry set whose entries also invalidate the hash when their value is set, whether they are reached through
+     * it's iterator or copied out into an array.
+     */
+    private static final class InvalidatingEntrySet<K, V> extends InvalidatingSet<Entry<K, V>> {
+
+        private final Set<Entry<K, V>> set;
+
+
+        InvalidatingEntrySet(Set<Entry<K, V>> set, CachedHash hash) {
+            super(set, hash);
+
+            this.set = set;
+        }
+
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+
+            return new InvalidatingIterator<Entry<K, V>>(set.iterator(), hash) {
+
+                @Override
+                public Entry<K, V> next() {
+
+                    return new InvalidatingEntry<>(super.next(), hash);
+                }
+            };
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object[] toArray() {
+
+            final Object[] entries = super.toArray();
+
+            for (int i = 0; i < entries.length; i++) {
+
+                entries[i] = new InvalidatingEntry<>((Entry<K, V>) entries[i], hash);
+            }
+
+            return entries;
+        }
+
+        @Override
+        public <T> T[] toArray(T[] array) {
+
+            return Arrays.asList(toArray()).toArray(array);
+        }
+    }
+
+    private static final class InvalidatingEntry<K, V> implements Entry<K, V> {
+
+        private final Entry<K, V> entry;
+
+        private final CachedHash hash;
+
+
+        InvalidatingEntry(Entry<K, V> entry, CachedHash hash) {
+
+            this.entry = entry;
+            this.hash = hash;
+        }
+
+
+        @Override
+        public K getKey() {
+
+            return entry.getKey();
+        }
+
+        @Override
+        public V getValue() {
+
+            return entry.getValue();
+        }
+
+        @Override
+        public V setValue(V value) {
+
+            hash.invalidate();
+
+            return entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            return this == o || entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+
+            return entry.toString();
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This {@code LazyBuilderList} is a lazy version of the {@link BuilderList}, instead of building all it's elements
+ * within it's constructor it only calls the {@link Builder} when an element that has not been built yet is accessed.
+ * <p/>
+ * It is constructed with a {@link Builder} and a backing {@link List}.
+ * <p/>
+ * The {@link Builder#build()} method will be called in order to build elements up to the one being accessed, so
+ * {@link #get(int)}, {@link #isEmpty()} and the {@link #iterator()} only build as far as they need to. Any operation
+ * that needs to know about every element ({@link #size()}, {@link #contains(Object)}, {@link #equals(Object)},
+ * {@link #add(Object)} and the like) will first build the rest of the elements until the builder returns
+ * {@code null}, the builder is then released and never called again.
+ * <p/>
+ * The backing list is the actual list that will hold the built elements. If no backing list is supplied then a
+ * {@link ArrayList} will be used. Any elements already in the backing list come before the built elements. The lazy
+ * iterator accesses the backing list by index so it should be a {@link java.util.RandomAccess} list.
+ * <p/>
+ * Like the backing list this list is not thread safe. The lazy iterator only throws a
+ * {@link ConcurrentModificationException} if an element is added, removed or replaced through this list while it is
+ * being used, building more elements, with {@link #get(int)} or another iterator for example, is not a modification.
+ * <p/>
+ * Example:
+ * <code>
+ *      final Iterator<String> pages = pageSource.iterator();
+ * <p/>
+ *      List<String> lazyList = new LazyBuilderList<>(new Builder<String>() {
+ * <p/>
+ *          public String build() {
+ * <p/>
+ *              if (pages.hasNext()) return pages.next();
+ * <p/>
+ *              return null;
+ *          }
+ *      });
+ * <p/>
+ *      lazyList.get(9); // Only the first ten pages have been built.
+ * </code>
+ *
+ * @author Karl Bennett
+ *
+ * @param <E> the generic type of the lists elements.
+ */
+public class LazyBuilderList<E> implements List<E> {
+
+    private final List<E> list;
+
+    private Builder<E> builder;
+
+    private int modCount = 0;
+
+
+    /**
+     * Instantiate a new {@code LazyBuilderList} that will use the supplied {@link Builder} to build it's elements on
+     * demand and the supplied backing {@link List} to hold it's elements.
+     *
+     * @param builder the builder used to build the elements for the new list.
+     * @param list    the list that will be used to hold the built elements.
+     */
+    public LazyBuilderList(Builder<E> builder, List<E> list) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Builder,List) builder must not be null.");
+        }
+
+        if (null == list) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Builder,List) list must not be null.");
+        }
+
+        this.builder = builder;
+        this.list = list;
+    }
+
+    /**
+     * Instantiate a new {@code LazyBuilderList} that will use the supplied {@link Builder} to build it's elements on
+     * demand. The backing list will be an {@link ArrayList}.
+     *
+     * @param builder the builder used to build the elements for the new list.
+     */
+    public LazyBuilderList(Builder<E> builder) {
+
+        this(builder, new ArrayList<E>());
+    }
+
+
+    /**
+     * Check if every element has been built.
+     *
+     * @return {@code true} if the builder has returned {@code null}, otherwise {@code false}.
+     */
+    public boolean isBuilt() {
+
+        return null == builder;
+    }
+
+    /**
+     * Build every remaining element.
+     */
+    public void build() {
+
+        while (null != builder) {
+
+            buildNext();
+        }
+    }
+
+    /**
+     * Build elements until the list holds at least the supplied number of elements or the builder is finished.
+     *
+     * @param size the number of elements the list should hold.
+     * @return {@code true} if the list now holds at least that number of elements, otherwise {@code false}.
+     */
+    private boolean build(int size) {
+
+        while (list.size() < size && null != builder) {
+
+            buildNext();
+        }
+
+        return list.size() >= size;
+    }
+
+    private void buildNext() {
+
+        final E element = builder.build();
+
+        if (null == element) {
+
+            builder = null;
+
+            return;
+        }
+
+        list.add(element);
+    }
+
+    /**
+     * Build all the elements so that the size is known.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        build();
+
+        return list.size();
+    }
+
+    /**
+     * Only builds the first element if the list is currently empty.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+
+        return !build(1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object element) {
+
+        build();
+
+        return list.contains(element);
+    }
+
+    /**
+     * The returned iterator only builds the next element when {@link Iterator#hasNext()} or {@link Iterator#next()}
+     * need it.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator() {
+
+        return new LazyIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+
+        build();
+
+        return list.toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(T[] array) {
+
+        build();
+
+        return list.toArray(array);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(E element) {
+
+        build();
+
+        modCount++;
+
+        return list.add(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object element) {
+
+        build();
+
+        modCount++;
+
+        return list.remove(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(Collection<?> elements) {
+
+        build();
+
+        return list.containsAll(elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+
+        build();
+
+        modCount++;
+
+        return list.addAll(elements);
+    }
+
+    /**
+     * Only builds up to the supplied index.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> elements) {
+
+        build(index);
+
+        modCount++;
+
+        return list.addAll(index, elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+
+        build();
+
+        modCount++;
+
+        return list.removeAll(elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+
+        build();
+
+        modCount++;
+
+        return list.retainAll(elements);
+    }
+
+    /**
+     * Clearing the list also discards any elements that have not been built yet.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        builder = null;
+
+        modCount++;
+
+        list.clear();
+    }
+
+    /**
+     * Only builds up to the supplied index.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+
+        build(index + 1);
+
+        return list.get(index);
+    }
+
+    /**
+     * Only builds up to the supplied index.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public E set(int index, E element) {
+
+        build(index + 1);
+
+        modCount++;
+
+        return list.set(index, element);
+    }
+
+    /**
+     * Only builds up to the supplied index.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int index, E element) {
+
+        build(index);
+
+        modCount++;
+
+        list.add(index, element);
+    }
+
+    /**
+     * Only builds up to the supplied index.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public E remove(int index) {
+
+        build(index + 1);
+
+        modCount++;
+
+        return list.remove(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object element) {
+
+        build();
+
+        return list.indexOf(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object element) {
+
+        build();
+
+        return list.lastIndexOf(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator() {
+
+        build();
+
+        return list.listIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ListIterator<E> listIterator(int index) {
+
+        build();
+
+        return list.listIterator(index);
+    }
+
+    /**
+     * All the elements are built first because building any more elements afterwards would invalidate the returned
+     * view.
+     * <p/>
+     * {@inheritDoc}
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+
+        build();
+
+        return list.subList(fromIndex, toIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LazyBuilderList<?> that = (LazyBuilderList<?>) o;
+
+        build();
+        that.build();
+
+        return list.equals(that.list);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        build();
+
+        return list.hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+
+        build();
+
+        return list.toString();
+    }
+
+
+    /**
+     * An iterator that walks the backing list by index and only builds the next element once it is needed. Only a
+     * change made through the list counts as a modification, building more elements does not.
+     */
+    private class LazyIterator implements Iterator<E> {
+
+        private int index = 0;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+
+            checkForModification();
+
+            return build(index + 1);
+        }
+
+        @Override
+        public E next() {
+
+            if (!hasNext()) throw new NoSuchElementException();
+
+            last = index;
+
+            return list.get(index++);
+        }
+
+        @Override
+        public void remove() {
+
+            if (0 > last) throw new IllegalStateException();
+
+            checkForModification();
+
+            list.remove(last);
+
+            index = last;
+            last = -1;
+            expectedModCount = ++modCount;
+        }
+
+        private void checkForModification() {
+
+            if (expectedModCount != modCount) throw new ConcurrentModificationException();
+        }
+    }
+}
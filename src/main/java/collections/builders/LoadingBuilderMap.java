@@ -0,0 +1,676 @@
+package collections.builders;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * This {@code LoadingBuilderMap} is a bounded cache version of the {@link BuilderMap}. Instead of holding every entry
+ * forever it holds no more than a maximum weight of them, evicting entries with the chosen {@link Eviction} policy, and
+ * loads the value of any key that it is asked for but does not hold.
+ * <p/>
+ * It is constructed with an optional warm up {@link Builder}, a loader function, an optional weigher function, a
+ * maximum weight and an {@link Eviction} policy. The warm up builder is drained in the same way as it would be by a
+ * {@link BuilderMap} and it's entries are put into the map, so any more than the maximum weight of them will already
+ * be evicted by the time the constructor returns.
+ * <p/>
+ * A {@link #get(Object)} of a key that is not in the map calls the loader with the key and puts it's value into the
+ * map, a {@code null} value means that the key has no value and nothing is put. Concurrent gets of the same missing
+ * key share a single call to the loader. If the key is put while it is being loaded then the put value is kept and
+ * returned instead of the loaded one. If the loader fails then the failure is thrown from every get that was waiting
+ * for it, unchecked failures are thrown as they are.
+ * <p/>
+ * Only {@link #get(Object)} loads and counts hits and misses. The other methods, including the default {@link Map}
+ * methods such as {@link #getOrDefault(Object, Object)}, {@link #computeIfAbsent(Object, Function)} and
+ * {@link #merge(Object, Object, BiFunction)}, and {@link #equals(Object)}, only see the entries that the map already
+ * holds. The functions given to the compute and merge methods are called while the map's lock is held, so they must be
+ * quick and must not use the map from another thread. Another map's {@code equals} may read this map through
+ * {@link #get(Object)}, compare it from this side to avoid loading.
+ * <p/>
+ * Every entry has a weight from the weigher, or a weight of one if there is no weigher, so the maximum weight is the
+ * maximum number of entries unless a weigher is supplied. Neither the keys nor the values may be {@code null}.
+ * <p/>
+ * The map is safe to use from many threads. It's entries are guarded by a single lock that is never held while a value
+ * is being loaded. The views returned by {@link #entrySet()}, {@link #keySet()} and {@link #values()} are read only
+ * copies of the map when they were asked for. The hits, misses and evictions are counted by the {@link CacheStatistics}
+ * from {@link #statistics()}.
+ * <p/>
+ * Example:
+ * <code>
+ *      Map<Long, User> users = new LoadingBuilderMap<>(recentUsersBuilder, new Function<Long, User>() {
+ * <p/>
+ *          public User apply(Long id) {
+ * <p/>
+ *              return database.findUser(id);
+ *          }
+ *      }, 10000, Eviction.W_TINY_LFU);
+ * </code>
+ *
+ * @param <K> the generic type of the maps keys.
+ * @param <V> the generic type of the maps values.
+ *
+ * @author Karl Bennett
+ */
+public class LoadingBuilderMap<K, V> extends AbstractMap<K, V> {
+
+    private static final Builder<?> EMPTY = new Builder<Object>() {
+
+        @Override
+        public Object build() {
+
+            return null;
+        }
+    };
+
+
+    private final Function<? super K, ? extends V> loader;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    private final long maximumWeight;
+
+    private final EvictionPolicy<K, V> policy;
+
+    private final Map<K, CacheNode<K, V>> nodes = new HashMap<>();
+
+    private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    private final Object lock = new Object();
+
+    private long weight = 0;
+
+
+    /**
+     * Instantiate a new {@code LoadingBuilderMap} that will put the entries built by the supplied warm up
+     * {@link Builder} into the map, load any other values with the supplied loader and evict entries with the supplied
+     * {@link Eviction} policy whenever their total weight is over the supplied maximum weight.
+     *
+     * @param builder       the builder used to build the entries that the map starts with.
+     * @param loader        the function used to load the value of a key that is not in the map.
+     * @param weigher       the function used to weigh each entry, it must not return a negative weight.
+     * @param maximumWeight the maximum total weight of the entries that the map will hold.
+     * @param eviction      the policy used to choose which entry to evict.
+     */
+    public LoadingBuilderMap(Builder<Entry<K, V>> builder, Function<? super K, ? extends V> loader,
+                             ToIntBiFunction<? super K, ? super V> weigher, long maximumWeight, Eviction eviction) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Function, ToIntBiFunction, long, Eviction) builder must not be null.");
+        }
+
+        if (null == loader) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Function, ToIntBiFunction, long, Eviction) loader must not be null.");
+        }
+
+        if (null == weigher) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Function, ToIntBiFunction, long, Eviction) weigher must not be null.");
+        }
+
+        if (0 >= maximumWeight) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Function, ToIntBiFunction, long, Eviction) maximumWeight must be positive.");
+        }
+
+        if (null == eviction) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Function, ToIntBiFunction, long, Eviction) eviction must not be null.");
+        }
+
+        this.loader = loader;
+        this.weigher = weigher;
+        this.maximumWeight = maximumWeight;
+        this.policy = eviction.policy(maximumWeight);
+
+        BuilderMap.build(builder, this);
+    }
+
+    /**
+     * Instantiate a new {@code LoadingBuilderMap} that will put the entries built by the supplied warm up
+     * {@link Builder} into the map, load any other values with the supplied loader and evict entries with the supplied
+     * {@link Eviction} policy whenever it holds more than the supplied maximum number of entries.
+     *
+     * @param builder     the builder used to build the entries that the map starts with.
+     * @param loader      the function used to load the value of a key that is not in the map.
+     * @param maximumSize the maximum number of entries that the map will hold.
+     * @param eviction    the policy used to choose which entry to evict.
+     */
+    public LoadingBuilderMap(Builder<Entry<K, V>> builder, Function<? super K, ? extends V> loader, long maximumSize,
+                             Eviction eviction) {
+
+        this(builder, loader, new ToIntBiFunction<K, V>() {
+
+            @Override
+            public int applyAsInt(K key, V value) {
+
+                return 1;
+            }
+        }, maximumSize, eviction);
+    }
+
+    /**
+     * Instantiate a new empty {@code LoadingBuilderMap} that will load values with the supplied loader and evict
+     * entries with the supplied {@link Eviction} policy whenever it holds more than the supplied maximum number of
+     * entries.
+     *
+     * @param loader      the function used to load the value of a key that is not in the map.
+     * @param maximumSize the maximum number of entries that the map will hold.
+     * @param eviction    the policy used to choose which entry to evict.
+     */
+    @SuppressWarnings("unchecked")
+    public LoadingBuilderMap(Function<? super K, ? extends V> loader, long maximumSize, Eviction eviction) {
+
+        this((Builder<Entry<K, V>>) EMPTY, loader, maximumSize, eviction);
+    }
+
+
+    /**
+     * The hits, misses and evictions of this map.
+     *
+     * @return the statistics of this map.
+     */
+    public CacheStatistics statistics() {
+
+        return statistics;
+    }
+
+    /**
+     * The total weight of the entries in this map.
+     *
+     * @return the weight of this map.
+     */
+    public long weight() {
+
+        synchronized (lock) {
+
+            return weight;
+        }
+    }
+
+
+    /**
+     * Get the value of the supplied key, loading it if it is not in the map.
+     *
+     * @param key the key to get the value of.
+     * @return the value of the key, or {@code null} if the loader found no value for it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+
+        if (null == key) throw new NullPointerException(getClass().getName() + ".get(Object) key must not be null.");
+
+        synchronized (lock) {
+
+            final CacheNode<K, V> node = nodes.get(key);
+
+            if (null != node) {
+
+                policy.accessed(node);
+
+                statistics.hit();
+
+                return node.value;
+            }
+        }
+
+        statistics.miss();
+
+        return load((K) key);
+    }
+
+    /**
+     * Get the value of the supplied key if it is in the map, without loading it.
+     *
+     * @param key          the key to get the value of.
+     * @param defaultValue the value to return if the key is not in the map.
+     * @return the value of the key, or the default value if it is not in the map.
+     */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+
+        final V value = held(key);
+
+        return null == value ? defaultValue : value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+
+        synchronized (lock) {
+
+            final V held = held(key);
+
+            return null == held ? put(key, value) : held;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(Object key, Object value) {
+
+        synchronized (lock) {
+
+            final V held = held(key);
+
+            if (null == held || !held.equals(value)) return false;
+
+            remove(key);
+
+            return true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+
+        synchronized (lock) {
+
+            final V held = held(key);
+
+            if (null == held || !held.equals(oldValue)) return false;
+
+            put(key, newValue);
+
+            return true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V replace(K key, V value) {
+
+        synchronized (lock) {
+
+            return null == held(key) ? null : put(key, value);
+        }
+    }
+
+    /**
+     * Put the value made by the supplied function if the key is not in the map, this does not call the loader.
+     *
+     * @param key             the key to get or compute the value of.
+     * @param mappingFunction the function used to make the value.
+     * @return the value that is now in the map, or {@code null} if there is none.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+
+        synchronized (lock) {
+
+            final V held = held(key);
+
+            if (null != held) return held;
+
+            final V value = mappingFunction.apply(key);
+
+            if (null != value) put(key, value);
+
+            return value;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        synchronized (lock) {
+
+            final V held = held(key);
+
+            return null == held ? null : replaceWith(key, remappingFunction.apply(key, held));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        synchronized (lock) {
+
+            return replaceWith(key, remappingFunction.apply(key, held(key)));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+
+        if (null == value) {
+
+            throw new NullPointerException(getClass().getName() +
+                    ".merge(Object, Object, BiFunction) value must not be null.");
+        }
+
+        synchronized (lock) {
+
+            final V held = held(key);
+
+            return replaceWith(key, null == held ? value : remappingFunction.apply(held, value));
+        }
+    }
+
+    /**
+     * Compare the supplied object with a copy of the entries that are in the map, no value is loaded.
+     *
+     * @param o the object to compare with.
+     * @return {@code true} if the object is a map with the same entries.
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        return this == o || o instanceof Map && entrySet().equals(((Map<?, ?>) o).entrySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+        return entrySet().hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        synchronized (lock) {
+
+            return nodes.containsKey(key);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(Object value) {
+
+        synchronized (lock) {
+
+            for (CacheNode<K, V> node : nodes.values()) {
+
+                if (node.value.equals(value)) return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(K key, V value) {
+
+        if (null == key) {
+
+            throw new NullPointerException(getClass().getName() + ".put(Object, Object) key must not be null.");
+        }
+
+        if (null == value) {
+
+            throw new NullPointerException(getClass().getName() + ".put(Object, Object) value must not be null.");
+        }
+
+        final int weight = weigher.applyAsInt(key, value);
+
+        if (0 > weight) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".put(Object, Object) the weight of " + key +
+                    " must not be negative.");
+        }
+
+        synchronized (lock) {
+
+            final CacheNode<K, V> node = nodes.get(key);
+
+            V old = null;
+
+            if (null == node) {
+
+                final CacheNode<K, V> added = new CacheNode<>(key, value, weight);
+
+                nodes.put(key, added);
+                policy.added(added);
+
+            } else {
+
+                old = node.value;
+
+                policy.removed(node);
+
+                this.weight -= node.weight;
+
+                node.value = value;
+                node.weight = weight;
+
+                policy.added(node);
+            }
+
+            this.weight += weight;
+
+            evict();
+
+            return old;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(Object key) {
+
+        synchronized (lock) {
+
+            final CacheNode<K, V> node = nodes.get(key);
+
+            if (null == node) return null;
+
+            remove(node);
+
+            return node.value;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+
+        synchronized (lock) {
+
+            for (CacheNode<K, V> node : new ArrayList<>(nodes.values())) remove(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        synchronized (lock) {
+
+            return nodes.size();
+        }
+    }
+
+    /**
+     * A read only copy of the entries that are in the map at the time of the call.
+     *
+     * @return a copy of the maps entries.
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+
+        final List<Entry<K, V>> entries;
+
+        synchronized (lock) {
+
+            entries = new ArrayList<>(nodes.size());
+
+            for (CacheNode<K, V> node : nodes.values()) entries.add(new SimpleImmutableEntry<>(node.key, node.value));
+        }
+
+        return Collections.unmodifiableSet(new LinkedHashSet<>(entries));
+    }
+
+
+    /**
+     * Load the value of the supplied key, or wait for a load of the same key that has already started.
+     */
+    private V load(K key) {
+
+        final CompletableFuture<V> load = new CompletableFuture<>();
+
+        final CompletableFuture<V> running = loading.putIfAbsent(key, load);
+
+        if (null != running) return join(running);
+
+        try {
+
+            // Another load of the key may have finished between the miss and this load starting.
+            V value = held(key);
+
+            if (null == value) {
+
+                value = loader.apply(key);
+
+                if (null != value) {
+
+                    synchronized (lock) {
+
+                        final CacheNode<K, V> node = nodes.get(key);
+
+                        if (null == node) put(key, value);
+
+                        else value = node.value;
+                    }
+                }
+            }
+
+            load.complete(value);
+
+            return value;
+
+        } catch (RuntimeException | Error e) {
+
+            load.completeExceptionally(e);
+
+            throw e;
+
+        } finally {
+
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * The value of the supplied key if it is in the map, without loading it, counting it or telling the policy.
+     */
+    private V held(Object key) {
+
+        synchronized (lock) {
+
+            final CacheNode<K, V> node = nodes.get(key);
+
+            return null == node ? null : node.value;
+        }
+    }
+
+    /**
+     * Put the supplied value, or remove the key if it is {@code null}, as the compute and merge methods do.
+     */
+    private V replaceWith(K key, V value) {
+
+        if (null == value) remove(key);
+
+        else put(key, value);
+
+        return value;
+    }
+
+    private static <V> V join(CompletableFuture<V> load) {
+
+        try {
+
+            return load.join();
+
+        } catch (CompletionException e) {
+
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+
+            if (cause instanceof Error) throw (Error) cause;
+
+            throw new IllegalStateException("A cache load failed.", cause);
+        }
+    }
+
+    private void evict() {
+
+        while (maximumWeight < weight) {
+
+            final CacheNode<K, V> victim = policy.victim();
+
+            if (null == victim) return;
+
+            remove(victim);
+
+            statistics.evicted(victim.weight);
+        }
+    }
+
+    private void remove(CacheNode<K, V> node) {
+
+        nodes.remove(node.key);
+
+        policy.removed(node);
+
+        weight -= node.weight;
+    }
+}
@@ -0,0 +1,24 @@
+package collections.builders;
+
+/**
+ * Interface that provides a method for building primitive {@code long} keyed entries without boxing the key or
+ * creating an entry object for each one.
+ * <p/>
+ * Each entry is built into the same reusable {@link LongObjectEntry} and the end of the entries is signaled explicitly
+ * by returning {@code false}. A reusable entry is used instead of arrays because a generic array of values can not be
+ * safely created.
+ *
+ * @param <V> the type of the values that are to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface LongObjectBuilder<V> {
+
+    /**
+     * Build the next entry by setting the key and value of the supplied entry.
+     *
+     * @param entry the reusable entry to build into.
+     * @return {@code true} if an entry was built, or {@code false} if there are no more entries to build.
+     */
+    public boolean build(LongObjectEntry<V> entry);
+}
@@ -0,0 +1,48 @@
+package collections.builders;
+
+/**
+ * A reusable mutable entry that a {@link LongObjectBuilder} builds each of it's entries into.
+ *
+ * @param <V> the type of the entries value.
+ *
+ * @author Karl Bennett
+ */
+public final class LongObjectEntry<V> {
+
+    private long key;
+
+    private V value;
+
+
+    LongObjectEntry() {
+    }
+
+
+    /**
+     * Set the key and value of this entry.
+     *
+     * @param key   the key of the entry.
+     * @param value the value of the entry.
+     */
+    public void set(long key, V value) {
+
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * @return the key of this entry.
+     */
+    public long getKey() {
+
+        return key;
+    }
+
+    /**
+     * @return the value of this entry.
+     */
+    public V getValue() {
+
+        return value;
+    }
+}
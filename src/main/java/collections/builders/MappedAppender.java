@@ -0,0 +1,110 @@
+package collections.builders;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Appends records to a file by writing them straight into a read write mapping of the file, one segment at a time. A
+ * record that does not fit into the rest of the current segment is written again at the start of the next one so that
+ * no record ever spans two segments.
+ *
+ * @author Karl Bennett
+ */
+final class MappedAppender {
+
+    /**
+     * A record that can write itself into a buffer.
+     */
+    interface Record {
+
+        /**
+         * Write the record into the supplied buffer starting at it's current position. A
+         * {@link BufferOverflowException} must be allowed to escape if the record does not fit.
+         *
+         * @param buffer the buffer to write into.
+         */
+        void write(ByteBuffer buffer);
+    }
+
+
+    private final FileChannel channel;
+
+    private final int segmentSize;
+
+    private MappedByteBuffer segment;
+
+    private long segmentStart;
+
+
+    /**
+     * Start appending records to the supplied file from the supplied position.
+     *
+     * @param channel     the channel of the file to append to.
+     * @param position    the position of the first record.
+     * @param segmentSize the size of each mapped segment.
+     * @throws IOException if the file could not be mapped.
+     */
+    MappedAppender(FileChannel channel, long position, int segmentSize) throws IOException {
+
+        this.channel = channel;
+        this.segmentSize = segmentSize;
+
+        segmentStart = position - position % segmentSize;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, segmentSize);
+        segment.position((int) (position - segmentStart));
+    }
+
+
+    /**
+     * Append the supplied record.
+     *
+     * @param record the record to append.
+     * @return the position of the start of the record, the end is the new {@link #position()}.
+     * @throws IOException if the next segment could not be mapped.
+     */
+    long append(Record record) throws IOException {
+
+        if (!segment.hasRemaining()) next();
+
+        int start = segment.position();
+
+        while (true) {
+
+            try {
+
+                record.write(segment);
+
+                return segmentStart + start;
+
+            } catch (BufferOverflowException e) {
+
+                if (0 == start) {
+
+                    throw new IllegalStateException("A record is larger than the segment size of " + segmentSize +
+                            " bytes.", e);
+                }
+
+                next();
+
+                start = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the position after the last appended record.
+     */
+    long position() {
+
+        return segmentStart + segment.position();
+    }
+
+    private void next() throws IOException {
+
+        segmentStart += segmentSize;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, segmentSize);
+    }
+}
@@ -0,0 +1,304 @@
+package collections.builders;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This {@code MappedBuilderList} is a read only version of the {@link BuilderList} that holds it's elements in a file
+ * that is mapped into memory, so the list can be much larger than the heap and can be reopened without being built
+ * again.
+ * <p/>
+ * It is constructed with a {@link Builder}, an {@link ElementCodec}, the file to build into and an optional segment
+ * size. An existing file can be reopened with just the file and the same {@link ElementCodec}.
+ * <p/>
+ * The {@link Builder#build()} method must be implemented to provide the logic that will be used to build the elements
+ * to be contained within the list. The {@link Builder#build()} method will be repeatedly called until it returns
+ * {@code null}, or if it is a {@link BatchBuilder} it's elements will be built a batch at a time. Each element is
+ * encoded straight into a read write mapping of the file through {@link FileChannel#map}, one segment at a time. An
+ * element can not be larger than a segment.
+ * <p/>
+ * Once the elements have been built an index of where each of them starts and ends is added to the end of the file
+ * and the header is written. The list is built into a temporary file in the same directory that only replaces the
+ * file once it is complete, so a build that fails leaves any existing file as it was and a reader of the file never
+ * sees it part way through being built. Reopening checks the header against the length of the file so that a file
+ * that was not built by a {@code MappedBuilderList} is rejected. {@link #get(int)} decodes the element from the
+ * mapping on every call.
+ * <p/>
+ * Example:
+ * <code>
+ *      final Iterator<String> words = Arrays.asList("one", "two", "three").iterator();
+ * <p/>
+ *      List<String> builderList = new MappedBuilderList<>(new Builder<String>() {
+ * <p/>
+ *          public String build() {
+ * <p/>
+ *              return words.hasNext() ? words.next() : null;
+ *          }
+ *      }, codec, Paths.get("words.list")); // [one, two, three]
+ * <p/>
+ *      List<String> reopened = new MappedBuilderList<>(Paths.get("words.list"), codec); // [one, two, three]
+ * </code>
+ *
+ * @param <E> the type of the elements held in the list.
+ *
+ * @author Karl Bennett
+ */
+public class MappedBuilderList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int MAGIC = 0x4D4C5354;
+
+    private static final int VERSION = 1;
+
+    private final ElementCodec<E> codec;
+
+    private final MappedSegments segments;
+
+    private final int size;
+
+    private final long indexOffset;
+
+
+    /**
+     * Instantiate a new {@code MappedBuilderList} that will use the supplied {@link Builder} to build it's elements
+     * and the supplied {@link ElementCodec} to write them into the supplied file, any existing file is replaced.
+     *
+     * @param builder the builder used to build the elements for the new list.
+     * @param codec   the codec used to encode and decode the elements.
+     * @param file    the file that will hold the elements.
+     */
+    public MappedBuilderList(Builder<E> builder, ElementCodec<E> codec, Path file) {
+
+        this(builder, codec, file, MappedSegments.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code MappedBuilderList} that will use the supplied {@link Builder} to build it's elements
+     * and the supplied {@link ElementCodec} to write them into the supplied file in segments of the supplied size, any
+     * existing file is replaced.
+     *
+     * @param builder     the builder used to build the elements for the new list.
+     * @param codec       the codec used to encode and decode the elements.
+     * @param file        the file that will hold the elements.
+     * @param segmentSize the number of bytes in each mapped segment, this must be a multiple of eight.
+     */
+    public MappedBuilderList(Builder<E> builder, final ElementCodec<E> codec, Path file, int segmentSize) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,Path,int) builder must not be null.");
+        }
+
+        if (null == codec) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,Path,int) codec must not be null.");
+        }
+
+        if (null == file) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,Path,int) file must not be null.");
+        }
+
+        if (!MappedSegments.isValid(segmentSize)) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,Path,int) segmentSize must be a multiple of eight of at least " +
+                    MappedSegments.HEADER_SIZE + ".");
+        }
+
+        this.codec = codec;
+
+        final Path built;
+
+        try {
+
+            built = MappedSegments.createBuildFile(file);
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+
+        boolean replaced = false;
+
+        try (FileChannel channel = FileChannel.open(built, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             final MappedIndex index = new MappedIndex(built)) {
+
+            final MappedAppender appender = new MappedAppender(channel, MappedSegments.HEADER_SIZE, segmentSize);
+
+            final ElementRecord record = new ElementRecord();
+
+            BuilderCollection.build(builder, new Consumer<E>() {
+
+                @Override
+                public void accept(E element) {
+
+                    if (Integer.MAX_VALUE == index.count()) {
+
+                        throw new IllegalStateException("A mapped list can not hold more than " + Integer.MAX_VALUE +
+                                " elements.");
+                    }
+
+                    record.element = element;
+
+                    try {
+
+                        index.add(appender.append(record), appender.position());
+
+                    } catch (IOException e) {
+
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+
+            size = (int) index.count();
+            indexOffset = MappedSegments.align(appender.position());
+
+            final long end = index.copyTo(channel, indexOffset);
+
+            channel.truncate(end);
+
+            final ByteBuffer header = ByteBuffer.allocate(MappedSegments.HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(segmentSize).putInt(0).putLong(size).putLong(indexOffset);
+            header.flip();
+
+            channel.force(true);
+            channel.write(header, 0);
+            channel.force(true);
+
+            segments = new MappedSegments(channel, FileChannel.MapMode.READ_ONLY, end, segmentSize);
+
+            MappedSegments.replace(built, file);
+
+            replaced = true;
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+
+        } finally {
+
+            if (!replaced) MappedSegments.discard(built);
+        }
+    }
+
+    /**
+     * Instantiate a {@code MappedBuilderList} from a file that was built by a previous {@code MappedBuilderList}. The
+     * elements are not built again, they are read straight from the file.
+     *
+     * @param file  the file that holds the elements.
+     * @param codec the codec that was used to encode the elements.
+     */
+    public MappedBuilderList(Path file, ElementCodec<E> codec) {
+
+        if (null == file) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Path,ElementCodec) file must not be null.");
+        }
+
+        if (null == codec) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Path,ElementCodec) codec must not be null.");
+        }
+
+        this.codec = codec;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final ByteBuffer header = MappedSegments.readHeader(channel);
+
+            if (MappedSegments.HEADER_SIZE != header.remaining() || MAGIC != header.getInt() ||
+                    VERSION != header.getInt()) {
+
+                throw new IllegalArgumentException(getClass().getName() + "(Path,ElementCodec) file " + file +
+                        " is not a complete mapped list.");
+            }
+
+            final int segmentSize = header.getInt();
+            final int reserved = header.getInt();
+            final long elements = header.getLong();
+            final long offset = header.getLong();
+
+            if (!MappedSegments.isValid(segmentSize) || 0 != reserved || 0 > elements ||
+                    Integer.MAX_VALUE < elements || MappedSegments.HEADER_SIZE > offset ||
+                    MappedSegments.align(offset) != offset ||
+                    offset + elements * MappedIndex.ENTRY_SIZE != channel.size()) {
+
+                throw new IllegalArgumentException(getClass().getName() + "(Path,ElementCodec) file " + file +
+                        " is not a complete mapped list.");
+            }
+
+            size = (int) elements;
+            indexOffset = offset;
+
+            segments = new MappedSegments(channel, FileChannel.MapMode.READ_ONLY, channel.size(), segmentSize);
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+
+        if (0 > index || size <= index) {
+
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final long entry = indexOffset + (long) index * MappedIndex.ENTRY_SIZE;
+
+        return codec.decode(segments.slice(segments.getLong(entry), segments.getLong(entry + 8)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * A spliterator that knows exactly how many elements it has and splits the list evenly by index.
+     *
+     * @return a {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} spliterator over this list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+
+        return new IndexSpliterator<>(this, Spliterator.IMMUTABLE);
+    }
+
+
+    /**
+     * The reusable record that each element is encoded through.
+     */
+    private class ElementRecord implements MappedAppender.Record {
+
+        private E element;
+
+        @Override
+        public void write(ByteBuffer buffer) {
+
+            codec.encode(element, buffer);
+        }
+    }
+}
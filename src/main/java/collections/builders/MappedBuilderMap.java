@@ -0,0 +1,547 @@
+package collections.builders;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This {@code MappedBuilderMap} is a read only version of the {@link BuilderMap} that holds it's entries in a file that
+ * is mapped into memory, so the map can be much larger than the heap and can be reopened without being built again.
+ * <p/>
+ * It is constructed with a {@link Builder}, an {@link ElementCodec} for the keys and another for the values, the file
+ * to build into and an optional segment size. An existing file can be reopened with just the file and the same
+ * {@link ElementCodec}s.
+ * <p/>
+ * The {@link Builder#build()} method must be implemented to provide the logic that will be used to build the keys and
+ * values that will be held within the map. The {@link Builder#build()} method will be repeatedly called until it
+ * returns {@code null}, or if it is an {@link EntryBuilder} or {@link BatchBuilder} it's entries will be built in the
+ * same way as they are for the {@link BuilderMap}. Each entry is encoded straight into a read write mapping of the file
+ * through {@link FileChannel#map}, one segment at a time. An entry can not be larger than a segment.
+ * <p/>
+ * Once the entries have been built an index of where each of them starts and ends and then an open addressing hash
+ * table of the entries are added to the end of the file, if a key was built more than once the last entry wins. The
+ * map is built into a temporary file in the same directory that only replaces the file once it is complete, so a
+ * build that fails leaves any existing file as it was and a reader of the file never sees it part way through being
+ * built. Reopening checks the header against the length of the file so that a file that was not built by a
+ * {@code MappedBuilderMap} is rejected.
+ * <p/>
+ * The keys are hashed and compared by their encoded bytes rather than by {@link Object#hashCode()} and
+ * {@link Object#equals(Object)}, so that the table stays valid when the file is reopened by another JVM in which the
+ * hash codes of the keys may differ. This means that the key {@link ElementCodec} must encode equal keys to the same
+ * bytes. {@link #get(Object)} and {@link #containsKey(Object)} encode the key they are given, probe the table in the
+ * mapping and only compare the keys whose hash matches, no key is decoded.
+ * <p/>
+ * Example:
+ * <code>
+ *      Map<String, String> builderMap = new MappedBuilderMap<>(builder, keyCodec, valueCodec, Paths.get("words.map"));
+ * <p/>
+ *      Map<String, String> reopened = new MappedBuilderMap<>(Paths.get("words.map"), keyCodec, valueCodec);
+ * </code>
+ *
+ * @param <K> the generic type of the maps keys.
+ * @param <V> the generic type of the maps values.
+ *
+ * @author Karl Bennett
+ */
+public class MappedBuilderMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int MAGIC = 0x4D4D4150;
+
+    private static final int VERSION = 2;
+
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final ElementCodec<K> keyCodec;
+
+    private final ElementCodec<V> valueCodec;
+
+    private final MappedSegments segments;
+
+    private final int segmentSize;
+
+    private final long size;
+
+    private final long indexOffset;
+
+    private final long tableOffset;
+
+    private final long mask;
+
+
+    /**
+     * Instantiate a new {@code MappedBuilderMap} that will use the supplied {@link Builder} to build it's entries and
+     * the supplied {@link ElementCodec}s to write them into the supplied file, any existing file is replaced.
+     *
+     * @param builder    the builder used to build the entries for the new map.
+     * @param keyCodec   the codec used to encode and decode the keys.
+     * @param valueCodec the codec used to encode and decode the values.
+     * @param file       the file that will hold the entries.
+     */
+    public MappedBuilderMap(Builder<Entry<K, V>> builder, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                            Path file) {
+
+        this(builder, keyCodec, valueCodec, file, MappedSegments.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code MappedBuilderMap} that will use the supplied {@link Builder} to build it's entries and
+     * the supplied {@link ElementCodec}s to write them into the supplied file in segments of the supplied size, any
+     * existing file is replaced.
+     *
+     * @param builder     the builder used to build the entries for the new map.
+     * @param keyCodec    the codec used to encode and decode the keys.
+     * @param valueCodec  the codec used to encode and decode the values.
+     * @param file        the file that will hold the entries.
+     * @param segmentSize the number of bytes in each mapped segment, this must be a multiple of eight.
+     */
+    public MappedBuilderMap(Builder<Entry<K, V>> builder, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec,
+                            Path file, int segmentSize) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,ElementCodec,Path,int) builder must not be null.");
+        }
+
+        if (null == keyCodec) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,ElementCodec,Path,int) keyCodec must not be null.");
+        }
+
+        if (null == valueCodec) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,ElementCodec,Path,int) valueCodec must not be null.");
+        }
+
+        if (null == file) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,ElementCodec,Path,int) file must not be null.");
+        }
+
+        if (!MappedSegments.isValid(segmentSize)) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,ElementCodec,Path,int) segmentSize must be a multiple of eight of at " +
+                    "least " + MappedSegments.HEADER_SIZE + ".");
+        }
+
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.segmentSize = segmentSize;
+
+        final Path built;
+
+        try {
+
+            built = MappedSegments.createBuildFile(file);
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+
+        boolean replaced = false;
+
+        try (FileChannel channel = FileChannel.open(built, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             final MappedIndex index = new MappedIndex(built)) {
+
+            final MappedAppender appender = new MappedAppender(channel, MappedSegments.HEADER_SIZE, segmentSize);
+
+            final EntryRecord record = new EntryRecord();
+
+            BuilderMap.build(builder, new EntrySink<K, V>() {
+
+                @Override
+                public void put(K key, V value) {
+
+                    record.key = key;
+                    record.value = value;
+
+                    try {
+
+                        index.add(appender.append(record), appender.position());
+
+                    } catch (IOException e) {
+
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+
+            final long count = index.count();
+
+            indexOffset = MappedSegments.align(appender.position());
+            tableOffset = index.copyTo(channel, indexOffset);
+
+            long capacity = 2;
+
+            while (capacity < count << 1) {
+
+                capacity <<= 1;
+            }
+
+            mask = capacity - 1;
+
+            channel.truncate(tableOffset);
+
+            segments = new MappedSegments(channel, FileChannel.MapMode.READ_WRITE, tableOffset + (capacity << 3),
+                    segmentSize);
+
+            size = fill(count);
+
+            segments.force();
+
+            final ByteBuffer header = ByteBuffer.allocate(MappedSegments.HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(segmentSize).putInt(0).putLong(count).putLong(size)
+                    .putLong(indexOffset).putLong(tableOffset).putLong(capacity);
+            header.flip();
+
+            channel.force(true);
+            channel.write(header, 0);
+            channel.force(true);
+
+            MappedSegments.replace(built, file);
+
+            replaced = true;
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+
+        } finally {
+
+            if (!replaced) MappedSegments.discard(built);
+        }
+    }
+
+    /**
+     * Instantiate a {@code MappedBuilderMap} from a file that was built by a previous {@code MappedBuilderMap}. The
+     * entries are not built again, they are read straight from the file.
+     *
+     * @param file       the file that holds the entries.
+     * @param keyCodec   the codec that was used to encode the keys.
+     * @param valueCodec the codec that was used to encode the values.
+     */
+    public MappedBuilderMap(Path file, ElementCodec<K> keyCodec, ElementCodec<V> valueCodec) {
+
+        if (null == file) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Path,ElementCodec,ElementCodec) file must not be null.");
+        }
+
+        if (null == keyCodec) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Path,ElementCodec,ElementCodec) keyCodec must not be null.");
+        }
+
+        if (null == valueCodec) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Path,ElementCodec,ElementCodec) valueCodec must not be null.");
+        }
+
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            final ByteBuffer header = MappedSegments.readHeader(channel);
+
+            if (MappedSegments.HEADER_SIZE != header.remaining() || MAGIC != header.getInt() ||
+                    VERSION != header.getInt()) {
+
+                throw new IllegalArgumentException(getClass().getName() + "(Path,ElementCodec,ElementCodec) file " +
+                        file + " is not a complete mapped map.");
+            }
+
+            segmentSize = header.getInt();
+            final int reserved = header.getInt();
+            final long count = header.getLong();
+            final long distinct = header.getLong();
+            final long index = header.getLong();
+            final long table = header.getLong();
+            final long capacity = header.getLong();
+            final long length = channel.size();
+
+            if (!MappedSegments.isValid(segmentSize) || 0 != reserved || 0 > count ||
+                    length / MappedIndex.ENTRY_SIZE < count || 0 > distinct || count < distinct ||
+                    MappedSegments.HEADER_SIZE > index || MappedSegments.align(index) != index ||
+                    index + count * MappedIndex.ENTRY_SIZE != table || 2 > capacity ||
+                    0 != (capacity & capacity - 1) || capacity < count << 1 || length >> 3 < capacity ||
+                    table + (capacity << 3) != length) {
+
+                throw new IllegalArgumentException(getClass().getName() + "(Path,ElementCodec,ElementCodec) file " +
+                        file + " is not a complete mapped map.");
+            }
+
+            size = distinct;
+            indexOffset = index;
+            tableOffset = table;
+            mask = capacity - 1;
+
+            segments = new MappedSegments(channel, FileChannel.MapMode.READ_ONLY, channel.size(), segmentSize);
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Add every entry in the index to the table, replacing the earlier entry of any key that was built more than once.
+     *
+     * @return the number of distinct keys.
+     */
+    private long fill(long count) {
+
+        long distinct = 0;
+
+        for (long entry = 0; entry < count; entry++) {
+
+            final int hash = segments.getInt(start(entry));
+
+            for (long slot = Hashing.mix(hash) & mask; ; slot = (slot + 1) & mask) {
+
+                final long position = tableOffset + (slot << 3);
+
+                final long existing = segments.getLong(position) - 1;
+
+                if (-1 == existing) {
+
+                    distinct++;
+
+                } else if (hash != segments.getInt(start(existing)) || !key(existing).equals(key(entry))) {
+
+                    continue;
+                }
+
+                segments.putLong(position, entry + 1);
+
+                break;
+            }
+        }
+
+        return distinct;
+    }
+
+    private long find(Object key) {
+
+        final ByteBuffer encoded = encode(key);
+
+        if (null == encoded) return -1;
+
+        final int hash = hash(encoded);
+
+        for (long slot = Hashing.mix(hash) & mask; ; slot = (slot + 1) & mask) {
+
+            final long entry = segments.getLong(tableOffset + (slot << 3)) - 1;
+
+            if (-1 == entry) return -1;
+
+            if (hash == segments.getInt(start(entry)) && encoded.equals(key(entry))) return entry;
+        }
+    }
+
+    /**
+     * Encode a key that is being looked up into a heap buffer, growing the buffer until the key fits.
+     *
+     * @return the encoded key or {@code null} if the key can not be in the map, either because it is not of the type
+     * that the key codec encodes or because it is too large to have fitted in a segment.
+     */
+    @SuppressWarnings("unchecked")
+    private ByteBuffer encode(Object key) {
+
+        for (int capacity = 64; ; capacity = (int) Math.min((long) capacity << 1, segmentSize)) {
+
+            final ByteBuffer buffer = ByteBuffer.allocate(capacity);
+
+            try {
+
+                keyCodec.encode((K) key, buffer);
+
+            } catch (BufferOverflowException e) {
+
+                if (segmentSize == capacity) return null;
+
+                continue;
+
+            } catch (ClassCastException e) {
+
+                return null;
+            }
+
+            buffer.flip();
+
+            return buffer;
+        }
+    }
+
+    /**
+     * A hash of the remaining bytes of an encoded key that, unlike {@link Object#hashCode()}, is the same in every JVM.
+     */
+    private static int hash(ByteBuffer bytes) {
+
+        int hash = 1;
+
+        for (int i = bytes.position(); i < bytes.limit(); i++) {
+
+            hash = 31 * hash + bytes.get(i);
+        }
+
+        return hash;
+    }
+
+    private long start(long entry) {
+
+        return segments.getLong(indexOffset + entry * MappedIndex.ENTRY_SIZE);
+    }
+
+    private ByteBuffer key(long entry) {
+
+        final long start = start(entry) + RECORD_HEADER_SIZE;
+
+        return segments.slice(start, start + segments.getInt(start - 4));
+    }
+
+    private V value(long entry) {
+
+        final long start = start(entry);
+        final long end = segments.getLong(indexOffset + entry * MappedIndex.ENTRY_SIZE + 8);
+
+        return valueCodec.decode(segments.slice(start + RECORD_HEADER_SIZE + segments.getInt(start + 4), end));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+
+        return -1 != find(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(Object key) {
+
+        final long entry = find(key);
+
+        return -1 == entry ? null : value(entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+
+        return new AbstractSet<Entry<K, V>>() {
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+
+                return MappedBuilderMap.this.size();
+            }
+        };
+    }
+
+
+    /**
+     * The reusable record that each entry is encoded through. The record starts with the hash of the encoded key and
+     * the length of the encoded key so that the key and value can be found again without knowing how they were
+     * encoded.
+     */
+    private class EntryRecord implements MappedAppender.Record {
+
+        private K key;
+
+        private V value;
+
+        @Override
+        public void write(ByteBuffer buffer) {
+
+            final int hashPosition = buffer.position();
+
+            buffer.putInt(0).putInt(0);
+
+            final int keyStart = buffer.position();
+
+            keyCodec.encode(key, buffer);
+
+            final ByteBuffer encoded = buffer.duplicate();
+            encoded.limit(buffer.position()).position(keyStart);
+
+            buffer.putInt(hashPosition, hash(encoded));
+            buffer.putInt(hashPosition + 4, buffer.position() - keyStart);
+
+            valueCodec.encode(value, buffer);
+        }
+    }
+
+    /**
+     * Walks the table in the mapping and decodes each entry as it is reached.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        private long slot = 0;
+
+        private long remaining = size;
+
+        @Override
+        public boolean hasNext() {
+
+            return 0 != remaining;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+
+            if (!hasNext()) throw new NoSuchElementException();
+
+            while (true) {
+
+                final long entry = segments.getLong(tableOffset + (slot++ << 3)) - 1;
+
+                if (-1 != entry) {
+
+                    remaining--;
+
+                    return new SimpleImmutableEntry<>(keyCodec.decode(key(entry)), value(entry));
+                }
+            }
+        }
+    }
+}
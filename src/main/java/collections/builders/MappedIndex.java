@@ -0,0 +1,125 @@
+package collections.builders;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A temporary file that the start and end positions of every record are written to while a mapped collection is being
+ * built. The index can not be written into the collections file until the size of the records is known, so it is
+ * copied onto the end of the file once the build has finished and the temporary file is then deleted.
+ *
+ * @author Karl Bennett
+ */
+final class MappedIndex implements Closeable {
+
+    /**
+     * The number of bytes in each entry of the index.
+     */
+    static final int ENTRY_SIZE = 16;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(ENTRY_SIZE << 10);
+
+    private long count = 0;
+
+
+    /**
+     * Create a new temporary index in the same directory as the supplied file.
+     *
+     * @param sibling the file that the index is for.
+     * @throws IOException if the temporary file could not be created.
+     */
+    MappedIndex(Path sibling) throws IOException {
+
+        final Path directory = sibling.toAbsolutePath().getParent();
+
+        file = Files.createTempFile(directory, sibling.getFileName().toString(), ".index");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+
+    /**
+     * Add the positions of the next record to the index.
+     *
+     * @param start the position of the start of the record.
+     * @param end   the position after the end of the record.
+     * @throws IOException if the index could not be written.
+     */
+    void add(long start, long end) throws IOException {
+
+        if (!buffer.hasRemaining()) flush();
+
+        buffer.putLong(start);
+        buffer.putLong(end);
+
+        count++;
+    }
+
+    /**
+     * @return the number of records in the index.
+     */
+    long count() {
+
+        return count;
+    }
+
+    /**
+     * Copy the index to the supplied position of the supplied file.
+     *
+     * @param target   the channel of the file to copy the index into.
+     * @param position the position to copy the index to.
+     * @return the position after the end of the copied index.
+     * @throws IOException if the index could not be copied.
+     */
+    long copyTo(FileChannel target, long position) throws IOException {
+
+        flush();
+
+        final long size = count * ENTRY_SIZE;
+
+        for (long copied = 0; copied < size; ) {
+
+            copied += target.transferFrom(channel.position(copied), position + copied, size - copied);
+        }
+
+        return position + size;
+    }
+
+    /**
+     * Delete the temporary index.
+     *
+     * @throws IOException if the index could not be deleted.
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+
+            channel.close();
+
+        } finally {
+
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void flush() throws IOException {
+
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
@@ -0,0 +1,214 @@
+package collections.builders;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link Builder} that builds a value from each record in a file. The file is mapped into memory through
+ * {@link FileChannel#map} a window at a time and each record is handed to a {@link RecordParser} as a view of the
+ * mapped bytes, so no bytes are copied and no {@link String} is created unless the parser creates one.
+ * <p/>
+ * It is also a {@link BatchBuilder} so the builder collections will parse their values a batch at a time. A record that
+ * does not fit into the rest of the current window causes the window to be mapped again from the start of that record,
+ * a record that is larger than a whole window doubles the window.
+ * <p/>
+ * The file is closed once the last record has been built. If the builder is abandoned before then it should be closed
+ * with {@link #close()}.
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public abstract class MappedRecordBuilder<V> implements BatchBuilder<V>, Closeable {
+
+    /**
+     * The window size that is used when none is given.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+
+    private final long fileSize;
+
+    private final RecordParser<V> parser;
+
+    private final int separatorLength;
+
+    private int windowSize;
+
+    private ByteBuffer window;
+
+    private ByteBuffer record;
+
+    private long windowStart = 0;
+
+    private int position = 0;
+
+
+    MappedRecordBuilder(Path file, RecordParser<V> parser, int separatorLength, int windowSize) {
+
+        this.parser = parser;
+        this.separatorLength = separatorLength;
+        this.windowSize = windowSize;
+
+        try {
+
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            fileSize = channel.size();
+
+            map(0);
+
+        } catch (IOException e) {
+
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Find the end of the record that starts at the supplied position of the supplied window.
+     *
+     * @param window the currently mapped window of the file.
+     * @param start  the position of the start of the record.
+     * @return the position after the last byte of the record, or {@code -1} if the record does not end within the
+     * window.
+     */
+    abstract int end(ByteBuffer window, int start);
+
+    /**
+     * Find the end of the last record of the file, this is only called if {@link #end(ByteBuffer, int)} could not find
+     * the end of a record within a window that reaches the end of the file.
+     *
+     * @param window the window that holds the end of the file.
+     * @param start  the position of the start of the record.
+     * @return the position after the last byte of the record.
+     */
+    abstract int last(ByteBuffer window, int start);
+
+    /**
+     * @return the size of the file being built from.
+     */
+    long fileSize() {
+
+        return fileSize;
+    }
+
+
+    /**
+     * Build the value of the next record that the parser does not skip.
+     *
+     * @return the next value, or {@code null} if there are no more records.
+     */
+    @Override
+    public V build() {
+
+        while (next()) {
+
+            final V value = parser.parse(record);
+
+            if (null != value) return value;
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean build(Batch<V> batch) {
+
+        while (!batch.isFull()) {
+
+            final V value = build();
+
+            if (null == value) return false;
+
+            batch.add(value);
+        }
+
+        return true;
+    }
+
+    /**
+     * Close the file, this only needs to be called if the builder is abandoned before it has built every record.
+     *
+     * @throws IOException if the file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+
+        channel.close();
+    }
+
+    /**
+     * Move the record view onto the next record in the file, mapping a new window if the record is not complete in
+     * the current one.
+     */
+    private boolean next() {
+
+        while (true) {
+
+            if (fileSize == windowStart + position) {
+
+                try {
+
+                    close();
+
+                } catch (IOException e) {
+
+                    throw new UncheckedIOException(e);
+                }
+
+                return false;
+            }
+
+            int end = position < window.limit() ? end(window, position) : -1;
+
+            if (-1 == end && fileSize == windowStart + window.limit()) end = last(window, position);
+
+            if (-1 != end) {
+
+                record.limit(end);
+                record.position(position);
+
+                position = Math.min(end + separatorLength, window.limit());
+
+                return true;
+            }
+
+            if (0 == position) {
+
+                if (Integer.MAX_VALUE >> 1 < windowSize) {
+
+                    throw new IllegalStateException("A record at " + windowStart + " is larger than the maximum " +
+                            "window size.");
+                }
+
+                windowSize <<= 1;
+            }
+
+            try {
+
+                map(windowStart + position);
+
+            } catch (IOException e) {
+
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void map(long start) throws IOException {
+
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, fileSize - start));
+        record = window.asReadOnlyBuffer();
+        windowStart = start;
+        position = 0;
+    }
+}
@@ -0,0 +1,194 @@
+package collections.builders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A file that has been mapped into memory as a run of segments, each of which can be no larger than
+ * {@link Integer#MAX_VALUE} bytes. A value is read from the segment that it starts in so values must never span the
+ * boundary between two segments.
+ *
+ * @author Karl Bennett
+ */
+final class MappedSegments {
+
+    /**
+     * The size of the header at the start of every mapped collection file.
+     */
+    static final int HEADER_SIZE = 64;
+
+    /**
+     * The segment size that is used when none is given.
+     */
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private final MappedByteBuffer[] segments;
+
+    private final int segmentSize;
+
+
+    /**
+     * Map the first bytes of the supplied file.
+     *
+     * @param channel     the channel of the file to map.
+     * @param mode        the mode to map the file in, a read write mapping will grow the file if it is too small.
+     * @param size        the number of bytes to map.
+     * @param segmentSize the size of each mapped segment.
+     * @throws IOException if the file could not be mapped.
+     */
+    MappedSegments(FileChannel channel, FileChannel.MapMode mode, long size, int segmentSize) throws IOException {
+
+        this.segmentSize = segmentSize;
+
+        segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+
+        for (int i = 0; i < segments.length; i++) {
+
+            final long position = (long) i * segmentSize;
+
+            segments[i] = channel.map(mode, position, Math.min(segmentSize, size - position));
+        }
+    }
+
+
+    /**
+     * Check that the supplied segment size can be used for a mapped collection file. It must be able to hold the
+     * header and must be a multiple of eight so that no {@code long} in an aligned table spans two segments.
+     *
+     * @param segmentSize the segment size to check.
+     * @return {@code true} if the segment size can be used, otherwise {@code false}.
+     */
+    static boolean isValid(int segmentSize) {
+
+        return HEADER_SIZE <= segmentSize && 0 == segmentSize % 8;
+    }
+
+    /**
+     * Round the supplied position up to the next multiple of eight.
+     *
+     * @param position the position to align.
+     * @return the aligned position.
+     */
+    static long align(long position) {
+
+        return (position + 7) & ~7L;
+    }
+
+    /**
+     * Create an empty file in the same directory as the supplied file for a mapped collection to be built into before
+     * it replaces the supplied file with {@link #replace(Path, Path)}.
+     *
+     * @param file the file that the mapped collection will be held in.
+     * @return the new empty file.
+     * @throws IOException if the file could not be created.
+     */
+    static Path createBuildFile(Path file) throws IOException {
+
+        final Path directory = file.toAbsolutePath().getParent();
+
+        return Files.createTempFile(directory, file.getFileName().toString(), ".building");
+    }
+
+    /**
+     * Atomically move a fully built file over the supplied file, so that anything reading the supplied file sees
+     * either the old file or the whole of the new one, never one that is part way through being built.
+     *
+     * @param built the file that the mapped collection was built into.
+     * @param file  the file that the mapped collection will be held in.
+     * @throws IOException if the file could not be moved.
+     */
+    static void replace(Path built, Path file) throws IOException {
+
+        Files.move(built, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Delete a file that a mapped collection was being built into after the build has failed. Any failure to delete it
+     * is ignored so that it does not hide the failure of the build.
+     *
+     * @param built the file that the mapped collection was being built into.
+     */
+    static void discard(Path built) {
+
+        try {
+
+            Files.deleteIfExists(built);
+
+        } catch (IOException e) {
+
+            // The build has already failed, leaving the file behind is all that can be done.
+        }
+    }
+
+    /**
+     * Read the header from the start of the supplied file.
+     *
+     * @param channel the channel of the file to read.
+     * @return a buffer holding the header, it will have less than {@link #HEADER_SIZE} bytes remaining if the file is
+     * too short to have a header.
+     * @throws IOException if the file could not be read.
+     */
+    static ByteBuffer readHeader(FileChannel channel) throws IOException {
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        for (int read = 0; header.hasRemaining() && -1 != read; ) {
+
+            read = channel.read(header, header.position());
+        }
+
+        header.flip();
+
+        return header;
+    }
+
+    /**
+     * Get a read only view of the supplied range of bytes.
+     *
+     * @param start the position of the first byte.
+     * @param end   the position after the last byte.
+     * @return a buffer whose remaining bytes are the range.
+     */
+    ByteBuffer slice(long start, long end) {
+
+        final ByteBuffer buffer = segments[(int) (start / segmentSize)].asReadOnlyBuffer();
+
+        final int offset = (int) (start % segmentSize);
+
+        buffer.limit(offset + (int) (end - start));
+        buffer.position(offset);
+
+        return buffer;
+    }
+
+    int getInt(long position) {
+
+        return segments[(int) (position / segmentSize)].getInt((int) (position % segmentSize));
+    }
+
+    long getLong(long position) {
+
+        return segments[(int) (position / segmentSize)].getLong((int) (position % segmentSize));
+    }
+
+    void putLong(long position, long value) {
+
+        segments[(int) (position / segmentSize)].putLong((int) (position % segmentSize), value);
+    }
+
+    /**
+     * Write any changes in the mapped segments to the file.
+     */
+    void force() {
+
+        for (MappedByteBuffer segment : segments) {
+
+            segment.force();
+        }
+    }
+}
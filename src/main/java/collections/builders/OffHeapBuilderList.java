@@ -0,0 +1,227 @@
+package collections.builders;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This {@code OffHeapBuilderList} is a read only version of the {@link BuilderList} that holds it's elements as bytes in
+ * direct {@link ByteBuffer}s instead of as objects on the heap, so a very large list adds nothing to the work of the
+ * garbage collector.
+ * <p/>
+ * It is constructed with a {@link Builder}, an {@link ElementCodec} and an optional segment size.
+ * <p/>
+ * The {@link Builder#build()} method must be implemented to provide the logic that will be used to build the elements
+ * to be contained within the list. The {@link Builder#build()} method will be repeatedly called until it returns
+ * {@code null}, or if it is a {@link BatchBuilder} it's elements will be built a batch at a time. Each element is
+ * encoded straight into the end of the current direct segment and then discarded. An element that is larger than the
+ * segment size is given a segment of it's own.
+ * <p/>
+ * The segment, offset and length of every element is kept in a direct index so {@link #get(int)} can find any element
+ * in constant time, it is decoded again on every call. Only the list of segments is held on the heap so heap usage
+ * does not grow with the number of elements. The direct memory is released when the list is garbage collected.
+ * <p/>
+ * Example:
+ * <code>
+ *      final Iterator<String> words = Arrays.asList("one", "two", "three").iterator();
+ * <p/>
+ *      List<String> builderList = new OffHeapBuilderList<>(new Builder<String>() {
+ * <p/>
+ *          public String build() {
+ * <p/>
+ *              return words.hasNext() ? words.next() : null;
+ *          }
+ *      }, new ElementCodec<String>() {
+ * <p/>
+ *          public void encode(String element, ByteBuffer buffer) {
+ * <p/>
+ *              buffer.put(element.getBytes(StandardCharsets.UTF_8));
+ *          }
+ * <p/>
+ *          public String decode(ByteBuffer buffer) {
+ * <p/>
+ *              return StandardCharsets.UTF_8.decode(buffer).toString();
+ *          }
+ *      }); // [one, two, three]
+ * </code>
+ *
+ * @param <E> the type of the elements held in the list.
+ *
+ * @author Karl Bennett
+ */
+public class OffHeapBuilderList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 24;
+
+    private static final int INDEX_ENTRY_SIZE = 12;
+
+    private static final int INDEX_SHIFT = 16;
+
+    private static final int INDEX_MASK = (1 << INDEX_SHIFT) - 1;
+
+    private final ElementCodec<E> codec;
+
+    private final int segmentSize;
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+
+    private final List<ByteBuffer> index = new ArrayList<>();
+
+    private int size = 0;
+
+
+    /**
+     * Instantiate a new {@code OffHeapBuilderList} that will use the supplied {@link Builder} to build it's elements
+     * and the supplied {@link ElementCodec} to store them.
+     *
+     * @param builder the builder used to build the elements for the new list.
+     * @param codec   the codec used to encode and decode the elements.
+     */
+    public OffHeapBuilderList(Builder<E> builder, ElementCodec<E> codec) {
+
+        this(builder, codec, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Instantiate a new {@code OffHeapBuilderList} that will use the supplied {@link Builder} to build it's elements
+     * and the supplied {@link ElementCodec} to store them in direct segments of the supplied size.
+     *
+     * @param builder     the builder used to build the elements for the new list.
+     * @param codec       the codec used to encode and decode the elements.
+     * @param segmentSize the number of bytes in each direct segment.
+     */
+    public OffHeapBuilderList(Builder<E> builder, ElementCodec<E> codec, int segmentSize) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,int) builder must not be null.");
+        }
+
+        if (null == codec) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,int) codec must not be null.");
+        }
+
+        if (0 >= segmentSize) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder,ElementCodec,int) segmentSize must be positive.");
+        }
+
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+
+        BuilderCollection.build(builder, new Consumer<E>() {
+
+            @Override
+            public void accept(E element) {
+
+                append(element);
+            }
+        });
+    }
+
+
+    private void append(E element) {
+
+        if (segments.isEmpty()) segments.add(ByteBuffer.allocateDirect(segmentSize));
+
+        ByteBuffer segment = segments.get(segments.size() - 1);
+
+        int start = segment.position();
+
+        while (true) {
+
+            try {
+
+                codec.encode(element, segment);
+
+                break;
+
+            } catch (BufferOverflowException e) {
+
+                segment.position(start);
+
+                if (0 == start) {
+
+                    if (Integer.MAX_VALUE >> 1 < segment.capacity()) throw e;
+
+                    segment = ByteBuffer.allocateDirect(segment.capacity() << 1);
+
+                    segments.set(segments.size() - 1, segment);
+
+                } else {
+
+                    segment = ByteBuffer.allocateDirect(segmentSize);
+                    start = 0;
+
+                    segments.add(segment);
+                }
+            }
+        }
+
+        final int position = size & INDEX_MASK;
+
+        if (0 == position) index.add(ByteBuffer.allocateDirect(INDEX_ENTRY_SIZE << INDEX_SHIFT));
+
+        final int entry = position * INDEX_ENTRY_SIZE;
+
+        final ByteBuffer page = index.get(size >>> INDEX_SHIFT);
+        page.putInt(entry, segments.size() - 1);
+        page.putInt(entry + 4, start);
+        page.putInt(entry + 8, segment.position() - start);
+
+        size++;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+
+        if (0 > index || size <= index) {
+
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        final ByteBuffer page = this.index.get(index >>> INDEX_SHIFT);
+
+        final int entry = (index & INDEX_MASK) * INDEX_ENTRY_SIZE;
+        final int offset = page.getInt(entry + 4);
+
+        final ByteBuffer element = segments.get(page.getInt(entry)).asReadOnlyBuffer();
+        element.limit(offset + page.getInt(entry + 8));
+        element.position(offset);
+
+        return codec.decode(element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * A spliterator that knows exactly how many elements it has and splits the list evenly by index.
+     *
+     * @return a {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} spliterator over this list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+
+        return new IndexSpliterator<>(this, Spliterator.IMMUTABLE);
+    }
+}
@@ -0,0 +1,303 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Helper methods for building the values of a {@link SplittableBuilder} in parallel on a {@link ForkJoinPool}.
+ * <p/>
+ * If the backing collection is a concurrent set, or the backing map is a {@link ConcurrentMap}, then each part of the
+ * builder is built straight into it on the pool, so the merge is done in parallel too and the values are only held
+ * once. Any other backing collection is not thread safe, so each part is built into it's own chunk on the pool and the
+ * chunks are then added to the backing collection in order on the calling thread. That keeps the order of a list, but
+ * all the built values are held twice while they are merged and for a hash set or map, where adding a value costs
+ * about as much as building it, the sequential merge leaves little to be gained over building on one thread.
+ *
+ * @author Karl Bennett
+ */
+final class Partitions {
+
+    private Partitions() {
+    }
+
+
+    /**
+     * Build all the values from the supplied builder in parallel and then add them to the supplied collection, in
+     * order unless it is a concurrent set.
+     *
+     * @param builder    the builder to split and build.
+     * @param collection the collection to add the built values to.
+     * @param pool       the pool that the parts of the builder will be built on.
+     */
+    static <E> void addAll(SplittableBuilder<E> builder, Collection<E> collection, ForkJoinPool pool) {
+
+        if (concurrent(collection)) {
+
+            pool.invoke(new AddTask<>(builder, collection));
+
+            return;
+        }
+
+        final List<List<E>> chunks = pool.invoke(new ListTask<>(builder));
+
+        Sizes.ensureCapacity(collection, size(chunks));
+
+        for (List<E> chunk : chunks) {
+
+            collection.addAll(chunk);
+        }
+    }
+
+    /**
+     * Build all the entries from the supplied builder in parallel and then put them into the supplied map, in order
+     * unless it is a {@link ConcurrentMap}. If a key is built more than once then which of it's values is kept in a
+     * {@link ConcurrentMap} depends on how the parts were scheduled.
+     *
+     * @param builder the builder to split and build.
+     * @param map     the map to put the built entries into.
+     * @param pool    the pool that the parts of the builder will be built on.
+     */
+    static <K, V> void putAll(SplittableBuilder<Map.Entry<K, V>> builder, Map<K, V> map, ForkJoinPool pool) {
+
+        if (map instanceof ConcurrentMap) {
+
+            pool.invoke(new PutTask<>(builder, map));
+
+            return;
+        }
+
+        final List<Map<K, V>> chunks = pool.invoke(new MapTask<>(builder));
+
+        for (Map<K, V> chunk : chunks) {
+
+            map.putAll(chunk);
+        }
+    }
+
+    /**
+     * Only sets can be filled from many threads at once, the order that the values of a concurrent queue or list were
+     * added in would depend on how the parts were scheduled.
+     */
+    private static boolean concurrent(Collection<?> collection) {
+
+        return collection instanceof ConcurrentHashMap.KeySetView || collection instanceof ConcurrentSkipListSet;
+    }
+
+    private static int size(List<? extends Collection<?>> chunks) {
+
+        long size = 0;
+
+        for (Collection<?> chunk : chunks) {
+
+            size += chunk.size();
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+
+    /**
+     * Keep splitting the builder, forking the first part and building the rest on the current thread, until it can not
+     * be split any more. The chunks of both parts are then joined in order.
+     */
+    private abstract static class BuildTask<E, C> extends RecursiveTask<List<C>> {
+
+        private static final long serialVersionUID = 1L;
+
+        final SplittableBuilder<E> builder;
+
+        private BuildTask(SplittableBuilder<E> builder) {
+
+            this.builder = builder;
+        }
+
+        @Override
+        protected List<C> compute() {
+
+            final SplittableBuilder<E> prefix = builder.split();
+
+            if (null == prefix) return Collections.singletonList(chunk());
+
+            final BuildTask<E, C> prefixTask = part(prefix);
+            prefixTask.fork();
+
+            final List<C> suffixChunks = part(builder).compute();
+            final List<C> prefixChunks = prefixTask.join();
+
+            final List<C> chunks = new ArrayList<>(prefixChunks.size() + suffixChunks.size());
+            chunks.addAll(prefixChunks);
+            chunks.addAll(suffixChunks);
+
+            return chunks;
+        }
+
+        /**
+         * Make the task that will build the chunks of a part of the builder.
+         */
+        abstract BuildTask<E, C> part(SplittableBuilder<E> builder);
+
+        /**
+         * Build every value of the builder into a new chunk.
+         */
+        abstract C chunk();
+    }
+
+    private static final class ListTask<E> extends BuildTask<E, List<E>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private ListTask(SplittableBuilder<E> builder) {
+            super(builder);
+        }
+
+        @Override
+        BuildTask<E, List<E>> part(SplittableBuilder<E> builder) {
+
+            return new ListTask<>(builder);
+        }
+
+        @Override
+        List<E> chunk() {
+
+            final List<E> chunk = new ArrayList<>(Sizes.listCapacity(builder));
+
+            BuilderCollection.build(builder, chunk);
+
+            return chunk;
+        }
+    }
+
+    /**
+     * Builds each part into an insertion ordered map with {@link BuilderMap#build(Builder, Map)}, so that an
+     * {@link EntryBuilder} or {@link BatchBuilder} part is built in the same way as it would be by a {@link BuilderMap}.
+     */
+    private static final class MapTask<K, V> extends BuildTask<Map.Entry<K, V>, Map<K, V>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private MapTask(SplittableBuilder<Map.Entry<K, V>> builder) {
+            super(builder);
+        }
+
+        @Override
+        BuildTask<Map.Entry<K, V>, Map<K, V>> part(SplittableBuilder<Map.Entry<K, V>> builder) {
+
+            return new MapTask<>(builder);
+        }
+
+        @Override
+        Map<K, V> chunk() {
+
+            final Map<K, V> chunk = new LinkedHashMap<>();
+
+            BuilderMap.build(builder, chunk);
+
+            return chunk;
+        }
+    }
+
+    /**
+     * Keep splitting the builder in the same way as the {@link BuildTask}, but build each part that can not be split
+     * any more straight into a thread safe backing collection or map.
+     */
+    private abstract static class FillTask<E> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        final SplittableBuilder<E> builder;
+
+        private FillTask(SplittableBuilder<E> builder) {
+
+            this.builder = builder;
+        }
+
+        @Override
+        protected void compute() {
+
+            final SplittableBuilder<E> prefix = builder.split();
+
+            if (null == prefix) {
+
+                fill();
+
+                return;
+            }
+
+            final FillTask<E> prefixTask = part(prefix);
+            prefixTask.fork();
+
+            part(builder).compute();
+            prefixTask.join();
+        }
+
+        /**
+         * Make the task that will fill the backing collection or map from a part of the builder.
+         */
+        abstract FillTask<E> part(SplittableBuilder<E> builder);
+
+        /**
+         * Build every value of the builder into the backing collection or map.
+         */
+        abstract void fill();
+    }
+
+    private static final class AddTask<E> extends FillTask<E> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Collection<E> collection;
+
+        private AddTask(SplittableBuilder<E> builder, Collection<E> collection) {
+            super(builder);
+
+            this.collection = collection;
+        }
+
+        @Override
+        FillTask<E> part(SplittableBuilder<E> builder) {
+
+            return new AddTask<>(builder, collection);
+        }
+
+        @Override
+        void fill() {
+
+            BuilderCollection.build(builder, collection);
+        }
+    }
+
+    private static final class PutTask<K, V> extends FillTask<Map.Entry<K, V>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<K, V> map;
+
+        private PutTask(SplittableBuilder<Map.Entry<K, V>> builder, Map<K, V> map) {
+            super(builder);
+
+            this.map = map;
+        }
+
+        @Override
+        FillTask<Map.Entry<K, V>> part(SplittableBuilder<Map.Entry<K, V>> builder) {
+
+            return new PutTask<>(builder, map);
+        }
+
+        @Override
+        void fill() {
+
+            BuilderMap.build(builder, map);
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package collections.builders;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * This {@code Pipeline} transforms the values of another {@link Builder} so that a chain of mapping, filtering and
+ * flattening steps can feed a builder collection without a builder or an intermediate collection for each step.
+ * <p/>
+ * Each operator returns a new pipeline that has the operation appended to it. When the pipeline is first built the
+ * operations are fused into a single chain of stages, then every value that is pulled from the source builder is
+ * pushed through the whole chain in one call, so a multi-step transform is done in a single pass no matter how many
+ * operations there are. The {@link #limit(long)} operation stops pulling from the source as soon as it is reached.
+ * <p/>
+ * The pipeline is a {@link BatchBuilder}, so a builder collection fills it's backing collection a batch at a time, and
+ * if the source is also a {@link BatchBuilder} it is pulled from a batch at a time. It is a {@link SizedBuilder} that
+ * passes on the size of a {@link SizedBuilder} source through the operations that keep or can calculate it.
+ * <p/>
+ * Just like a {@link java.util.stream.Stream} a pipeline can only be used once, an operator can not be called on a
+ * pipeline that has already had an operator called on it or has started building. None of the operations may produce
+ * {@code null} values.
+ * <p/>
+ * Example:
+ * <code>
+ *      List<User> users = new BuilderList<>(new Pipeline<>(rows).map(toUser).filter(isActive).distinct());
+ * </code>
+ *
+ * @param <E> the type of the values that are built.
+ *
+ * @author Karl Bennett
+ */
+public class Pipeline<E> implements BatchBuilder<E>, SizedBuilder<E> {
+
+    private final Builder<?> source;
+
+    private final Pipeline<?> upstream;
+
+    private final Operation operation;
+
+    private boolean linked = false;
+
+    private Output output;
+
+    private Stage head;
+
+    private Batch<Object> input;
+
+    private int position = 0;
+
+    private boolean more = true;
+
+    private boolean exhausted = false;
+
+
+    /**
+     * Instantiate a new {@code Pipeline} that will build the values of the supplied builder.
+     *
+     * @param source the builder to build the values of.
+     */
+    public Pipeline(Builder<? extends E> source) {
+
+        if (null == source) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Builder) source must not be null.");
+        }
+
+        this.source = source;
+        this.upstream = null;
+        this.operation = null;
+    }
+
+    private Pipeline(Pipeline<?> upstream, Operation operation) {
+
+        this.source = upstream.source;
+        this.upstream = upstream;
+        this.operation = operation;
+    }
+
+
+    /**
+     * Transform each value of this pipeline with the supplied function.
+     *
+     * @param mapper the function that transforms each value, it must not return {@code null}.
+     * @param <R>    the type of the transformed values.
+     * @return the new pipeline.
+     */
+    public <R> Pipeline<R> map(final Function<? super E, ? extends R> mapper) {
+
+        if (null == mapper) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".map(Function) mapper must not be null.");
+        }
+
+        return link("map(Function)", new Operation() {
+
+            @Override
+            Stage fuse(final Stage downstream, Output output) {
+
+                return new Stage() {
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    void accept(Object value) {
+
+                        downstream.accept(checked(mapper.apply((E) value), "map(Function)"));
+                    }
+                };
+            }
+
+            @Override
+            int size(int upstream) {
+
+                return upstream;
+            }
+        });
+    }
+
+    /**
+     * Only keep the values of this pipeline that match the supplied predicate.
+     *
+     * @param predicate the predicate that each kept value must match.
+     * @return the new pipeline.
+     */
+    public Pipeline<E> filter(final Predicate<? super E> predicate) {
+
+        if (null == predicate) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".filter(Predicate) predicate must not be null.");
+        }
+
+        return link("filter(Predicate)", new Operation() {
+
+            @Override
+            Stage fuse(final Stage downstream, Output output) {
+
+                return new Stage() {
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    void accept(Object value) {
+
+                        if (predicate.test((E) value)) downstream.accept(value);
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Replace each value of this pipeline with all the values of the builder that the supplied function makes from
+     * it. The values of each builder are pushed straight through the rest of the pipeline as they are built.
+     *
+     * @param mapper the function that makes a builder from each value, a {@code null} builder is treated as empty.
+     * @param <R>    the type of the values of the made builders.
+     * @return the new pipeline.
+     */
+    public <R> Pipeline<R> flatMap(final Function<? super E, ? extends Builder<? extends R>> mapper) {
+
+        if (null == mapper) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".flatMap(Function) mapper must not be null.");
+        }
+
+        return link("flatMap(Function)", new Operation() {
+
+            @Override
+            Stage fuse(final Stage downstream, final Output output) {
+
+                return new Stage() {
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    void accept(Object value) {
+
+                        final Builder<? extends R> builder = mapper.apply((E) value);
+
+                        if (null == builder) return;
+
+                        for (Object built; !output.stopped && null != (built = builder.build()); ) {
+
+                            downstream.accept(built);
+                        }
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Only keep the first of any values of this pipeline that are equal.
+     *
+     * @return the new pipeline.
+     */
+    public Pipeline<E> distinct() {
+
+        return link("distinct()", new Operation() {
+
+            @Override
+            Stage fuse(final Stage downstream, Output output) {
+
+                final Set<Object> seen = new HashSet<>();
+
+                return new Stage() {
+
+                    @Override
+                    void accept(Object value) {
+
+                        if (seen.add(value)) downstream.accept(value);
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * Only keep the supplied number of values from the start of this pipeline. No more values will be pulled from the
+     * source once the limit has been reached.
+     *
+     * @param maximum the maximum number of values to keep.
+     * @return the new pipeline.
+     */
+    public Pipeline<E> limit(final long maximum) {
+
+        if (0 > maximum) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".limit(long) maximum must not be negative.");
+        }
+
+        return link("limit(long)", new Operation() {
+
+            @Override
+            Stage fuse(final Stage downstream, final Output output) {
+
+                if (0 == maximum) output.stopped = true;
+
+                return new Stage() {
+
+                    private long remaining = maximum;
+
+                    @Override
+                    void accept(Object value) {
+
+                        if (0 == remaining) return;
+
+                        downstream.accept(value);
+
+                        if (0 == --remaining) output.stopped = true;
+                    }
+                };
+            }
+
+            @Override
+            int size(int upstream) {
+
+                return 0 > upstream ? upstream : (int) Math.min(upstream, maximum);
+            }
+        });
+    }
+
+    /**
+     * Drop the supplied number of values from the start of this pipeline.
+     *
+     * @param count the number of values to drop.
+     * @return the new pipeline.
+     */
+    public Pipeline<E> skip(final long count) {
+
+        if (0 > count) {
+
+            throw new IllegalArgumentException(getClass().getName() + ".skip(long) count must not be negative.");
+        }
+
+        return link("skip(long)", new Operation() {
+
+            @Override
+            Stage fuse(final Stage downstream, Output output) {
+
+                return new Stage() {
+
+                    private long remaining = count;
+
+                    @Override
+                    void accept(Object value) {
+
+                        if (0 < remaining) remaining--;
+
+                        else downstream.accept(value);
+                    }
+                };
+            }
+
+            @Override
+            int size(int upstream) {
+
+                return 0 > upstream ? upstream : (int) Math.max(0, upstream - count);
+            }
+        });
+    }
+
+    private <R> Pipeline<R> link(String signature, Operation operation) {
+
+        if (linked || null != output) {
+
+            throw new IllegalStateException(getClass().getName() + "." + signature +
+                    " this pipeline has already been used.");
+        }
+
+        linked = true;
+
+        return new Pipeline<>(this, operation);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E build() {
+
+        start();
+
+        while (null == output.value && output.overflow.isEmpty() && advance()) ;
+
+        if (null == output.value) return (E) output.overflow.poll();
+
+        final Object value = output.value;
+
+        output.value = null;
+
+        return (E) value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean build(Batch<E> batch) {
+
+        start();
+
+        if (null != output.value) {
+
+            batch.add((E) output.value);
+
+            output.value = null;
+        }
+
+        while (!batch.isFull() && !output.overflow.isEmpty()) batch.add((E) output.overflow.poll());
+
+        output.batch = (Batch<Object>) batch;
+
+        try {
+
+            while (!batch.isFull() && advance()) ;
+
+        } finally {
+
+            output.batch = null;
+        }
+
+        return !output.overflow.isEmpty() || !(output.stopped || exhausted);
+    }
+
+    /**
+     * The number of values this pipeline expects to build. This is the size of a {@link SizedBuilder} source if the
+     * operations can calculate it from that, so {@link #map(Function)}, {@link #limit(long)} and {@link #skip(long)}
+     * keep a known size while {@link #filter(Predicate)}, {@link #flatMap(Function)} and {@link #distinct()} make it
+     * unknown.
+     *
+     * @return the expected number of values, or {@code -1} if it is not known.
+     */
+    @Override
+    public int size() {
+
+        if (null == operation) return source instanceof SizedBuilder ? ((SizedBuilder<?>) source).size() : -1;
+
+        return operation.size(upstream.size());
+    }
+
+
+    private void start() {
+
+        if (null != output) return;
+
+        if (linked) {
+
+            throw new IllegalStateException(getClass().getName() +
+                    " a pipeline can not be built once an operator has been called on it.");
+        }
+
+        output = new Output();
+
+        Stage stage = output;
+
+        for (Pipeline<?> pipeline = this; null != pipeline.operation; pipeline = pipeline.upstream) {
+
+            stage = pipeline.operation.fuse(stage, output);
+        }
+
+        head = stage;
+
+        if (source instanceof BatchBuilder) input = new Batch<>(Batches.SIZE);
+    }
+
+    /**
+     * Push the next value from the source through the stages, pulling the next batch first if the source is a
+     * {@link BatchBuilder}.
+     *
+     * @return {@code false} if there are no more values to push, otherwise {@code true}.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean advance() {
+
+        if (output.stopped || exhausted) return false;
+
+        if (null == input) {
+
+            final Object value = source.build();
+
+            if (null == value) {
+
+                exhausted = true;
+
+                return false;
+            }
+
+            head.accept(value);
+
+            return true;
+        }
+
+        if (input.size() == position) {
+
+            input.clear();
+
+            position = 0;
+
+            if (!more) {
+
+                exhausted = true;
+
+                return false;
+            }
+
+            more = ((BatchBuilder<Object>) source).build(input);
+
+            return true;
+        }
+
+        head.accept(input.get(position++));
+
+        return true;
+    }
+
+    private Object checked(Object value, String signature) {
+
+        if (null == value) {
+
+            throw new NullPointerException(getClass().getName() + "." + signature + " must not produce null values.");
+        }
+
+        return value;
+    }
+
+
+    /**
+     * An operation of the pipeline that is fused into a {@link Stage} when the pipeline is first built.
+     */
+    private abstract static class Operation {
+
+        /**
+         * Make the stage for this operation.
+         *
+         * @param downstream the stage that the values of this operation are pushed to.
+         * @param output     the end of the pipeline, that is stopped to stop the source from being pulled.
+         * @return the stage of this operation.
+         */
+        abstract Stage fuse(Stage downstream, Output output);
+
+        /**
+         * The number of values this operation will produce from the supplied number of values.
+         *
+         * @param upstream the number of values that will be pushed to this operation, or a negative if it is not known.
+         * @return the number of values produced, or {@code -1} if it is not known.
+         */
+        int size(int upstream) {
+
+            return -1;
+        }
+    }
+
+    /**
+     * A single fused step of the pipeline that values are pushed through.
+     */
+    private abstract static class Stage {
+
+        abstract void accept(Object value);
+    }
+
+    /**
+     * The end of the pipeline. Values go straight into the batch that is being built if there is one with room,
+     * otherwise into a slot for a single {@link #build()} call, then into an overflow for any values that a single
+     * pushed value produced beyond that.
+     */
+    private static final class Output extends Stage {
+
+        private final ArrayDeque<Object> overflow = new ArrayDeque<>();
+
+        private Batch<Object> batch;
+
+        private Object value;
+
+        private boolean stopped = false;
+
+
+        @Override
+        void accept(Object value) {
+
+            if (null != batch && !batch.isFull()) batch.add(value);
+
+            else if (null == batch && null == this.value && overflow.isEmpty()) this.value = value;
+
+            else overflow.add(value);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package collections.builders;
+
+import java.util.concurrent.Executor;
+
+/**
+ * This {@code PrefetchingBuilder} runs another {@link Builder} on a thread of the supplied {@link Executor} and buffers
+ * what it builds, so that a slow builder, such as one that reads from a file or the network, builds it's next values
+ * while the builder collection is still adding the last ones to it's backing collection.
+ * <p/>
+ * It is constructed with the builder to prefetch from, the executor to run it on, the depth of the buffer and the
+ * {@link WaitStrategy} that both threads use when the buffer is full or empty. The wrapped builder starts being built
+ * as soon as this builder is constructed. The values are passed between the threads through a bounded single producer,
+ * single consumer ring buffer, so neither thread ever takes a lock and the wrapped builder can never get more than the
+ * buffer depth ahead. It is a {@link BatchBuilder}, so a builder collection takes everything that is ready in the
+ * buffer in one go.
+ * <p/>
+ * Only one thread may build from a {@code PrefetchingBuilder}. If the wrapped builder throws an exception then building
+ * from this builder will throw an {@link IllegalStateException} caused by that exception once the values that were
+ * built before it have been taken.
+ * <p/>
+ * The executors thread is only given back once the wrapped builder is finished, so a caller that stops building before
+ * this builder returns {@code null}, because it failed or no longer needs the values, must stop the prefetching with
+ * {@link #cancel()} or {@link #close()}. Otherwise the executors thread is left waiting for room in the buffer forever.
+ * Building inside a try-with-resources block does this on every path.
+ * <p/>
+ * Example:
+ * <code>
+ *      try (PrefetchingBuilder<Row> rows = new PrefetchingBuilder<>(new DatabaseRowBuilder(), executor)) {
+ * <p/>
+ *          return new BuilderList<>(rows);
+ *      }
+ * </code>
+ *
+ * @param <E> the type of the values that are built.
+ *
+ * @author Karl Bennett
+ */
+public class PrefetchingBuilder<E> implements BatchBuilder<E>, SizedBuilder<E>, AutoCloseable {
+
+    private static final int DEFAULT_DEPTH = Batches.SIZE;
+
+
+    private final RingBuffer<E> buffer;
+
+    private final Producer<E> producer;
+
+    private final WaitStrategy wait;
+
+    private final int size;
+
+    private int built = 0;
+
+
+    /**
+     * Instantiate a new {@code PrefetchingBuilder} that will prefetch from the supplied builder on the supplied executor
+     * into a buffer of the default depth, parking while it waits.
+     *
+     * @param builder  the builder to prefetch the values of.
+     * @param executor the executor that the builder will be run on.
+     */
+    public PrefetchingBuilder(Builder<? extends E> builder, Executor executor) {
+
+        this(builder, executor, DEFAULT_DEPTH, WaitStrategy.PARK);
+    }
+
+    /**
+     * Instantiate a new {@code PrefetchingBuilder} that will prefetch from the supplied builder on the supplied executor
+     * into a buffer of the supplied depth, waiting with the supplied strategy.
+     *
+     * @param builder  the builder to prefetch the values of.
+     * @param executor the executor that the builder will be run on.
+     * @param depth    the number of values that can be prefetched, it is rounded up to a power of two.
+     * @param wait     the way that both threads wait when the buffer is full or empty.
+     */
+    public PrefetchingBuilder(Builder<? extends E> builder, Executor executor, int depth, WaitStrategy wait) {
+
+        if (null == builder) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Executor, int, WaitStrategy) builder must not be null.");
+        }
+
+        if (null == executor) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Executor, int, WaitStrategy) executor must not be null.");
+        }
+
+        if (0 >= depth) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Executor, int, WaitStrategy) depth must be positive.");
+        }
+
+        if (null == wait) {
+
+            throw new IllegalArgumentException(getClass().getName() +
+                    "(Builder, Executor, int, WaitStrategy) wait must not be null.");
+        }
+
+        this.size = builder instanceof SizedBuilder ? ((SizedBuilder<?>) builder).size() : -1;
+        this.buffer = new RingBuffer<>(depth);
+        this.producer = new Producer<>(builder, buffer, wait);
+        this.wait = wait;
+
+        executor.execute(producer);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E build() {
+
+        for (int attempt = 0; ; attempt++) {
+
+            final boolean finished = producer.finished;
+
+            final E value = buffer.poll();
+
+            if (null != value) {
+
+                built++;
+
+                return value;
+            }
+
+            // The producer finishes after it's last value is published, so an empty buffer after that is the end.
+            if (finished) {
+
+                checkFailure();
+
+                return null;
+            }
+
+            wait.idle(attempt);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean build(Batch<E> batch) {
+
+        for (int attempt = 0; ; attempt++) {
+
+            final boolean finished = producer.finished;
+
+            final int count = buffer.drain(batch);
+
+            built += count;
+
+            if (finished) {
+
+                if (batch.isFull()) return true;
+
+                checkFailure();
+
+                return false;
+            }
+
+            if (0 < count) return true;
+
+            wait.idle(attempt);
+        }
+    }
+
+    /**
+     * The number of values left to build if the wrapped builder was a {@link SizedBuilder} when this builder was
+     * constructed.
+     *
+     * @return the expected number of values left, or {@code -1} if it is not known.
+     */
+    @Override
+    public int size() {
+
+        return 0 > size ? size : Math.max(0, size - built);
+    }
+
+    /**
+     * Stop prefetching from the wrapped builder. The wrapped builder will not be built from again once it's current
+     * value has been built, and any value that can not be buffered will be dropped.
+     */
+    public void cancel() {
+
+        producer.cancelled = true;
+    }
+
+    /**
+     * Stop prefetching from the wrapped builder, this is the same as {@link #cancel()} and does nothing if the wrapped
+     * builder has already finished.
+     */
+    @Override
+    public void close() {
+
+        cancel();
+    }
+
+
+    private void checkFailure() {
+
+        final Throwable failure = producer.failure;
+
+        if (null != failure) throw new IllegalStateException("The prefetched build failed.", failure);
+    }
+
+
+    /**
+     * Builds the values of the wrapped builder into the buffer on the executors thread.
+     */
+    private static final class Producer<E> implements Runnable {
+
+        private final Builder<? extends E> builder;
+
+        private final RingBuffer<E> buffer;
+
+        private final WaitStrategy wait;
+
+        private volatile Throwable failure = null;
+
+        private volatile boolean cancelled = false;
+
+        private volatile boolean finished = false;
+
+
+        private Producer(Builder<? extends E> builder, RingBuffer<E> buffer, WaitStrategy wait) {
+
+            this.builder = builder;
+            this.buffer = buffer;
+            this.wait = wait;
+        }
+
+
+        @Override
+        public void run() {
+
+            try {
+
+                for (E value; !cancelled && null != (value = builder.build()); ) {
+
+                    for (int attempt = 0; ; attempt++) {
+
+                        if (cancelled) return;
+
+                        if (buffer.offer(value)) break;
+
+                        wait.idle(attempt);
+                    }
+                }
+
+            } catch (RuntimeException | Error e) {
+
+                failure = e;
+
+            } finally {
+
+                finished = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package collections.builders;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface that provides a method for parsing a value out of the bytes of a single record that has been read from a
+ * file by a {@link MappedRecordBuilder}.
+ *
+ * @param <V> the type of value that is parsed.
+ *
+ * @author Karl Bennett
+ */
+public interface RecordParser<V> {
+
+    /**
+     * Parse a value from the supplied record. The remaining bytes of the buffer are exactly the bytes of the record,
+     * without any delimiter. The buffer is a read only view of the mapped file that is reused for every record so it
+     * must not be held on to after this method returns.
+     *
+     * @param record the bytes of the record.
+     * @return the parsed value, or {@code null} if the record should be skipped.
+     */
+    public V parse(ByteBuffer record);
+}
@@ -0,0 +1,74 @@
+package collections.builders;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helper methods for refreshing the builder collections from a {@link ResumableBuilder} or a {@link DiffBuilder}.
+ *
+ * @author Karl Bennett
+ */
+final class Refreshes {
+
+    private Refreshes() {
+    }
+
+
+    /**
+     * Get the supplied builder as a {@link ResumableBuilder} so that it can be kept for later refreshes.
+     *
+     * @param builder the builder that a collection was built with.
+     * @return the builder if it is resumable, otherwise {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> ResumableBuilder<V> resumable(Builder<V> builder) {
+
+        return builder instanceof ResumableBuilder ? (ResumableBuilder<V>) builder : null;
+    }
+
+    /**
+     * Remove the values that the supplied builder says have been removed from the supplied collection, if the builder
+     * is a {@link DiffBuilder}. A set has each value removed in turn, any other collection has every element that equals
+     * a removed value taken out in a single pass so that a large list is not shifted once per removal.
+     *
+     * @param builder    the builder to build the removed values with.
+     * @param collection the collection to remove the values from.
+     */
+    static void removeAll(Builder<?> builder, Collection<?> collection) {
+
+        if (!(builder instanceof DiffBuilder)) return;
+
+        final DiffBuilder<?> diff = (DiffBuilder<?>) builder;
+
+        if (collection instanceof Set) {
+
+            for (Object value = diff.removed(); null != value; value = diff.removed()) collection.remove(value);
+
+            return;
+        }
+
+        final Set<Object> removed = new HashSet<>();
+
+        for (Object value = diff.removed(); null != value; value = diff.removed()) removed.add(value);
+
+        if (!removed.isEmpty()) collection.removeAll(removed);
+    }
+
+    /**
+     * Remove the keys that the supplied builder says have been removed from the supplied map, if the builder is a
+     * {@link DiffBuilder}.
+     *
+     * @param builder the builder to build the removed keys with.
+     * @param map     the map to remove the keys from.
+     */
+    static void removeAll(Builder<?> builder, Map<?, ?> map) {
+
+        if (!(builder instanceof DiffBuilder)) return;
+
+        final DiffBuilder<?> diff = (DiffBuilder<?>) builder;
+
+        for (Object key = diff.removed(); null != key; key = diff.removed()) map.remove(key);
+    }
+}
@@ -0,0 +1,16 @@
+package collections.builders;
+
+/**
+ * A {@link Builder} that can carry on building after it has returned {@code null}. Each time it is drained again it
+ * builds only the values that are new since it was last drained, for example the lines appended to a file or the rows
+ * changed since a timestamp.
+ * <p/>
+ * The builder collections keep a resumable builder after they have been built so that their {@code refresh()} methods
+ * can pull in just the new values without building the whole collection again.
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface ResumableBuilder<V> extends Builder<V> {
+}
@@ -0,0 +1,138 @@
+package collections.builders;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded single producer, single consumer ring buffer. One thread may offer and one other thread may poll at the
+ * same time without either of them taking a lock. Each side only writes it's own counter, publishing it with an
+ * ordered write, and keeps a cached copy of the other sides counter so that it only reads the shared one when the
+ * buffer looks full or empty.
+ *
+ * @param <E> the type of the elements.
+ *
+ * @author Karl Bennett
+ */
+final class RingBuffer<E> {
+
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+
+    private final Object[] slots;
+
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private long cachedHead = 0;
+
+    private long cachedTail = 0;
+
+
+    /**
+     * Instantiate a new empty {@code RingBuffer} that can hold at least the supplied number of elements.
+     *
+     * @param capacity the minimum capacity, it is rounded up to a power of two.
+     */
+    RingBuffer(int capacity) {
+
+        final int size = Integer.highestOneBit(Math.max(1, Math.min(MAXIMUM_CAPACITY, capacity) - 1) << 1);
+
+        this.slots = new Object[size];
+        this.mask = size - 1;
+    }
+
+
+    /**
+     * Add an element to the buffer, only the producer may call this.
+     *
+     * @param element the element to add, it must not be {@code null}.
+     * @return {@code true} if the element was added, {@code false} if the buffer is full.
+     */
+    boolean offer(E element) {
+
+        final long position = tail.get();
+
+        if (position - cachedHead == slots.length) {
+
+            cachedHead = head.get();
+
+            if (position - cachedHead == slots.length) return false;
+        }
+
+        slots[(int) position & mask] = element;
+
+        tail.lazySet(position + 1);
+
+        return true;
+    }
+
+    /**
+     * Take the oldest element from the buffer, only the consumer may call this.
+     *
+     * @return the oldest element, or {@code null} if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+
+        final long position = head.get();
+
+        if (position == cachedTail) {
+
+            cachedTail = tail.get();
+
+            if (position == cachedTail) return null;
+        }
+
+        final int index = (int) position & mask;
+
+        final E element = (E) slots[index];
+
+        slots[index] = null;
+
+        head.lazySet(position + 1);
+
+        return element;
+    }
+
+    /**
+     * Move as many elements as are available, up to the remaining room in the supplied batch, from the buffer into the
+     * batch, only the consumer may call this. The consumers counter is only published once for the whole batch.
+     *
+     * @param batch the batch to fill.
+     * @return the number of elements that were moved.
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Batch<E> batch) {
+
+        final long position = head.get();
+
+        cachedTail = tail.get();
+
+        final int count = (int) Math.min(cachedTail - position, batch.remaining());
+
+        for (int i = 0; i < count; i++) {
+
+            final int index = (int) (position + i) & mask;
+
+            batch.add((E) slots[index]);
+
+            slots[index] = null;
+        }
+
+        if (0 < count) head.lazySet(position + count);
+
+        return count;
+    }
+
+    /**
+     * The number of elements that the buffer can hold.
+     *
+     * @return the capacity of the buffer.
+     */
+    int capacity() {
+
+        return slots.length;
+    }
+}
@@ -0,0 +1,72 @@
+package collections.builders;
+
+/**
+ * Decides which accesses to a builder collection should be timed and tells the {@link BuildListener} how long they
+ * took. When the listener samples nothing the only cost of an access is checking a final field.
+ *
+ * @author Karl Bennett
+ */
+final class Sampler {
+
+    /**
+     * A sampler that never times an access.
+     */
+    static final Sampler NONE = new Sampler(BuildListener.NONE);
+
+
+    private final BuildListener listener;
+
+    private final int interval;
+
+    private int accesses = 0;
+
+
+    /**
+     * Instantiate a new {@code Sampler} that will time accesses at the sample interval of the supplied listener.
+     *
+     * @param listener the listener to tell about the timed accesses.
+     */
+    Sampler(BuildListener listener) {
+
+        this.listener = listener;
+        this.interval = Math.max(0, listener.sampleInterval());
+    }
+
+
+    /**
+     * Create a sampler for the supplied listener, {@link BuildListener#NONE} or a listener that samples nothing will
+     * share {@link #NONE}.
+     *
+     * @param listener the listener to tell about the timed accesses.
+     * @return the sampler for the listener.
+     */
+    static Sampler of(BuildListener listener) {
+
+        if (0 >= listener.sampleInterval()) return NONE;
+
+        return new Sampler(listener);
+    }
+
+
+    /**
+     * Check if the next access should be timed. The count of accesses is not synchronised, so concurrent access can
+     * make the interval between samples uneven.
+     *
+     * @return {@code true} if the next access should be timed, otherwise {@code false}.
+     */
+    boolean sample() {
+
+        return 0 != interval && 0 == ++accesses % interval;
+    }
+
+    /**
+     * Tell the listener about an access that started at the supplied time and has just finished.
+     *
+     * @param access the operation that was timed.
+     * @param start  the {@link System#nanoTime()} that the access started at.
+     */
+    void sampled(BuildListener.Access access, long start) {
+
+        listener.accessed(access, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,21 @@
+package collections.builders;
+
+/**
+ * A {@link Builder} that knows roughly how many values it will build. The builder collections use this size to presize
+ * their backing collections so that they do not have to repeatedly grow while they are being built.
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface SizedBuilder<V> extends Builder<V> {
+
+    /**
+     * The number of values that this builder expects to build. This can be an exact count or an estimate, it is only
+     * ever used as a capacity hint so an inaccurate size will not change the contents of the built collection. A
+     * negative size means that the number of values is unknown.
+     *
+     * @return the expected number of values that will be built.
+     */
+    public int size();
+}
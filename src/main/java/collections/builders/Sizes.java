@@ -0,0 +1,82 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Vector;
+
+/**
+ * Helper methods for turning the size hint of a {@link SizedBuilder} into the capacity of a backing collection.
+ *
+ * @author Karl Bennett
+ */
+final class Sizes {
+
+    private static final int DEFAULT_LIST_CAPACITY = 10;
+
+    private static final int DEFAULT_HASH_CAPACITY = 16;
+
+    private static final int MAXIMUM_HASH_CAPACITY = 1 << 30;
+
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+
+    private Sizes() {
+    }
+
+
+    /**
+     * Get the expected size of the supplied builder.
+     *
+     * @param builder the builder to get the size of.
+     * @return the size of the builder if it is a {@link SizedBuilder} with a known size, otherwise {@code 0}.
+     */
+    static int size(Builder<?> builder) {
+
+        if (builder instanceof SizedBuilder) return Math.max(0, ((SizedBuilder<?>) builder).size());
+
+        return 0;
+    }
+
+    /**
+     * Get the initial capacity an array based list needs to hold everything the supplied builder will build.
+     *
+     * @param builder the builder that will be used to fill the list.
+     * @return the size of the builder, or the default {@link ArrayList} capacity if that is larger or not known.
+     */
+    static int listCapacity(Builder<?> builder) {
+
+        return Math.max(DEFAULT_LIST_CAPACITY, size(builder));
+    }
+
+    /**
+     * Get the initial capacity a hash based collection needs to hold everything the supplied builder will build
+     * without rehashing at the default load factor.
+     *
+     * @param builder the builder that will be used to fill the collection.
+     * @return the capacity for the size of the builder, or the default hash capacity if that is larger or not known.
+     */
+    static int hashCapacity(Builder<?> builder) {
+
+        final long capacity = (long) (size(builder) / DEFAULT_LOAD_FACTOR) + 1L;
+
+        return (int) Math.max(DEFAULT_HASH_CAPACITY, Math.min(MAXIMUM_HASH_CAPACITY, capacity));
+    }
+
+    /**
+     * Make sure that the supplied collection can hold the supplied number of extra elements without growing, if it
+     * supports doing so.
+     *
+     * @param collection the collection to grow.
+     * @param size       the number of elements that are about to be added.
+     */
+    static void ensureCapacity(Collection<?> collection, int size) {
+
+        if (0 >= size) return;
+
+        final int capacity = (int) Math.min(Integer.MAX_VALUE, (long) collection.size() + size);
+
+        if (collection instanceof ArrayList) ((ArrayList<?>) collection).ensureCapacity(capacity);
+
+        else if (collection instanceof Vector) ((Vector<?>) collection).ensureCapacity(capacity);
+    }
+}
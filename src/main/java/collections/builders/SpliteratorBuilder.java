@@ -0,0 +1,151 @@
+package collections.builders;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This {@code SpliteratorBuilder} builds the elements of a {@link Spliterator}, or of a {@link Stream}, so that a
+ * stream pipeline can feed a builder collection without first being collected into another collection.
+ * <p/>
+ * It is a {@link BatchBuilder}, so the elements are passed to the collection a batch at a time, and a
+ * {@link SizedBuilder} that reports the exact size of a {@link Spliterator#SIZED} spliterator so that the backing
+ * collection is presized. It is also a {@link SplittableBuilder} that splits with {@link Spliterator#trySplit()}, so a
+ * collection that is given a {@link java.util.concurrent.ForkJoinPool} will build the parts of the spliterator in
+ * parallel. The spliterator must not contain {@code null} elements.
+ * <p/>
+ * Example:
+ * <code>
+ *      List<String> names = new BuilderList<>(SpliteratorBuilder.of(users.stream().map(User::getName)));
+ * </code>
+ *
+ * @param <E> the type of the elements that are built.
+ *
+ * @author Karl Bennett
+ */
+public class SpliteratorBuilder<E> implements SplittableBuilder<E>, SizedBuilder<E>, BatchBuilder<E> {
+
+    private final Spliterator<? extends E> spliterator;
+
+    private final Slot<E> slot = new Slot<>();
+
+
+    /**
+     * Instantiate a new {@code SpliteratorBuilder} that will build the elements of the supplied {@link Spliterator}.
+     *
+     * @param spliterator the spliterator to build the elements of.
+     */
+    public SpliteratorBuilder(Spliterator<? extends E> spliterator) {
+
+        if (null == spliterator) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(Spliterator) spliterator must not be null.");
+        }
+
+        this.spliterator = spliterator;
+    }
+
+
+    /**
+     * Create a new {@code SpliteratorBuilder} that will build the elements of the supplied {@link Stream}. The stream
+     * is consumed by the builder.
+     *
+     * @param stream the stream to build the elements of.
+     * @param <E>    the type of the streams elements.
+     * @return the builder for the stream.
+     */
+    public static <E> SpliteratorBuilder<E> of(Stream<? extends E> stream) {
+
+        if (null == stream) {
+
+            throw new IllegalArgumentException(SpliteratorBuilder.class.getName() +
+                    ".of(Stream) stream must not be null.");
+        }
+
+        return new SpliteratorBuilder<>(stream.spliterator());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E build() {
+
+        if (!spliterator.tryAdvance(slot)) return null;
+
+        return slot.take();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean build(Batch<E> batch) {
+
+        for (int i = batch.capacity(); 0 < i; i--) {
+
+            if (!spliterator.tryAdvance(slot)) return false;
+
+            batch.add(slot.take());
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SplittableBuilder<E> split() {
+
+        final Spliterator<? extends E> prefix = spliterator.trySplit();
+
+        return null == prefix ? null : new SpliteratorBuilder<E>(prefix);
+    }
+
+    /**
+     * The exact number of elements left in the spliterator if it is {@link Spliterator#SIZED}.
+     *
+     * @return the number of elements left, or {@code -1} if it is not known.
+     */
+    @Override
+    public int size() {
+
+        final long size = spliterator.getExactSizeIfKnown();
+
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+
+    /**
+     * Holds the single element that {@link Spliterator#tryAdvance(Consumer)} passes to it, so that advancing does not
+     * allocate a new consumer for each element.
+     */
+    private static final class Slot<E> implements Consumer<E> {
+
+        private E element;
+
+
+        @Override
+        public void accept(E element) {
+
+            if (null == element) {
+
+                throw new NullPointerException(SpliteratorBuilder.class.getName() +
+                        " the spliterator must not contain null elements.");
+            }
+
+            this.element = element;
+        }
+
+        E take() {
+
+            final E element = this.element;
+
+            this.element = null;
+
+            return element;
+        }
+    }
+}
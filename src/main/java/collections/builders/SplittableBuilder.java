@@ -0,0 +1,27 @@
+package collections.builders;
+
+/**
+ * A {@link Builder} that can divide the values it has left to build so that they can be built in parallel. The builder
+ * collections that are given a {@link java.util.concurrent.ForkJoinPool} will keep splitting the builder and then build
+ * each part on the pool before merging all the built values into their backing collection.
+ * <p/>
+ * Splitting follows the same rules as {@link java.util.Spliterator#trySplit()}, the returned builder must build the
+ * values that come before the values that are left in this builder so that lists can keep their order.
+ *
+ * @param <V> the type of value that is to be built.
+ *
+ * @author Karl Bennett
+ */
+public interface SplittableBuilder<V> extends Builder<V> {
+
+    /**
+     * Split off the first part of the values that this builder has left to build into a new builder. This builder will
+     * then only build the values that come after those of the returned builder.
+     * <p/>
+     * Both builders will be used at the same time from different threads so they must not share any mutable state. A
+     * builder should stop splitting once it's part is too small to be worth building in parallel.
+     *
+     * @return a builder for the first part of the remaining values, or {@code null} if this builder can not be split.
+     */
+    public SplittableBuilder<V> split();
+}
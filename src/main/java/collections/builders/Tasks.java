@@ -0,0 +1,52 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Helper methods for running many tasks at the same time and waiting for all of them to finish.
+ *
+ * @author Karl Bennett
+ */
+final class Tasks {
+
+    private Tasks() {
+    }
+
+
+    /**
+     * Run all the supplied tasks on the supplied executor and wait until every one of them has stopped. If any of the
+     * tasks failed then the first failure is thrown, unchecked failures are thrown as they are.
+     *
+     * @param tasks    the tasks to run.
+     * @param executor the executor to run the tasks on.
+     */
+    static void runAll(Collection<? extends Runnable> tasks, Executor executor) {
+
+        final List<CompletableFuture<Void>> runs = new ArrayList<>(tasks.size());
+
+        for (Runnable task : tasks) {
+
+            runs.add(CompletableFuture.runAsync(task, executor));
+        }
+
+        try {
+
+            CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[runs.size()])).join();
+
+        } catch (CompletionException e) {
+
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+
+            if (cause instanceof Error) throw (Error) cause;
+
+            throw new IllegalStateException("A concurrent build failed.", cause);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package collections.builders;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The ways that the two threads of a {@link PrefetchingBuilder} can wait for each other, when the consumer has nothing
+ * to take or the producer has no room left in the buffer. None of them take a lock, they trade the latency of noticing
+ * the other thread against the CPU that is burnt while waiting.
+ *
+ * @author Karl Bennett
+ */
+public enum WaitStrategy {
+
+    /**
+     * Busy spin. The lowest latency, but it keeps a core fully busy while waiting so it should only be used when both
+     * threads have a core of their own.
+     */
+    SPIN {
+        @Override
+        void idle(int attempt) {
+        }
+    },
+
+    /**
+     * Yield the thread on every attempt. Low latency while letting other threads use the core, though it still keeps a
+     * core busy if there is nothing else to run.
+     */
+    YIELD {
+        @Override
+        void idle(int attempt) {
+
+            Thread.yield();
+        }
+    },
+
+    /**
+     * Spin, then yield, then park for a short time on each attempt. Barely uses any CPU while waiting for a slow builder,
+     * at the cost of up to the park time in latency once the wait goes on for a while.
+     */
+    PARK {
+        @Override
+        void idle(int attempt) {
+
+            if (SPINS > attempt) return;
+
+            if (SPINS + YIELDS > attempt) Thread.yield();
+
+            else LockSupport.parkNanos(PARK_NANOS);
+        }
+    };
+
+
+    private static final int SPINS = 64;
+
+    private static final int YIELDS = 64;
+
+    private static final long PARK_NANOS = 50000;
+
+
+    /**
+     * Wait a little before trying again.
+     *
+     * @param attempt the number of times the waiting thread has already tried, starting at {@code 0}.
+     */
+    abstract void idle(int attempt);
+}
@@ -1,6 +1,9 @@
 /**
  * This package contains all the builder collections, these are collections that can be given logic that will be
  * evaluated within the collections constructor to build the elements that will be contained within the collection. The
- * supplied logic is evaluated up front so must be completable to allow the collection to finish construction.
+ * supplied logic is evaluated up front so must be completable to allow the collection to finish construction. The
+ * exceptions are the {@link collections.builders.LazyBuilderList} which only evaluates the logic as far as it's
+ * elements are accessed, and the asynchronous collections such as {@link collections.builders.AsyncBuilderList} which
+ * evaluate the logic on an {@link java.util.concurrent.Executor} while the collection is already being used.
  */
 package collections.builders;
\ No newline at end of file
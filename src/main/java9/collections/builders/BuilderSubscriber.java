@@ -0,0 +1,246 @@
+package collections.builders;
+
+import java.util.ArrayList;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * This {@code BuilderSubscriber} is a {@link Flow.Subscriber} that builds a builder collection from the elements of a
+ * {@link Flow.Publisher}, so a collection can be built from an asynchronous source without a thread being blocked in
+ * {@link Builder#build()} while it waits for each element.
+ * <p/>
+ * It is constructed with a batch size and a function that makes the collection from a {@link Builder}. Elements are
+ * requested a batch at a time, with the next batch requested once three quarters of the current one has arrived, so a
+ * publisher is never asked for more elements than the subscriber can hold without growing. The elements are kept in
+ * chunks until the publisher completes, then the function is called with a {@link SizedBuilder} and
+ * {@link BatchBuilder} over them, so the backing collection is presized and filled a batch at a time, and the future
+ * from {@link #result()} is completed with the collection.
+ * <p/>
+ * If the publisher fails then the future is completed with it's failure. Completing or cancelling the future early
+ * cancels the subscription when the next element arrives. The publisher must not publish {@code null} elements.
+ * <p/>
+ * This class needs Java 9 and is only compiled when the project is built on Java 9 or above.
+ * <p/>
+ * Example:
+ * <code>
+ *      BuilderSubscriber<String, BuilderList<String>> subscriber = BuilderSubscriber.toBuilderList(256);
+ * <p/>
+ *      publisher.subscribe(subscriber);
+ * <p/>
+ *      subscriber.result().thenAccept(list -> ...);
+ * </code>
+ *
+ * @param <E> the type of the published elements.
+ * @param <C> the type of the collection that is built.
+ *
+ * @author Karl Bennett
+ */
+public class BuilderSubscriber<E, C> implements Flow.Subscriber<E> {
+
+    private final int batchSize;
+
+    private final int replenish;
+
+    private final Function<? super Builder<E>, ? extends C> factory;
+
+    private final CompletableFuture<C> result = new CompletableFuture<>();
+
+    private Chunks<E> chunks = new Chunks<>();
+
+    private Flow.Subscription subscription;
+
+    private int received = 0;
+
+
+    /**
+     * Instantiate a new {@code BuilderSubscriber} that will request elements in batches of the supplied size and build
+     * it's collection with the supplied function once the publisher completes.
+     *
+     * @param batchSize the number of elements to request at a time.
+     * @param factory   the function that makes the collection from a builder of the published elements.
+     */
+    public BuilderSubscriber(int batchSize, Function<? super Builder<E>, ? extends C> factory) {
+
+        if (0 >= batchSize) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(int, Function) batchSize must be positive.");
+        }
+
+        if (null == factory) {
+
+            throw new IllegalArgumentException(getClass().getName() + "(int, Function) factory must not be null.");
+        }
+
+        this.batchSize = batchSize;
+        this.replenish = Math.max(1, batchSize - (batchSize >> 2));
+        this.factory = factory;
+    }
+
+
+    /**
+     * Create a subscriber that builds a {@link BuilderList} backed by an exactly presized {@link ArrayList}.
+     *
+     * @param batchSize the number of elements to request at a time.
+     * @param <E>       the type of the published elements.
+     * @return the list subscriber.
+     */
+    public static <E> BuilderSubscriber<E, BuilderList<E>> toBuilderList(int batchSize) {
+
+        return new BuilderSubscriber<>(batchSize, new Function<Builder<E>, BuilderList<E>>() {
+
+            @Override
+            public BuilderList<E> apply(Builder<E> builder) {
+
+                return new BuilderList<>(builder, new ArrayList<E>(Sizes.listCapacity(builder)));
+            }
+        });
+    }
+
+    /**
+     * Create a subscriber that builds a {@link BuilderSet} backed by a presized {@link java.util.HashSet}.
+     *
+     * @param batchSize the number of elements to request at a time.
+     * @param <E>       the type of the published elements.
+     * @return the set subscriber.
+     */
+    public static <E> BuilderSubscriber<E, BuilderSet<E>> toBuilderSet(int batchSize) {
+
+        return new BuilderSubscriber<>(batchSize, new Function<Builder<E>, BuilderSet<E>>() {
+
+            @Override
+            public BuilderSet<E> apply(Builder<E> builder) {
+
+                return new BuilderSet<>(builder);
+            }
+        });
+    }
+
+    /**
+     * Create a subscriber that builds a {@link BuilderMap} backed by a presized {@link java.util.HashMap} from
+     * published entries.
+     *
+     * @param batchSize the number of entries to request at a time.
+     * @param <K>       the type of the keys.
+     * @param <V>       the type of the values.
+     * @return the map subscriber.
+     */
+    public static <K, V> BuilderSubscriber<Entry<K, V>, BuilderMap<K, V>> toBuilderMap(int batchSize) {
+
+        return new BuilderSubscriber<>(batchSize, new Function<Builder<Entry<K, V>>, BuilderMap<K, V>>() {
+
+            @Override
+            public BuilderMap<K, V> apply(Builder<Entry<K, V>> builder) {
+
+                return new BuilderMap<>(builder);
+            }
+        });
+    }
+
+
+    /**
+     * The future that will be completed with the built collection once the publisher completes, or with the failure of
+     * the publisher or of the build.
+     *
+     * @return the future of the built collection.
+     */
+    public CompletableFuture<C> result() {
+
+        return result;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+
+        if (null == subscription) {
+
+            throw new NullPointerException(getClass().getName() +
+                    ".onSubscribe(Subscription) subscription must not be null.");
+        }
+
+        if (null != this.subscription) {
+
+            subscription.cancel();
+
+            return;
+        }
+
+        this.subscription = subscription;
+
+        subscription.request(batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onNext(E element) {
+
+        if (null == element) {
+
+            throw new NullPointerException(getClass().getName() + ".onNext(Object) element must not be null.");
+        }
+
+        if (result.isDone()) {
+
+            cancel();
+
+            return;
+        }
+
+        chunks.add(element);
+
+        if (replenish == ++received) {
+
+            received -= replenish;
+
+            subscription.request(replenish);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(Throwable throwable) {
+
+        chunks = null;
+
+        result.completeExceptionally(throwable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onComplete() {
+
+        final Chunks<E> built = chunks;
+
+        chunks = null;
+
+        if (null == built || result.isDone()) return;
+
+        try {
+
+            result.complete(factory.apply(built));
+
+        } catch (RuntimeException | Error e) {
+
+            result.completeExceptionally(e);
+        }
+    }
+
+
+    private void cancel() {
+
+        chunks = null;
+
+        subscription.cancel();
+    }
+}
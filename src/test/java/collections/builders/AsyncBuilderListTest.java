@@ -0,0 +1,205 @@
+package collections.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Karl Bennett
+ */
+public class AsyncBuilderListTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testAsyncBuilderListReturnsBeforeBuilding() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(3);
+
+        AsyncBuilderList<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        assertFalse("the list should not be built yet.", list.isBuilt());
+
+        builder.releaseAll();
+
+        assertEquals("the list should have been built correctly.", Arrays.asList(0, 1, 2),
+                list.future().get(1, TimeUnit.SECONDS));
+        assertTrue("the list should now be built.", list.isBuilt());
+    }
+
+    @Test
+    public void testGetOnlyWaitsForIndex() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(10);
+
+        AsyncBuilderList<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        builder.release(3);
+
+        assertEquals("the built element should be returned.", Integer.valueOf(2), list.get(2));
+        assertFalse("the list should not be fully built.", list.isBuilt());
+
+        builder.releaseAll();
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(10);
+
+        AsyncBuilderList<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        CompletableFuture<Integer> future = list.getAsync(5);
+        CompletableFuture<Integer> missing = list.getAsync(10);
+
+        assertFalse("the element should not be built yet.", future.isDone());
+
+        builder.release(6);
+
+        assertEquals("the future should complete with the element.", Integer.valueOf(5),
+                future.get(1, TimeUnit.SECONDS));
+        assertFalse("the missing element should not be complete yet.", missing.isDone());
+
+        builder.releaseAll();
+
+        try {
+
+            missing.get(1, TimeUnit.SECONDS);
+
+            fail("an index past the end should fail.");
+
+        } catch (ExecutionException e) {
+
+            assertTrue("an index past the end should be out of bounds.",
+                    e.getCause() instanceof IndexOutOfBoundsException);
+        }
+
+        assertEquals("a built element should be completed straight away.", Integer.valueOf(1),
+                list.getAsync(1).getNow(null));
+    }
+
+    @Test
+    public void testIteratorStreamsElements() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(3);
+
+        List<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        builder.release(1);
+
+        Iterator<Integer> iterator = list.iterator();
+
+        assertEquals("the first element should be iterated.", Integer.valueOf(0), iterator.next());
+
+        builder.releaseAll();
+
+        assertEquals("the second element should be iterated.", Integer.valueOf(1), iterator.next());
+        assertEquals("the third element should be iterated.", Integer.valueOf(2), iterator.next());
+        assertFalse("there should be no more elements.", iterator.hasNext());
+    }
+
+    @Test
+    public void testContainsOnlyWaitsForElement() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(10);
+
+        List<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        builder.release(2);
+
+        assertTrue("the built element should be contained.", list.contains(1));
+
+        builder.releaseAll();
+
+        assertFalse("an element that is never built should not be contained.", list.contains(10));
+        assertEquals("the size should be correct.", 10, list.size());
+    }
+
+    @Test
+    public void testFailedBuild() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(10, 2);
+
+        AsyncBuilderList<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        builder.releaseAll();
+
+        assertEquals("elements built before the failure should be available.", Integer.valueOf(1), list.get(1));
+
+        try {
+
+            list.size();
+
+            fail("a failed build should not have a size.");
+
+        } catch (IllegalStateException e) {
+
+            assertEquals("the builders failure should be the cause.", "build failure", e.getCause().getMessage());
+        }
+
+        try {
+
+            // The future is completed after the lock is released so it may lag the collection by a moment.
+            list.future().get(10, TimeUnit.SECONDS);
+
+            fail("the future should have failed.");
+
+        } catch (ExecutionException e) {
+
+            assertEquals("the future should have failed with the builders failure.", "build failure",
+                    e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testMutationAppliedAfterBuild() throws Exception {
+
+        GatedBuilder builder = new GatedBuilder(2);
+
+        List<Integer> list = new AsyncBuilderList<>(builder, executor);
+
+        builder.releaseAll();
+
+        list.add(2);
+
+        assertEquals("the added element should come after the built elements.", Arrays.asList(0, 1, 2), list);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsyncBuilderListWithNullBuilder() throws Exception {
+
+        new AsyncBuilderList<>(null, executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsyncBuilderListWithNullExecutor() throws Exception {
+
+        new AsyncBuilderList<>(new GatedBuilder(0), null);
+    }
+}
@@ -0,0 +1,149 @@
+package collections.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class AsyncBuilderMapTest {
+
+    private ExecutorService executor;
+
+    private GatedBuilder keys;
+
+    private Builder<Entry<Integer, String>> builder;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newSingleThreadExecutor();
+
+        keys = new GatedBuilder(10);
+
+        builder = new Builder<Entry<Integer, String>>() {
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                final Integer key = keys.build();
+
+                if (null == key) return null;
+
+                return new SimpleEntry<>(key, String.valueOf(key));
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testGetOnlyWaitsForKey() throws Exception {
+
+        AsyncBuilderMap<Integer, String> map = new AsyncBuilderMap<>(builder, executor);
+
+        keys.release(3);
+
+        assertEquals("the built value should be returned.", "2", map.get(2));
+        assertTrue("the built key should be contained.", map.containsKey(1));
+        assertFalse("the map should not be fully built.", map.isBuilt());
+
+        keys.releaseAll();
+
+        assertNull("a key that is never built should have no value.", map.get(10));
+        assertEquals("the size should be correct.", 10, map.size());
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+
+        AsyncBuilderMap<Integer, String> map = new AsyncBuilderMap<>(builder, executor);
+
+        CompletableFuture<String> future = map.getAsync(5);
+        CompletableFuture<String> missing = map.getAsync(10);
+
+        keys.release(6);
+
+        assertEquals("the future should complete with the value.", "5", future.get(1, TimeUnit.SECONDS));
+        assertFalse("the missing value should not be complete yet.", missing.isDone());
+
+        keys.releaseAll();
+
+        assertNull("a key that is never built should complete with null.", missing.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFuture() throws Exception {
+
+        Map<Integer, String> backing = new HashMap<>();
+
+        AsyncBuilderMap<Integer, String> map = new AsyncBuilderMap<>(builder, backing, executor);
+
+        keys.releaseAll();
+
+        assertEquals("the future should complete with the built map.", 10,
+                map.future().get(1, TimeUnit.SECONDS).size());
+        assertEquals("backing map should have been mutated.", 10, backing.size());
+    }
+
+    @Test
+    public void testGetAsyncWithEntryBuilder() throws Exception {
+
+        AsyncBuilderMap<Integer, String> map = new AsyncBuilderMap<>(new EntryBuilder<Integer, String>() {
+
+            @Override
+            public boolean build(EntrySink<Integer, String> sink) {
+
+                final Integer key = keys.build();
+
+                if (null == key) return false;
+
+                sink.put(key, String.valueOf(key));
+
+                return true;
+            }
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                throw new AssertionError("the single entry build should not be called for an entry builder.");
+            }
+        }, executor);
+
+        CompletableFuture<String> future = map.getAsync(5);
+
+        keys.release(6);
+
+        assertEquals("the future should complete with the value.", "5", future.get(1, TimeUnit.SECONDS));
+
+        keys.releaseAll();
+
+        assertEquals("the future should complete with the built map.", 10,
+                map.future().get(1, TimeUnit.SECONDS).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsyncBuilderMapWithNullMap() throws Exception {
+
+        new AsyncBuilderMap<>(builder, null, executor);
+    }
+}
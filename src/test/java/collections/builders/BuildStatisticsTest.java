@@ -0,0 +1,76 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuildStatisticsTest {
+
+    @Test
+    public void testBucket() throws Exception {
+
+        assertEquals("a time of zero should be in the first bucket.", 0, BuildStatistics.bucket(0));
+        assertEquals("a time of one should be in the first bucket.", 0, BuildStatistics.bucket(1));
+        assertEquals("a time of two should be in the second bucket.", 1, BuildStatistics.bucket(2));
+        assertEquals("a time of three should be in the second bucket.", 1, BuildStatistics.bucket(3));
+        assertEquals("a time of 1024 should be in the eleventh bucket.", 10, BuildStatistics.bucket(1024));
+        assertEquals("the largest time should be in the last bucket.", 62, BuildStatistics.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentile() throws Exception {
+
+        final BuildStatistics statistics = new BuildStatistics();
+
+        assertEquals("there should be no percentile without any calls.", 0, statistics.percentile(0.5));
+
+        for (int i = 0; i < 99; i++) statistics.built(1, 100);
+
+        statistics.built(1, 5000);
+
+        assertEquals("the median should be bounded by it's bucket.", 128, statistics.percentile(0.5));
+        assertEquals("the 99th percentile should be bounded by it's bucket.", 128, statistics.percentile(0.99));
+        assertEquals("the maximum should be bounded by it's bucket.", 8192, statistics.percentile(1));
+    }
+
+    @Test
+    public void testThroughput() throws Exception {
+
+        final BuildStatistics statistics = new BuildStatistics();
+
+        assertEquals("there should be no throughput before a build.", 0, statistics.throughput(), 0);
+
+        statistics.finished(1000, 500000000L);
+        statistics.finished(1000, 500000000L);
+
+        assertEquals("both builds should have been recorded.", 2, statistics.builds());
+        assertEquals("the throughput should cover both builds.", 2000, statistics.throughput(), 0.001);
+    }
+
+    @Test
+    public void testAccessed() throws Exception {
+
+        final BuildStatistics statistics = new BuildStatistics(10);
+
+        statistics.accessed(BuildListener.Access.PUT, 300);
+
+        assertEquals("the sample interval should be kept.", 10, statistics.sampleInterval());
+        assertEquals("the put should be in it's bucket.", 1, statistics.latencies(BuildListener.Access.PUT)[8]);
+        assertEquals("the put should not be counted as a get.", 0, statistics.percentile(BuildListener.Access.GET, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildStatisticsWithNegativeInterval() throws Exception {
+
+        new BuildStatistics(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileOutOfRange() throws Exception {
+
+        new BuildStatistics().percentile(1.5);
+    }
+}
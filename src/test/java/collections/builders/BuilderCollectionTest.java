@@ -2,6 +2,7 @@ package collections.builders;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Vector;
@@ -9,6 +10,7 @@ import java.util.Vector;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
@@ -115,6 +117,94 @@ public class BuilderCollectionTest {
                 builderCollection.toArray());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuilderCollectionWithSizedBuilder() throws Exception {
+
+        ArrayList<String> collection = mock(ArrayList.class);
+
+        new BuilderCollection<>(new SizedBuilder<String>() {
+
+            private int i = 0;
+
+            @Override
+            public int size() {
+
+                return 3;
+            }
+
+            @Override
+            public String build() {
+
+                i++;
+
+                if (1 == i) return ONE;
+
+                if (2 == i) return TWO;
+
+                if (3 == i) return THREE;
+
+                return null;
+            }
+        }, collection);
+
+        verify(collection).ensureCapacity(3);
+        verify(collection).add(ONE);
+        verify(collection).add(TWO);
+        verify(collection).add(THREE);
+    }
+
+    @Test
+    public void testBuilderCollectionWithBatchBuilder() throws Exception {
+
+        final int size = 2500;
+
+        Collection<Integer> builderCollection = new BuilderCollection<>(new BatchBuilder<Integer>() {
+
+            private int i = 0;
+            private boolean waited = false;
+
+            @Override
+            public boolean build(Batch<Integer> batch) {
+
+                if (!waited) {
+
+                    waited = true;
+
+                    return true;
+                }
+
+                while (!batch.isFull() && i < size) {
+
+                    batch.add(i++);
+                }
+
+                return i < size;
+            }
+
+            @Override
+            public Integer build() {
+
+                throw new AssertionError("the single element build should not be called for a batch builder.");
+            }
+        }, new Vector<Integer>());
+
+        assertEquals("the collection should contain every batched element.", size, builderCollection.size());
+
+        int i = 0;
+
+        for (Integer element : builderCollection) {
+
+            assertEquals("the batched elements should have been added in order.", Integer.valueOf(i++), element);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderCollectionWithNullPool() throws Exception {
+
+        new BuilderCollection<>(new RangeBuilder(0, 1), new Vector<Integer>(), null);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuilderMapWithNullBuilder() throws Exception {
 
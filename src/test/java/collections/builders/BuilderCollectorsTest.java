@@ -0,0 +1,247 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderCollectorsTest {
+
+    private static final int SIZE = 100000;
+
+    private static final Function<Integer, Integer> MODULO = new Function<Integer, Integer>() {
+
+        @Override
+        public Integer apply(Integer element) {
+
+            return element % 100;
+        }
+    };
+
+    /**
+     * Collapses the first half of the elements into a hundred values so that the later parts of a parallel stream
+     * collect more distinct elements than the earlier parts.
+     */
+    private static final Function<Integer, Integer> FIRST_HALF_MODULO = new Function<Integer, Integer>() {
+
+        @Override
+        public Integer apply(Integer element) {
+
+            return SIZE / 2 > element ? element % 100 : element;
+        }
+    };
+
+    private static final Function<Integer, Integer> IDENTITY = new Function<Integer, Integer>() {
+
+        @Override
+        public Integer apply(Integer element) {
+
+            return element;
+        }
+    };
+
+    @Test
+    public void testToBuilderList() throws Exception {
+
+        final BuilderList<Integer> builderList = IntStream.range(0, SIZE).boxed()
+                .collect(BuilderCollectors.<Integer>toBuilderList());
+
+        assertEquals("every element should have been collected.", SIZE, builderList.size());
+
+        for (int i = 0; i < SIZE; i++) {
+
+            assertEquals("every element should be in order.", Integer.valueOf(i), builderList.get(i));
+        }
+    }
+
+    @Test
+    public void testToBuilderListInParallel() throws Exception {
+
+        final List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < SIZE; i++) expected.add(i);
+
+        final BuilderList<Integer> builderList = expected.parallelStream()
+                .collect(BuilderCollectors.<Integer>toBuilderList());
+
+        assertEquals("the parallel collect should keep the order.", expected, new ArrayList<>(builderList));
+    }
+
+    @Test
+    public void testToBuilderListWithBacking() throws Exception {
+
+        final BuilderList<String> builderList = Stream.of("one", "two", "three")
+                .collect(BuilderCollectors.toBuilderList(new Supplier<List<String>>() {
+
+                    @Override
+                    public List<String> get() {
+
+                        return new LinkedList<>();
+                    }
+                }));
+
+        assertEquals("the elements should have been collected.", "two", builderList.get(1));
+    }
+
+    @Test
+    public void testToBuilderSetInParallel() throws Exception {
+
+        final BuilderSet<Integer> builderSet = IntStream.range(0, SIZE).boxed().parallel().map(MODULO)
+                .collect(BuilderCollectors.<Integer>toBuilderSet());
+
+        final Set<Integer> expected = new HashSet<>();
+
+        for (int i = 0; i < 100; i++) expected.add(i);
+
+        assertEquals("every distinct element should have been collected.", expected, new HashSet<>(builderSet));
+    }
+
+    @Test
+    public void testToBuilderSetWithBacking() throws Exception {
+
+        final BuilderSet<String> builderSet = Stream.of("two", "one", "three")
+                .collect(BuilderCollectors.toBuilderSet(new Supplier<Set<String>>() {
+
+                    @Override
+                    public Set<String> get() {
+
+                        return new TreeSet<>();
+                    }
+                }));
+
+        assertEquals("the backing set should have kept it's order.", "[one, three, two]", builderSet.toString());
+    }
+
+    @Test
+    public void testToBuilderSetInParallelKeepsTheEncounterOrder() throws Exception {
+
+        final BuilderSet<Integer> builderSet = IntStream.range(0, SIZE).boxed().parallel().map(FIRST_HALF_MODULO)
+                .collect(BuilderCollectors.toBuilderSet(new Supplier<Set<Integer>>() {
+
+                    @Override
+                    public Set<Integer> get() {
+
+                        return new LinkedHashSet<>();
+                    }
+                }));
+
+        final Set<Integer> expected = new LinkedHashSet<>();
+
+        for (int i = 0; i < SIZE; i++) expected.add(FIRST_HALF_MODULO.apply(i));
+
+        assertEquals("the linked set should be in encounter order even though the later part is larger.",
+                new ArrayList<>(expected), new ArrayList<>(builderSet));
+    }
+
+    @Test
+    public void testToBuilderMapInParallelKeepsTheEncounterOrder() throws Exception {
+
+        final BuilderMap<Integer, Integer> builderMap = IntStream.range(0, SIZE).boxed().parallel()
+                .collect(BuilderCollectors.toBuilderMap(FIRST_HALF_MODULO, IDENTITY, null,
+                        new Supplier<Map<Integer, Integer>>() {
+
+                            @Override
+                            public Map<Integer, Integer> get() {
+
+                                return new LinkedHashMap<>();
+                            }
+                        }));
+
+        final Map<Integer, Integer> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < SIZE; i++) expected.put(FIRST_HALF_MODULO.apply(i), i);
+
+        assertEquals("the linked map should be in encounter order even though the later part is larger.",
+                new ArrayList<>(expected.entrySet()), new ArrayList<>(builderMap.entrySet()));
+    }
+
+    @Test
+    public void testToBuilderMapKeepsTheLastValue() throws Exception {
+
+        final BuilderMap<Integer, Integer> builderMap = IntStream.range(0, SIZE).boxed().parallel()
+                .collect(BuilderCollectors.toBuilderMap(MODULO, IDENTITY));
+
+        assertEquals("every key should have been collected.", 100, builderMap.size());
+
+        for (int i = 0; i < 100; i++) {
+
+            assertEquals("the last value should have been kept.", Integer.valueOf(SIZE - 100 + i), builderMap.get(i));
+        }
+    }
+
+    @Test
+    public void testToBuilderMapWithMerge() throws Exception {
+
+        final BuilderMap<Integer, String> builderMap = IntStream.range(0, 1000).boxed().parallel()
+                .collect(BuilderCollectors.toBuilderMap(MODULO, new Function<Integer, String>() {
+
+                    @Override
+                    public String apply(Integer element) {
+
+                        return String.valueOf(element / 100);
+                    }
+
+                }, new BinaryOperator<String>() {
+
+                    @Override
+                    public String apply(String earlier, String later) {
+
+                        return earlier + later;
+                    }
+
+                }, new Supplier<Map<Integer, String>>() {
+
+                    @Override
+                    public Map<Integer, String> get() {
+
+                        return new TreeMap<>();
+                    }
+                }));
+
+        for (int i = 0; i < 100; i++) {
+
+            assertEquals("the values should have been merged in stream order.", "0123456789", builderMap.get(i));
+        }
+
+        assertTrue("the backing map should have been supplied.",
+                builderMap.toString().startsWith("{0=0123456789, 1=0123456789"));
+    }
+
+    @Test
+    public void testToBuilderMapSequential() throws Exception {
+
+        final Map<Integer, Integer> expected = new HashMap<>();
+
+        expected.put(1, 1);
+        expected.put(2, 2);
+
+        assertEquals("the map should have been collected.", expected,
+                new HashMap<>(Stream.of(1, 2).collect(BuilderCollectors.toBuilderMap(IDENTITY, IDENTITY))));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testToBuilderListWithNullElement() throws Exception {
+
+        Stream.of("one", null).collect(BuilderCollectors.<String>toBuilderList());
+    }
+}
@@ -0,0 +1,203 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderDoubleListTest {
+
+    private static final int SIZE = 1000;
+
+    /**
+     * A step that can not be held exactly, so the built values are not whole numbers.
+     */
+    private static final double STEP = 0.1;
+
+    @Test
+    public void testBuilderDoubleList() throws Exception {
+
+        BuilderDoubleList builderList = new BuilderDoubleList(new StepBuilder(SIZE), 1);
+
+        List<Double> list = new ArrayList<>();
+
+        for (int i = 0; i < SIZE; i++) {
+
+            list.add(i * STEP);
+        }
+
+        assertEquals("the fractional doubles should have been built.", list, builderList);
+        assertEquals("the list should equal a list of Doubles.", builderList, list);
+        assertEquals("the hash code should match Double.hashCode.", list.hashCode(), builderList.hashCode());
+        assertEquals("getDouble should return the exact unboxed element.", 500 * STEP, builderList.getDouble(500), 0);
+    }
+
+    @Test
+    public void testDoublesPastTheLongRange() throws Exception {
+
+        final double[] doubles = {-Double.MAX_VALUE, Long.MIN_VALUE * 2.0, Long.MAX_VALUE * 2.0, Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY};
+
+        BuilderDoubleList builderList = new BuilderDoubleList(new ArrayDoubleBuilder(doubles));
+
+        assertArrayEquals("doubles too large for a long should be kept exactly.", doubles,
+                builderList.toDoubleArray(), 0);
+        assertTrue("a double twice Long.MAX_VALUE should be found.", builderList.contains(Long.MAX_VALUE * 2.0));
+        assertFalse("it should not be confused with Long.MAX_VALUE itself.",
+                builderList.contains((double) Long.MAX_VALUE));
+        assertEquals("infinity should be found last.", 4, builderList.indexOf(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void testNaNAndNegativeZeroMatchDoubleEquals() throws Exception {
+
+        BuilderDoubleList builderList = new BuilderDoubleList(new ArrayDoubleBuilder(
+                new double[]{Double.NaN, 0.0, -0.0, Double.NaN}));
+
+        List<Double> boxed = Arrays.asList(Double.NaN, 0.0, -0.0, Double.NaN);
+
+        assertEquals("NaN should equal NaN and zero not equal negative zero, just like Double.equals.", boxed,
+                builderList);
+        assertEquals("the list should equal a list of Doubles that hold NaN.", builderList, boxed);
+        assertEquals("the hash code should tell the zeros apart like Double.hashCode.", boxed.hashCode(),
+                builderList.hashCode());
+        assertFalse("zero and negative zero should not be equal.", builderList.equals(new BuilderDoubleList(
+                new ArrayDoubleBuilder(new double[]{Double.NaN, -0.0, 0.0, Double.NaN}))));
+        assertEquals("NaN should be found even though NaN != NaN.", 0, builderList.indexOf(Double.NaN));
+        assertEquals("the last NaN should be found.", 3, builderList.lastIndexOf(Double.NaN));
+        assertEquals("zero should only match zero.", 1, builderList.indexOf(0.0));
+        assertEquals("negative zero should only match negative zero.", 2, builderList.indexOf(-0.0));
+        assertEquals("the boxed lookups should agree with List.indexOf.", boxed.indexOf(-0.0),
+                builderList.indexOf(Double.valueOf(-0.0)));
+    }
+
+    @Test
+    public void testEmptyBuilderDoubleList() throws Exception {
+
+        BuilderDoubleList builderList = new BuilderDoubleList(new StepBuilder(0));
+
+        assertEquals("no doubles should have been built.", 0, builderList.size());
+        assertTrue("the double list should be empty.", builderList.isEmpty());
+    }
+
+    @Test
+    public void testPrimitiveMethods() throws Exception {
+
+        BuilderDoubleList builderList = new BuilderDoubleList(new StepBuilder(3));
+
+        assertTrue("a built double should be contained.", builderList.contains(2 * STEP));
+        assertFalse("a double that was not built should not be contained.", builderList.contains(3 * STEP));
+        assertTrue("a boxed Double should be contained.", builderList.contains(Double.valueOf(STEP)));
+        assertFalse("a Float with the same value should not be contained.", builderList.contains(Float.valueOf(0)));
+        assertEquals("the index of a double should be found.", 1, builderList.indexOf(STEP));
+
+        builderList.add(0.5);
+        builderList.add(0, -1.5);
+        builderList.set(1, Double.MIN_VALUE);
+
+        assertEquals("removeDouble should return the removed double.", 0.5, builderList.removeDouble(4), 0);
+        assertArrayEquals("the double array should have been mutated.",
+                new double[]{-1.5, Double.MIN_VALUE, STEP, 2 * STEP}, builderList.toDoubleArray(), 0);
+        assertEquals("the list should equal the same Doubles.", Arrays.asList(-1.5, Double.MIN_VALUE, STEP, 2 * STEP),
+                builderList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() throws Exception {
+
+        new BuilderDoubleList(new StepBuilder(3), 100).getDouble(3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderThatBuildsTooMany() throws Exception {
+
+        new BuilderDoubleList(new DoubleBuilder() {
+
+            @Override
+            public int build(double[] values, int offset, int length) {
+
+                return length + 1;
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderDoubleListWithNullBuilder() throws Exception {
+
+        new BuilderDoubleList(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderDoubleListWithNegativeCapacity() throws Exception {
+
+        new BuilderDoubleList(new StepBuilder(0), -1);
+    }
+
+
+    /**
+     * Builds a number of multiples of the {@link #STEP}, at most seven at a time and sometimes none at all.
+     */
+    private static class StepBuilder implements DoubleBuilder {
+
+        private final int size;
+
+        private int i = 0;
+        private int calls = 0;
+
+        private StepBuilder(int size) {
+
+            this.size = size;
+        }
+
+        @Override
+        public int build(double[] values, int offset, int length) {
+
+            if (size == i) return -1;
+
+            if (0 == calls++ % 5) return 0;
+
+            final int count = Math.min(Math.min(7, length), size - i);
+
+            for (int j = 0; j < count; j++) {
+
+                values[offset + j] = i++ * STEP;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Builds the supplied doubles one at a time.
+     */
+    private static class ArrayDoubleBuilder implements DoubleBuilder {
+
+        private final double[] doubles;
+
+        private int i = 0;
+
+        private ArrayDoubleBuilder(double[] doubles) {
+
+            this.doubles = doubles;
+        }
+
+        @Override
+        public int build(double[] values, int offset, int length) {
+
+            if (doubles.length == i) return -1;
+
+            values[offset] = doubles[i++];
+
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderIntIntMapTest {
+
+    private static final int SIZE = 1000;
+
+    @Test
+    public void testBuilderIntIntMap() throws Exception {
+
+        final int[] keys = keys(SIZE);
+
+        BuilderIntIntMap builderMap = new BuilderIntIntMap(new ArrayIntIntBuilder(keys));
+
+        Map<Integer, Integer> map = boxed(keys);
+
+        assertEquals("the map should have been built correctly.", map, builderMap);
+        assertEquals("the map should equal a map of boxed entries.", builderMap, map);
+        assertEquals("the hash code should match a map of boxed entries.", map.hashCode(), builderMap.hashCode());
+        assertTrue("the zero key should be contained.", builderMap.containsKey(0));
+        assertEquals("the primitive get should return the value.", keys[10] * 10, builderMap.get(keys[10]));
+    }
+
+    @Test
+    public void testEmptyBuilderIntIntMap() throws Exception {
+
+        BuilderIntIntMap builderMap = new BuilderIntIntMap(new ArrayIntIntBuilder(new int[0]), 0);
+
+        assertEquals("the builder map should be empty.", 0, builderMap.size());
+        assertFalse("the builder map should not contain a key.", builderMap.containsKey(0));
+        assertFalse("the iterator should be empty.", builderMap.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testPrimitiveMethods() throws Exception {
+
+        BuilderIntIntMap builderMap = new BuilderIntIntMap(new ArrayIntIntBuilder(new int[]{0, 1, 2}));
+
+        assertEquals("a missing key should return zero.", 0, builderMap.get(3));
+        assertEquals("a missing key should return the default.", -1, builderMap.getOrDefault(3, -1));
+        assertNull("a missing boxed key should return null.", builderMap.get((Object) 3));
+        assertEquals("a new key should return zero.", 0, builderMap.put(3, 30));
+        assertEquals("an existing key should return the old value.", 30, builderMap.put(3, 31));
+        assertEquals("the zero key should return it's value.", 0, builderMap.remove(0));
+        assertFalse("the zero key should have been removed.", builderMap.containsKey(0));
+        assertEquals("an existing key should return it's value.", 20, builderMap.remove(2));
+        assertNull("a missing boxed key should not be removed.", builderMap.remove((Object) 2));
+        assertTrue("the value should be contained.", builderMap.containsValue(31));
+
+        Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+        map.put(1, 10);
+        map.put(3, 31);
+
+        assertEquals("the map should have been mutated.", map, builderMap);
+    }
+
+    @Test
+    public void testEntrySetValue() throws Exception {
+
+        BuilderIntIntMap builderMap = new BuilderIntIntMap(new ArrayIntIntBuilder(new int[]{0, 1}));
+
+        for (Map.Entry<Integer, Integer> entry : builderMap.entrySet()) {
+
+            entry.setValue(-entry.getKey());
+        }
+
+        assertEquals("the zero key value should have been set.", 0, builderMap.get(0));
+        assertEquals("the value should have been set.", -1, builderMap.get(1));
+    }
+
+    @Test
+    public void testIteratorRemove() throws Exception {
+
+        final int[] keys = keys(SIZE);
+
+        BuilderIntIntMap builderMap = new BuilderIntIntMap(new ArrayIntIntBuilder(keys), 1);
+
+        Map<Integer, Integer> map = boxed(keys);
+
+        Map<Integer, Integer> seen = new HashMap<Integer, Integer>();
+
+        for (Iterator<Map.Entry<Integer, Integer>> iterator = builderMap.entrySet().iterator(); iterator.hasNext(); ) {
+
+            final Map.Entry<Integer, Integer> entry = iterator.next();
+
+            assertNull("every entry should only be returned once.", seen.put(entry.getKey(), entry.getValue()));
+
+            if (0 == entry.getKey() % 2) {
+
+                iterator.remove();
+                map.remove(entry.getKey());
+            }
+        }
+
+        assertEquals("every entry should have been returned.", boxed(keys), seen);
+        assertEquals("the even keys should have been removed.", map, builderMap);
+    }
+
+    @Test
+    public void testIteratorRemoveAgainstHashMap() throws Exception {
+
+        final Random random = new Random(2000);
+
+        for (int trial = 0; trial < 2000; trial++) {
+
+            final int[] keys = new int[1 + random.nextInt(64)];
+
+            for (int i = 0; i < keys.length; i++) {
+
+                keys[i] = random.nextInt(keys.length * 2) - keys.length / 2;
+            }
+
+            final BuilderIntIntMap builderMap = new BuilderIntIntMap(new ArrayIntIntBuilder(keys), random.nextInt(8));
+
+            final Map<Integer, Integer> map = boxed(keys);
+
+            final Map<Integer, Integer> seen = new HashMap<Integer, Integer>();
+
+            final int removal = random.nextInt(4);
+
+            for (Iterator<Map.Entry<Integer, Integer>> iterator = builderMap.entrySet().iterator();
+                 iterator.hasNext(); ) {
+
+                final Map.Entry<Integer, Integer> entry = iterator.next();
+
+                assertNull("trial " + trial + " returned " + entry + " twice.",
+                        seen.put(entry.getKey(), entry.getValue()));
+
+                if (0 != removal && 0 == random.nextInt(removal + 1)) continue;
+
+                iterator.remove();
+                map.remove(entry.getKey());
+            }
+
+            assertEquals("trial " + trial + " should have returned every entry.", boxed(keys), seen);
+            assertEquals("trial " + trial + " should have removed the right entries.", map, builderMap);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullBuilder() throws Exception {
+
+        new BuilderIntIntMap(null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderThatBuildsTooMany() throws Exception {
+
+        new BuilderIntIntMap(new IntIntBuilder() {
+
+            @Override
+            public int build(int[] keys, int[] values, int offset, int length) {
+
+                return length + 1;
+            }
+        });
+    }
+
+
+    private static int[] keys(int size) {
+
+        final Random random = new Random(size);
+
+        final int[] keys = new int[size];
+
+        for (int i = 1; i < size; i++) {
+
+            keys[i] = random.nextInt(size * 4) - size;
+        }
+
+        return keys;
+    }
+
+    private static Map<Integer, Integer> boxed(int[] keys) {
+
+        final Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+
+        for (int key : keys) {
+
+            map.put(key, key * 10);
+        }
+
+        return map;
+    }
+
+    /**
+     * Builds an entry for each key with a value of ten times the key.
+     */
+    private static class ArrayIntIntBuilder implements IntIntBuilder {
+
+        private final int[] keys;
+
+        private int index = 0;
+
+        private ArrayIntIntBuilder(int[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public int build(int[] keys, int[] values, int offset, int length) {
+
+            if (this.keys.length == index) return -1;
+
+            final int count = Math.min(length, Math.min(7, this.keys.length - index));
+
+            for (int i = 0; i < count; i++) {
+
+                keys[offset + i] = this.keys[index];
+                values[offset + i] = this.keys[index++] * 10;
+            }
+
+            return count;
+        }
+    }
+}
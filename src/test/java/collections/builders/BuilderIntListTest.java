@@ -0,0 +1,206 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderIntListTest {
+
+    private static final int SIZE = 1000;
+
+    @Test
+    public void testSpliterator() throws Exception {
+
+        final Spliterator<Integer> spliterator = new BuilderIntList(new RangeBuilder(SIZE)).spliterator();
+
+        assertTrue("the spliterator should know it's size.", spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals("the spliterator should have the exact size.", SIZE, spliterator.getExactSizeIfKnown());
+
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+
+        assertEquals("the spliterator should split in half.", SIZE / 2, prefix.getExactSizeIfKnown());
+        assertEquals("the spliterator should keep the second half.", SIZE / 2, spliterator.getExactSizeIfKnown());
+
+        final List<Integer> elements = new ArrayList<>();
+
+        for (Iterator<Integer> iterator = Spliterators.iterator(prefix); iterator.hasNext(); ) {
+
+            elements.add(iterator.next());
+        }
+
+        for (Iterator<Integer> iterator = Spliterators.iterator(spliterator); iterator.hasNext(); ) {
+
+            elements.add(iterator.next());
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+
+            assertEquals("the halves should hold every element in order.", Integer.valueOf(i), elements.get(i));
+        }
+    }
+
+    @Test
+    public void testBuilderIntList() throws Exception {
+
+        BuilderIntList builderList = new BuilderIntList(new RangeBuilder(SIZE), 1);
+
+        List<Integer> list = new ArrayList<>();
+
+        for (int i = 0; i < SIZE; i++) {
+
+            list.add(i);
+        }
+
+        assertEquals("the list should have been built correctly.", list, builderList);
+        assertEquals("the list should equal a list of Integers.", builderList, list);
+        assertEquals("the hash code should match a list of Integers.", list.hashCode(), builderList.hashCode());
+        assertEquals("getInt should return the unboxed element.", 500, builderList.getInt(500));
+    }
+
+    @Test
+    public void testIntExtremes() throws Exception {
+
+        final int[] extremes = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+
+        BuilderIntList builderList = new BuilderIntList(new ArrayIntBuilder(extremes));
+
+        assertArrayEquals("the extreme ints should be kept exactly.", extremes, builderList.toIntArray());
+        assertEquals("the hash code should match Integer.hashCode.",
+                Arrays.asList(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE).hashCode(), builderList.hashCode());
+        assertEquals("Integer.MIN_VALUE should be found first.", 0, builderList.indexOf(Integer.MIN_VALUE));
+        assertEquals("Integer.MAX_VALUE should be found last.", 4, builderList.lastIndexOf(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testEmptyBuilderIntList() throws Exception {
+
+        BuilderIntList builderList = new BuilderIntList(new RangeBuilder(0));
+
+        assertEquals("an empty int list should have no size.", 0, builderList.size());
+        assertTrue("an empty int list should be empty.", builderList.isEmpty());
+    }
+
+    @Test
+    public void testPrimitiveMethods() throws Exception {
+
+        BuilderIntList builderList = new BuilderIntList(new RangeBuilder(3));
+
+        assertTrue("a built int should be contained.", builderList.contains(2));
+        assertFalse("an int that was not built should not be contained.", builderList.contains(3));
+        assertTrue("a boxed Integer should be contained.", builderList.contains(Integer.valueOf(1)));
+        assertFalse("a Long with the same value should not be contained.", builderList.contains(Long.valueOf(1)));
+        assertEquals("the index of an int should be found.", 1, builderList.indexOf(1));
+
+        builderList.add(3);
+        builderList.add(0, -1);
+        builderList.set(1, 10);
+
+        assertEquals("removeInt should return the removed int.", 3, builderList.removeInt(4));
+        assertArrayEquals("the int array should have been mutated.", new int[]{-1, 10, 1, 2},
+                builderList.toIntArray());
+        assertEquals("the list should equal the same Integers.", Arrays.asList(-1, 10, 1, 2), builderList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() throws Exception {
+
+        new BuilderIntList(new RangeBuilder(3), 100).getInt(3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderThatBuildsTooMany() throws Exception {
+
+        new BuilderIntList(new IntBuilder() {
+
+            @Override
+            public int build(int[] values, int offset, int length) {
+
+                return length + 1;
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderIntListWithNullBuilder() throws Exception {
+
+        new BuilderIntList(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderIntListWithNegativeCapacity() throws Exception {
+
+        new BuilderIntList(new RangeBuilder(0), -1);
+    }
+
+
+    /**
+     * Builds the ints up to a size, at most seven at a time and sometimes none at all.
+     */
+    private static class RangeBuilder implements IntBuilder {
+
+        private final int size;
+
+        private int i = 0;
+        private int calls = 0;
+
+        private RangeBuilder(int size) {
+
+            this.size = size;
+        }
+
+        @Override
+        public int build(int[] values, int offset, int length) {
+
+            if (size == i) return -1;
+
+            if (0 == calls++ % 5) return 0;
+
+            final int count = Math.min(Math.min(7, length), size - i);
+
+            for (int j = 0; j < count; j++) {
+
+                values[offset + j] = i++;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Builds the supplied ints one at a time.
+     */
+    private static class ArrayIntBuilder implements IntBuilder {
+
+        private final int[] ints;
+
+        private int i = 0;
+
+        private ArrayIntBuilder(int[] ints) {
+
+            this.ints = ints;
+        }
+
+        @Override
+        public int build(int[] values, int offset, int length) {
+
+            if (ints.length == i) return -1;
+
+            values[offset] = ints[i++];
+
+            return 1;
+        }
+    }
+}
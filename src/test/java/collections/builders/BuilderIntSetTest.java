@@ -0,0 +1,201 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderIntSetTest {
+
+    private static final int SIZE = 1000;
+
+    @Test
+    public void testBuilderIntSet() throws Exception {
+
+        final int[] values = values(SIZE);
+
+        BuilderIntSet builderSet = new BuilderIntSet(new ArrayIntBuilder(values));
+
+        Set<Integer> set = boxed(values);
+
+        assertEquals("the set should have been built correctly.", set, builderSet);
+        assertEquals("the set should equal a set of boxed elements.", builderSet, set);
+        assertEquals("the hash code should match a set of boxed elements.", set.hashCode(), builderSet.hashCode());
+        assertTrue("the zero element should be contained.", builderSet.contains(0));
+    }
+
+    @Test
+    public void testEmptyBuilderIntSet() throws Exception {
+
+        BuilderIntSet builderSet = new BuilderIntSet(new ArrayIntBuilder(new int[0]), 0);
+
+        assertEquals("the builder set should be empty.", 0, builderSet.size());
+        assertFalse("the builder set should not contain an element.", builderSet.contains(0));
+        assertFalse("the iterator should be empty.", builderSet.iterator().hasNext());
+    }
+
+    @Test
+    public void testPrimitiveMethods() throws Exception {
+
+        BuilderIntSet builderSet = new BuilderIntSet(new ArrayIntBuilder(new int[]{0, 1, 2, 2}));
+
+        assertEquals("duplicate elements should be ignored.", 3, builderSet.size());
+        assertTrue("a new element should be added.", builderSet.add(-1));
+        assertFalse("an existing element should not be added.", builderSet.add(1));
+        assertTrue("an existing element should be removed.", builderSet.remove(0));
+        assertFalse("a missing element should not be removed.", builderSet.remove(0));
+        assertFalse("a boxed element of the wrong type should not be contained.", builderSet.contains(1L));
+
+        final int[] array = builderSet.toIntArray();
+        Arrays.sort(array);
+
+        assertEquals("the set should have been mutated.", Arrays.toString(new int[]{-1, 1, 2}),
+                Arrays.toString(array));
+    }
+
+    @Test
+    public void testIteratorRemove() throws Exception {
+
+        final int[] values = values(SIZE);
+
+        BuilderIntSet builderSet = new BuilderIntSet(new ArrayIntBuilder(values), 1);
+
+        Set<Integer> set = boxed(values);
+
+        Set<Integer> seen = new HashSet<Integer>();
+
+        for (Iterator<Integer> iterator = builderSet.iterator(); iterator.hasNext(); ) {
+
+            final Integer value = iterator.next();
+
+            assertTrue("every element should only be returned once.", seen.add(value));
+
+            if (0 == value % 2) {
+
+                iterator.remove();
+                set.remove(value);
+            }
+        }
+
+        assertEquals("every element should have been returned.", boxed(values), seen);
+        assertEquals("the even elements should have been removed.", set, builderSet);
+
+        for (int value : values) {
+
+            assertEquals("the element should be found after the removals.", 0 != value % 2, builderSet.contains(value));
+        }
+    }
+
+    @Test
+    public void testIteratorRemoveAgainstHashSet() throws Exception {
+
+        final Random random = new Random(2000);
+
+        for (int trial = 0; trial < 2000; trial++) {
+
+            final int[] values = new int[1 + random.nextInt(64)];
+
+            for (int i = 0; i < values.length; i++) {
+
+                values[i] = random.nextInt(values.length * 2) - values.length / 2;
+            }
+
+            final BuilderIntSet builderSet = new BuilderIntSet(new ArrayIntBuilder(values), random.nextInt(8));
+
+            final Set<Integer> set = boxed(values);
+
+            final Set<Integer> seen = new HashSet<Integer>();
+
+            final int removal = random.nextInt(4);
+
+            for (Iterator<Integer> iterator = builderSet.iterator(); iterator.hasNext(); ) {
+
+                final Integer value = iterator.next();
+
+                assertTrue("trial " + trial + " returned " + value + " twice.", seen.add(value));
+
+                if (0 != removal && 0 == random.nextInt(removal + 1)) continue;
+
+                iterator.remove();
+                set.remove(value);
+            }
+
+            assertEquals("trial " + trial + " should have returned every element.", boxed(values), seen);
+            assertEquals("trial " + trial + " should have removed the right elements.", set, builderSet);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullBuilder() throws Exception {
+
+        new BuilderIntSet(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedSize() throws Exception {
+
+        new BuilderIntSet(new ArrayIntBuilder(new int[0]), -1);
+    }
+
+
+    private static int[] values(int size) {
+
+        final Random random = new Random(size);
+
+        final int[] values = new int[size];
+
+        for (int i = 1; i < size; i++) {
+
+            values[i] = random.nextInt(size * 4) - size;
+        }
+
+        return values;
+    }
+
+    private static Set<Integer> boxed(int[] values) {
+
+        final Set<Integer> set = new HashSet<Integer>();
+
+        for (int value : values) {
+
+            set.add(value);
+        }
+
+        return set;
+    }
+
+    private static class ArrayIntBuilder implements IntBuilder {
+
+        private final int[] values;
+
+        private int index = 0;
+
+        private ArrayIntBuilder(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int build(int[] values, int offset, int length) {
+
+            if (this.values.length == index) return -1;
+
+            final int count = Math.min(length, Math.min(7, this.values.length - index));
+
+            System.arraycopy(this.values, index, values, offset, count);
+
+            index += count;
+
+            return count;
+        }
+    }
+}
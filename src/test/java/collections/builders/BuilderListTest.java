@@ -3,10 +3,17 @@ package collections.builders;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -113,6 +120,200 @@ public class BuilderListTest {
         assertEquals("the list should have been built correctly.", resultList, builderList);
     }
 
+    @Test
+    public void testBuilderListWithSizedBuilder() throws Exception {
+
+        List<String> builderList = new BuilderList<>(new SizedBuilder<String>() {
+
+            private int i = 0;
+
+            @Override
+            public int size() {
+
+                return 1;
+            }
+
+            @Override
+            public String build() {
+
+                i++;
+
+                if (1 == i) return ONE;
+
+                if (2 == i) return TWO;
+
+                if (3 == i) return THREE;
+
+                return null;
+            }
+        });
+
+        assertEquals("the list should have been built correctly even if the size was wrong.", LIST, builderList);
+    }
+
+    @Test
+    public void testBuilderListWithSplittableBuilder() throws Exception {
+
+        final int size = 10000;
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            List<Integer> builderList = new BuilderList<>(new RangeBuilder(0, size), new ArrayList<Integer>(), pool);
+
+            assertEquals("every element should have been built.", size, builderList.size());
+
+            for (int i = 0; i < size; i++) {
+
+                assertEquals("the elements should be in order.", Integer.valueOf(i), builderList.get(i));
+            }
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuilderListWithBuildListener() throws Exception {
+
+        final BuildStatistics statistics = new BuildStatistics(1);
+
+        final BuilderList<Integer> builderList = new BuilderList<>(statistics, new RangeBuilder(0, 100),
+                new ArrayList<Integer>());
+
+        assertEquals("the list should have been built.", 100, builderList.size());
+        assertEquals("one build should have finished.", 1, statistics.builds());
+        assertEquals("every element should have been counted.", 100, statistics.elements());
+        assertEquals("every call to the builder should have been counted.", 101, statistics.calls());
+        assertEquals("every call to the builder should be in the histogram.", 101, sum(statistics.latencies()));
+
+        builderList.get(0);
+        builderList.get(1);
+        builderList.contains(2);
+
+        assertEquals("every get should have been sampled.", 2, sum(statistics.latencies(BuildListener.Access.GET)));
+        assertEquals("every contains should have been sampled.", 1,
+                sum(statistics.latencies(BuildListener.Access.CONTAINS)));
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+
+        final ChangeBuilder<Integer> builder = new ChangeBuilder<Integer>().add(1, 2, 3, 2);
+
+        final BuilderList<Integer> builderList = new BuilderList<>(builder);
+
+        builder.add(4, 5).remove(2);
+
+        builderList.refresh();
+
+        assertEquals("the new elements should have been appended and the removed ones taken out.",
+                Arrays.asList(1, 3, 4, 5), builderList);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRefreshWithoutResumableBuilder() throws Exception {
+
+        new BuilderList<>(new RangeBuilder(0, 3)).refresh();
+    }
+
+    @Test
+    public void testSpliterator() throws Exception {
+
+        final BuilderList<Integer> builderList = new BuilderList<>(new RangeBuilder(0, 1000));
+
+        final Spliterator<Integer> spliterator = builderList.spliterator();
+
+        assertTrue("the spliterator should know it's size.", spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertTrue("the spliterators splits should know their size.",
+                spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals("the spliterator should have the exact size.", 1000, spliterator.getExactSizeIfKnown());
+        assertEquals("the parallel stream should see every element in order.",
+                new ArrayList<>(builderList), builderList.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+
+        final BuilderList<Integer> builderList = new BuilderList<>(new RangeBuilder(0, 1000));
+
+        List<Integer> frozen = builderList.freeze();
+
+        assertEquals("the frozen list should equal the builder list.", new ArrayList<>(builderList), frozen);
+        assertEquals("the frozen list should have the same hash code.", builderList.hashCode(), frozen.hashCode());
+        assertEquals("the frozen list should find an element.", 500, frozen.indexOf(500));
+
+        builderList.add(1000);
+
+        assertEquals("the frozen list should not change with the builder list.", 1000, frozen.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFrozenListIsImmutable() throws Exception {
+
+        new BuilderList<>(new RangeBuilder(0, 3)).freeze().add(3);
+    }
+
+    @Test
+    public void testCachedHashCode() throws Exception {
+
+        final BuilderList<Integer> builderList = new BuilderList<>(new RangeBuilder(0, 100));
+
+        builderList.cacheHashCode();
+
+        builderList.add(1000);
+
+        assertEquals("appending should keep the hash code up to date.", new ArrayList<>(builderList).hashCode(),
+                builderList.hashCode());
+
+        builderList.add(0, 2000);
+        builderList.set(10, 3000);
+        builderList.remove(Integer.valueOf(50));
+
+        assertEquals("any other change should be noticed.", new ArrayList<>(builderList).hashCode(),
+                builderList.hashCode());
+
+        builderList.subList(10, 20).clear();
+
+        assertEquals("a change through a sub list should be noticed.", new ArrayList<>(builderList).hashCode(),
+                builderList.hashCode());
+
+        final ListIterator<Integer> iterator = builderList.listIterator();
+
+        iterator.next();
+        iterator.set(4000);
+
+        assertEquals("a change through a list iterator should be noticed.", new ArrayList<>(builderList).hashCode(),
+                builderList.hashCode());
+
+        builderList.subList(0, 50).subList(0, 10).remove(0);
+
+        assertEquals("a change through a nested sub list should be noticed.", new ArrayList<>(builderList).hashCode(),
+                builderList.hashCode());
+
+        builderList.clear();
+
+        assertEquals("a cleared list should have the empty hash code.", 1, builderList.hashCode());
+    }
+
+    @Test
+    public void testCachedHashCodeEquals() throws Exception {
+
+        final BuilderList<Integer> one = new BuilderList<>(new RangeBuilder(0, 100));
+        final BuilderList<Integer> another = new BuilderList<>(new RangeBuilder(0, 100));
+
+        one.cacheHashCode();
+        another.cacheHashCode();
+
+        assertEquals("lists with the same elements should still be equal.", one, another);
+
+        another.add(100);
+
+        assertFalse("lists with different hash codes should not be equal.", one.equals(another));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuilderMapWithNullBuilder() throws Exception {
 
@@ -137,4 +338,14 @@ public class BuilderListTest {
 
         new BuilderList(null, null);
     }
+
+
+    private static long sum(long[] counts) {
+
+        long sum = 0;
+
+        for (long count : counts) sum += count;
+
+        return sum;
+    }
 }
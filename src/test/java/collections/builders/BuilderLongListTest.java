@@ -0,0 +1,183 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderLongListTest {
+
+    private static final int SIZE = 1000;
+
+    /**
+     * The first value built, past the largest int so that every value needs the full width of a long.
+     */
+    private static final long START = Integer.MAX_VALUE + 1L;
+
+    @Test
+    public void testBuilderLongList() throws Exception {
+
+        BuilderLongList builderList = new BuilderLongList(new RangeBuilder(START, SIZE), 1);
+
+        List<Long> list = new ArrayList<>();
+
+        for (long value = START; value < START + SIZE; value++) {
+
+            list.add(value);
+        }
+
+        assertEquals("the longs past the int range should have been built.", list, builderList);
+        assertEquals("the list should equal a list of Longs.", builderList, list);
+        assertEquals("the hash code should fold the high bits like Long.hashCode.", list.hashCode(),
+                builderList.hashCode());
+        assertEquals("getLong should return the unboxed element.", START + 500, builderList.getLong(500));
+    }
+
+    @Test
+    public void testLongsThatOverflowAnInt() throws Exception {
+
+        final long[] longs = {Long.MIN_VALUE, Integer.MIN_VALUE - 1L, -1, 1L << 32, Long.MAX_VALUE};
+
+        BuilderLongList builderList = new BuilderLongList(new ArrayLongBuilder(longs));
+
+        assertArrayEquals("no long should have been truncated.", longs, builderList.toLongArray());
+        assertEquals("the hash code should match a list of Longs.",
+                Arrays.asList(Long.MIN_VALUE, Integer.MIN_VALUE - 1L, -1L, 1L << 32, Long.MAX_VALUE).hashCode(),
+                builderList.hashCode());
+        assertTrue("a long whose low 32 bits are zero should be found.", builderList.contains(1L << 32));
+        assertFalse("a long should not match another with the same low 32 bits.", builderList.contains(0L));
+        assertEquals("Long.MAX_VALUE should be found last.", 4, builderList.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testEmptyBuilderLongList() throws Exception {
+
+        BuilderLongList builderList = new BuilderLongList(new RangeBuilder(START, 0));
+
+        assertEquals("no longs should have been built.", 0, builderList.size());
+        assertTrue("the long list should be empty.", builderList.isEmpty());
+    }
+
+    @Test
+    public void testPrimitiveMethods() throws Exception {
+
+        BuilderLongList builderList = new BuilderLongList(new RangeBuilder(0, 3));
+
+        assertTrue("a built long should be contained.", builderList.contains(2L));
+        assertFalse("a long that was not built should not be contained.", builderList.contains(3L));
+        assertTrue("a boxed Long should be contained.", builderList.contains(Long.valueOf(1)));
+        assertFalse("an Integer with the same value should not be contained.",
+                builderList.contains(Integer.valueOf(1)));
+        assertEquals("the index of a long should be found.", 1, builderList.indexOf(1L));
+
+        builderList.add(Long.MAX_VALUE);
+        builderList.add(0, Long.MIN_VALUE);
+        builderList.set(1, START);
+
+        assertEquals("removeLong should return the removed long.", Long.MAX_VALUE, builderList.removeLong(4));
+        assertArrayEquals("the long array should have been mutated.", new long[]{Long.MIN_VALUE, START, 1, 2},
+                builderList.toLongArray());
+        assertEquals("the list should equal the same Longs.", Arrays.asList(Long.MIN_VALUE, START, 1L, 2L),
+                builderList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() throws Exception {
+
+        new BuilderLongList(new RangeBuilder(0, 3), 100).getLong(3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderThatBuildsTooMany() throws Exception {
+
+        new BuilderLongList(new LongBuilder() {
+
+            @Override
+            public int build(long[] values, int offset, int length) {
+
+                return length + 1;
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderLongListWithNullBuilder() throws Exception {
+
+        new BuilderLongList(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderLongListWithNegativeCapacity() throws Exception {
+
+        new BuilderLongList(new RangeBuilder(0, 0), -1);
+    }
+
+
+    /**
+     * Builds a number of consecutive longs from a start, at most seven at a time and sometimes none at all.
+     */
+    private static class RangeBuilder implements LongBuilder {
+
+        private final long end;
+
+        private long next;
+        private int calls = 0;
+
+        private RangeBuilder(long start, int size) {
+
+            this.next = start;
+            this.end = start + size;
+        }
+
+        @Override
+        public int build(long[] values, int offset, int length) {
+
+            if (end == next) return -1;
+
+            if (0 == calls++ % 5) return 0;
+
+            final int count = (int) Math.min(Math.min(7, length), end - next);
+
+            for (int j = 0; j < count; j++) {
+
+                values[offset + j] = next++;
+            }
+
+            return count;
+        }
+    }
+
+    /**
+     * Builds the supplied longs one at a time.
+     */
+    private static class ArrayLongBuilder implements LongBuilder {
+
+        private final long[] longs;
+
+        private int i = 0;
+
+        private ArrayLongBuilder(long[] longs) {
+
+            this.longs = longs;
+        }
+
+        @Override
+        public int build(long[] values, int offset, int length) {
+
+            if (longs.length == i) return -1;
+
+            values[offset] = longs[i++];
+
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderLongObjectMapTest {
+
+    private static final int SIZE = 1000;
+
+    @Test
+    public void testBuilderLongObjectMap() throws Exception {
+
+        final long[] keys = keys(SIZE);
+
+        BuilderLongObjectMap<String> builderMap = new BuilderLongObjectMap<String>(new ArrayLongObjectBuilder(keys));
+
+        Map<Long, String> map = boxed(keys);
+
+        assertEquals("the map should have been built correctly.", map, builderMap);
+        assertEquals("the map should equal a map of boxed entries.", builderMap, map);
+        assertEquals("the hash code should match a map of boxed entries.", map.hashCode(), builderMap.hashCode());
+        assertTrue("the zero key should be contained.", builderMap.containsKey(0L));
+        assertEquals("the primitive get should return the value.", "value " + keys[10], builderMap.get(keys[10]));
+    }
+
+    @Test
+    public void testEmptyBuilderLongObjectMap() throws Exception {
+
+        BuilderLongObjectMap<String> builderMap = new BuilderLongObjectMap<String>(
+                new ArrayLongObjectBuilder(new long[0]), 0);
+
+        assertEquals("the builder map should be empty.", 0, builderMap.size());
+        assertFalse("the builder map should not contain a key.", builderMap.containsKey(0L));
+        assertFalse("the iterator should be empty.", builderMap.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testPrimitiveMethods() throws Exception {
+
+        BuilderLongObjectMap<String> builderMap = new BuilderLongObjectMap<String>(
+                new ArrayLongObjectBuilder(new long[]{0L, 1L, 2L}));
+
+        assertNull("a missing key should return null.", builderMap.get(3L));
+        assertNull("a boxed key of the wrong type should return null.", builderMap.get((Object) 1));
+        assertNull("a new key should return null.", builderMap.put(3L, "three"));
+        assertEquals("an existing key should return the old value.", "three", builderMap.put(3L, "3"));
+        assertNull("a null value should be allowed.", builderMap.put(4L, null));
+        assertTrue("a key with a null value should be contained.", builderMap.containsKey(4L));
+        assertTrue("a null value should be contained.", builderMap.containsValue(null));
+        assertEquals("the zero key should return it's value.", "value 0", builderMap.remove(0L));
+        assertFalse("the zero key should have been removed.", builderMap.containsKey(0L));
+        assertEquals("an existing key should return it's value.", "value 2", builderMap.remove(2L));
+        assertNull("a missing key should not be removed.", builderMap.remove(2L));
+
+        Map<Long, String> map = new HashMap<Long, String>();
+        map.put(1L, "value 1");
+        map.put(3L, "3");
+        map.put(4L, null);
+
+        assertEquals("the map should have been mutated.", map, builderMap);
+    }
+
+    @Test
+    public void testIteratorRemove() throws Exception {
+
+        final long[] keys = keys(SIZE);
+
+        BuilderLongObjectMap<String> builderMap = new BuilderLongObjectMap<String>(
+                new ArrayLongObjectBuilder(keys), 1);
+
+        Map<Long, String> map = boxed(keys);
+
+        Map<Long, String> seen = new HashMap<Long, String>();
+
+        for (Iterator<Map.Entry<Long, String>> iterator = builderMap.entrySet().iterator(); iterator.hasNext(); ) {
+
+            final Map.Entry<Long, String> entry = iterator.next();
+
+            assertNull("every entry should only be returned once.", seen.put(entry.getKey(), entry.getValue()));
+
+            if (0 == entry.getKey() % 2) {
+
+                iterator.remove();
+                map.remove(entry.getKey());
+            }
+        }
+
+        assertEquals("every entry should have been returned.", boxed(keys), seen);
+        assertEquals("the even keys should have been removed.", map, builderMap);
+    }
+
+    @Test
+    public void testIteratorRemoveAgainstHashMap() throws Exception {
+
+        final Random random = new Random(2000);
+
+        for (int trial = 0; trial < 2000; trial++) {
+
+            final long[] keys = new long[1 + random.nextInt(64)];
+
+            for (int i = 0; i < keys.length; i++) {
+
+                keys[i] = random.nextInt(keys.length * 2) - keys.length / 2;
+            }
+
+            final BuilderLongObjectMap<String> builderMap = new BuilderLongObjectMap<String>(
+                    new ArrayLongObjectBuilder(keys), random.nextInt(8));
+
+            final Map<Long, String> map = boxed(keys);
+
+            final Map<Long, String> seen = new HashMap<Long, String>();
+
+            final int removal = random.nextInt(4);
+
+            for (Iterator<Map.Entry<Long, String>> iterator = builderMap.entrySet().iterator(); iterator.hasNext(); ) {
+
+                final Map.Entry<Long, String> entry = iterator.next();
+
+                assertNull("trial " + trial + " returned " + entry + " twice.",
+                        seen.put(entry.getKey(), entry.getValue()));
+
+                if (0 != removal && 0 == random.nextInt(removal + 1)) continue;
+
+                iterator.remove();
+                map.remove(entry.getKey());
+            }
+
+            assertEquals("trial " + trial + " should have returned every entry.", boxed(keys), seen);
+            assertEquals("trial " + trial + " should have removed the right entries.", map, builderMap);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullBuilder() throws Exception {
+
+        new BuilderLongObjectMap<String>(null);
+    }
+
+
+    private static long[] keys(int size) {
+
+        final Random random = new Random(size);
+
+        final long[] keys = new long[size];
+
+        for (int i = 1; i < size; i++) {
+
+            keys[i] = random.nextLong() % (size * 4L);
+        }
+
+        return keys;
+    }
+
+    private static Map<Long, String> boxed(long[] keys) {
+
+        final Map<Long, String> map = new HashMap<Long, String>();
+
+        for (long key : keys) {
+
+            map.put(key, "value " + key);
+        }
+
+        return map;
+    }
+
+    private static class ArrayLongObjectBuilder implements LongObjectBuilder<String> {
+
+        private final long[] keys;
+
+        private int index = 0;
+
+        private ArrayLongObjectBuilder(long[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean build(LongObjectEntry<String> entry) {
+
+            if (keys.length == index) return false;
+
+            entry.set(keys[index], "value " + keys[index++]);
+
+            return true;
+        }
+    }
+}
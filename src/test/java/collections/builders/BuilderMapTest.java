@@ -2,15 +2,27 @@ package collections.builders;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 
 import static java.util.AbstractMap.SimpleEntry;
 import static java.util.Map.Entry;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Karl Bennett
@@ -111,6 +123,433 @@ public class BuilderMapTest {
         assertEquals("the map should have been built correctly.", resultMap, builderMap);
     }
 
+    @Test
+    public void testBuilderMapWithSizedBuilder() throws Exception {
+
+        Map<Integer, String> builderMap = new BuilderMap<>(new SizedBuilder<Entry<Integer, String>>() {
+
+            private int i = 0;
+
+            @Override
+            public int size() {
+
+                return -1;
+            }
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                i++;
+
+                if (1 == i) return new SimpleEntry<>(1, ONE);
+
+                if (2 == i) return new SimpleEntry<>(2, TWO);
+
+                if (3 == i) return new SimpleEntry<>(3, THREE);
+
+                return null;
+            }
+        });
+
+        assertEquals("the map should have been built correctly with an unknown size.", MAP, builderMap);
+    }
+
+    @Test
+    public void testBuilderMapWithBatchBuilder() throws Exception {
+
+        Map<Integer, String> builderMap = new BuilderMap<>(new BatchBuilder<Entry<Integer, String>>() {
+
+            @Override
+            public boolean build(Batch<Entry<Integer, String>> batch) {
+
+                batch.add(new SimpleEntry<>(1, ONE));
+                batch.add(new SimpleEntry<>(2, TWO));
+                batch.add(new SimpleEntry<>(3, THREE));
+
+                return false;
+            }
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                throw new AssertionError("the single entry build should not be called for a batch builder.");
+            }
+        });
+
+        assertEquals("the map should have been built correctly.", MAP, builderMap);
+    }
+
+    @Test
+    public void testBuilderMapWithEntryBuilder() throws Exception {
+
+        Map<Integer, String> builderMap = new BuilderMap<>(new EntryBuilder<Integer, String>() {
+
+            private int i = 0;
+
+            @Override
+            public boolean build(EntrySink<Integer, String> sink) {
+
+                if (0 == i++) {
+
+                    sink.put(1, ONE);
+                    sink.put(2, TWO);
+
+                    return true;
+                }
+
+                sink.put(3, THREE);
+
+                return false;
+            }
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                throw new AssertionError("the single entry build should not be called for an entry builder.");
+            }
+        });
+
+        assertEquals("the map should have been built correctly.", MAP, builderMap);
+    }
+
+    @Test
+    public void testBuilderMapWithSplittableBuilder() throws Exception {
+
+        final int size = 10000;
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            Map<Integer, String> builderMap = new BuilderMap<>(new EntryRangeBuilder(0, size),
+                    new HashMap<Integer, String>(), pool);
+
+            assertEquals("every entry should have been built.", size, builderMap.size());
+
+            for (int i = 0; i < size; i++) {
+
+                assertEquals("every entry should be correct.", String.valueOf(i), builderMap.get(i));
+            }
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuilderMapWithSplittableEntryBuilder() throws Exception {
+
+        final int size = 10000;
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            Map<Integer, String> builderMap = new BuilderMap<>(new SplittableEntryBuilder(new RangeBuilder(0, size)),
+                    new HashMap<Integer, String>(), pool);
+
+            assertEquals("every entry should have been built through the entry sink.", size, builderMap.size());
+
+            for (int i = 0; i < size; i++) {
+
+                assertEquals("every entry should be correct.", String.valueOf(i), builderMap.get(i));
+            }
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuilderMapWithSplittableBuilderAndConcurrentMap() throws Exception {
+
+        final int size = 10000;
+
+        final Set<Thread> putters = ConcurrentHashMap.newKeySet();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            Map<Integer, String> builderMap = new BuilderMap<>(new EntryRangeBuilder(0, size),
+                    new ConcurrentHashMap<Integer, String>() {
+
+                        @Override
+                        public String put(Integer key, String value) {
+
+                            putters.add(Thread.currentThread());
+
+                            return super.put(key, value);
+                        }
+                    }, pool);
+
+            assertEquals("every entry should have been built.", size, builderMap.size());
+
+            for (int i = 0; i < size; i++) {
+
+                assertEquals("every entry should be correct.", String.valueOf(i), builderMap.get(i));
+            }
+
+            assertFalse("the entries should have been put on the pool.", putters.contains(Thread.currentThread()));
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuilderMapWithBuildListener() throws Exception {
+
+        final BuildStatistics statistics = new BuildStatistics(2);
+
+        final Map<Integer, String> builderMap = new BuilderMap<>(statistics, new EntryBuilder<Integer, String>() {
+
+            private int i = 0;
+
+            @Override
+            public boolean build(EntrySink<Integer, String> sink) {
+
+                if (0 == i++) {
+
+                    sink.put(1, ONE);
+                    sink.put(2, TWO);
+
+                    return true;
+                }
+
+                sink.put(3, THREE);
+
+                return false;
+            }
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                throw new AssertionError("the single entry build should not be called for an entry builder.");
+            }
+        }, new HashMap<Integer, String>());
+
+        assertEquals("every entry should have been built.", 3, builderMap.size());
+        assertEquals("every entry should have been counted.", 3, statistics.elements());
+        assertEquals("every call to the entry builder should have been counted.", 2, statistics.calls());
+
+        builderMap.get(1);
+        builderMap.get(2);
+        builderMap.containsKey(3);
+        builderMap.put(4, "four");
+
+        assertEquals("only the second get should have been sampled.", 1,
+                sum(statistics.latencies(BuildListener.Access.GET)));
+        assertEquals("the contains should not have been sampled.", 0,
+                sum(statistics.latencies(BuildListener.Access.CONTAINS)));
+        assertEquals("the put should have been sampled.", 1, sum(statistics.latencies(BuildListener.Access.PUT)));
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+
+        final ChangeBuilder<Entry<Integer, String>> builder = new ChangeBuilder<Entry<Integer, String>>()
+                .add(new SimpleEntry<>(1, ONE), new SimpleEntry<>(2, "old"), new SimpleEntry<>(4, "four"));
+
+        final BuilderMap<Integer, String> builderMap = new BuilderMap<>(builder);
+
+        builder.add(new SimpleEntry<>(2, TWO), new SimpleEntry<>(3, THREE)).remove(4);
+
+        builderMap.refresh();
+
+        assertEquals("the changed entries should have been upserted and the removed keys taken out.", MAP,
+                new HashMap<>(builderMap));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRefreshWithoutResumableBuilder() throws Exception {
+
+        new BuilderMap<>(new EntryRangeBuilder(0, 3)).refresh();
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+
+        final BuilderMap<Integer, String> builderMap = new BuilderMap<>(new EntryBuilder<Integer, String>() {
+
+            @Override
+            public boolean build(EntrySink<Integer, String> sink) {
+
+                for (int i = 0; i < 1000; i++) {
+
+                    sink.put(i, String.valueOf(i));
+                }
+
+                sink.put(null, "null");
+                sink.put(1000, null);
+
+                return false;
+            }
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                throw new AssertionError("the single entry build should not be called for an entry builder.");
+            }
+        });
+
+        Map<Integer, String> frozen = builderMap.freeze();
+
+        assertEquals("the frozen map should equal the builder map.", new HashMap<>(builderMap), frozen);
+        assertEquals("the builder map should equal the frozen map.", frozen, builderMap);
+        assertEquals("the frozen map should have the same hash code.", builderMap.hashCode(), frozen.hashCode());
+        assertEquals("the frozen map should find the null key.", "null", frozen.get(null));
+        assertTrue("the frozen map should contain the key with a null value.", frozen.containsKey(1000));
+        assertNull("the frozen map should not find a missing key.", frozen.get(1001));
+    }
+
+    @Test
+    public void testFreezeSortedMap() throws Exception {
+
+        final Iterator<String> words = Arrays.asList(TWO, ONE, THREE).iterator();
+
+        final BuilderMap<String, Integer> builderMap = new BuilderMap<>(new Builder<Entry<String, Integer>>() {
+
+            @Override
+            public Entry<String, Integer> build() {
+
+                if (!words.hasNext()) return null;
+
+                final String word = words.next();
+
+                return new SimpleEntry<>(word, word.length());
+            }
+        }, new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER));
+
+        Map<String, Integer> frozen = builderMap.freeze();
+
+        assertEquals("the frozen map should keep the sorted order.", Arrays.asList(ONE, THREE, TWO),
+                new ArrayList<>(frozen.keySet()));
+        assertEquals("the frozen map should find a key with the maps comparator.", Integer.valueOf(3),
+                frozen.get("ONE"));
+        assertTrue("the frozen map should contain a key with the maps comparator.", frozen.containsKey("Three"));
+        assertNull("the frozen map should not find a missing key.", frozen.get("four"));
+    }
+
+    @Test
+    public void testFreezeKeepsInsertionOrder() throws Exception {
+
+        final Iterator<String> words = Arrays.asList(THREE, ONE, TWO).iterator();
+
+        final BuilderMap<String, Integer> builderMap = new BuilderMap<>(new Builder<Entry<String, Integer>>() {
+
+            @Override
+            public Entry<String, Integer> build() {
+
+                if (!words.hasNext()) return null;
+
+                final String word = words.next();
+
+                return new SimpleEntry<>(word, word.length());
+            }
+        }, new LinkedHashMap<String, Integer>());
+
+        Map<String, Integer> frozen = builderMap.freeze();
+
+        assertEquals("the frozen map should keep the insertion order.", Arrays.asList(THREE, ONE, TWO),
+                new ArrayList<>(frozen.keySet()));
+        assertEquals("the frozen map should find a built key.", Integer.valueOf(5), frozen.get(THREE));
+        assertNull("the frozen map should not find a missing key.", frozen.get("four"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFrozenMapIsImmutable() throws Exception {
+
+        new BuilderMap<>(new EntryRangeBuilder(0, 3)).freeze().put(1, ONE);
+    }
+
+    @Test
+    public void testCachedHashCode() throws Exception {
+
+        final BuilderMap<Integer, String> builderMap = new BuilderMap<>(new EntryRangeBuilder(0, 100));
+
+        builderMap.cacheHashCode();
+
+        builderMap.put(1000, ONE);
+        builderMap.put(1, TWO);
+        builderMap.put(2, null);
+        builderMap.put(2, THREE);
+        builderMap.put(null, null);
+        builderMap.remove(3);
+        builderMap.remove(3000);
+
+        assertEquals("single changes should keep the hash code up to date.", new HashMap<>(builderMap).hashCode(),
+                builderMap.hashCode());
+
+        builderMap.keySet().remove(4);
+        builderMap.values().remove("5");
+
+        assertEquals("a change through the key set or values should be noticed.",
+                new HashMap<>(builderMap).hashCode(), builderMap.hashCode());
+
+        builderMap.entrySet().iterator().next().setValue(THREE);
+
+        assertEquals("a change through an entry should be noticed.", new HashMap<>(builderMap).hashCode(),
+                builderMap.hashCode());
+
+        @SuppressWarnings("unchecked")
+        final Entry<Integer, String> entry = (Entry<Integer, String>) builderMap.entrySet().toArray()[0];
+
+        entry.setValue(ONE);
+
+        assertEquals("a change through an entry from an array should be noticed.",
+                new HashMap<>(builderMap).hashCode(), builderMap.hashCode());
+
+        @SuppressWarnings("unchecked")
+        final Entry<Integer, String>[] entries = builderMap.entrySet().toArray(new Entry[0]);
+
+        entries[1].setValue(TWO);
+
+        assertEquals("a change through an entry from a typed array should be noticed.",
+                new HashMap<>(builderMap).hashCode(), builderMap.hashCode());
+
+        builderMap.merge(10, ONE, new BiFunction<String, String, String>() {
+
+            @Override
+            public String apply(String previous, String value) {
+
+                return previous + value;
+            }
+        });
+
+        assertEquals("a change through a default method should be noticed.", new HashMap<>(builderMap).hashCode(),
+                builderMap.hashCode());
+
+        builderMap.clear();
+
+        assertEquals("a cleared map should have the empty hash code.", 0, builderMap.hashCode());
+    }
+
+    @Test
+    public void testCachedHashCodeEquals() throws Exception {
+
+        final BuilderMap<Integer, String> one = new BuilderMap<>(new EntryRangeBuilder(0, 100));
+        final BuilderMap<Integer, String> another = new BuilderMap<>(new EntryRangeBuilder(0, 100));
+
+        one.cacheHashCode();
+        another.cacheHashCode();
+
+        assertEquals("maps with the same entries should still be equal.", one, another);
+
+        another.put(1, ONE);
+
+        assertFalse("maps with different hash codes should not be equal.", one.equals(another));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderMapWithNullPool() throws Exception {
+
+        new BuilderMap<>(new EntryRangeBuilder(0, 1), new HashMap<Integer, String>(), null);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuilderMapWithNullBuilder() throws Exception {
 
@@ -135,4 +574,57 @@ public class BuilderMapTest {
 
         new BuilderMap(null, null);
     }
+
+
+    private static long sum(long[] counts) {
+
+        long sum = 0;
+
+        for (long count : counts) sum += count;
+
+        return sum;
+    }
+
+    /**
+     * A splittable {@link EntryBuilder} that only builds through it's {@link EntrySink}, just as the builder maps
+     * expect, so it's single entry build returns {@code null}.
+     */
+    private static class SplittableEntryBuilder implements SplittableBuilder<Entry<Integer, String>>,
+            EntryBuilder<Integer, String> {
+
+        private final RangeBuilder range;
+
+        private SplittableEntryBuilder(RangeBuilder range) {
+
+            this.range = range;
+        }
+
+        @Override
+        public SplittableBuilder<Entry<Integer, String>> split() {
+
+            final RangeBuilder prefix = (RangeBuilder) range.split();
+
+            if (null == prefix) return null;
+
+            return new SplittableEntryBuilder(prefix);
+        }
+
+        @Override
+        public boolean build(EntrySink<Integer, String> sink) {
+
+            final Integer key = range.build();
+
+            if (null == key) return false;
+
+            sink.put(key, String.valueOf(key));
+
+            return true;
+        }
+
+        @Override
+        public Entry<Integer, String> build() {
+
+            return null;
+        }
+    }
 }
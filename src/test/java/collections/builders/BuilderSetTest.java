@@ -2,13 +2,24 @@ package collections.builders;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.junit.Assert.assertFalse;
 
 /**
  * @author Karl Bennett
@@ -113,6 +124,234 @@ public class BuilderSetTest {
         assertEquals("the set should have been built correctly.", resultSet, builderSet);
     }
 
+    @Test
+    public void testBuilderSetWithSizedBuilder() throws Exception {
+
+        Set<String> builderSet = new BuilderSet<>(new SizedBuilder<String>() {
+
+            private int i = 0;
+
+            @Override
+            public int size() {
+
+                return 1000000;
+            }
+
+            @Override
+            public String build() {
+
+                i++;
+
+                if (1 == i) return ONE;
+
+                if (2 == i) return TWO;
+
+                if (3 == i) return THREE;
+
+                return null;
+            }
+        });
+
+        assertEquals("the set should have been built correctly even if the size was wrong.", SET, builderSet);
+    }
+
+    @Test
+    public void testBuilderSetWithSplittableBuilder() throws Exception {
+
+        final int size = 10000;
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            Set<Integer> builderSet = new BuilderSet<>(new RangeBuilder(0, size), new HashSet<Integer>(), pool);
+
+            assertEquals("every element should have been built.", size, builderSet.size());
+
+            for (int i = 0; i < size; i++) {
+
+                assertTrue("every element should be contained.", builderSet.contains(i));
+            }
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBuilderSetWithSplittableBuilderAndConcurrentSet() throws Exception {
+
+        final int size = 10000;
+
+        final Set<Thread> adders = ConcurrentHashMap.newKeySet();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            Set<Integer> builderSet = new BuilderSet<>(new RangeBuilder(0, size), new ConcurrentSkipListSet<Integer>() {
+
+                @Override
+                public boolean add(Integer element) {
+
+                    adders.add(Thread.currentThread());
+
+                    return super.add(element);
+                }
+            }, pool);
+
+            assertEquals("every element should have been built.", size, builderSet.size());
+
+            for (int i = 0; i < size; i++) {
+
+                assertTrue("every element should be contained.", builderSet.contains(i));
+            }
+
+            assertFalse("the elements should have been added on the pool.", adders.contains(Thread.currentThread()));
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+
+        final BuilderSet<Integer> builderSet = new BuilderSet<>(new RangeBuilder(0, 3));
+
+        builderSet.refresh(new ChangeBuilder<Integer>().add(2, 3).remove(0));
+
+        assertEquals("the changes should have been applied in place.", new HashSet<>(Arrays.asList(1, 2, 3)),
+                builderSet);
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+
+        final BuilderSet<Integer> builderSet = new BuilderSet<>(new RangeBuilder(0, 1000));
+
+        builderSet.add(null);
+
+        Set<Integer> frozen = builderSet.freeze();
+
+        assertEquals("the frozen set should equal the builder set.", new HashSet<>(builderSet), frozen);
+        assertEquals("the builder set should equal the frozen set.", frozen, builderSet);
+        assertEquals("the frozen set should have the same hash code.", builderSet.hashCode(), frozen.hashCode());
+        assertTrue("the frozen set should contain the null element.", frozen.contains(null));
+        assertFalse("the frozen set should not contain a missing element.", frozen.contains(1000));
+    }
+
+    @Test
+    public void testFreezeSortedSet() throws Exception {
+
+        final Iterator<String> words = Arrays.asList(TWO, ONE, THREE).iterator();
+
+        final BuilderSet<String> builderSet = new BuilderSet<>(new Builder<String>() {
+
+            @Override
+            public String build() {
+
+                return words.hasNext() ? words.next() : null;
+            }
+        }, new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
+
+        Set<String> frozen = builderSet.freeze();
+
+        assertEquals("the frozen set should keep the sorted order.", Arrays.asList(ONE, THREE, TWO),
+                new ArrayList<>(frozen));
+        assertTrue("the frozen set should find an element with the sets comparator.", frozen.contains("ONE"));
+        assertFalse("the frozen set should not contain a missing element.", frozen.contains("four"));
+    }
+
+    @Test
+    public void testFreezeKeepsInsertionOrder() throws Exception {
+
+        final Iterator<String> words = Arrays.asList(THREE, ONE, TWO).iterator();
+
+        final BuilderSet<String> builderSet = new BuilderSet<>(new Builder<String>() {
+
+            @Override
+            public String build() {
+
+                return words.hasNext() ? words.next() : null;
+            }
+        }, new LinkedHashSet<String>());
+
+        Set<String> frozen = builderSet.freeze();
+
+        assertEquals("the frozen set should keep the insertion order.", Arrays.asList(THREE, ONE, TWO),
+                new ArrayList<>(frozen));
+        assertTrue("the frozen set should contain a built element.", frozen.contains(ONE));
+        assertFalse("the frozen set should not contain a missing element.", frozen.contains("four"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFrozenSetIsImmutable() throws Exception {
+
+        new BuilderSet<>(new RangeBuilder(0, 3)).freeze().remove(1);
+    }
+
+    @Test
+    public void testCachedHashCode() throws Exception {
+
+        final BuilderSet<Integer> builderSet = new BuilderSet<>(new RangeBuilder(0, 100));
+
+        builderSet.cacheHashCode();
+
+        builderSet.add(1000);
+        builderSet.add(1000);
+        builderSet.remove(5);
+        builderSet.remove(5000);
+
+        assertEquals("single changes should keep the hash code up to date.", new HashSet<>(builderSet).hashCode(),
+                builderSet.hashCode());
+
+        final Iterator<Integer> iterator = builderSet.iterator();
+
+        iterator.next();
+        iterator.remove();
+
+        assertEquals("a change through the iterator should be noticed.", new HashSet<>(builderSet).hashCode(),
+                builderSet.hashCode());
+
+        builderSet.removeIf(new Predicate<Integer>() {
+
+            @Override
+            public boolean test(Integer element) {
+
+                return 0 == element % 2;
+            }
+        });
+
+        assertEquals("a bulk change should be noticed.", new HashSet<>(builderSet).hashCode(), builderSet.hashCode());
+
+        builderSet.clear();
+
+        assertEquals("a cleared set should have the empty hash code.", 0, builderSet.hashCode());
+    }
+
+    @Test
+    public void testCachedHashCodeEquals() throws Exception {
+
+        final BuilderSet<Integer> one = new BuilderSet<>(new RangeBuilder(0, 100));
+        final BuilderSet<Integer> another = new BuilderSet<>(new RangeBuilder(0, 100));
+
+        one.cacheHashCode();
+        another.cacheHashCode();
+
+        assertEquals("sets with the same elements should still be equal.", one, another);
+
+        another.add(100);
+
+        assertFalse("sets with different hash codes should not be equal.", one.equals(another));
+
+        one.add(100);
+
+        assertEquals("the sets should be equal again.", one, another);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuilderMapWithNullBuilder() throws Exception {
 
@@ -0,0 +1,43 @@
+package collections.builders;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * A {@link DiffBuilder} that builds the values and removals that a test has queued since it was last drained.
+ *
+ * @author Karl Bennett
+ */
+class ChangeBuilder<V> implements DiffBuilder<V> {
+
+    private final Queue<V> added = new ArrayDeque<>();
+    private final Queue<Object> removed = new ArrayDeque<>();
+
+    @SafeVarargs
+    final ChangeBuilder<V> add(V... values) {
+
+        for (V value : values) added.add(value);
+
+        return this;
+    }
+
+    ChangeBuilder<V> remove(Object... values) {
+
+        removed.addAll(Arrays.asList(values));
+
+        return this;
+    }
+
+    @Override
+    public V build() {
+
+        return added.poll();
+    }
+
+    @Override
+    public Object removed() {
+
+        return removed.poll();
+    }
+}
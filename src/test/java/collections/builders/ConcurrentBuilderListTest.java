@@ -0,0 +1,183 @@
+package collections.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class ConcurrentBuilderListTest {
+
+    private static final int SIZE = 10000;
+
+    private static final int THREADS = 4;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentBuilderList() throws Exception {
+
+        List<Integer> builderList = new ConcurrentBuilderList<>(new RangeBuilder(0, SIZE));
+
+        List<Integer> list = new ArrayList<>(SIZE);
+
+        for (int i = 0; i < SIZE; i++) {
+
+            list.add(i);
+        }
+
+        assertEquals("the list should have been built correctly.", list, builderList);
+    }
+
+    @Test
+    public void testConcurrentBuilderListWithManyBuilders() throws Exception {
+
+        List<Builder<Integer>> builders = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+
+            builders.add(new RangeBuilder(i * SIZE, (i + 1) * SIZE));
+        }
+
+        List<Integer> builderList = new ConcurrentBuilderList<>(builders, executor);
+
+        assertEquals("every element should have been added.", THREADS * SIZE, builderList.size());
+        assertEquals("every element should be distinct.", THREADS * SIZE, new HashSet<>(builderList).size());
+    }
+
+    @Test
+    public void testConcurrentAddAndGet() throws Exception {
+
+        final ConcurrentBuilderList<Integer> builderList = new ConcurrentBuilderList<>(new RangeBuilder(0, 0));
+
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final List<Future<?>> writers = new ArrayList<>();
+
+        for (int i = 0; i < THREADS - 1; i++) {
+
+            final int offset = i * SIZE;
+
+            writers.add(executor.submit(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    await(start);
+
+                    for (int j = 0; j < SIZE; j++) {
+
+                        if (0 == j % 100) builderList.addAll(Arrays.asList(offset + j, offset + j + 1));
+
+                        else if (1 != j % 100) builderList.add(offset + j);
+                    }
+                }
+            }));
+        }
+
+        final Future<Integer> reader = executor.submit(new Callable<Integer>() {
+
+            @Override
+            public Integer call() throws Exception {
+
+                await(start);
+
+                int read = 0;
+
+                while (read < (THREADS - 1) * SIZE) {
+
+                    for (int size = builderList.size(); read < size; read++) {
+
+                        assertNotNull("a published element should never be missing.", builderList.get(read));
+                    }
+                }
+
+                return read;
+            }
+        });
+
+        start.countDown();
+
+        for (Future<?> writer : writers) {
+
+            writer.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals("the reader should have seen every element.", Integer.valueOf((THREADS - 1) * SIZE),
+                reader.get(10, TimeUnit.SECONDS));
+
+        Set<Integer> elements = new HashSet<>(builderList);
+
+        for (int i = 0; i < (THREADS - 1) * SIZE; i++) {
+
+            assertTrue("every added element should be in the list.", elements.contains(i));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testConcurrentBuilderListIsAppendOnly() throws Exception {
+
+        new ConcurrentBuilderList<>(new RangeBuilder(0, 3)).remove(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() throws Exception {
+
+        new ConcurrentBuilderList<>(new RangeBuilder(0, 3)).add(null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPastEnd() throws Exception {
+
+        new ConcurrentBuilderList<>(new RangeBuilder(0, 3)).get(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentBuilderListWithNullExecutor() throws Exception {
+
+        new ConcurrentBuilderList<>(Collections.<Builder<Integer>>emptyList(), null);
+    }
+
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+
+            latch.await();
+
+        } catch (InterruptedException e) {
+
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package collections.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Karl Bennett
+ */
+public class ConcurrentBuilderMapTest {
+
+    private static final int SIZE = 10000;
+
+    private static final int THREADS = 4;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() {
+
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentBuilderMap() throws Exception {
+
+        List<Builder<Entry<Integer, String>>> builders = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+
+            builders.add(new EntryRangeBuilder(i * SIZE, (i + 1) * SIZE));
+        }
+
+        ConcurrentMap<Integer, String> backing = new ConcurrentHashMap<>();
+
+        Map<Integer, String> builderMap = new ConcurrentBuilderMap<>(builders, backing, null, executor);
+
+        Map<Integer, String> map = new HashMap<>();
+
+        for (int i = 0; i < THREADS * SIZE; i++) {
+
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals("the map should have been built correctly.", map, builderMap);
+        assertEquals("the backing map should have been mutated.", map, backing);
+    }
+
+    @Test
+    public void testConcurrentBuilderMapWithMerge() throws Exception {
+
+        final AtomicInteger next = new AtomicInteger();
+
+        final Builder<Entry<Integer, Integer>> builder = new Builder<Entry<Integer, Integer>>() {
+
+            @Override
+            public Entry<Integer, Integer> build() {
+
+                final int i = next.getAndIncrement();
+
+                return SIZE > i ? new SimpleEntry<>(i % 10, 1) : null;
+            }
+        };
+
+        Map<Integer, Integer> builderMap = new ConcurrentBuilderMap<>(Collections.nCopies(THREADS, builder),
+                new BiFunction<Integer, Integer, Integer>() {
+
+                    @Override
+                    public Integer apply(Integer count, Integer more) {
+
+                        return count + more;
+                    }
+                }, executor);
+
+        Map<Integer, Integer> map = new HashMap<>();
+
+        for (int i = 0; i < 10; i++) {
+
+            map.put(i, SIZE / 10);
+        }
+
+        assertEquals("the values of every duplicate key should have been merged.", map, builderMap);
+    }
+
+    @Test
+    public void testConcurrentBuilderMapWithNoBuilders() throws Exception {
+
+        assertEquals("the map should be empty.", Collections.emptyMap(),
+                new ConcurrentBuilderMap<>(Collections.<Builder<Entry<Integer, String>>>emptyList(), executor));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testConcurrentBuilderMapRethrowsFailure() throws Exception {
+
+        new ConcurrentBuilderMap<>(Collections.singletonList(new Builder<Entry<Integer, String>>() {
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                throw new UnsupportedOperationException();
+            }
+        }), executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentBuilderMapWithNullBuilder() throws Exception {
+
+        new ConcurrentBuilderMap<>(Collections.<Builder<Entry<Integer, String>>>singletonList(null), executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConcurrentBuilderMapWithNullExecutor() throws Exception {
+
+        new ConcurrentBuilderMap<>(Collections.<Builder<Entry<Integer, String>>>emptyList(), null);
+    }
+}
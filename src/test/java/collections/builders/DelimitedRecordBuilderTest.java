@@ -0,0 +1,113 @@
+package collections.builders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Karl Bennett
+ */
+public class DelimitedRecordBuilderTest {
+
+    private static final RecordParser<String> STRINGS = new RecordParser<String>() {
+
+        @Override
+        public String parse(ByteBuffer record) {
+
+            return StandardCharsets.UTF_8.decode(record).toString();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDelimitedRecordBuilder() throws Exception {
+
+        final File file = write("lines.txt", "one\ntwo\n\na record longer than the window\nthree");
+
+        List<String> builderList = new BuilderList<>(new DelimitedRecordBuilder<>(file.toPath(), (byte) '\n', STRINGS,
+                4));
+
+        assertEquals("the list should have been built from the records.",
+                Arrays.asList("one", "two", "", "a record longer than the window", "three"), builderList);
+    }
+
+    @Test
+    public void testDelimitedRecordBuilderWithTrailingDelimiter() throws Exception {
+
+        final File file = write("lines.txt", "one,two,");
+
+        assertEquals("the set should have been built from the records.", new HashSet<>(Arrays.asList("one", "two")),
+                new BuilderSet<>(new DelimitedRecordBuilder<>(file.toPath(), (byte) ',', STRINGS)));
+    }
+
+    @Test
+    public void testDelimitedRecordBuilderSkipsNullRecords() throws Exception {
+
+        final File file = write("entries.txt", "# a comment\none=1\ntwo=2\n");
+
+        Map<String, Integer> builderMap = new BuilderMap<>(new DelimitedRecordBuilder<>(file.toPath(), (byte) '\n',
+                new RecordParser<Entry<String, Integer>>() {
+
+                    @Override
+                    public Entry<String, Integer> parse(ByteBuffer record) {
+
+                        if ('#' == record.get(record.position())) return null;
+
+                        final String line = StandardCharsets.UTF_8.decode(record).toString();
+
+                        final int equals = line.indexOf('=');
+
+                        return new SimpleEntry<>(line.substring(0, equals),
+                                Integer.valueOf(line.substring(equals + 1)));
+                    }
+                }));
+
+        Map<String, Integer> map = new HashMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+
+        assertEquals("the map should have been built from the records that were not skipped.", map, builderMap);
+    }
+
+    @Test
+    public void testDelimitedRecordBuilderWithEmptyFile() throws Exception {
+
+        final File file = write("empty.txt", "");
+
+        assertEquals("the list should be empty.", Collections.emptyList(),
+                new BuilderList<>(new DelimitedRecordBuilder<>(file.toPath(), (byte) '\n', STRINGS)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDelimitedRecordBuilderWithNullParser() throws Exception {
+
+        new DelimitedRecordBuilder<>(write("lines.txt", "one").toPath(), (byte) '\n', null);
+    }
+
+
+    private File write(String name, String content) throws Exception {
+
+        final File file = new File(folder.getRoot(), name);
+
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        return file;
+    }
+}
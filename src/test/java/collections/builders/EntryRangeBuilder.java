@@ -0,0 +1,45 @@
+package collections.builders;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+
+/**
+ * A {@link SplittableBuilder} that builds an entry for each integer in a range, with the integer as the key and it's
+ * string as the value, and splits in the same way as a {@link RangeBuilder}.
+ *
+ * @author Karl Bennett
+ */
+class EntryRangeBuilder implements SplittableBuilder<Entry<Integer, String>> {
+
+    private final RangeBuilder range;
+
+    EntryRangeBuilder(int from, int to) {
+
+        this(new RangeBuilder(from, to));
+    }
+
+    private EntryRangeBuilder(RangeBuilder range) {
+
+        this.range = range;
+    }
+
+    @Override
+    public SplittableBuilder<Entry<Integer, String>> split() {
+
+        final RangeBuilder prefix = (RangeBuilder) range.split();
+
+        if (null == prefix) return null;
+
+        return new EntryRangeBuilder(prefix);
+    }
+
+    @Override
+    public Entry<Integer, String> build() {
+
+        final Integer key = range.build();
+
+        if (null == key) return null;
+
+        return new SimpleEntry<>(key, String.valueOf(key));
+    }
+}
@@ -0,0 +1,337 @@
+package collections.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Karl Bennett
+ */
+public class FanInBuilderTest {
+
+    private static final int SOURCES = 20;
+
+    private static final int SOURCE_SIZE = 1000;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        executor.shutdownNow();
+
+        assertTrue("the sources should have stopped.", executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSourcesAreBuiltAtTheSameTime() throws Exception {
+
+        // Every source waits for all of the others before it builds, so they can only finish if they all run at once.
+        final CyclicBarrier barrier = new CyclicBarrier(SOURCES);
+
+        final List<Builder<Integer>> sources = new ArrayList<>();
+
+        for (int i = 0; i < SOURCES; i++) {
+
+            final RangeBuilder range = new RangeBuilder(i * SOURCE_SIZE, (i + 1) * SOURCE_SIZE);
+
+            sources.add(new Builder<Integer>() {
+
+                private boolean waited = false;
+
+                @Override
+                public Integer build() {
+
+                    if (!waited) {
+
+                        waited = true;
+
+                        try {
+
+                            barrier.await(10, TimeUnit.SECONDS);
+
+                        } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+
+                            throw new IllegalStateException("the sources were not built at the same time.", e);
+                        }
+                    }
+
+                    return range.build();
+                }
+            });
+        }
+
+        final Set<Integer> builderSet = new BuilderSet<>(new FanInBuilder<>(sources, executor));
+
+        assertEquals("every value of every source should have been built.", SOURCES * SOURCE_SIZE, builderSet.size());
+    }
+
+    @Test
+    public void testFastSourceWaitsForTheBuild() throws Exception {
+
+        final AtomicInteger built = new AtomicInteger();
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+
+        final List<Builder<Integer>> sources = new ArrayList<>();
+
+        sources.add(new Builder<Integer>() {
+
+            @Override
+            public Integer build() {
+
+                producer.set(Thread.currentThread());
+
+                return built.getAndIncrement();
+            }
+        });
+
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        final FanInBuilder<Integer> builder = new FanInBuilder<>(sources, new Executor() {
+
+            @Override
+            public void execute(final Runnable source) {
+
+                executor.execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        try {
+
+                            source.run();
+
+                        } finally {
+
+                            finished.countDown();
+                        }
+                    }
+                });
+            }
+        }, 1, FanInBuilder.Order.SOURCE);
+
+        assertEquals("the first value should have been built.", Integer.valueOf(0), builder.build());
+
+        final int limit = (FanInBuilder.CHUNKS_PER_SOURCE + 2) * FanInBuilder.CHUNK_SIZE;
+
+        // The endless source parks once it is as far ahead as it is allowed to be, an unbounded one never does.
+        while ((null == producer.get() || Thread.State.WAITING != producer.get().getState()) &&
+                limit * 100 > built.get()) {
+
+            Thread.yield();
+        }
+
+        assertTrue("the source should not have got more than it's chunks ahead, built " + built.get() + ".",
+                limit >= built.get());
+
+        builder.cancel();
+
+        assertTrue("the cancelled source should have stopped waiting.", finished.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSourceOrder() throws Exception {
+
+        final List<Builder<Integer>> sources = new ArrayList<>();
+
+        // The first sources are the slowest so they arrive last.
+        for (int i = 0; i < SOURCES; i++) sources.add(slow(i * SOURCE_SIZE, (SOURCES - i) * 5, null));
+
+        final List<Integer> builderList = new BuilderList<>(
+                new FanInBuilder<>(sources, executor, 4, FanInBuilder.Order.SOURCE));
+
+        assertEquals("every value of every source should have been built.", SOURCES * SOURCE_SIZE, builderList.size());
+
+        for (int i = 0; i < builderList.size(); i++) {
+
+            assertEquals("the values should be in source order.", Integer.valueOf(i), builderList.get(i));
+        }
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maximum = new AtomicInteger();
+
+        final List<Builder<Integer>> sources = new ArrayList<>();
+
+        for (int i = 0; i < SOURCES; i++) sources.add(slow(i * SOURCE_SIZE, 10, new AtomicInteger[]{running, maximum}));
+
+        final Set<Integer> builderSet = new BuilderSet<>(
+                new FanInBuilder<>(sources, executor, 3, FanInBuilder.Order.ARRIVAL));
+
+        assertEquals("every value of every source should have been built.", SOURCES * SOURCE_SIZE, builderSet.size());
+        assertTrue("no more than the limit should have been built at once.", 3 >= maximum.get());
+    }
+
+    @Test
+    public void testFanInToMap() throws Exception {
+
+        final List<Builder<Entry<Integer, String>>> sources = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+
+            final int key = i;
+
+            sources.add(new Builder<Entry<Integer, String>>() {
+
+                private boolean built = false;
+
+                @Override
+                public Entry<Integer, String> build() {
+
+                    if (built) return null;
+
+                    built = true;
+
+                    return new SimpleEntry<>(key, String.valueOf(key));
+                }
+            });
+        }
+
+        final Map<Integer, String> builderMap = new BuilderMap<>(new FanInBuilder<>(sources, executor));
+
+        assertEquals("every entry should have been built.", 3, builderMap.size());
+        assertEquals("the entries should have been built.", "2", builderMap.get(2));
+    }
+
+    @Test
+    public void testFailedSource() throws Exception {
+
+        final List<Builder<Integer>> sources = new ArrayList<>();
+
+        sources.add(new RangeBuilder(0, SOURCE_SIZE));
+        sources.add(new GatedBuilder(10, 0));
+        sources.add(new RangeBuilder(0, SOURCE_SIZE));
+
+        ((GatedBuilder) sources.get(1)).releaseAll();
+
+        try {
+
+            new BuilderList<>(new FanInBuilder<>(sources, executor, 1, FanInBuilder.Order.SOURCE));
+
+            fail("the sources failure should have been propagated.");
+
+        } catch (IllegalStateException e) {
+
+            assertEquals("the sources failure should be the cause.", "build failure", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testSize() throws Exception {
+
+        final List<Builder<Integer>> sources = new ArrayList<>();
+
+        sources.add(new GatedBuilder(1));
+        sources.add(new GatedBuilder(1));
+
+        final List<Builder<Integer>> sized = new ArrayList<>();
+
+        sized.add(new RangeBuilder(0, 10));
+        sized.add(new RangeBuilder(0, 5));
+
+        final FanInBuilder<Integer> unknown = new FanInBuilder<>(sources, executor);
+
+        assertEquals("the sizes of sized sources should be added up.", 15,
+                new FanInBuilder<>(sized, executor).size());
+        assertEquals("an unsized source should make the size unknown.", -1, unknown.size());
+
+        unknown.cancel();
+
+        for (Builder<Integer> source : sources) ((GatedBuilder) source).releaseAll();
+
+        final Set<Integer> built = new HashSet<>();
+
+        for (Integer value; null != (value = unknown.build()); ) built.add(value);
+
+        assertTrue("a cancelled builder should finish.", 1 >= built.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFanInBuilderWithNoConcurrency() throws Exception {
+
+        new FanInBuilder<>(new ArrayList<Builder<Integer>>(), executor, 0, FanInBuilder.Order.SOURCE);
+    }
+
+
+    /**
+     * A source that waits before building it's values, as a source that reads a file or a remote store would.
+     */
+    private static Builder<Integer> slow(final int from, final long delayMillis, final AtomicInteger[] concurrency) {
+
+        return new Builder<Integer>() {
+
+            private int next = from;
+
+            @Override
+            public Integer build() {
+
+                if (from == next) {
+
+                    if (null != concurrency) {
+
+                        final int running = concurrency[0].incrementAndGet();
+
+                        concurrency[1].accumulateAndGet(running, new IntBinaryOperator() {
+
+                            @Override
+                            public int applyAsInt(int left, int right) {
+
+                                return Math.max(left, right);
+                            }
+                        });
+                    }
+
+                    try {
+
+                        Thread.sleep(delayMillis);
+
+                    } catch (InterruptedException e) {
+
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                if (from + SOURCE_SIZE == next) {
+
+                    if (null != concurrency) concurrency[0].decrementAndGet();
+
+                    return null;
+                }
+
+                return next++;
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package collections.builders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Karl Bennett
+ */
+public class FixedWidthRecordBuilderTest {
+
+    private static final RecordParser<Integer> INTEGERS = new RecordParser<Integer>() {
+
+        @Override
+        public Integer parse(ByteBuffer record) {
+
+            return record.getInt(record.position());
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFixedWidthRecordBuilder() throws Exception {
+
+        final int size = 1000;
+
+        final ByteBuffer bytes = ByteBuffer.allocate(size * 4);
+
+        List<Integer> list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+
+            bytes.putInt(i);
+            list.add(i);
+        }
+
+        final File file = write("integers.bin", bytes.array());
+
+        FixedWidthRecordBuilder<Integer> builder = new FixedWidthRecordBuilder<>(file.toPath(), 4, INTEGERS, 30);
+
+        assertEquals("the size should be the number of records in the file.", size, builder.size());
+        assertEquals("the list should have been built from the records.", list, new BuilderList<>(builder));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFixedWidthRecordBuilderWithPartialRecord() throws Exception {
+
+        new BuilderList<>(new FixedWidthRecordBuilder<>(write("partial.bin", new byte[6]).toPath(), 4, INTEGERS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFixedWidthRecordBuilderWithInvalidWidth() throws Exception {
+
+        new FixedWidthRecordBuilder<>(write("integers.bin", new byte[4]).toPath(), 0, INTEGERS);
+    }
+
+
+    private File write(String name, byte[] content) throws Exception {
+
+        final File file = new File(folder.getRoot(), name);
+
+        Files.write(file.toPath(), content);
+
+        return file;
+    }
+}
@@ -0,0 +1,58 @@
+package collections.builders;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A {@link Builder} that builds the integers up to a size but needs a permit to build each one, so that tests can
+ * control how far a background build gets.
+ *
+ * @author Karl Bennett
+ */
+class GatedBuilder implements Builder<Integer> {
+
+    private final Semaphore permits = new Semaphore(0);
+
+    private final int size;
+    private final int failAt;
+
+    private int built = 0;
+
+    GatedBuilder(int size) {
+
+        this(size, -1);
+    }
+
+    GatedBuilder(int size, int failAt) {
+
+        this.size = size;
+        this.failAt = failAt;
+    }
+
+    /**
+     * Allow the supplied number of elements to be built.
+     */
+    void release(int count) {
+
+        permits.release(count);
+    }
+
+    /**
+     * Allow everything to be built.
+     */
+    void releaseAll() {
+
+        permits.release(size + 1);
+    }
+
+    @Override
+    public Integer build() {
+
+        permits.acquireUninterruptibly();
+
+        if (failAt == built) throw new IllegalStateException("build failure");
+
+        if (size == built) return null;
+
+        return built++;
+    }
+}
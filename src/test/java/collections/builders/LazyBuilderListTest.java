@@ -0,0 +1,245 @@
+package collections.builders;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Karl Bennett
+ */
+public class LazyBuilderListTest {
+
+    private static final int SIZE = 100;
+
+    private CountingBuilder builder;
+
+    @Before
+    public void setUp() {
+
+        builder = new CountingBuilder(SIZE);
+    }
+
+    @Test
+    public void testLazyBuilderListDoesNotBuildInConstructor() throws Exception {
+
+        @SuppressWarnings("unchecked")
+        List<Integer> list = mock(List.class);
+
+        new LazyBuilderList<>(builder, list);
+
+        verifyZeroInteractions(list);
+        assertEquals("nothing should have been built.", 0, builder.built);
+    }
+
+    @Test
+    public void testGetOnlyBuildsUpToIndex() throws Exception {
+
+        LazyBuilderList<Integer> list = new LazyBuilderList<>(builder);
+
+        assertEquals("the correct element should be returned.", Integer.valueOf(9), list.get(9));
+        assertEquals("only the first ten elements should have been built.", 10, builder.built);
+        assertFalse("the list should not be fully built.", list.isBuilt());
+
+        assertEquals("an already built element should be returned.", Integer.valueOf(4), list.get(4));
+        assertEquals("no more elements should have been built.", 10, builder.built);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPastEnd() throws Exception {
+
+        new LazyBuilderList<>(builder).get(SIZE);
+    }
+
+    @Test
+    public void testIteratorOnlyBuildsWhatIsConsumed() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(builder);
+
+        Iterator<Integer> iterator = list.iterator();
+
+        for (int i = 0; i < 5; i++) {
+
+            assertEquals("the elements should be iterated in order.", Integer.valueOf(i), iterator.next());
+        }
+
+        assertEquals("only the iterated elements should have been built.", 5, builder.built);
+
+        int count = 5;
+
+        while (iterator.hasNext()) {
+
+            iterator.next();
+            count++;
+        }
+
+        assertEquals("every element should have been iterated.", SIZE, count);
+    }
+
+    @Test
+    public void testIteratorRemove() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(new CountingBuilder(3));
+
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertEquals("the first element should have been removed.", Arrays.asList(1, 2), list);
+    }
+
+    @Test
+    public void testIteratorAllowsBuildingDuringIteration() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(new CountingBuilder(10));
+
+        List<Integer> pairs = new ArrayList<>();
+
+        for (Integer outer : list) {
+
+            assertEquals("a get ahead of the iterator should not be a modification.", Integer.valueOf(9), list.get(9));
+
+            for (Integer inner : list) pairs.add(outer * 10 + inner);
+        }
+
+        assertEquals("every pair of elements should have been iterated.", 100, pairs.size());
+        assertEquals("the last pair should be of the last elements.", Integer.valueOf(99), pairs.get(99));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorAfterSet() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(new CountingBuilder(3));
+
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+
+        list.set(0, -1);
+
+        iterator.next();
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorAfterAdd() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(new CountingBuilder(3));
+
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+
+        list.add(3);
+
+        iterator.hasNext();
+    }
+
+    @Test
+    public void testIsEmptyOnlyBuildsOneElement() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(builder);
+
+        assertFalse("the list should not be empty.", list.isEmpty());
+        assertEquals("only the first element should have been built.", 1, builder.built);
+
+        assertTrue("an empty list should be empty.", new LazyBuilderList<>(new CountingBuilder(0)).isEmpty());
+    }
+
+    @Test
+    public void testSizeBuildsEverything() throws Exception {
+
+        LazyBuilderList<Integer> list = new LazyBuilderList<>(builder);
+
+        assertEquals("the size should be correct.", SIZE, list.size());
+        assertEquals("every element should have been built.", SIZE, builder.built);
+        assertTrue("the list should be fully built.", list.isBuilt());
+
+        list.size();
+
+        assertEquals("the builder should not be called again once finished.", SIZE + 1, builder.calls);
+    }
+
+    @Test
+    public void testContainsBuildsEverything() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(builder);
+
+        assertTrue("the element should be contained.", list.contains(0));
+        assertEquals("every element should have been built.", SIZE, builder.built);
+    }
+
+    @Test
+    public void testAddAppendsAfterBuiltElements() throws Exception {
+
+        List<Integer> list = new LazyBuilderList<>(new CountingBuilder(3));
+
+        list.add(3);
+
+        assertEquals("the added element should come after the built elements.", Arrays.asList(0, 1, 2, 3), list);
+    }
+
+    @Test
+    public void testLazyBuilderListWithExistingBackingList() throws Exception {
+
+        List<Integer> backing = new ArrayList<>(Arrays.asList(-2, -1));
+
+        List<Integer> list = new LazyBuilderList<>(new CountingBuilder(2), backing);
+
+        assertEquals("existing elements should not cause a build.", Integer.valueOf(-1), list.get(1));
+        assertEquals("the built elements should follow the existing elements.", Arrays.asList(-2, -1, 0, 1), list);
+        assertEquals("backing list should have been mutated.", 4, backing.size());
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+
+        assertEquals("two lazy lists with the same elements should be equal.",
+                new LazyBuilderList<>(new CountingBuilder(5)), new LazyBuilderList<>(new CountingBuilder(5)));
+        assertFalse("two lazy lists with different elements should not be equal.",
+                new LazyBuilderList<>(new CountingBuilder(5)).equals(new LazyBuilderList<>(new CountingBuilder(6))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLazyBuilderListWithNullBuilder() throws Exception {
+
+        new LazyBuilderList<>(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLazyBuilderListWithNullList() throws Exception {
+
+        new LazyBuilderList<>(builder, null);
+    }
+
+
+    private static class CountingBuilder implements Builder<Integer> {
+
+        private final int size;
+
+        private int built = 0;
+        private int calls = 0;
+
+        private CountingBuilder(int size) {
+
+            this.size = size;
+        }
+
+        @Override
+        public Integer build() {
+
+            calls++;
+
+            if (size == built) return null;
+
+            return built++;
+        }
+    }
+}
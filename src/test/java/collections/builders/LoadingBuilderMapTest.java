@@ -0,0 +1,421 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class LoadingBuilderMapTest {
+
+    private static final Function<Integer, String> LOADER = new Function<Integer, String>() {
+
+        @Override
+        public String apply(Integer key) {
+
+            return 0 > key ? null : String.valueOf(key);
+        }
+    };
+
+    @Test
+    public void testLoadingBuilderMap() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 3), LOADER, 10,
+                Eviction.LRU);
+
+        assertEquals("the warm up entries should have been put.", 3, map.size());
+        assertEquals("a warm up entry should be found.", "1", map.get(1));
+        assertEquals("a missing entry should be loaded.", "5", map.get(5));
+        assertTrue("a loaded entry should be kept.", map.containsKey(5));
+        assertNull("a key without a value should not be loaded.", map.get(-1));
+        assertFalse("a key without a value should not be kept.", map.containsKey(-1));
+
+        assertEquals("the hits should have been counted.", 1, map.statistics().hits());
+        assertEquals("the misses should have been counted.", 2, map.statistics().misses());
+        assertEquals("the hit ratio should have been calculated.", 1 / 3.0, map.statistics().hitRatio(), 0.0001);
+    }
+
+    @Test
+    public void testDefaultMethodsDoNotLoad() throws Exception {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 3),
+                new Function<Integer, String>() {
+
+                    @Override
+                    public String apply(Integer key) {
+
+                        loads.incrementAndGet();
+
+                        return String.valueOf(key);
+                    }
+                }, 10, Eviction.LRU);
+
+        final BiFunction<String, String, String> concatenate = new BiFunction<String, String, String>() {
+
+            @Override
+            public String apply(String earlier, String later) {
+
+                return earlier + later;
+            }
+        };
+
+        assertEquals("a held value should be returned.", "1", map.getOrDefault(1, "default"));
+        assertEquals("a missing key should have the default value.", "default", map.getOrDefault(5, "default"));
+        assertEquals("an absent key should be computed.", "computed", map.computeIfAbsent(6,
+                new Function<Integer, String>() {
+
+                    @Override
+                    public String apply(Integer key) {
+
+                        return "computed";
+                    }
+                }));
+        assertEquals("an absent key should take the merged value.", "seven", map.merge(7, "seven", concatenate));
+        assertEquals("a held key should be merged.", "22", map.merge(2, "2", concatenate));
+        assertNull("an absent key should be put.", map.putIfAbsent(8, "eight"));
+        assertFalse("an absent key should not be replaced.", map.replace(9, "9", "nine"));
+
+        assertEquals("the computed, merged and put entries should be held.", 6, map.size());
+        assertEquals("nothing should have been loaded.", 0, loads.get());
+        assertEquals("no hits should have been counted.", 0, map.statistics().hits());
+        assertEquals("no misses should have been counted.", 0, map.statistics().misses());
+        assertEquals("nothing should have been evicted.", 0, map.statistics().evictions());
+    }
+
+    @Test
+    public void testEqualsDoesNotLoad() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 3), LOADER, 3,
+                Eviction.LRU);
+
+        final Map<Integer, String> other = new HashMap<>();
+        other.put(3, "3");
+        other.put(4, "4");
+        other.put(5, "5");
+
+        final Map<Integer, String> same = new HashMap<>();
+        same.put(0, "0");
+        same.put(1, "1");
+        same.put(2, "2");
+
+        assertFalse("a map of missing keys should not be equal.", map.equals(other));
+        assertTrue("a map of the same entries should be equal.", map.equals(same));
+        assertEquals("the hash code should match the same entries.", same.hashCode(), map.hashCode());
+
+        assertEquals("the held entries should not have changed.", same, new HashMap<>(map));
+        assertEquals("no hits should have been counted.", 0, map.statistics().hits());
+        assertEquals("no misses should have been counted.", 0, map.statistics().misses());
+        assertEquals("nothing should have been evicted.", 0, map.statistics().evictions());
+    }
+
+    @Test
+    public void testWarmUpOverMaximumSize() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 10), LOADER, 4,
+                Eviction.LRU);
+
+        assertEquals("the map should not hold more than it's maximum size.", 4, map.size());
+        assertEquals("the oldest warm up entries should have been evicted.", 6, map.statistics().evictions());
+        assertTrue("the newest warm up entry should be kept.", map.containsKey(9));
+    }
+
+    @Test
+    public void testLruEviction() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 3), LOADER, 3,
+                Eviction.LRU);
+
+        map.get(0);
+        map.get(3);
+
+        assertTrue("the recently used entry should be kept.", map.containsKey(0));
+        assertFalse("the least recently used entry should be evicted.", map.containsKey(1));
+        assertEquals("the map should be at it's maximum size.", 3, map.size());
+    }
+
+    @Test
+    public void testLfuEviction() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 3), LOADER, 3,
+                Eviction.LFU);
+
+        map.get(0);
+        map.get(0);
+        map.get(1);
+        map.get(2);
+        map.get(3);
+
+        assertTrue("the most frequently used entry should be kept.", map.containsKey(0));
+        assertFalse("the least frequently used entry should be evicted.", map.containsKey(3));
+        assertEquals("the map should be at it's maximum size.", 3, map.size());
+    }
+
+    @Test
+    public void testWindowTinyLfuKeepsHotEntriesThroughAScan() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(LOADER, 100, Eviction.W_TINY_LFU);
+
+        for (int i = 0; i < 10; i++) {
+
+            for (int hot = 0; hot < 10; hot++) map.get(hot);
+        }
+
+        for (int cold = 1000; cold < 11000; cold++) {
+
+            map.get(cold);
+
+            if (0 == cold % 10) map.get(cold / 10 % 10);
+        }
+
+        for (int hot = 0; hot < 10; hot++) {
+
+            assertTrue("the hot entries should have survived the scan.", map.containsKey(hot));
+        }
+
+        assertEquals("the map should be at it's maximum size.", 100, map.size());
+    }
+
+    @Test
+    public void testWindowTinyLfuHitRatio() throws Exception {
+
+        final int keys = 10000;
+
+        final LoadingBuilderMap<Integer, String> lru = new LoadingBuilderMap<>(LOADER, 500, Eviction.LRU);
+        final LoadingBuilderMap<Integer, String> tinyLfu = new LoadingBuilderMap<>(LOADER, 500, Eviction.W_TINY_LFU);
+
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 200000; i++) {
+
+            // A skewed workload where the small keys are much more popular than the large ones.
+            final int key = (int) (keys * Math.pow(random.nextDouble(), 4));
+
+            lru.get(key);
+            tinyLfu.get(key);
+        }
+
+        assertTrue("W-TinyLFU should have a better hit ratio than LRU for a skewed workload.",
+                tinyLfu.statistics().hitRatio() > lru.statistics().hitRatio());
+    }
+
+    @Test
+    public void testMaximumWeight() throws Exception {
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new EntryRangeBuilder(0, 0), LOADER,
+                new ToIntBiFunction<Integer, String>() {
+
+                    @Override
+                    public int applyAsInt(Integer key, String value) {
+
+                        return value.length();
+                    }
+                }, 9, Eviction.LRU);
+
+        map.get(1);
+        map.get(10);
+        map.get(100);
+        map.get(1000);
+
+        assertEquals("the map should have been kept under it's maximum weight.", 9, map.weight());
+        assertFalse("the oldest entry should have been evicted.", map.containsKey(1));
+        assertEquals("the evicted weight should have been counted.", 1, map.statistics().evictedWeight());
+
+        map.put(1000, "1");
+
+        assertEquals("a replaced value should be reweighed.", 6, map.weight());
+    }
+
+    @Test
+    public void testConcurrentLoadsShareTheLoader() throws Exception {
+
+        final AtomicInteger loads = new AtomicInteger();
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new Function<Integer, String>() {
+
+            @Override
+            public String apply(Integer key) {
+
+                loads.incrementAndGet();
+
+                started.countDown();
+
+                try {
+
+                    release.await(10, TimeUnit.SECONDS);
+
+                } catch (InterruptedException e) {
+
+                    throw new IllegalStateException(e);
+                }
+
+                return String.valueOf(key);
+            }
+        }, 10, Eviction.W_TINY_LFU);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+
+            final Future<String> first = executor.submit(new Callable<String>() {
+
+                @Override
+                public String call() throws Exception {
+
+                    return map.get(1);
+                }
+            });
+
+            started.await(10, TimeUnit.SECONDS);
+
+            final AtomicReference<Thread> waiting = new AtomicReference<>();
+
+            final Future<String> second = executor.submit(new Callable<String>() {
+
+                @Override
+                public String call() throws Exception {
+
+                    waiting.set(Thread.currentThread());
+
+                    return map.get(1);
+                }
+            });
+
+            // The second get is parked once it is waiting for the first load to finish.
+            while (null == waiting.get() || Thread.State.WAITING != waiting.get().getState()) Thread.yield();
+
+            release.countDown();
+
+            assertEquals("the first get should have the loaded value.", "1", first.get(10, TimeUnit.SECONDS));
+            assertEquals("the second get should have the loaded value.", "1", second.get(10, TimeUnit.SECONDS));
+            assertEquals("the key should only have been loaded once.", 1, loads.get());
+
+        } finally {
+
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPutDuringALoadIsKept() throws Exception {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final LoadingBuilderMap<Integer, String> map = new LoadingBuilderMap<>(new Function<Integer, String>() {
+
+            @Override
+            public String apply(Integer key) {
+
+                started.countDown();
+
+                try {
+
+                    release.await(10, TimeUnit.SECONDS);
+
+                } catch (InterruptedException e) {
+
+                    throw new IllegalStateException(e);
+                }
+
+                return "loaded";
+            }
+        }, 10, Eviction.LRU);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+
+            final Future<String> get = executor.submit(new Callable<String>() {
+
+                @Override
+                public String call() throws Exception {
+
+                    return map.get(1);
+                }
+            });
+
+            started.await(10, TimeUnit.SECONDS);
+
+            map.put(1, "put");
+
+            release.countDown();
+
+            assertEquals("the get should return the value that was put during the load.", "put",
+                    get.get(10, TimeUnit.SECONDS));
+            assertEquals("the put value should have been kept.", "put", map.get(1));
+            assertEquals("the loaded value should not have been added.", 1, map.size());
+
+        } finally {
+
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLoaderFailure() throws Exception {
+
+        new LoadingBuilderMap<>(new Function<Integer, String>() {
+
+            @Override
+            public String apply(Integer key) {
+
+                throw new IllegalStateException("load failure");
+            }
+        }, 10, Eviction.LRU).get(1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testGetNullKey() throws Exception {
+
+        new LoadingBuilderMap<>(LOADER, 10, Eviction.LRU).get(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNullValue() throws Exception {
+
+        new LoadingBuilderMap<>(LOADER, 10, Eviction.LRU).put(1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadingBuilderMapWithNoMaximumSize() throws Exception {
+
+        new LoadingBuilderMap<>(LOADER, 0, Eviction.LRU);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadingBuilderMapWithNullLoader() throws Exception {
+
+        new LoadingBuilderMap<Integer, String>(null, 10, Eviction.LRU);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadingBuilderMapWithNullEviction() throws Exception {
+
+        new LoadingBuilderMap<>(LOADER, 10, null);
+    }
+}
@@ -0,0 +1,223 @@
+package collections.builders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Karl Bennett
+ */
+public class MappedBuilderListTest {
+
+    static final ElementCodec<Integer> INTEGERS = new ElementCodec<Integer>() {
+
+        @Override
+        public void encode(Integer element, ByteBuffer buffer) {
+
+            buffer.putInt(element);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+
+            return buffer.getInt();
+        }
+    };
+
+    static final ElementCodec<String> STRINGS = new ElementCodec<String>() {
+
+        @Override
+        public void encode(String element, ByteBuffer buffer) {
+
+            buffer.put(element.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMappedBuilderList() throws Exception {
+
+        final int size = 10000;
+
+        final File file = new File(folder.getRoot(), "integers.list");
+
+        List<Integer> builderList = new MappedBuilderList<>(new RangeBuilder(0, size), INTEGERS, file.toPath(), 64);
+
+        List<Integer> list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+
+            list.add(i);
+        }
+
+        assertEquals("the list should have been built correctly.", list, builderList);
+        assertEquals("the reopened list should hold the same elements.", list,
+                new MappedBuilderList<>(file.toPath(), INTEGERS));
+    }
+
+    @Test
+    public void testMappedBuilderListWithStrings() throws Exception {
+
+        final List<String> strings = Arrays.asList("one", "", "two", "a string that fills most of a segment", "three");
+
+        final Iterator<String> iterator = strings.iterator();
+
+        final File file = new File(folder.getRoot(), "strings.list");
+
+        List<String> builderList = new MappedBuilderList<>(new Builder<String>() {
+
+            @Override
+            public String build() {
+
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+        }, STRINGS, file.toPath(), 64);
+
+        assertEquals("the list should have been built correctly.", strings, builderList);
+        assertEquals("the reopened list should hold the same elements.", strings,
+                new MappedBuilderList<>(file.toPath(), STRINGS));
+    }
+
+    @Test
+    public void testEmptyMappedBuilderList() throws Exception {
+
+        final File file = new File(folder.getRoot(), "empty.list");
+
+        assertEquals("the list should be empty.", Collections.emptyList(),
+                new MappedBuilderList<>(new RangeBuilder(0, 0), INTEGERS, file.toPath()));
+        assertEquals("the reopened list should be empty.", Collections.emptyList(),
+                new MappedBuilderList<>(file.toPath(), INTEGERS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testElementLargerThanASegment() throws Exception {
+
+        new MappedBuilderList<>(new Builder<String>() {
+
+            @Override
+            public String build() {
+
+                return "a string that is much too long to fit into a single segment of sixty four bytes";
+            }
+        }, STRINGS, new File(folder.getRoot(), "large.list").toPath(), 64);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenIncompleteFile() throws Exception {
+
+        new MappedBuilderList<>(folder.newFile("incomplete.list").toPath(), INTEGERS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenFileWithTheWrongLength() throws Exception {
+
+        final File file = new File(folder.getRoot(), "corrupt.list");
+
+        new MappedBuilderList<>(new RangeBuilder(0, 10), INTEGERS, file.toPath(), 64);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+
+            channel.write(ByteBuffer.allocate(8), channel.size());
+        }
+
+        new MappedBuilderList<>(file.toPath(), INTEGERS);
+    }
+
+    @Test
+    public void testFailedBuildLeavesTheExistingFile() throws Exception {
+
+        final File file = new File(folder.getRoot(), "existing.list");
+
+        new MappedBuilderList<>(new RangeBuilder(0, 10), INTEGERS, file.toPath(), 64);
+
+        final RangeBuilder failing = new RangeBuilder(100, 110);
+
+        try {
+
+            new MappedBuilderList<>(new Builder<Integer>() {
+
+                @Override
+                public Integer build() {
+
+                    final Integer element = failing.build();
+
+                    if (null == element) throw new IllegalStateException("the build failed.");
+
+                    return element;
+                }
+            }, INTEGERS, file.toPath(), 64);
+
+            fail("the failing build should have thrown an exception.");
+
+        } catch (IllegalStateException e) {
+
+            assertEquals("the build should have failed.", "the build failed.", e.getMessage());
+        }
+
+        assertEquals("the existing list should not have been touched.", range(0, 10),
+                new MappedBuilderList<>(file.toPath(), INTEGERS));
+        assertArrayEquals("the file the failed build was written into should have been deleted.",
+                new String[]{file.getName()}, folder.getRoot().list());
+
+        new MappedBuilderList<>(new RangeBuilder(100, 110), INTEGERS, file.toPath(), 64);
+
+        assertEquals("the rebuilt list should be reopened.", range(100, 110),
+                new MappedBuilderList<>(file.toPath(), INTEGERS));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMappedBuilderListIsReadOnly() throws Exception {
+
+        new MappedBuilderList<>(new RangeBuilder(0, 3), INTEGERS, new File(folder.getRoot(), "read.list").toPath())
+                .add(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMappedBuilderListWithInvalidSegmentSize() throws Exception {
+
+        new MappedBuilderList<>(new RangeBuilder(0, 3), INTEGERS, new File(folder.getRoot(), "invalid.list").toPath(),
+                100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMappedBuilderListWithNullBuilder() throws Exception {
+
+        new MappedBuilderList<>(null, INTEGERS, new File(folder.getRoot(), "null.list").toPath());
+    }
+
+
+    private static List<Integer> range(int from, int to) {
+
+        final List<Integer> range = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+
+            range.add(i);
+        }
+
+        return range;
+    }
+}
@@ -0,0 +1,206 @@
+package collections.builders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static collections.builders.MappedBuilderListTest.INTEGERS;
+import static collections.builders.MappedBuilderListTest.STRINGS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Karl Bennett
+ */
+public class MappedBuilderMapTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMappedBuilderMap() throws Exception {
+
+        final int size = 10000;
+
+        final File file = new File(folder.getRoot(), "integers.map");
+
+        final RangeBuilder keys = new RangeBuilder(0, size);
+
+        Map<Integer, String> builderMap = new MappedBuilderMap<>(new Builder<Entry<Integer, String>>() {
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                final Integer key = keys.build();
+
+                return null == key ? null : new SimpleEntry<>(key, String.valueOf(key));
+            }
+        }, INTEGERS, STRINGS, file.toPath(), 64);
+
+        Map<Integer, String> map = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals("the map should have been built correctly.", map, builderMap);
+        assertEquals("the reopened map should hold the same entries.", map,
+                new MappedBuilderMap<>(file.toPath(), INTEGERS, STRINGS));
+        assertNull("a missing key should have no value.", builderMap.get(size));
+        assertNull("a key of the wrong type should have no value.", builderMap.get("1"));
+    }
+
+    @Test
+    public void testMappedBuilderMapWithDuplicateAndCollidingKeys() throws Exception {
+
+        final File file = new File(folder.getRoot(), "strings.map");
+
+        Map<String, String> builderMap = new MappedBuilderMap<>(new EntryBuilder<String, String>() {
+
+            @Override
+            public boolean build(EntrySink<String, String> sink) {
+
+                sink.put("Aa", "first");
+                sink.put("BB", "colliding");
+                sink.put("", "empty");
+                sink.put("Aa", "last");
+
+                return false;
+            }
+
+            @Override
+            public Entry<String, String> build() {
+
+                throw new AssertionError("the single entry build should not be called for an entry builder.");
+            }
+        }, STRINGS, STRINGS, file.toPath());
+
+        Map<String, String> map = new HashMap<>();
+        map.put("Aa", "last");
+        map.put("BB", "colliding");
+        map.put("", "empty");
+
+        assertEquals("\"Aa\" and \"BB\" should have the same hash code.", "Aa".hashCode(), "BB".hashCode());
+        assertEquals("the last entry for a key should win.", map, builderMap);
+        assertTrue("the colliding key should be found.", builderMap.containsKey("BB"));
+        assertFalse("a missing key should not be found.", builderMap.containsKey("C#"));
+        assertEquals("the reopened map should hold the same entries.", map,
+                new MappedBuilderMap<>(file.toPath(), STRINGS, STRINGS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenIncompleteFile() throws Exception {
+
+        new MappedBuilderMap<>(folder.newFile("incomplete.map").toPath(), INTEGERS, STRINGS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenFileWithACorruptHeader() throws Exception {
+
+        final File file = new File(folder.getRoot(), "corrupt.map");
+
+        new MappedBuilderMap<>(new SingleEntryBuilder(1, "one"), INTEGERS, STRINGS, file.toPath(), 64);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+
+            // The capacity of the table, which must be a power of two.
+            channel.write(ByteBuffer.allocate(8).putLong(0, 3), 48);
+        }
+
+        new MappedBuilderMap<>(file.toPath(), INTEGERS, STRINGS);
+    }
+
+    @Test
+    public void testFailedBuildLeavesTheExistingFile() throws Exception {
+
+        final File file = new File(folder.getRoot(), "existing.map");
+
+        new MappedBuilderMap<>(new SingleEntryBuilder(1, "one"), INTEGERS, STRINGS, file.toPath(), 64);
+
+        try {
+
+            new MappedBuilderMap<>(new Builder<Entry<Integer, String>>() {
+
+                @Override
+                public Entry<Integer, String> build() {
+
+                    throw new IllegalStateException("the build failed.");
+                }
+            }, INTEGERS, STRINGS, file.toPath(), 64);
+
+            fail("the failing build should have thrown an exception.");
+
+        } catch (IllegalStateException e) {
+
+            assertEquals("the build should have failed.", "the build failed.", e.getMessage());
+        }
+
+        assertEquals("the existing map should not have been touched.", Collections.singletonMap(1, "one"),
+                new MappedBuilderMap<>(file.toPath(), INTEGERS, STRINGS));
+        assertArrayEquals("the file the failed build was written into should have been deleted.",
+                new String[]{file.getName()}, folder.getRoot().list());
+
+        new MappedBuilderMap<>(new SingleEntryBuilder(2, "two"), INTEGERS, STRINGS, file.toPath(), 64);
+
+        assertEquals("the rebuilt map should be reopened.", Collections.singletonMap(2, "two"),
+                new MappedBuilderMap<>(file.toPath(), INTEGERS, STRINGS));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMappedBuilderMapIsReadOnly() throws Exception {
+
+        new MappedBuilderMap<>(new Builder<Entry<Integer, String>>() {
+
+            @Override
+            public Entry<Integer, String> build() {
+
+                return null;
+            }
+        }, INTEGERS, STRINGS, new File(folder.getRoot(), "read.map").toPath()).put(1, "one");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMappedBuilderMapWithNullBuilder() throws Exception {
+
+        new MappedBuilderMap<>(null, INTEGERS, STRINGS, new File(folder.getRoot(), "null.map").toPath());
+    }
+
+
+    /**
+     * Builds a single entry.
+     */
+    private static class SingleEntryBuilder implements Builder<Entry<Integer, String>> {
+
+        private Entry<Integer, String> entry;
+
+        private SingleEntryBuilder(Integer key, String value) {
+
+            this.entry = new SimpleEntry<>(key, value);
+        }
+
+        @Override
+        public Entry<Integer, String> build() {
+
+            final Entry<Integer, String> built = entry;
+
+            entry = null;
+
+            return built;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Karl Bennett
+ */
+public class OffHeapBuilderListTest {
+
+    private static final ElementCodec<Integer> INTEGERS = new ElementCodec<Integer>() {
+
+        @Override
+        public void encode(Integer element, ByteBuffer buffer) {
+
+            buffer.putInt(element);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+
+            return buffer.getInt();
+        }
+    };
+
+    private static final ElementCodec<String> STRINGS = new ElementCodec<String>() {
+
+        @Override
+        public void encode(String element, ByteBuffer buffer) {
+
+            buffer.put(element.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer) {
+
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    };
+
+    @Test
+    public void testOffHeapBuilderList() throws Exception {
+
+        final int size = 100000;
+
+        List<Integer> builderList = new OffHeapBuilderList<>(new RangeBuilder(0, size), INTEGERS, 1000);
+
+        List<Integer> list = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+
+            list.add(i);
+        }
+
+        assertEquals("the list should have been built correctly.", list, builderList);
+        assertEquals("the last element should be found.", Integer.valueOf(size - 1), builderList.get(size - 1));
+    }
+
+    @Test
+    public void testOffHeapBuilderListWithElementsLargerThanASegment() throws Exception {
+
+        final List<String> strings = Arrays.asList("one", "a string that is longer than a segment", "two", "", "three");
+
+        final Iterator<String> iterator = strings.iterator();
+
+        List<String> builderList = new OffHeapBuilderList<>(new Builder<String>() {
+
+            @Override
+            public String build() {
+
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+        }, STRINGS, 8);
+
+        assertEquals("the list should have been built correctly.", strings, builderList);
+    }
+
+    @Test
+    public void testOffHeapBuilderListWithBatchBuilder() throws Exception {
+
+        List<Integer> builderList = new OffHeapBuilderList<>(new BatchBuilder<Integer>() {
+
+            @Override
+            public boolean build(Batch<Integer> batch) {
+
+                batch.add(1);
+                batch.add(2);
+                batch.add(3);
+
+                return false;
+            }
+
+            @Override
+            public Integer build() {
+
+                throw new AssertionError("the single element build should not be called for a batch builder.");
+            }
+        }, INTEGERS);
+
+        assertEquals("the list should have been built correctly.", Arrays.asList(1, 2, 3), builderList);
+    }
+
+    @Test
+    public void testEmptyOffHeapBuilderList() throws Exception {
+
+        assertEquals("the list should be empty.", Collections.emptyList(),
+                new OffHeapBuilderList<>(new RangeBuilder(0, 0), INTEGERS));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPastEnd() throws Exception {
+
+        new OffHeapBuilderList<>(new RangeBuilder(0, 3), INTEGERS).get(3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testOffHeapBuilderListIsReadOnly() throws Exception {
+
+        new OffHeapBuilderList<>(new RangeBuilder(0, 3), INTEGERS).add(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOffHeapBuilderListWithNullBuilder() throws Exception {
+
+        new OffHeapBuilderList<>(null, INTEGERS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOffHeapBuilderListWithNullCodec() throws Exception {
+
+        new OffHeapBuilderList<>(new RangeBuilder(0, 3), null);
+    }
+}
@@ -0,0 +1,190 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Karl Bennett
+ */
+public class PipelineTest {
+
+    private static final Function<Integer, Integer> MODULO = new Function<Integer, Integer>() {
+
+        @Override
+        public Integer apply(Integer value) {
+
+            return value % 10;
+        }
+    };
+
+    private static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+
+        @Override
+        public boolean test(Integer value) {
+
+            return 0 == value % 2;
+        }
+    };
+
+    private static final Function<Integer, String> TO_STRING = new Function<Integer, String>() {
+
+        @Override
+        public String apply(Integer value) {
+
+            return String.valueOf(value);
+        }
+    };
+
+    @Test
+    public void testPipeline() throws Exception {
+
+        final List<String> builderList = new BuilderList<>(new Pipeline<>(new RangeBuilder(0, 100))
+                .filter(EVEN).map(MODULO).distinct().map(TO_STRING));
+
+        assertEquals("the operations should have been applied in order.", Arrays.asList("0", "2", "4", "6", "8"),
+                new ArrayList<>(builderList));
+    }
+
+    @Test
+    public void testPipelineWithBatchSource() throws Exception {
+
+        final int size = 10000;
+
+        final List<Integer> builderList = new BuilderList<>(
+                new Pipeline<>(SpliteratorBuilder.of(IntStream.range(0, size).boxed())).filter(EVEN).skip(10));
+
+        assertEquals("every even value after the skipped ones should have been built.", size / 2 - 10,
+                builderList.size());
+
+        for (int i = 0; i < builderList.size(); i++) {
+
+            assertEquals("the values should be in order.", Integer.valueOf(20 + i * 2), builderList.get(i));
+        }
+    }
+
+    @Test
+    public void testFlatMap() throws Exception {
+
+        final Pipeline<Integer> pipeline = new Pipeline<>(new RangeBuilder(1, 4))
+                .flatMap(new Function<Integer, Builder<Integer>>() {
+
+                    @Override
+                    public Builder<Integer> apply(Integer value) {
+
+                        return 2 == value ? null : new RangeBuilder(0, value);
+                    }
+                });
+
+        final List<Integer> built = new ArrayList<>();
+
+        for (Integer value; null != (value = pipeline.build()); ) built.add(value);
+
+        assertEquals("each value should have been replaced by it's builders values.", Arrays.asList(0, 0, 1, 2),
+                built);
+        assertNull("the pipeline should stay finished.", pipeline.build());
+    }
+
+    @Test
+    public void testLimitStopsPullingTheSource() throws Exception {
+
+        final RangeBuilder source = new RangeBuilder(0, 1000);
+
+        final List<Integer> builderList = new BuilderList<>(new Pipeline<>(source)
+                .flatMap(new Function<Integer, Builder<Integer>>() {
+
+                    @Override
+                    public Builder<Integer> apply(Integer value) {
+
+                        return new RangeBuilder(value, value + 3);
+                    }
+                }).limit(7));
+
+        assertEquals("only the limited values should have been built.", Arrays.asList(0, 1, 2, 1, 2, 3, 2),
+                new ArrayList<>(builderList));
+        assertEquals("the source should not have been pulled past the limit.", 997, source.size());
+    }
+
+    @Test
+    public void testSize() throws Exception {
+
+        assertEquals("a map should keep the source size.", 100,
+                new Pipeline<>(new RangeBuilder(0, 100)).map(MODULO).size());
+        assertEquals("skip and limit should be calculated.", 20,
+                new Pipeline<>(new RangeBuilder(0, 100)).skip(70).limit(20).size());
+        assertEquals("a filter should make the size unknown.", -1,
+                new Pipeline<>(new RangeBuilder(0, 100)).filter(EVEN).size());
+        assertEquals("an unsized source should have an unknown size.", -1,
+                new Pipeline<>(SpliteratorBuilder.of(Stream.of(1).filter(EVEN))).map(MODULO).size());
+    }
+
+    @Test
+    public void testBuildInBatches() throws Exception {
+
+        final Pipeline<Integer> pipeline = new Pipeline<>(new RangeBuilder(0, 5))
+                .flatMap(new Function<Integer, Builder<Integer>>() {
+
+                    @Override
+                    public Builder<Integer> apply(Integer value) {
+
+                        return new RangeBuilder(0, 3);
+                    }
+                });
+
+        final Batch<Integer> batch = new Batch<>(4);
+
+        final List<Integer> built = new ArrayList<>();
+
+        boolean more;
+
+        do {
+
+            more = pipeline.build(batch);
+
+            built.addAll(batch);
+
+            batch.clear();
+
+        } while (more);
+
+        assertEquals("the overflowing values should be carried into the next batch.",
+                Arrays.asList(0, 1, 2, 0, 1, 2, 0, 1, 2, 0, 1, 2, 0, 1, 2), built);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testMapToNull() throws Exception {
+
+        new Pipeline<>(new RangeBuilder(0, 1)).map(new Function<Integer, Object>() {
+
+            @Override
+            public Object apply(Integer value) {
+
+                return null;
+            }
+        }).build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReusedPipeline() throws Exception {
+
+        final Pipeline<Integer> pipeline = new Pipeline<>(new RangeBuilder(0, 1));
+
+        pipeline.filter(EVEN);
+        pipeline.map(MODULO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() throws Exception {
+
+        new Pipeline<>(new RangeBuilder(0, 1)).limit(-1);
+    }
+}
@@ -0,0 +1,218 @@
+package collections.builders;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Karl Bennett
+ */
+public class PrefetchingBuilderTest {
+
+    private static final int SIZE = 100000;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        executor.shutdownNow();
+
+        assertTrue("the producer should have stopped.", executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPrefetchingBuilder() throws Exception {
+
+        final List<Integer> builderList = new BuilderList<>(
+                new PrefetchingBuilder<>(new RangeBuilder(0, SIZE), executor));
+
+        assertEquals("every value should have been built.", SIZE, builderList.size());
+
+        for (int i = 0; i < SIZE; i++) {
+
+            assertEquals("every value should be in order.", Integer.valueOf(i), builderList.get(i));
+        }
+    }
+
+    @Test
+    public void testEveryWaitStrategyWithSmallBuffer() throws Exception {
+
+        // Kept small because a spinning thread on a single core only hands over once it's time slice runs out.
+        final int size = 200;
+
+        for (WaitStrategy wait : WaitStrategy.values()) {
+
+            final PrefetchingBuilder<Integer> builder =
+                    new PrefetchingBuilder<>(new RangeBuilder(0, size), executor, 3, wait);
+
+            int expected = 0;
+
+            for (Integer value; null != (value = builder.build()); expected++) {
+
+                assertEquals("the values should be built in order with " + wait + ".", Integer.valueOf(expected),
+                        value);
+            }
+
+            assertEquals("every value should have been built with " + wait + ".", size, expected);
+            assertNull("the builder should stay finished.", builder.build());
+        }
+    }
+
+    @Test
+    public void testBuildInBatches() throws Exception {
+
+        final GatedBuilder gated = new GatedBuilder(10);
+
+        final PrefetchingBuilder<Integer> builder = new PrefetchingBuilder<>(gated, executor, 4, WaitStrategy.PARK);
+
+        final Batch<Integer> batch = new Batch<>(Batches.SIZE);
+
+        gated.release(3);
+
+        final List<Integer> built = new ArrayList<>();
+
+        while (3 > built.size()) {
+
+            assertTrue("there should be more to build.", builder.build(batch));
+
+            built.addAll(batch);
+
+            batch.clear();
+        }
+
+        assertEquals("a batch should only hold what was ready.", Arrays.asList(0, 1, 2), built);
+
+        gated.releaseAll();
+
+        boolean more;
+
+        do {
+
+            more = builder.build(batch);
+
+            built.addAll(batch);
+
+            batch.clear();
+
+        } while (more);
+
+        assertEquals("the rest should have been built.", Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), built);
+    }
+
+    @Test
+    public void testFailedBuild() throws Exception {
+
+        final GatedBuilder gated = new GatedBuilder(10, 2);
+
+        final PrefetchingBuilder<Integer> builder = new PrefetchingBuilder<>(gated, executor);
+
+        gated.releaseAll();
+
+        assertEquals("values built before the failure should be available.", Integer.valueOf(0), builder.build());
+        assertEquals("values built before the failure should be available.", Integer.valueOf(1), builder.build());
+
+        try {
+
+            builder.build();
+
+            fail("the failure should have been propagated.");
+
+        } catch (IllegalStateException e) {
+
+            assertEquals("the builders failure should be the cause.", "build failure", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+
+        final CountDownLatch full = new CountDownLatch(1);
+
+        final PrefetchingBuilder<Integer> builder = new PrefetchingBuilder<>(new Builder<Integer>() {
+
+            private int built = 0;
+
+            @Override
+            public Integer build() {
+
+                if (2 == built) full.countDown();
+
+                return built++;
+            }
+
+        }, executor, 2, WaitStrategy.PARK);
+
+        assertTrue("the buffer should have been filled.", full.await(10, TimeUnit.SECONDS));
+
+        builder.cancel();
+
+        assertEquals("buffered values should still be available.", Integer.valueOf(0), builder.build());
+        assertEquals("buffered values should still be available.", Integer.valueOf(1), builder.build());
+        assertNull("nothing more should be built once cancelled.", builder.build());
+    }
+
+    @Test
+    public void testCloseFreesTheExecutorThread() throws Exception {
+
+        try (PrefetchingBuilder<Integer> builder = new PrefetchingBuilder<>(new Builder<Integer>() {
+
+            private int built = 0;
+
+            @Override
+            public Integer build() {
+
+                return built++;
+            }
+
+        }, executor, 2, WaitStrategy.PARK)) {
+
+            assertEquals("the first value should have been built.", Integer.valueOf(0), builder.build());
+        }
+
+        // The executor has a single thread so this only runs once the endless producer has given it back.
+        executor.submit(new Runnable() {
+
+            @Override
+            public void run() {
+            }
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testSize() throws Exception {
+
+        final PrefetchingBuilder<Integer> builder = new PrefetchingBuilder<>(new RangeBuilder(0, 10), executor);
+
+        assertEquals("the size of a sized builder should be kept.", 10, builder.size());
+
+        builder.build();
+
+        assertEquals("the size should be what is left.", 9, builder.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrefetchingBuilderWithNoDepth() throws Exception {
+
+        new PrefetchingBuilder<>(new RangeBuilder(0, 10), executor, 0, WaitStrategy.SPIN);
+    }
+}
@@ -0,0 +1,48 @@
+package collections.builders;
+
+/**
+ * A {@link SplittableBuilder} that builds the integers in a range and splits in half until the parts are small.
+ *
+ * @author Karl Bennett
+ */
+class RangeBuilder implements SplittableBuilder<Integer>, SizedBuilder<Integer> {
+
+    private static final int MINIMUM_SPLIT = 100;
+
+    private int from;
+    private final int to;
+
+    RangeBuilder(int from, int to) {
+
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public SplittableBuilder<Integer> split() {
+
+        if (MINIMUM_SPLIT > size()) return null;
+
+        final int middle = from + size() / 2;
+
+        final RangeBuilder prefix = new RangeBuilder(from, middle);
+
+        from = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public int size() {
+
+        return to - from;
+    }
+
+    @Override
+    public Integer build() {
+
+        if (from < to) return from++;
+
+        return null;
+    }
+}
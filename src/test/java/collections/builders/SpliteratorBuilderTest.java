@@ -0,0 +1,117 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.AbstractMap.SimpleEntry;
+import static java.util.Map.Entry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Karl Bennett
+ */
+public class SpliteratorBuilderTest {
+
+    @Test
+    public void testSpliteratorBuilder() throws Exception {
+
+        final List<String> builderList = new BuilderList<>(SpliteratorBuilder.of(Stream.of("one", "two", "three")));
+
+        assertEquals("the list should have been built from the stream.", Arrays.asList("one", "two", "three"),
+                builderList);
+    }
+
+    @Test
+    public void testSpliteratorBuilderWithLargeStream() throws Exception {
+
+        final int size = 10000;
+
+        final List<Integer> builderList = new BuilderList<>(SpliteratorBuilder.of(IntStream.range(0, size).boxed()));
+
+        assertEquals("every element should have been built.", size, builderList.size());
+
+        for (int i = 0; i < size; i++) {
+
+            assertEquals("every element should be in order.", Integer.valueOf(i), builderList.get(i));
+        }
+    }
+
+    @Test
+    public void testSpliteratorBuilderSize() throws Exception {
+
+        final SpliteratorBuilder<Integer> builder = new SpliteratorBuilder<>(Arrays.asList(1, 2, 3).spliterator());
+
+        assertEquals("a sized spliterator should give it's exact size.", 3, builder.size());
+
+        builder.build();
+
+        assertEquals("the size should be what is left.", 2, builder.size());
+        assertEquals("an unsized spliterator should have an unknown size.", -1,
+                new SpliteratorBuilder<>(Spliterators.spliteratorUnknownSize(Arrays.asList(1, 2, 3).iterator(), 0))
+                        .size());
+    }
+
+    @Test
+    public void testSpliteratorBuilderInParallel() throws Exception {
+
+        final int size = 10000;
+
+        final List<Integer> elements = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) elements.add(i);
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+
+            final List<Integer> builderList = new BuilderList<>(new SpliteratorBuilder<>(elements.spliterator()),
+                    new ArrayList<Integer>(), pool);
+
+            assertEquals("the parallel build should keep the order.", elements, builderList);
+
+        } finally {
+
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSpliteratorBuilderForMap() throws Exception {
+
+        final Stream<Entry<Integer, String>> entries = Stream.of(new SimpleEntry<>(1, "one"),
+                new SimpleEntry<>(2, "two"));
+
+        final Map<Integer, String> builderMap = new BuilderMap<>(SpliteratorBuilder.of(entries));
+
+        assertEquals("the map should have been built from the stream.", "two", builderMap.get(2));
+        assertEquals("the map should have every entry.", 2, builderMap.size());
+    }
+
+    @Test
+    public void testSpliteratorBuilderSplitOfSingleElement() throws Exception {
+
+        assertNull("a single element should not split.",
+                new SpliteratorBuilder<>(Arrays.asList(1).spliterator()).split());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSpliteratorBuilderWithNullElement() throws Exception {
+
+        new BuilderList<>(SpliteratorBuilder.of(Stream.of("one", null)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSpliteratorBuilderWithNullSpliterator() throws Exception {
+
+        new SpliteratorBuilder<>(null);
+    }
+}
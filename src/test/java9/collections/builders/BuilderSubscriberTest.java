@@ -0,0 +1,175 @@
+package collections.builders;
+
+import org.junit.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Karl Bennett
+ */
+public class BuilderSubscriberTest {
+
+    private static final int SIZE = 10000;
+
+    @Test
+    public void testToBuilderList() throws Exception {
+
+        final BuilderSubscriber<Integer, BuilderList<Integer>> subscriber = BuilderSubscriber.toBuilderList(64);
+
+        final List<Integer> expected = new ArrayList<>();
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+
+            publisher.subscribe(subscriber);
+
+            for (int i = 0; i < SIZE; i++) {
+
+                publisher.submit(i);
+
+                expected.add(i);
+            }
+        }
+
+        assertEquals("every element should have been built in order.", expected,
+                new ArrayList<>(subscriber.result().get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void testToBuilderSet() throws Exception {
+
+        final BuilderSubscriber<Integer, BuilderSet<Integer>> subscriber = BuilderSubscriber.toBuilderSet(16);
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+
+            publisher.subscribe(subscriber);
+
+            for (int i = 0; i < SIZE; i++) publisher.submit(i % 100);
+        }
+
+        assertEquals("every distinct element should have been built.", 100,
+                subscriber.result().get(10, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void testToBuilderMap() throws Exception {
+
+        final BuilderSubscriber<Entry<Integer, String>, BuilderMap<Integer, String>> subscriber =
+                BuilderSubscriber.toBuilderMap(8);
+
+        try (SubmissionPublisher<Entry<Integer, String>> publisher = new SubmissionPublisher<>()) {
+
+            publisher.subscribe(subscriber);
+
+            publisher.submit(new SimpleEntry<>(1, "one"));
+            publisher.submit(new SimpleEntry<>(2, "two"));
+        }
+
+        assertEquals("the entries should have been built.", "two",
+                subscriber.result().get(10, TimeUnit.SECONDS).get(2));
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+
+        final BuilderSubscriber<Integer, BuilderList<Integer>> subscriber = BuilderSubscriber.toBuilderList(8);
+
+        final AtomicLong requested = new AtomicLong();
+
+        final List<Long> requests = new ArrayList<>();
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {
+
+                requested.addAndGet(n);
+
+                requests.add(n);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        assertEquals("the first batch should have been requested.", 8, requested.get());
+
+        for (int i = 0; i < 6; i++) subscriber.onNext(i);
+
+        assertEquals("more should be requested once three quarters of a batch has arrived.", 14, requested.get());
+        assertTrue("no more than a batch should ever be outstanding.", requested.get() - 6 <= 8);
+
+        subscriber.onComplete();
+
+        assertEquals("the received elements should have been built.", 6, subscriber.result().get().size());
+    }
+
+    @Test
+    public void testPublisherFailure() throws Exception {
+
+        final BuilderSubscriber<Integer, BuilderList<Integer>> subscriber = BuilderSubscriber.toBuilderList(8);
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+
+            publisher.subscribe(subscriber);
+
+            publisher.submit(1);
+            publisher.closeExceptionally(new IllegalStateException("publish failure"));
+        }
+
+        try {
+
+            subscriber.result().get(10, TimeUnit.SECONDS);
+
+            throw new AssertionError("the result should have failed.");
+
+        } catch (ExecutionException e) {
+
+            assertEquals("the publishers failure should be the cause.", "publish failure", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testCancelledResultCancelsSubscription() throws Exception {
+
+        final BuilderSubscriber<Integer, BuilderList<Integer>> subscriber = BuilderSubscriber.toBuilderList(8);
+
+        final boolean[] cancelled = {false};
+
+        subscriber.onSubscribe(new Flow.Subscription() {
+
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+
+                cancelled[0] = true;
+            }
+        });
+
+        subscriber.result().cancel(false);
+
+        subscriber.onNext(1);
+
+        assertTrue("the subscription should have been cancelled.", cancelled[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderSubscriberWithNoBatchSize() throws Exception {
+
+        BuilderSubscriber.toBuilderList(0);
+    }
+}